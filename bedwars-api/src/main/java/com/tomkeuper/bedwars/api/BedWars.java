@@ -36,6 +36,7 @@ import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.language.SupportPAPI;
 import com.tomkeuper.bedwars.api.levels.Level;
 import com.tomkeuper.bedwars.api.party.Party;
+import com.tomkeuper.bedwars.api.profiler.IProfiler;
 import com.tomkeuper.bedwars.api.server.ISetupSession;
 import com.tomkeuper.bedwars.api.server.RestoreAdapter;
 import com.tomkeuper.bedwars.api.server.ServerType;
@@ -44,6 +45,8 @@ import com.tomkeuper.bedwars.api.shop.IPlayerQuickBuyCache;
 import com.tomkeuper.bedwars.api.shop.IShopCache;
 import com.tomkeuper.bedwars.api.shop.IShopManager;
 import com.tomkeuper.bedwars.api.sidebar.IScoreboardService;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
 import com.tomkeuper.bedwars.api.upgrades.MenuContent;
 import com.tomkeuper.bedwars.api.upgrades.UpgradesIndex;
 import org.bukkit.ChatColor;
@@ -176,6 +179,25 @@ public interface BedWars {
          * @return The number of games played by the player.
          */
         int getPlayerGamesPlayed(UUID p);
+
+        /**
+         * Get the best players for a statistic.
+         * You get data from the local cache, refreshed periodically and on stat changes.
+         *
+         * @param stat The statistic to rank by.
+         * @return The cached top players, highest first.
+         */
+        List<ILeaderboardEntry> getLeaderboard(LeaderboardStat stat);
+
+        /**
+         * Get the player's position on a leaderboard.
+         * You get data from the local cache.
+         *
+         * @param stat The statistic to rank by.
+         * @param p    The UUID of the player.
+         * @return The position starting from 1, or -1 if the player is not in the cached top.
+         */
+        int getLeaderboardPosition(LeaderboardStat stat, UUID p);
     }
 
     /**
@@ -840,6 +862,13 @@ public interface BedWars {
      */
     IRedisClient getRedisClient();
 
+    /**
+     * Get the timing registry used to profile BedWars subsystems.
+     *
+     * @return the {@link IProfiler} utility class
+     */
+    IProfiler getProfiler();
+
     /**
      * Retrieves the ItemUtil interface for in game lobby items
      *
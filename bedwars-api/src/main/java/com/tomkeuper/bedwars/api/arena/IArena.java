@@ -24,6 +24,7 @@ import com.tomkeuper.bedwars.api.arena.generator.IGenerator;
 import com.tomkeuper.bedwars.api.arena.team.ITeam;
 import com.tomkeuper.bedwars.api.arena.team.ITeamAssigner;
 import com.tomkeuper.bedwars.api.configuration.ConfigManager;
+import com.tomkeuper.bedwars.api.entity.Despawnable;
 import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.region.Region;
 import com.tomkeuper.bedwars.api.tasks.AnnouncementTask;
@@ -568,6 +569,8 @@ public interface IArena {
 
     /**
      * Get the show time map for armor invisibility.
+     * The value is the invisibility duration in seconds at the time the potion was drunk,
+     * the arena shows the armor back when it expires.
      *
      * @return The show time map.
      */
@@ -735,4 +738,30 @@ public interface IArena {
      * @return The team that owns the bed at the given location, or null if there is no bed or if the location is not in this arena's world.
      */
     @Nullable ITeam getBedsTeam(Location location);
-}
\ No newline at end of file
+
+    /**
+     * Get the configuration snapshot taken when the arena was created.
+     * Prefer this over {@link #getConfig()} on frequently called code paths.
+     *
+     * @return The arena settings, never null.
+     */
+    IArenaSettings getSettings();
+
+    /**
+     * Register a utility mob spawned for this arena.
+     * Its name and despawn timer are refreshed by the arena while the game is running.
+     *
+     * @param despawnable The mob to register.
+     */
+    void registerDespawnable(Despawnable despawnable);
+
+    /**
+     * Remove a block after a delay, for example cobwebs or decaying bridge blocks.
+     * The block is only removed if its type did not change meanwhile.
+     * Registering the same block again replaces its previous delay.
+     *
+     * @param block The block to remove.
+     * @param ticks The delay in ticks.
+     */
+    void addTemporaryBlock(Block block, int ticks);
+}
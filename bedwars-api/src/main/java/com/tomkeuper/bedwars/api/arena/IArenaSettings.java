@@ -0,0 +1,117 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.api.arena;
+
+import com.tomkeuper.bedwars.api.arena.generator.GeneratorType;
+import com.tomkeuper.bedwars.api.arena.generator.IGeneratorTier;
+import org.bukkit.Location;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable snapshot of the arena configuration values used during a game.
+ * It is built when the arena is initialized, so it is refreshed every time the arena is restarted or re-enabled.
+ * Locations are copied on each call and can be modified freely.
+ */
+public interface IArenaSettings {
+
+    /**
+     * Get the Y-coordinate from which players can no longer place blocks.
+     *
+     * @return The max build height.
+     */
+    int getMaxBuildY();
+
+    /**
+     * Get the Y-coordinate under which players can no longer place blocks.
+     *
+     * @return The min build height.
+     */
+    int getMinBuildY();
+
+    /**
+     * Get the radius of the islands in the arena.
+     *
+     * @return The island radius.
+     */
+    int getIslandRadius();
+
+    /**
+     * Get the Y-coordinate height at which players are instantly killed.
+     *
+     * @return The kill height, -1 if void kills are disabled.
+     */
+    int getYKillHeight();
+
+    /**
+     * Get the distance from the picker within which team members share island generator drops.
+     *
+     * @return The generator split range.
+     */
+    double getGeneratorSplitRange();
+
+    /**
+     * Get after how many seconds egg bridge blocks are removed, used by practice modes.
+     *
+     * @return The bridge block decay in seconds, 0 if bridge blocks do not decay.
+     */
+    int getBridgeBlockDecay();
+
+    /**
+     * Get the generator settings for the arena group.
+     *
+     * @param type The generator type.
+     * @param tier The tier, starting from 1. Iron and gold generators only have tier 1.
+     * @return The tier settings, or null if the tier does not exist for the given type.
+     */
+    @Nullable IGeneratorTier getGeneratorTier(GeneratorType type, int tier);
+
+    /**
+     * Get the spawn location of a team.
+     *
+     * @param team The team name as defined in the arena configuration.
+     * @return The spawn location, or null if not set.
+     */
+    @Nullable Location getTeamSpawn(String team);
+
+    /**
+     * Get the bed location of a team.
+     *
+     * @param team The team name as defined in the arena configuration.
+     * @return The bed location, or null if not set.
+     */
+    @Nullable Location getTeamBed(String team);
+
+    /**
+     * Get the shop NPC location of a team.
+     *
+     * @param team The team name as defined in the arena configuration.
+     * @return The shop location, or null if not set.
+     */
+    @Nullable Location getTeamShop(String team);
+
+    /**
+     * Get the upgrades NPC location of a team.
+     *
+     * @param team The team name as defined in the arena configuration.
+     * @return The upgrades location, or null if not set.
+     */
+    @Nullable Location getTeamUpgrade(String team);
+}
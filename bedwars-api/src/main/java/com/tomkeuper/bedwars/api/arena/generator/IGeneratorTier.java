@@ -0,0 +1,55 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.api.arena.generator;
+
+/**
+ * Resolved settings of a generator tier for a given arena group.
+ */
+public interface IGeneratorTier {
+
+    /**
+     * Get the delay between drops in seconds.
+     *
+     * @return The drop delay in seconds.
+     */
+    double getDelay();
+
+    /**
+     * Get the amount of items dropped at once.
+     *
+     * @return The drop amount.
+     */
+    int getAmount();
+
+    /**
+     * Get the maximum amount of items that can lay around the generator.
+     *
+     * @return The spawn limit, 0 if unlimited.
+     */
+    int getSpawnLimit();
+
+    /**
+     * Get the amount of seconds after which this tier is reached.
+     *
+     * @return The tier start in seconds, 0 for tiers without an upgrade timer.
+     */
+    int getStart();
+}
@@ -24,6 +24,7 @@ package com.tomkeuper.bedwars.api.configuration;
 public class ConfigPath {
 
     public static final String GENERATOR_STACK_ITEMS = "stack-items";
+    public static final String GENERATOR_VIRTUAL_STACK = "virtual-stack";
 
     public static final String GENERATOR_IRON_DELAY = "iron.delay";
     public static final String GENERATOR_IRON_AMOUNT = "iron.amount";
@@ -194,6 +195,7 @@ public class ConfigPath {
     public static final String ARENA_UPGRADES_PROTECTION = "upgrades-protection";
     public static final String ARENA_GENERATOR_PROTECTION = "generator-protection";
     public static final String ARENA_GENERATOR_SPLIT_RANGE = "generator-split-range";
+    public static final String ARENA_BRIDGE_BLOCK_DECAY = "bridge-block-decay";
     public static final String ARENA_DISABLE_GENERATOR_FOR_EMPTY_TEAMS = "disable-generator-for-empty-teams";
     public static final String ARENA_DISABLE_NPCS_FOR_EMPTY_TEAMS = "disable-npcs-for-empty-teams";
     public static final String ARENA_ISLAND_RADIUS = "island-radius";
@@ -276,7 +278,10 @@ public class ConfigPath {
     public static final String GENERAL_CONFIGURATION_PERFORMANCE_PATH = "performance-settings";
     public static final String GENERAL_CONFIGURATION_PERFORMANCE_ROTATE_GEN = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".rotate-generators";
     public static final String GENERAL_CONFIGURATION_PERFORMANCE_SPOIL_TNT_PLAYERS = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".spoil-tnt-players";
+    public static final String GENERAL_CONFIGURATION_PERFORMANCE_SPOIL_TNT_PLAYERS_INTERVAL = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".spoil-tnt-players-interval";
     public static final String GENERAL_CONFIGURATION_PERFORMANCE_GENERATOR_SPLIT = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".split-island-generator";
+    public static final String GENERAL_CONFIGURATION_PERFORMANCE_BLOCK_CHANGE_BUDGET = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".block-change-budget-ms";
+    public static final String GENERAL_CONFIGURATION_PERFORMANCE_ARENA_LOADS = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".parallel-arena-loads";
 
     public static final String GENERAL_CONFIGURATION_PERFORMANCE_PAPER_FEATURES = GENERAL_CONFIGURATION_PERFORMANCE_PATH + ".paper-features";
 
@@ -289,6 +294,8 @@ public class ConfigPath {
 
     public static final String SHOP_SPECIAL_TOWER_ENABLE = SHOP_SPECIALS_PATH + ".tower.enable";
     public static final String SHOP_SPECIAL_TOWER_MATERIAL = SHOP_SPECIALS_PATH + ".tower.material";
+    public static final String SHOP_SPECIAL_TOWER_SCHEMATIC = SHOP_SPECIALS_PATH + ".tower.schematic";
+    public static final String SHOP_SPECIAL_TOWER_BLOCKS_PER_TICK = SHOP_SPECIALS_PATH + ".tower.blocks-per-tick";
     public static final String SHOP_SPECIAL_SILVERFISH_ENABLE = SHOP_SPECIALS_PATH + ".silverfish.enable";
     public static final String SHOP_SPECIAL_SILVERFISH_MATERIAL = SHOP_SPECIALS_PATH + ".silverfish.material";
     public static final String SHOP_SPECIAL_SILVERFISH_DATA = SHOP_SPECIALS_PATH + ".silverfish.data";
@@ -21,8 +21,11 @@
 package com.tomkeuper.bedwars.api.database;
 
 import com.tomkeuper.bedwars.api.shop.IQuickBuyElement;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
 import com.tomkeuper.bedwars.api.stats.IPlayerStats;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
@@ -162,4 +165,16 @@ public interface IDatabase {
      * @param elementList  A list of quick buy elements.
      */
     void pushQuickBuyChanges(HashMap<Integer, String> updateSlots, UUID uuid, List<IQuickBuyElement> elementList);
+
+    /**
+     * Fetches the best players for a statistic.
+     * This runs a query, use the cached leaderboards from {@link com.tomkeuper.bedwars.api.BedWars.IStats} instead.
+     *
+     * @param stat  The statistic to rank by.
+     * @param limit The maximum amount of players.
+     * @return The players ordered by the statistic, highest first.
+     */
+    default List<ILeaderboardEntry> getLeaderboard(LeaderboardStat stat, int limit) {
+        return Collections.emptyList();
+    }
 }
\ No newline at end of file
@@ -23,22 +23,35 @@ package com.tomkeuper.bedwars.api.entity;
 import com.tomkeuper.bedwars.api.BedWars;
 import com.tomkeuper.bedwars.api.arena.team.ITeam;
 import com.tomkeuper.bedwars.api.events.player.PlayerKillEvent;
+import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.language.Messages;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 public class Despawnable {
 
+    /**
+     * Rendered health bars per language, indexed by health tenths (0-10).
+     */
+    private static final Map<Language, String[]> healthBars = new HashMap<>();
+
     private LivingEntity e;
     private ITeam team;
     private int despawn = 250;
     private String namePath;
+    private String nameFormat;
+    private String lastName;
     private PlayerKillEvent.PlayerKillCause deathRegularCause, deathFinalCause;
     private UUID uuid;
 
     private static BedWars api;
+    private static Plugin plugin;
 
     public Despawnable(LivingEntity e, ITeam team, int despawn, String namePath, PlayerKillEvent.PlayerKillCause deathFinalCause, PlayerKillEvent.PlayerKillCause deathRegularCause) {
         this.e = e;
@@ -51,37 +64,94 @@ public class Despawnable {
             this.despawn = despawn;
         }
         this.namePath = namePath;
-        if (api == null) api = Bukkit.getServer().getServicesManager().getRegistration(BedWars.class).getProvider();
+        if (api == null) {
+            RegisteredServiceProvider<BedWars> registration = Bukkit.getServer().getServicesManager().getRegistration(BedWars.class);
+            api = registration.getProvider();
+            plugin = registration.getPlugin();
+        }
         api.getVersionSupport().getDespawnablesList().put(uuid, this);
+        this.nameFormat = api.getDefaultLang().m(namePath);
+        if (team != null) {
+            nameFormat = nameFormat.replace("%bw_team_color%", team.getColor().chat().toString()).replace("%bw_team_name%", team.getDisplayName(api.getDefaultLang()));
+        }
+        if (team != null && team.getArena() != null) {
+            team.getArena().registerDespawnable(this);
+        } else {
+            // no arena refreshes it, so it is only removed once its time runs out
+            Bukkit.getScheduler().runTaskLater(plugin, this::expire, this.despawn * 20L);
+        }
         this.setName();
     }
 
-    public void refresh() {
-        if (e.isDead() || e == null || team == null || team.getArena() == null) {
-            api.getVersionSupport().getDespawnablesList().remove(uuid);
-            if (team.getArena() == null){
-                e.damage(e.getHealth()+100);
+    /**
+     * Update the remaining time and the entity name.
+     * Called once per second by the arena the entity belongs to.
+     *
+     * @param despawn seconds left until the entity is removed.
+     * @return false if the entity is no longer valid and should not be refreshed again.
+     */
+    public boolean refresh(int despawn) {
+        if (e == null || e.isDead() || team == null || team.getArena() == null) {
+            if (uuid != null) {
+                api.getVersionSupport().getDespawnablesList().remove(uuid);
+            }
+            if (e != null && !e.isDead()) {
+                e.damage(e.getHealth() + 100);
             }
-            return;
+            return false;
         }
+        this.despawn = despawn;
         setName();
-        despawn--;
-        if (despawn == 0) {
-            e.damage(e.getHealth()+100);
-            api.getVersionSupport().getDespawnablesList().remove(e.getUniqueId());
+        return true;
+    }
+
+    /**
+     * Count down one second and update the entity name.
+     *
+     * @deprecated despawnables are refreshed by their arena, see {@link #refresh(int)}.
+     */
+    @Deprecated
+    public void refresh() {
+        if (refresh(despawn - 1) && despawn <= 0) {
+            expire();
+        }
+    }
+
+    /**
+     * Remove the entity because its time ran out.
+     */
+    public void expire() {
+        api.getVersionSupport().getDespawnablesList().remove(uuid);
+        if (e != null && !e.isDead()) {
+            e.damage(e.getHealth() + 100);
         }
     }
 
     private void setName() {
-        int percentuale = (int) ((e.getHealth() * 100) / e.getMaxHealth() / 10);
-        String name = api.getDefaultLang().m(namePath).replace("%bw_despawn_time%", String.valueOf(despawn)).replace("%bw_health%",
-                new String(new char[percentuale]).replace("\0", api.getDefaultLang()
-                        .m(Messages.FORMATTING_DESPAWNABLE_UTILITY_NPC_HEALTH)) + new String(new char[10 - percentuale]).replace("\0", "§7" + api.getDefaultLang()
-                        .m(Messages.FORMATTING_DESPAWNABLE_UTILITY_NPC_HEALTH)));
-        if (team != null) {
-            name = name.replace("%bw_team_color%", team.getColor().chat().toString()).replace("%bw_team_name%", team.getDisplayName(api.getDefaultLang()));
+        int health = (int) ((e.getHealth() * 100) / e.getMaxHealth() / 10);
+        String name = nameFormat.replace("%bw_despawn_time%", String.valueOf(despawn))
+                .replace("%bw_health%", getHealthBar(api.getDefaultLang(), Math.max(0, Math.min(10, health))));
+        if (!name.equals(lastName)) {
+            lastName = name;
+            e.setCustomName(name);
+        }
+    }
+
+    private static String getHealthBar(Language language, int health) {
+        String[] bars = healthBars.get(language);
+        if (bars == null) {
+            String symbol = language.m(Messages.FORMATTING_DESPAWNABLE_UTILITY_NPC_HEALTH);
+            bars = new String[11];
+            for (int i = 0; i < bars.length; i++) {
+                StringBuilder bar = new StringBuilder();
+                for (int j = 0; j < 10; j++) {
+                    bar.append(j < i ? symbol : "§7" + symbol);
+                }
+                bars[i] = bar.toString();
+            }
+            healthBars.put(language, bars);
         }
-        e.setCustomName(name);
+        return bars[health];
     }
 
     public LivingEntity getEntity() {
@@ -26,21 +26,31 @@ import org.bukkit.block.Block;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
 
+import java.util.Collections;
+import java.util.List;
+
 public class EggBridgeBuildEvent extends Event {
 
     private static final HandlerList HANDLERS = new HandlerList();
 
     private TeamColor teamColor;
     private IArena arena;
-    private Block block;
+    private List<Block> blocks;
 
     /**
      * Called when the eggBridge is building another block
      */
     public EggBridgeBuildEvent(TeamColor teamColor, IArena arena, Block block) {
+        this(teamColor, arena, Collections.singletonList(block));
+    }
+
+    /**
+     * Called once per tick with the blocks built by an egg bridge during that tick.
+     */
+    public EggBridgeBuildEvent(TeamColor teamColor, IArena arena, List<Block> blocks) {
         this.teamColor = teamColor;
         this.arena = arena;
-        this.block = block;
+        this.blocks = blocks;
     }
 
     /**
@@ -51,10 +61,17 @@ public class EggBridgeBuildEvent extends Event {
     }
 
     /**
-     * Get the built block
+     * Get the first built block
      */
     public Block getBlock() {
-        return block;
+        return blocks.get(0);
+    }
+
+    /**
+     * Get every block built in this tick
+     */
+    public List<Block> getBlocks() {
+        return blocks;
     }
 
     /**
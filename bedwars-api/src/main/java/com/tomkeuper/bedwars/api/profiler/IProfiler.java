@@ -0,0 +1,68 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.api.profiler;
+
+import com.tomkeuper.bedwars.api.arena.IArena;
+
+import java.util.List;
+
+/**
+ * Timing registry wrapped around the BedWars subsystems running on the tick:
+ * generators, game tasks, move listeners, shop clicks, sidebar placeholders and database calls.
+ * Samples are kept over a rolling window of one minute.
+ */
+public interface IProfiler {
+
+    /**
+     * Check if timings are being recorded.
+     *
+     * @return true if the profiler is recording.
+     */
+    boolean isEnabled();
+
+    /**
+     * Start or stop recording timings.
+     * While disabled every instrumented entry point only performs a boolean check.
+     *
+     * @param enabled true to start recording.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Discard all recorded timings.
+     */
+    void reset();
+
+    /**
+     * Get the timings recorded on the whole server.
+     *
+     * @return a snapshot per subsystem, slowest total time first.
+     */
+    List<ITimingReport> getTimings();
+
+    /**
+     * Get the timings recorded for the given arena.
+     *
+     * @param arena target arena.
+     * @return a snapshot per subsystem, slowest total time first.
+     */
+    List<ITimingReport> getTimings(IArena arena);
+}
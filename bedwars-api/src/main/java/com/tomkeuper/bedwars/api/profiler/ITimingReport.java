@@ -0,0 +1,75 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.api.profiler;
+
+/**
+ * Snapshot of a subsystem timing over the profiler's rolling window.
+ * Durations are in nanoseconds.
+ */
+public interface ITimingReport {
+
+    /**
+     * @return subsystem name.
+     */
+    String getName();
+
+    /**
+     * @return calls recorded in the window.
+     */
+    long getCalls();
+
+    /**
+     * @return average calls per second in the window.
+     */
+    double getCallsPerSecond();
+
+    /**
+     * @return median call duration.
+     */
+    long getP50();
+
+    /**
+     * @return 95th percentile call duration.
+     */
+    long getP95();
+
+    /**
+     * @return 99th percentile call duration.
+     */
+    long getP99();
+
+    /**
+     * @return longest call duration.
+     */
+    long getMax();
+
+    /**
+     * @return total time spent in the window.
+     */
+    long getTotal();
+
+    /**
+     * Estimated from the thread allocation counters, which are not available on every JVM.
+     *
+     * @return average bytes allocated per call, -1 if unknown.
+     */
+    long getAllocatedPerCall();
+}
@@ -54,6 +54,8 @@ public abstract class VersionSupport {
     public static String PLUGIN_TAG_GENERIC_KEY = "BedWars2023";
     public static String PLUGIN_TAG_TIER_KEY = "tierIdentifier";
 
+    private static final double PARTICLE_RANGE_SQUARED = 64 * 64;
+
     private Effect eggBridge;
 
     private static final ConcurrentHashMap<UUID, Despawnable> despawnables = new ConcurrentHashMap<>();
@@ -379,6 +381,14 @@ public abstract class VersionSupport {
 
     }
 
+    /**
+     * Change a block type without applying physics to it or its neighbours.
+     * Used by bulk world edits, versions may override this with a faster path.
+     */
+    public void setBlockTypeFast(Block block, Material material) {
+        block.setType(material, false);
+    }
+
     /**
      * Change the block behind the join sign.
      */
@@ -486,8 +496,18 @@ public abstract class VersionSupport {
      */
     public abstract Fireball setFireballDirection(Fireball fireball, Vector vector);
 
+    /**
+     * Show a red dot above the player's head to nearby players.
+     */
     public abstract void playRedStoneDot(Player player);
 
+    /**
+     * Check if a player is close enough to see particles spawned around another player.
+     */
+    public boolean isInParticleRange(Player source, Player viewer) {
+        return source.getLocation().distanceSquared(viewer.getLocation()) <= PARTICLE_RANGE_SQUARED;
+    }
+
     public abstract void clearArrowsFromPlayerBody(Player player);
 
     public abstract void placeTowerBlocks(Block b, IArena a, TeamColor color, int x, int y,int z);
@@ -0,0 +1,50 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.api.stats;
+
+import java.util.UUID;
+
+/**
+ * A leaderboard row.
+ */
+public interface ILeaderboardEntry {
+
+    /**
+     * Returns the UUID of the player.
+     *
+     * @return The UUID of the player.
+     */
+    UUID getUuid();
+
+    /**
+     * Returns the last known name of the player.
+     *
+     * @return The name of the player, may be null if it was never stored.
+     */
+    String getName();
+
+    /**
+     * Returns the statistic value.
+     *
+     * @return The value the player is ranked by.
+     */
+    int getValue();
+}
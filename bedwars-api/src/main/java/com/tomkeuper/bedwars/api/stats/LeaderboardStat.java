@@ -18,17 +18,15 @@
  * Contact e-mail: contact@fyreblox.com
  */
 
-package com.tomkeuper.bedwars.arena.tasks;
+package com.tomkeuper.bedwars.api.stats;
 
-import com.tomkeuper.bedwars.BedWars;
-import com.tomkeuper.bedwars.api.entity.Despawnable;
-
-public class Refresh implements Runnable {
-
-    @Override
-    public void run() {
-        for (Despawnable d : BedWars.nms.getDespawnablesList().values()){
-            d.refresh();
-        }
-    }
+/**
+ * Statistics with a cached top-N leaderboard.
+ */
+public enum LeaderboardStat {
+    WINS,
+    KILLS,
+    FINAL_KILLS,
+    BEDS_DESTROYED,
+    LEVEL
 }
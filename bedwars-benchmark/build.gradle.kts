@@ -0,0 +1,57 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+repositories {
+    mavenCentral()
+    mavenLocal()
+    // Important Repos
+    maven("https://repo.tomkeuper.com/repository/bedwars-releases/") // TAB
+    maven("https://papermc.io/repo/repository/maven-public/") // PaperLib
+    maven("https://repo.codemc.io/repository/nms/") // Spigot
+    maven("https://repo.codemc.io/repository/maven-public/") // VipFeatures
+    maven("https://maven.citizensnpcs.co/repo") // citizens-main
+    maven("https://repo.extendedclip.com/content/repositories/placeholderapi/") // placeholderapi
+    maven("https://nexus.iridiumdevelopment.net/repository/maven-releases/") // IridiumColorAPI
+    maven("https://repo.alessiodp.com/releases/") // slimjar
+}
+
+dependencies {
+    implementation(projects.bedwarsPlugin)
+    // the harness runs the plugin on top of the 1.8.8 server classes, like the v1_8_R3 support
+    implementation("org.spigotmc:spigot:1.8.8-R0.1-SNAPSHOT")
+    implementation("net.bytebuddy:byte-buddy:1.14.9")
+
+    // compile only dependencies of the plugin, required when its classes are loaded
+    runtimeOnly("me.neznamy:tab-api:4.0.2")
+    runtimeOnly("me.clip:placeholderapi:2.11.2")
+    runtimeOnly("net.citizensnpcs:citizens-main:2.0.30-SNAPSHOT") {
+        exclude("junit", "junit")
+        exclude("org.bstats", "bstats-bukkit")
+    }
+    runtimeOnly("net.milkbowl.vault:VaultAPI:1.7") {
+        exclude("org.bukkit", "bukkit")
+    }
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // allocation rate per operation next to the timings
+    profilers.add("gc")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+tasks.compileJava {
+    options.release.set(11)
+}
+
+description = "bedwars-benchmark"
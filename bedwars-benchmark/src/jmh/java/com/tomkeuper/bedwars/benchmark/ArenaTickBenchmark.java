@@ -0,0 +1,88 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark;
+
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.api.arena.generator.IGenerator;
+import com.tomkeuper.bedwars.api.arena.team.ITeam;
+import com.tomkeuper.bedwars.arena.tasks.OneTick;
+import com.tomkeuper.bedwars.benchmark.harness.FakeArena;
+import com.tomkeuper.bedwars.benchmark.harness.HarnessServer;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One server tick of a running game.
+ * The generators are spawned every 5 ticks like the ore generator task of an arena,
+ * then the tick task and the scheduled tasks are run.
+ * Drops are picked up every 30 seconds so the spawn limits are reached like in a real game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArenaTickBenchmark {
+
+    @Param({"4", "8"})
+    public int teams;
+
+    @Param({"1", "4"})
+    public int playersPerTeam;
+
+    private HarnessServer server;
+    private FakeArena arena;
+    private final OneTick oneTick = new OneTick();
+    private int tick;
+
+    @Setup
+    public void setup() {
+        server = HeadlessBedWars.start().getServer();
+        arena = FakeArena.create("tick_" + teams + "_" + playersPerTeam, teams, playersPerTeam, GameState.playing);
+        arena.createGenerators(4, 2);
+    }
+
+    @Benchmark
+    public void tick() {
+        if (tick % 5 == 0) {
+            for (ITeam team : arena.getTeams()) {
+                for (IGenerator generator : team.getGenerators()) {
+                    generator.spawn();
+                }
+            }
+            for (IGenerator generator : arena.getArena().getOreGenerators()) {
+                generator.spawn();
+            }
+        }
+        oneTick.run();
+        server.tick();
+        if (++tick % 600 == 0) {
+            arena.getWorld().pickupItems();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark;
+
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.api.arena.team.ITeam;
+import com.tomkeuper.bedwars.arena.IslandGrid;
+import com.tomkeuper.bedwars.benchmark.harness.FakeArena;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base enter/ leave detection for one server tick of movement of 8 teams of 4 players,
+ * walking between their island and the middle of the map.
+ * The island grid is compared with scanning the distance to every bed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BaseMovementBenchmark {
+
+    private static final int RADIUS = 17;
+    // recorded ticks per player, a trip to the middle and back
+    private static final int TRACE = 400;
+
+    private List<ITeam> teams;
+    private IslandGrid grid;
+    private Location[][] traces;
+    private int tick;
+
+    @Setup
+    public void setup() {
+        HeadlessBedWars.start();
+        FakeArena arena = FakeArena.create("movement", 8, 4, GameState.playing);
+        teams = arena.getTeams();
+        grid = new IslandGrid(teams, RADIUS);
+        Random random = new Random(44);
+        traces = new Location[arena.getPlayers().size()][TRACE];
+        int player = 0;
+        for (ITeam team : teams) {
+            Location bed = team.getBed();
+            for (int m = 0; m < 4; m++, player++) {
+                // sprinting speed, with some sideways noise
+                Location location = bed.clone();
+                double stepX = -bed.getX() / (TRACE / 2D), stepZ = -bed.getZ() / (TRACE / 2D);
+                for (int t = 0; t < TRACE; t++) {
+                    double direction = t < TRACE / 2 ? 1 : -1;
+                    location.add(stepX * direction + random.nextGaussian() * 0.05, 0, stepZ * direction + random.nextGaussian() * 0.05);
+                    traces[player][t] = location.clone();
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void islandGrid(Blackhole blackhole) {
+        int t = tick++ % TRACE, previous = (t + TRACE - 1) % TRACE;
+        for (Location[] trace : traces) {
+            // as in the move listener, only block changes are evaluated
+            if (sameBlock(trace[previous], trace[t])) continue;
+            blackhole.consume(grid.getTeam(trace[t]));
+        }
+    }
+
+    @Benchmark
+    public void teamScan(Blackhole blackhole) {
+        int t = tick++ % TRACE;
+        // every move was evaluated before the grid
+        for (Location[] trace : traces) {
+            blackhole.consume(scan(trace[t]));
+        }
+    }
+
+    private ITeam scan(Location location) {
+        for (ITeam team : teams) {
+            if (location.distance(team.getBed()) <= RADIUS) {
+                return team;
+            }
+        }
+        return null;
+    }
+
+    private static boolean sameBlock(Location from, Location to) {
+        return from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ();
+    }
+}
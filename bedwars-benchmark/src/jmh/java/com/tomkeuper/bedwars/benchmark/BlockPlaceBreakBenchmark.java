@@ -0,0 +1,103 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark;
+
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.benchmark.harness.FakeArena;
+import com.tomkeuper.bedwars.benchmark.harness.FakeWorld;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import com.tomkeuper.bedwars.listeners.BreakPlace;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A player bridging with wool in a running game, and breaking the placed blocks again.
+ * The events are dispatched through the plugin manager to the registered block listener,
+ * so the cost includes the event dispatch and the drops of broken blocks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockPlaceBreakBenchmark {
+
+    // length of the bridge, placed blocks are reused once it is complete
+    private static final int BRIDGE = 64;
+
+    private FakeWorld world;
+    private Player player;
+    private final Block[] bridge = new Block[BRIDGE];
+    private final ItemStack wool = new ItemStack(Material.WOOL, 64);
+    private int next;
+
+    @Setup
+    public void setup() {
+        HeadlessBedWars harness = HeadlessBedWars.start();
+        Bukkit.getPluginManager().registerEvents(new BreakPlace(), harness.getPlugin());
+        FakeArena arena = FakeArena.create("blocks", 4, 1, GameState.playing);
+        world = arena.getWorld();
+        player = arena.getPlayers().get(0);
+        for (int i = 0; i < BRIDGE; i++) {
+            bridge[i] = world.getBlockAt(i, 70, 0);
+        }
+    }
+
+    @Benchmark
+    public boolean place() {
+        Block block = bridge[next++ % BRIDGE];
+        boolean placed = place(block);
+        block.setType(Material.AIR);
+        return placed;
+    }
+
+    @Benchmark
+    public boolean placeAndBreak() {
+        Block block = bridge[next++ % BRIDGE];
+        if (!place(block)) return false;
+        BlockBreakEvent event = new BlockBreakEvent(block, player);
+        Bukkit.getPluginManager().callEvent(event);
+        // drops are collected now and then, like players walking over them
+        if (next % 1000 == 0) {
+            world.pickupItems();
+        }
+        return block.getType() == Material.AIR;
+    }
+
+    private boolean place(Block block) {
+        block.setType(Material.WOOL);
+        BlockPlaceEvent event = new BlockPlaceEvent(block, null, block.getRelative(-1, 0, 0), wool, player, true);
+        Bukkit.getPluginManager().callEvent(event);
+        return !event.isCancelled();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.benchmark.harness.FakeArena;
+import com.tomkeuper.bedwars.benchmark.harness.FakePlayer;
+import com.tomkeuper.bedwars.benchmark.harness.FakeWorld;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import com.tomkeuper.bedwars.listeners.chat.ChatFormatting;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat messages formatted by the plugin, in the main lobby and in a team of a running game.
+ * Half of the players use italian, so every message is rendered for two languages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatBenchmark {
+
+    @Param({"16", "100"})
+    public int lobbyPlayers;
+
+    private final ChatFormatting chat = new ChatFormatting();
+    private final List<FakePlayer> lobby = new ArrayList<>();
+    private List<Player> online;
+    private FakeArena arena;
+    private int sent;
+
+    @Setup
+    public void setup() {
+        HeadlessBedWars.start();
+        FakeWorld world = FakeWorld.load("chat_lobby_" + lobbyPlayers);
+        BedWars.setLobbyWorld(world.getName());
+        for (int i = 0; i < lobbyPlayers; i++) {
+            FakePlayer player = FakePlayer.join("lobby_" + lobbyPlayers + "_" + i, world);
+            if (i % 2 == 1) {
+                HeadlessBedWars.setLanguage(player, "it");
+            }
+            lobby.add(player);
+        }
+        arena = FakeArena.create("chat_" + lobbyPlayers, 4, 4, GameState.playing);
+        for (int i = 1; i < arena.getFakePlayers().size(); i += 2) {
+            HeadlessBedWars.setLanguage(arena.getFakePlayers().get(i), "it");
+        }
+        online = new ArrayList<>(HeadlessBedWars.get().getServer().getServer().getOnlinePlayers());
+    }
+
+    @Benchmark
+    public AsyncPlayerChatEvent lobbyChat() {
+        return chat(lobby.get(0).getPlayer(), "gg");
+    }
+
+    @Benchmark
+    public AsyncPlayerChatEvent teamChat() {
+        return chat(arena.getPlayers().get(0), "rush blue");
+    }
+
+    private AsyncPlayerChatEvent chat(Player sender, String message) {
+        AsyncPlayerChatEvent event = new AsyncPlayerChatEvent(true, sender, message, new HashSet<>(online));
+        chat.onChat(event);
+        // forget delivered messages now and then, so they do not pile up during an iteration
+        if (++sent % 1000 == 0) {
+            for (FakePlayer player : lobby) {
+                player.clearMessages();
+            }
+            for (FakePlayer player : arena.getFakePlayers()) {
+                player.clearMessages();
+            }
+        }
+        return event;
+    }
+}
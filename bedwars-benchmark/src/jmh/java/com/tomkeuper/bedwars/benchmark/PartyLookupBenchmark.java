@@ -0,0 +1,109 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark;
+
+import com.tomkeuper.bedwars.benchmark.harness.FakePlayer;
+import com.tomkeuper.bedwars.benchmark.harness.FakeWorld;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import com.tomkeuper.bedwars.support.party.Internal;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups on the internal party system with many parties of four players,
+ * as done by the arena join and chat code for every player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PartyLookupBenchmark {
+
+    private static final int PARTY_SIZE = 4;
+
+    @Param({"10", "1000", "10000"})
+    public int parties;
+
+    private final Internal party = new Internal();
+    private final List<Player> owners = new ArrayList<>();
+    private final List<Player> members = new ArrayList<>();
+    private final List<FakePlayer> players = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setup() {
+        HeadlessBedWars.start();
+        FakeWorld world = FakeWorld.load("parties_" + parties);
+        for (int i = 0; i < parties; i++) {
+            Player[] party = new Player[PARTY_SIZE];
+            for (int m = 0; m < PARTY_SIZE; m++) {
+                FakePlayer player = FakePlayer.join("party_" + parties + "_" + i + "_" + m, world);
+                players.add(player);
+                party[m] = player.getPlayer();
+            }
+            this.party.createParty(party[0], party[1], party[2], party[3]);
+            owners.add(party[0]);
+            // the last member, the slowest one to find in a member list
+            members.add(party[PARTY_SIZE - 1]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Player owner : owners) {
+            party.disband(owner);
+        }
+        for (FakePlayer player : players) {
+            player.quit();
+        }
+    }
+
+    @Benchmark
+    public boolean hasParty() {
+        return party.hasParty(member());
+    }
+
+    @Benchmark
+    public Player getOwner() {
+        return party.getOwner(member());
+    }
+
+    @Benchmark
+    public boolean isMember() {
+        int i = next++ % parties;
+        return party.isMember(owners.get(i), members.get(i));
+    }
+
+    private Player member() {
+        return members.get(next++ % parties);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark;
+
+import com.tomkeuper.bedwars.api.events.player.PlayerXpGainEvent;
+import com.tomkeuper.bedwars.benchmark.harness.FakePlayer;
+import com.tomkeuper.bedwars.benchmark.harness.FakeWorld;
+import com.tomkeuper.bedwars.benchmark.harness.HarnessServer;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import com.tomkeuper.bedwars.levels.internal.PlayerLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per minute xp reward given to every player in game at once.
+ * Each player receives the reward and a teammate bonus in the same tick,
+ * then the tick applies the xp and, in the second benchmark, the modified levels are handed to the SQLite writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RewardBurstBenchmark {
+
+    @Param({"100", "1000"})
+    public int players;
+
+    private HarnessServer server;
+    private final List<PlayerLevel> levels = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        HeadlessBedWars harness = HeadlessBedWars.start();
+        harness.useSQLite();
+        server = harness.getServer();
+        FakeWorld world = FakeWorld.load("rewards_" + players);
+        for (int i = 0; i < players; i++) {
+            FakePlayer player = FakePlayer.join("rewards_" + players + "_" + i, world);
+            levels.add(PlayerLevel.getLevelByPlayer(player.getUniqueId()));
+        }
+    }
+
+    @Benchmark
+    public void reward() {
+        burst();
+        server.tick();
+    }
+
+    @Benchmark
+    public boolean rewardAndSave() {
+        burst();
+        server.tick();
+        PlayerLevel.saveModified(true);
+        return server.awaitAsync(10, TimeUnit.SECONDS);
+    }
+
+    private void burst() {
+        for (PlayerLevel level : levels) {
+            level.addXp(10, PlayerXpGainEvent.XpSource.PER_MINUTE);
+            level.addXp(5, PlayerXpGainEvent.XpSource.PER_TEAMMATE);
+        }
+    }
+}
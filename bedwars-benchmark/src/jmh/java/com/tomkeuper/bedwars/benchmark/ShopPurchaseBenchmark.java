@@ -0,0 +1,106 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.api.arena.shop.ICategoryContent;
+import com.tomkeuper.bedwars.api.shop.IShopCategory;
+import com.tomkeuper.bedwars.benchmark.harness.FakeArena;
+import com.tomkeuper.bedwars.benchmark.harness.FakePlayer;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import com.tomkeuper.bedwars.shop.ShopCache;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A player buying from the default shop with the shop open.
+ * The inventory is refilled before each purchase, so every purchase takes the money,
+ * gives the item and renders the shop again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShopPurchaseBenchmark {
+
+    private FakePlayer buyer;
+    private Player player;
+    private PlayerInventory inventory;
+    private ShopCache shopCache;
+    private ICategoryContent wool;
+    private ICategoryContent stoneSword;
+
+    @Setup
+    public void setup() {
+        HeadlessBedWars.start();
+        FakeArena arena = FakeArena.create("shop", 2, 1, GameState.playing);
+        buyer = arena.getFakePlayers().get(0);
+        player = buyer.getPlayer();
+        inventory = buyer.getInventory();
+        buyer.openChest(54);
+        shopCache = new ShopCache(buyer.getUniqueId());
+        wool = findContent(".wool");
+        stoneSword = findContent(".stone-sword");
+    }
+
+    @Benchmark
+    public boolean buyWool() {
+        refill();
+        return wool.execute(player, shopCache, wool.getSlot());
+    }
+
+    @Benchmark
+    public boolean buyStoneSword() {
+        refill();
+        return stoneSword.execute(player, shopCache, stoneSword.getSlot());
+    }
+
+    /**
+     * Empty the inventory and give a stack of iron, clearing the messages of the last purchase.
+     */
+    private void refill() {
+        inventory.clear();
+        inventory.setItem(0, new ItemStack(Material.IRON_INGOT, 64));
+        buyer.clearMessages();
+    }
+
+    private static ICategoryContent findContent(String suffix) {
+        for (IShopCategory category : BedWars.shop.getCategoryList()) {
+            for (ICategoryContent content : category.getCategoryContentList()) {
+                if (content.getIdentifier().endsWith(suffix)) {
+                    return content;
+                }
+            }
+        }
+        throw new IllegalStateException("The default shop has no content ending with " + suffix);
+    }
+}
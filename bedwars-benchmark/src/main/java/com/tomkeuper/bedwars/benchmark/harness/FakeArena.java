@@ -0,0 +1,278 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark.harness;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.arena.generator.GeneratorType;
+import com.tomkeuper.bedwars.api.arena.generator.IGenerator;
+import com.tomkeuper.bedwars.api.arena.team.ITeam;
+import com.tomkeuper.bedwars.api.arena.team.TeamColor;
+import com.tomkeuper.bedwars.api.region.Region;
+import com.tomkeuper.bedwars.arena.Arena;
+import com.tomkeuper.bedwars.arena.ArenaSettings;
+import com.tomkeuper.bedwars.arena.OreGenerator;
+import com.tomkeuper.bedwars.configuration.ArenaConfig;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Arena in game without map, made of teams of fake players.
+ * It only answers what the measured code paths ask to an arena.
+ */
+public final class FakeArena implements InvocationHandler {
+
+    private final String name;
+    private final String group;
+    private final int maxInTeam;
+    private final FakeWorld world;
+    private final ArenaConfig config;
+    private final ArenaSettings settings;
+    private final IArena arena;
+    private final List<ITeam> teams = new ArrayList<>();
+    private final List<Team> teamData = new ArrayList<>();
+    private final List<Player> players = new CopyOnWriteArrayList<>();
+    private final List<Player> spectators = new CopyOnWriteArrayList<>();
+    private final List<FakePlayer> fakePlayers = new ArrayList<>();
+    private final List<IGenerator> generators = new ArrayList<>();
+    private final List<Region> regions = new ArrayList<>();
+    private final ConcurrentHashMap<Player, Integer> respawnSessions = new ConcurrentHashMap<>();
+    private final Set<Block> placedBlocks = ConcurrentHashMap.newKeySet();
+    private volatile GameState status;
+
+    private FakeArena(String name, String group, int maxInTeam, GameState status) {
+        this.name = name;
+        this.group = group;
+        this.maxInTeam = maxInTeam;
+        this.status = status;
+        this.world = FakeWorld.load(name);
+        this.config = new ArenaConfig(BedWars.plugin, name, BedWars.plugin.getDataFolder().getPath() + "/Arenas");
+        this.settings = new ArenaSettings(config, BedWars.generators, group);
+        this.arena = Fakes.proxy(IArena.class, this);
+    }
+
+    /**
+     * Create an arena with full teams.
+     *
+     * @param teamCount amount of teams, one per team color.
+     * @param maxInTeam players per team.
+     */
+    public static FakeArena create(String name, int teamCount, int maxInTeam, GameState status) {
+        FakeArena fake = new FakeArena(name, "Default", maxInTeam, status);
+        TeamColor[] colors = TeamColor.values();
+        for (int t = 0; t < teamCount; t++) {
+            Team team = fake.new Team(colors[t % colors.length].name().toLowerCase(), colors[t % colors.length], t);
+            for (int p = 0; p < maxInTeam; p++) {
+                FakePlayer player = FakePlayer.join(name + "_" + t + "_" + p, fake.world);
+                team.members.add(player.getPlayer());
+                fake.players.add(player.getPlayer());
+                fake.fakePlayers.add(player);
+                Arena.setArenaByPlayer(player.getPlayer(), fake.arena);
+            }
+            fake.teams.add(team.team);
+            fake.teamData.add(team);
+        }
+        return fake;
+    }
+
+    /**
+     * Add an iron and a gold generator to every team and the given shared generators.
+     * Holograms are not created, there is no client to show them.
+     */
+    public void createGenerators(int diamonds, int emeralds) {
+        for (Team team : teamData) {
+            team.teamGenerators.add(new OreGenerator(team.base.clone(), arena, GeneratorType.IRON, team.team, false));
+            team.teamGenerators.add(new OreGenerator(team.base.clone(), arena, GeneratorType.GOLD, team.team, false));
+        }
+        for (int d = 0; d < diamonds; d++) {
+            generators.add(new OreGenerator(new Location(world.getWorld(), 40 * d, 64, 40), arena, GeneratorType.DIAMOND, null, false));
+        }
+        for (int e = 0; e < emeralds; e++) {
+            generators.add(new OreGenerator(new Location(world.getWorld(), 20 * e, 70, 0), arena, GeneratorType.EMERALD, null, false));
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getArenaName":
+            case "getWorldName":
+            case "getDisplayName":
+                return name;
+            case "getGroup":
+                return group;
+            case "getStatus":
+                return status;
+            case "getConfig":
+                return config;
+            case "getSettings":
+                return settings;
+            case "getRegionsList":
+                return regions;
+            case "getWorld":
+                return world.getWorld();
+            case "getTeams":
+                return teams;
+            case "getTeam":
+                return args[0] instanceof Player ? teamOf((Player) args[0]) : teamNamed((String) args[0]);
+            case "getOreGenerators":
+                return generators;
+            case "getPlayers":
+                return players;
+            case "getSpectators":
+                return spectators;
+            case "isPlayer":
+                return players.contains((Player) args[0]);
+            case "isSpectator":
+                if (args[0] instanceof UUID) {
+                    for (Player spectator : spectators) {
+                        if (spectator.getUniqueId().equals(args[0])) return true;
+                    }
+                    return false;
+                }
+                return spectators.contains((Player) args[0]);
+            case "getMaxInTeam":
+                return maxInTeam;
+            case "getMaxPlayers":
+                return maxInTeam * teams.size();
+            case "getRespawnSessions":
+                return respawnSessions;
+            case "addPlacedBlock":
+                placedBlocks.add((Block) args[0]);
+                return null;
+            case "removePlacedBlock":
+                placedBlocks.remove((Block) args[0]);
+                return null;
+            case "isBlockPlaced":
+                return placedBlocks.contains((Block) args[0]);
+        }
+        return Fakes.unhandled(proxy, method, args);
+    }
+
+    private ITeam teamOf(Player player) {
+        for (ITeam team : teams) {
+            if (team.isMember(player)) return team;
+        }
+        return null;
+    }
+
+    private ITeam teamNamed(String teamName) {
+        for (ITeam team : teams) {
+            if (team.getName().equals(teamName)) return team;
+        }
+        return null;
+    }
+
+    /**
+     * Move a player from its team to the spectators.
+     */
+    public void spectate(Player player) {
+        for (ITeam team : teams) {
+            team.getMembers().remove(player);
+        }
+        players.remove(player);
+        spectators.add(player);
+    }
+
+    public IArena getArena() {
+        return arena;
+    }
+
+    public FakeWorld getWorld() {
+        return world;
+    }
+
+    public List<ITeam> getTeams() {
+        return teams;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Players in join order, team by team.
+     */
+    public List<FakePlayer> getFakePlayers() {
+        return fakePlayers;
+    }
+
+    public void setStatus(GameState status) {
+        this.status = status;
+    }
+
+    private final class Team implements InvocationHandler {
+        private final String teamName;
+        private final TeamColor color;
+        private final Location base;
+        private final List<Player> members = new CopyOnWriteArrayList<>();
+        private final List<IGenerator> teamGenerators = new ArrayList<>();
+        private final ITeam team;
+
+        private Team(String teamName, TeamColor color, int index) {
+            this.teamName = teamName;
+            this.color = color;
+            double angle = 2 * Math.PI * index / 8;
+            this.base = new Location(world.getWorld(), Math.cos(angle) * 80, 64, Math.sin(angle) * 80);
+            this.team = Fakes.proxy(ITeam.class, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getName":
+                case "getDisplayName":
+                    return teamName;
+                case "getColor":
+                    return color;
+                case "getArena":
+                    return arena;
+                case "getMembers":
+                    return members;
+                case "isMember":
+                    return members.contains((Player) args[0]);
+                case "getSize":
+                    return members.size();
+                case "getGenerators":
+                    return teamGenerators;
+                case "getSpawn":
+                case "getBed":
+                    return base.clone();
+                case "getArmorsEnchantments":
+                case "getBowsEnchantments":
+                case "getSwordsEnchantments":
+                    return new ArrayList<>();
+            }
+            return Fakes.unhandled(proxy, method, args);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark.harness;
+
+import org.bukkit.Material;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Inventory stored in an item array.
+ * Items are returned by reference like the craft inventory mirrors,
+ * so changing the amount of a returned item changes the inventory.
+ */
+public final class FakeInventory implements InvocationHandler {
+
+    private final ItemStack[] contents;
+    private final ItemStack[] armor = new ItemStack[4];
+    private final InventoryType type;
+    private final InventoryHolder holder;
+    private final Inventory inventory;
+    private int heldSlot = 0;
+
+    private FakeInventory(int size, InventoryType type, InventoryHolder holder, Class<? extends Inventory> api) {
+        this.contents = new ItemStack[size];
+        this.type = type;
+        this.holder = holder;
+        this.inventory = Fakes.proxy(api, this);
+    }
+
+    /**
+     * Create the inventory of a player.
+     */
+    static PlayerInventory player(HumanEntity holder) {
+        return (PlayerInventory) new FakeInventory(36, InventoryType.PLAYER, holder, PlayerInventory.class).inventory;
+    }
+
+    /**
+     * Create a chest like inventory.
+     */
+    public static Inventory chest(int size, InventoryHolder holder) {
+        return new FakeInventory(size, InventoryType.CHEST, holder, Inventory.class).inventory;
+    }
+
+    @Override
+    public synchronized Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getSize":
+                return contents.length;
+            case "getMaxStackSize":
+                return 64;
+            case "getType":
+                return type;
+            case "getHolder":
+                return holder;
+            case "getName":
+            case "getTitle":
+                return type.getDefaultTitle();
+            case "getViewers":
+                return new ArrayList<HumanEntity>();
+            case "getContents":
+                return contents.clone();
+            case "setContents":
+                Arrays.fill(contents, null);
+                ItemStack[] items = (ItemStack[]) args[0];
+                System.arraycopy(items, 0, contents, 0, Math.min(items.length, contents.length));
+                return null;
+            case "getItem":
+                return contents[(int) args[0]];
+            case "setItem":
+                contents[(int) args[0]] = (ItemStack) args[1];
+                return null;
+            case "addItem":
+                return addItem((ItemStack[]) args[0]);
+            case "removeItem":
+                return removeItem((ItemStack[]) args[0]);
+            case "remove":
+                remove(args[0]);
+                return null;
+            case "clear":
+                if (args == null || args.length == 0) {
+                    Arrays.fill(contents, null);
+                } else {
+                    contents[(int) args[0]] = null;
+                }
+                return null;
+            case "firstEmpty":
+                return firstEmpty();
+            case "first":
+                return first(args[0]);
+            case "contains":
+                return first(args[0]) != -1;
+            case "iterator":
+                return Arrays.asList(contents.clone()).listIterator();
+            case "getHelmet":
+                return armor[3];
+            case "getChestplate":
+                return armor[2];
+            case "getLeggings":
+                return armor[1];
+            case "getBoots":
+                return armor[0];
+            case "setHelmet":
+                armor[3] = (ItemStack) args[0];
+                return null;
+            case "setChestplate":
+                armor[2] = (ItemStack) args[0];
+                return null;
+            case "setLeggings":
+                armor[1] = (ItemStack) args[0];
+                return null;
+            case "setBoots":
+                armor[0] = (ItemStack) args[0];
+                return null;
+            case "getArmorContents":
+                return armor.clone();
+            case "setArmorContents":
+                ItemStack[] pieces = (ItemStack[]) args[0];
+                Arrays.fill(armor, null);
+                System.arraycopy(pieces, 0, armor, 0, Math.min(pieces.length, armor.length));
+                return null;
+            case "getItemInHand":
+                return contents[heldSlot];
+            case "setItemInHand":
+                contents[heldSlot] = (ItemStack) args[0];
+                return null;
+            case "getHeldItemSlot":
+                return heldSlot;
+            case "setHeldItemSlot":
+                heldSlot = (int) args[0];
+                return null;
+        }
+        return Fakes.unhandled(proxy, method, args);
+    }
+
+    private int firstEmpty() {
+        for (int i = 0; i < contents.length; i++) {
+            if (contents[i] == null || contents[i].getType() == Material.AIR) return i;
+        }
+        return -1;
+    }
+
+    private int first(Object what) {
+        for (int i = 0; i < contents.length; i++) {
+            ItemStack item = contents[i];
+            if (item == null) continue;
+            if (what instanceof Material && item.getType() == what) return i;
+            if (what instanceof ItemStack && item.equals(what)) return i;
+        }
+        return -1;
+    }
+
+    private HashMap<Integer, ItemStack> addItem(ItemStack[] items) {
+        HashMap<Integer, ItemStack> leftover = new HashMap<>();
+        for (int index = 0; index < items.length; index++) {
+            ItemStack item = items[index];
+            int amount = item.getAmount();
+            // fill similar stacks first
+            for (int i = 0; i < contents.length && amount > 0; i++) {
+                ItemStack slot = contents[i];
+                if (slot == null || !slot.isSimilar(item)) continue;
+                int moved = Math.min(amount, item.getMaxStackSize() - slot.getAmount());
+                if (moved <= 0) continue;
+                slot.setAmount(slot.getAmount() + moved);
+                amount -= moved;
+            }
+            while (amount > 0) {
+                int empty = firstEmpty();
+                if (empty == -1) {
+                    ItemStack rest = item.clone();
+                    rest.setAmount(amount);
+                    leftover.put(index, rest);
+                    break;
+                }
+                ItemStack stack = item.clone();
+                stack.setAmount(Math.min(amount, item.getMaxStackSize()));
+                contents[empty] = stack;
+                amount -= stack.getAmount();
+            }
+        }
+        return leftover;
+    }
+
+    private HashMap<Integer, ItemStack> removeItem(ItemStack[] items) {
+        HashMap<Integer, ItemStack> leftover = new HashMap<>();
+        for (int index = 0; index < items.length; index++) {
+            ItemStack item = items[index];
+            int amount = item.getAmount();
+            for (int i = 0; i < contents.length && amount > 0; i++) {
+                ItemStack slot = contents[i];
+                if (slot == null || !slot.isSimilar(item)) continue;
+                if (slot.getAmount() <= amount) {
+                    amount -= slot.getAmount();
+                    contents[i] = null;
+                } else {
+                    slot.setAmount(slot.getAmount() - amount);
+                    amount = 0;
+                }
+            }
+            if (amount > 0) {
+                ItemStack rest = item.clone();
+                rest.setAmount(amount);
+                leftover.put(index, rest);
+            }
+        }
+        return leftover;
+    }
+
+    private void remove(Object what) {
+        for (int i = 0; i < contents.length; i++) {
+            ItemStack item = contents[i];
+            if (item == null) continue;
+            if (what instanceof Material ? item.getType() == what : item.equals(what)) {
+                contents[i] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark.harness;
+
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.permissions.Permission;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Online player recording the messages it receives.
+ */
+public final class FakePlayer implements InvocationHandler {
+
+    private final UUID uuid;
+    private final String name;
+    private final Player player;
+    private final PlayerInventory inventory;
+    private final Queue<String> messages = new ConcurrentLinkedQueue<>();
+    private final Set<String> permissions = ConcurrentHashMap.newKeySet();
+    private volatile String displayName;
+    private volatile FakeWorld world;
+    private volatile InventoryView openInventory;
+
+    private FakePlayer(String name, FakeWorld world) {
+        this.uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes());
+        this.name = name;
+        this.displayName = name;
+        this.player = Fakes.proxy(Player.class, this);
+        this.inventory = FakeInventory.player(player);
+        moveTo(world);
+    }
+
+    /**
+     * Create an online player in the given world.
+     */
+    public static FakePlayer join(String name, FakeWorld world) {
+        FakePlayer fake = new FakePlayer(name, world);
+        HeadlessBedWars.get().getServer().addPlayer(fake.player);
+        return fake;
+    }
+
+    /**
+     * Remove the player from the server.
+     */
+    public void quit() {
+        moveTo(null);
+        HeadlessBedWars.get().getServer().removePlayer(player);
+    }
+
+    /**
+     * Move the player to another world.
+     */
+    public void moveTo(FakeWorld world) {
+        if (this.world != null) {
+            this.world.removePlayer(player);
+        }
+        this.world = world;
+        if (world != null) {
+            world.addPlayer(player);
+        }
+    }
+
+    /**
+     * Show an inventory as the top inventory of this player, like an open shop.
+     */
+    public Inventory openChest(int size) {
+        Inventory top = FakeInventory.chest(size, player);
+        openInventory = new HarnessInventoryView(player, top, inventory);
+        return top;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getUniqueId":
+                return uuid;
+            case "getName":
+                return name;
+            case "getDisplayName":
+            case "getPlayerListName":
+                return displayName;
+            case "setDisplayName":
+                displayName = (String) args[0];
+                return null;
+            case "getWorld":
+                return world == null ? null : world.getWorld();
+            case "getLocation":
+                return new Location(world == null ? null : world.getWorld(), 0, 64, 0);
+            case "getInventory":
+                return inventory;
+            case "getOpenInventory":
+                return openInventory;
+            case "closeInventory":
+                openInventory = null;
+                return null;
+            case "sendMessage":
+                if (args[0] instanceof String[]) {
+                    Collections.addAll(messages, (String[]) args[0]);
+                } else {
+                    messages.add((String) args[0]);
+                }
+                return null;
+            case "hasPermission":
+                String permission = args[0] instanceof Permission ? ((Permission) args[0]).getName() : (String) args[0];
+                return permissions.contains(permission);
+            case "isPermissionSet":
+                return false;
+            case "isOnline":
+                return world != null;
+            case "isValid":
+                return true;
+            case "getGameMode":
+                return GameMode.SURVIVAL;
+            case "getHealth":
+            case "getMaxHealth":
+                return 20D;
+            case "getPlayer":
+                return player;
+        }
+        return Fakes.unhandled(proxy, method, args);
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public UUID getUniqueId() {
+        return uuid;
+    }
+
+    public PlayerInventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Give a permission to this player.
+     */
+    public void addPermission(String permission) {
+        permissions.add(permission);
+    }
+
+    /**
+     * Get and clear the messages received so far.
+     */
+    public List<String> takeMessages() {
+        List<String> received = new ArrayList<>();
+        String message;
+        while ((message = messages.poll()) != null) {
+            received.add(message);
+        }
+        return received;
+    }
+
+    /**
+     * Amount of messages received and not taken yet.
+     */
+    public int getMessageCount() {
+        return messages.size();
+    }
+
+    /**
+     * Forget the messages received so far.
+     */
+    public void clearMessages() {
+        messages.clear();
+    }
+
+    /**
+     * Inventory view of a player with an open chest.
+     */
+    private static final class HarnessInventoryView extends InventoryView {
+
+        private final Player player;
+        private final Inventory top;
+        private final Inventory bottom;
+
+        private HarnessInventoryView(Player player, Inventory top, Inventory bottom) {
+            this.player = player;
+            this.top = top;
+            this.bottom = bottom;
+        }
+
+        @Override
+        public Inventory getTopInventory() {
+            return top;
+        }
+
+        @Override
+        public Inventory getBottomInventory() {
+            return bottom;
+        }
+
+        @Override
+        public Player getPlayer() {
+            return player;
+        }
+
+        @Override
+        public InventoryType getType() {
+            return top.getType();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark.harness;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loaded void world.
+ * Blocks are created on first access and keep the type set on them.
+ * Dropped items are kept until they are picked up with {@link #pickupItems()}.
+ */
+public final class FakeWorld implements InvocationHandler {
+
+    private static final AtomicInteger entityIds = new AtomicInteger();
+
+    private final String name;
+    private final UUID uid = UUID.randomUUID();
+    private final World world;
+    private final List<Player> players = new CopyOnWriteArrayList<>();
+    private final Queue<DroppedItem> items = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Block> blocks = new ConcurrentHashMap<>();
+
+    private FakeWorld(String name) {
+        this.name = name;
+        this.world = Fakes.proxy(World.class, this);
+    }
+
+    /**
+     * Create a world and register it on the server.
+     */
+    public static FakeWorld load(String name) {
+        FakeWorld fake = new FakeWorld(name);
+        HeadlessBedWars.get().getServer().addWorld(fake.world);
+        return fake;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getName":
+                return name;
+            case "getUID":
+                return uid;
+            case "getPlayers":
+                return new ArrayList<>(players);
+            case "dropItem":
+            case "dropItemNaturally":
+                return drop((Location) args[0], (ItemStack) args[1]);
+            case "getEnvironment":
+                return World.Environment.NORMAL;
+            case "getMaxHeight":
+                return 256;
+            case "getSpawnLocation":
+                return new Location(world, 0, 64, 0);
+            case "getBlockAt":
+                if (args[0] instanceof Location) {
+                    Location location = (Location) args[0];
+                    return getBlockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+                }
+                return getBlockAt((int) args[0], (int) args[1], (int) args[2]);
+            case "isChunkLoaded":
+                return true;
+        }
+        return Fakes.unhandled(proxy, method, args);
+    }
+
+    private Item drop(Location location, ItemStack itemStack) {
+        DroppedItem item = new DroppedItem(location, itemStack);
+        items.add(item);
+        return item.entity;
+    }
+
+    /**
+     * Get the block at the given coordinates, the same instance on every call.
+     */
+    public Block getBlockAt(int x, int y, int z) {
+        long key = ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | (y & 0xFFF);
+        return blocks.computeIfAbsent(key, k -> new FakeBlock(x, y, z).block);
+    }
+
+    /**
+     * Remove every dropped item, like players collecting them.
+     *
+     * @return the amount of items removed.
+     */
+    public int pickupItems() {
+        int amount = 0;
+        DroppedItem item;
+        while ((item = items.poll()) != null) {
+            item.valid = false;
+            amount += item.itemStack.getAmount();
+        }
+        return amount;
+    }
+
+    /**
+     * Amount of item entities on the ground.
+     */
+    public int getDroppedCount() {
+        return items.size();
+    }
+
+    void addPlayer(Player player) {
+        players.add(player);
+    }
+
+    void removePlayer(Player player) {
+        players.remove(player);
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private final class FakeBlock implements InvocationHandler {
+        private final int x, y, z;
+        private final Block block;
+        private volatile Material type = Material.AIR;
+
+        private FakeBlock(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.block = Fakes.proxy(Block.class, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getType":
+                    return type;
+                case "setType":
+                    type = (Material) args[0];
+                    return null;
+                case "isEmpty":
+                    return type == Material.AIR;
+                case "getData":
+                    return (byte) 0;
+                case "getX":
+                    return x;
+                case "getY":
+                    return y;
+                case "getZ":
+                    return z;
+                case "getWorld":
+                    return world;
+                case "getLocation":
+                    return new Location(world, x, y, z);
+                case "getRelative":
+                    if (args[0] instanceof BlockFace) {
+                        BlockFace face = (BlockFace) args[0];
+                        int distance = args.length > 1 ? (int) args[1] : 1;
+                        return getBlockAt(x + face.getModX() * distance, y + face.getModY() * distance, z + face.getModZ() * distance);
+                    }
+                    return getBlockAt(x + (int) args[0], y + (int) args[1], z + (int) args[2]);
+                case "getDrops":
+                    List<ItemStack> drops = new ArrayList<>(1);
+                    if (type != Material.AIR) drops.add(new ItemStack(type));
+                    return drops;
+            }
+            return Fakes.unhandled(proxy, method, args);
+        }
+    }
+
+    private final class DroppedItem implements InvocationHandler {
+        private final int id = entityIds.incrementAndGet();
+        private final Location location;
+        private final Item entity;
+        private volatile ItemStack itemStack;
+        private volatile boolean valid = true;
+
+        private DroppedItem(Location location, ItemStack itemStack) {
+            this.location = location.clone();
+            this.itemStack = itemStack;
+            this.entity = Fakes.proxy(Item.class, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getEntityId":
+                    return id;
+                case "getType":
+                    return EntityType.DROPPED_ITEM;
+                case "getItemStack":
+                    return itemStack;
+                case "setItemStack":
+                    itemStack = (ItemStack) args[0];
+                    return null;
+                case "getLocation":
+                    return location.clone();
+                case "getWorld":
+                    return world;
+                case "isValid":
+                    return valid;
+                case "isDead":
+                    return !valid;
+                case "remove":
+                    valid = false;
+                    items.remove(this);
+                    return null;
+            }
+            return Fakes.unhandled(proxy, method, args);
+        }
+    }
+}
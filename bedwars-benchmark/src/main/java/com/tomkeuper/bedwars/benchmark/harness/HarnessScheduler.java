@@ -0,0 +1,217 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark.harness;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler driven by {@link HarnessServer#tick()}.
+ * Sync tasks run on the thread calling tick, in the order they were scheduled.
+ * Async tasks without delay are started right away on a worker pool.
+ */
+final class HarnessScheduler implements InvocationHandler {
+
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Map<Integer, Task> tasks = new ConcurrentSkipListMap<>();
+    private final List<Future<?>> running = new ArrayList<>();
+    private final ExecutorService workers = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "harness-async-" + ids.get());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long currentTick = 0;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "runTask":
+                return schedule((Plugin) args[0], (Runnable) args[1], 0, -1, true).bukkitTask;
+            case "runTaskAsynchronously":
+                return schedule((Plugin) args[0], (Runnable) args[1], 0, -1, false).bukkitTask;
+            case "runTaskLater":
+                return schedule((Plugin) args[0], (Runnable) args[1], (long) args[2], -1, true).bukkitTask;
+            case "runTaskLaterAsynchronously":
+                return schedule((Plugin) args[0], (Runnable) args[1], (long) args[2], -1, false).bukkitTask;
+            case "runTaskTimer":
+                return schedule((Plugin) args[0], (Runnable) args[1], (long) args[2], (long) args[3], true).bukkitTask;
+            case "runTaskTimerAsynchronously":
+                return schedule((Plugin) args[0], (Runnable) args[1], (long) args[2], (long) args[3], false).bukkitTask;
+            case "scheduleSyncDelayedTask":
+                return schedule((Plugin) args[0], (Runnable) args[1], args.length > 2 ? (long) args[2] : 0, -1, true).id;
+            case "scheduleSyncRepeatingTask":
+                return schedule((Plugin) args[0], (Runnable) args[1], (long) args[2], (long) args[3], true).id;
+            case "scheduleAsyncDelayedTask":
+                return schedule((Plugin) args[0], (Runnable) args[1], args.length > 2 ? (long) args[2] : 0, -1, false).id;
+            case "scheduleAsyncRepeatingTask":
+                return schedule((Plugin) args[0], (Runnable) args[1], (long) args[2], (long) args[3], false).id;
+            case "callSyncMethod":
+                FutureTask<?> future = new FutureTask<>((Callable<?>) args[1]);
+                schedule((Plugin) args[0], future, 0, -1, true);
+                return future;
+            case "cancelTask":
+                cancel((int) args[0]);
+                return null;
+            case "cancelTasks":
+            case "cancelAllTasks":
+                tasks.clear();
+                return null;
+            case "isCurrentlyRunning":
+            case "isQueued":
+                return tasks.containsKey((int) args[0]);
+            case "getPendingTasks":
+                List<BukkitTask> pending = new ArrayList<>();
+                for (Task task : tasks.values()) {
+                    pending.add(task.bukkitTask);
+                }
+                return pending;
+        }
+        return Fakes.unhandled(proxy, method, args);
+    }
+
+    private Task schedule(Plugin plugin, Runnable runnable, long delay, long period, boolean sync) {
+        Task task = new Task(ids.incrementAndGet(), plugin, runnable, period, sync);
+        if (!sync && delay <= 0) {
+            // started like a sync task would be on the next tick, without waiting for it
+            task.nextRun = currentTick;
+            start(task);
+            if (period > 0) {
+                task.nextRun = currentTick + period;
+                tasks.put(task.id, task);
+            }
+            return task;
+        }
+        task.nextRun = currentTick + Math.max(1, delay);
+        tasks.put(task.id, task);
+        return task;
+    }
+
+    private void cancel(int id) {
+        Task task = tasks.remove(id);
+        if (task != null) {
+            task.cancelled = true;
+        }
+    }
+
+    private void start(Task task) {
+        if (task.sync) {
+            task.runnable.run();
+            return;
+        }
+        synchronized (running) {
+            running.add(workers.submit(task.runnable));
+        }
+    }
+
+    /**
+     * Run the tasks due at the next tick.
+     */
+    void tick() {
+        long tick = ++currentTick;
+        for (Task task : new ArrayList<>(tasks.values())) {
+            if (task.cancelled || task.nextRun > tick) continue;
+            if (task.period > 0) {
+                task.nextRun = tick + task.period;
+            } else {
+                tasks.remove(task.id);
+            }
+            start(task);
+        }
+    }
+
+    /**
+     * Wait for the async tasks started so far.
+     *
+     * @return false if a task did not complete in time.
+     */
+    boolean awaitAsync(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            List<Future<?>> futures;
+            synchronized (running) {
+                futures = new ArrayList<>(running);
+                running.clear();
+            }
+            if (futures.isEmpty()) return true;
+            for (Future<?> future : futures) {
+                try {
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (Exception e) {
+                    if (System.nanoTime() >= deadline) return false;
+                }
+            }
+        }
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    private final class Task implements InvocationHandler {
+        private final int id;
+        private final Plugin plugin;
+        private final Runnable runnable;
+        private final long period;
+        private final boolean sync;
+        private final BukkitTask bukkitTask;
+        private volatile long nextRun;
+        private volatile boolean cancelled = false;
+
+        private Task(int id, Plugin plugin, Runnable runnable, long period, boolean sync) {
+            this.id = id;
+            this.plugin = plugin;
+            this.runnable = runnable;
+            this.period = period;
+            this.sync = sync;
+            this.bukkitTask = Fakes.proxy(BukkitTask.class, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getTaskId":
+                    return id;
+                case "getOwner":
+                    return plugin;
+                case "isSync":
+                    return sync;
+                case "cancel":
+                    HarnessScheduler.this.cancel(id);
+                    return null;
+            }
+            return Fakes.unhandled(proxy, method, args);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark.harness;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.craftbukkit.v1_8_R3.inventory.CraftItemFactory;
+import org.bukkit.craftbukkit.v1_8_R3.util.CraftMagicNumbers;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.ServicesManager;
+import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.plugin.SimpleServicesManager;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Server used by the benchmarks and tests.
+ * It has no worlds or network, players and worlds are registered by the harness.
+ */
+public final class HarnessServer implements InvocationHandler {
+
+    /**
+     * The plugin reads the server version from the package of the server class,
+     * so the generated class lives in a v1_8_R3 package like the craft server does.
+     */
+    private static final String SERVER_CLASS = "com.tomkeuper.harness.v1_8_R3.HarnessCraftServer";
+
+    private static HarnessServer instance;
+
+    private final Server server;
+    private final Logger logger = Logger.getLogger("Harness");
+    private final PluginManager pluginManager;
+    private final ServicesManager servicesManager = new SimpleServicesManager();
+    private final HarnessScheduler scheduler = new HarnessScheduler();
+    private final BukkitScheduler schedulerProxy = Fakes.proxy(BukkitScheduler.class, scheduler);
+    private final Server.Spigot spigot = new HarnessSpigot();
+    private final Map<UUID, Player> players = new ConcurrentHashMap<>();
+    private final Map<String, World> worlds = new ConcurrentHashMap<>();
+    private final File worldContainer;
+    private final Thread primaryThread = Thread.currentThread();
+
+    private HarnessServer(File worldContainer) throws ReflectiveOperationException {
+        this.worldContainer = worldContainer;
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .name(SERVER_CLASS)
+                .implement(Server.class)
+                .method(ElementMatchers.isAbstract())
+                .intercept(InvocationHandlerAdapter.of(this))
+                .make()
+                .load(HarnessServer.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        this.server = (Server) type.getDeclaredConstructor().newInstance();
+        this.pluginManager = new SimplePluginManager(server, new SimpleCommandMap(server));
+    }
+
+    /**
+     * Start the server once and register it in {@link Bukkit}.
+     */
+    static synchronized HarnessServer start(File worldContainer) {
+        if (instance == null) {
+            try {
+                instance = new HarnessServer(worldContainer);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create the harness server", e);
+            }
+            Bukkit.setServer(instance.server);
+        }
+        return instance;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getName":
+                return "Harness";
+            case "getVersion":
+                return "git-Spigot-harness (MC: 1.8.8)";
+            case "getBukkitVersion":
+                return "1.8.8-R0.1-SNAPSHOT";
+            case "getLogger":
+                return logger;
+            case "getPluginManager":
+                return pluginManager;
+            case "getServicesManager":
+                return servicesManager;
+            case "getScheduler":
+                return schedulerProxy;
+            case "getItemFactory":
+                return CraftItemFactory.instance();
+            case "getUnsafe":
+                return CraftMagicNumbers.INSTANCE;
+            case "getWorldContainer":
+                return worldContainer;
+            case "spigot":
+                return spigot;
+            case "isPrimaryThread":
+                return Thread.currentThread() == primaryThread;
+            case "getOnlinePlayers":
+                return new ArrayList<>(players.values());
+            case "getMaxPlayers":
+                return 200;
+            case "getPlayer":
+            case "getPlayerExact":
+            case "getOfflinePlayer":
+                return findPlayer(args[0]);
+            case "getWorld":
+                return findWorld(args[0]);
+            case "getWorlds":
+                return new ArrayList<>(worlds.values());
+            case "broadcastMessage":
+                for (Player player : players.values()) {
+                    player.sendMessage((String) args[0]);
+                }
+                return players.size();
+        }
+        return Fakes.unhandled(proxy, method, args);
+    }
+
+    private Player findPlayer(Object key) {
+        if (key instanceof UUID) return players.get(key);
+        for (Player player : players.values()) {
+            if (player.getName().equals(key)) return player;
+        }
+        return null;
+    }
+
+    private World findWorld(Object key) {
+        if (key instanceof String) return worlds.get(key);
+        for (World world : worlds.values()) {
+            if (world.getUID().equals(key)) return world;
+        }
+        return null;
+    }
+
+    /**
+     * Add an online player.
+     */
+    void addPlayer(Player player) {
+        players.put(player.getUniqueId(), player);
+    }
+
+    /**
+     * Remove an online player.
+     */
+    void removePlayer(Player player) {
+        players.remove(player.getUniqueId());
+    }
+
+    /**
+     * Add a loaded world.
+     */
+    void addWorld(World world) {
+        worlds.put(world.getName(), world);
+    }
+
+    /**
+     * Run the sync tasks due at the next tick.
+     */
+    public void tick() {
+        scheduler.tick();
+    }
+
+    /**
+     * Run the given amount of ticks.
+     */
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            scheduler.tick();
+        }
+    }
+
+    /**
+     * Wait for async tasks to complete.
+     *
+     * @return false if a task did not complete in time.
+     */
+    public boolean awaitAsync(long timeout, TimeUnit unit) {
+        return scheduler.awaitAsync(timeout, unit);
+    }
+
+    public long getCurrentTick() {
+        return scheduler.getCurrentTick();
+    }
+
+    public Server getServer() {
+        return server;
+    }
+
+    /**
+     * Spigot configuration kept in memory, the plugin saves it on start.
+     */
+    private static final class HarnessSpigot extends Server.Spigot {
+
+        private final YamlConfiguration config = new YamlConfiguration() {
+            @Override
+            public void save(String file) {
+                // never write spigot.yml in the working directory
+            }
+        };
+
+        @Override
+        public YamlConfiguration getConfig() {
+            return config;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.benchmark.harness;
+
+import com.tomkeuper.bedwars.API;
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.language.Language;
+import com.tomkeuper.bedwars.configuration.GeneratorsConfig;
+import com.tomkeuper.bedwars.configuration.LevelsConfig;
+import com.tomkeuper.bedwars.configuration.MainConfig;
+import com.tomkeuper.bedwars.configuration.Sounds;
+import com.tomkeuper.bedwars.database.SQLite;
+import com.tomkeuper.bedwars.language.English;
+import com.tomkeuper.bedwars.language.Italian;
+import com.tomkeuper.bedwars.levels.internal.InternalLevel;
+import com.tomkeuper.bedwars.shop.ShopCache;
+import com.tomkeuper.bedwars.shop.ShopManager;
+import com.tomkeuper.bedwars.shop.quickbuy.PlayerQuickBuyCache;
+import com.tomkeuper.bedwars.support.vault.NoEconomy;
+import com.tomkeuper.bedwars.support.version.v1_8_R3.v1_8_R3;
+import net.minecraft.server.v1_8_R3.DispenserRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginLoader;
+import org.bukkit.plugin.ServicePriority;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+
+/**
+ * Plugin started on the harness server without worlds, database or network.
+ * The steps of {@link BedWars#onLoad()} and {@link BedWars#onEnable()} needed by the measured code are run,
+ * with the 1.8.8 version support on top of the 1.8.8 server classes.
+ * The plugin is started once per JVM.
+ */
+public final class HeadlessBedWars {
+
+    private static HeadlessBedWars instance;
+
+    private final HarnessServer server;
+    private final BedWars plugin;
+    private SQLite database;
+
+    private HeadlessBedWars() throws IOException, ReflectiveOperationException {
+        File root = Files.createTempDirectory("bedwars-harness").toFile();
+        // item and block registries used by the craft item stacks
+        DispenserRegistry.c();
+        server = HarnessServer.start(new File(root, "worlds"));
+        plugin = createPlugin(server.getServer(), new File(root, "plugins/BedWars2023"));
+        BedWars.plugin = plugin;
+
+        API api = new API();
+        Field apiField = BedWars.class.getDeclaredField("api");
+        apiField.setAccessible(true);
+        apiField.set(null, api);
+        Bukkit.getServicesManager().register(com.tomkeuper.bedwars.api.BedWars.class, api, plugin, ServicePriority.Highest);
+        BedWars.nms = new v1_8_R3(plugin, BedWars.getServerVersion());
+
+        new English();
+        new Italian();
+        BedWars.config = new MainConfig(plugin, "config");
+        BedWars.generators = new GeneratorsConfig(plugin, "generators", plugin.getDataFolder().getPath());
+        BedWars.setEconomy(new NoEconomy());
+
+        Sounds.init();
+        LevelsConfig.init();
+        BedWars.setLevelAdapter(new InternalLevel());
+
+        BedWars.shop = new ShopManager();
+        BedWars.shop.loadShop();
+        BedWars.shopCache = new ShopCache();
+        BedWars.playerQuickBuyCache = new PlayerQuickBuyCache();
+    }
+
+    /**
+     * Start the plugin if it is not running yet.
+     */
+    public static synchronized HeadlessBedWars start() {
+        if (instance == null) {
+            try {
+                instance = new HeadlessBedWars();
+            } catch (IOException | ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not start the plugin on the harness server", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the running plugin.
+     */
+    public static HeadlessBedWars get() {
+        if (instance == null) throw new IllegalStateException("The harness is not started");
+        return instance;
+    }
+
+    /**
+     * Create the plugin instance without a plugin class loader, like the loader would initialize it.
+     * The plugin is marked as enabled so it can register listeners and tasks.
+     */
+    private static BedWars createPlugin(Server server, File dataFolder) throws ReflectiveOperationException {
+        // the java plugin constructor only accepts instances created by a plugin class loader
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        Method allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+        BedWars plugin = (BedWars) allocateInstance.invoke(theUnsafe.get(null), BedWars.class);
+
+        PluginDescriptionFile description = new PluginDescriptionFile("BedWars2023", "harness", BedWars.class.getName());
+        Method init = JavaPlugin.class.getDeclaredMethod("init", PluginLoader.class, Server.class,
+                PluginDescriptionFile.class, File.class, File.class, ClassLoader.class);
+        init.setAccessible(true);
+        init.invoke(plugin, new JavaPluginLoader(server), server, description, dataFolder,
+                new File(dataFolder.getParentFile(), "BedWars2023.jar"), HeadlessBedWars.class.getClassLoader());
+
+        Field enabled = JavaPlugin.class.getDeclaredField("isEnabled");
+        enabled.setAccessible(true);
+        enabled.setBoolean(plugin, true);
+        return plugin;
+    }
+
+    /**
+     * Use another language for a player.
+     */
+    public static void setLanguage(FakePlayer player, String iso) {
+        Language.getLangByPlayer().put(player.getUniqueId(), Language.getLang(iso));
+    }
+
+    /**
+     * Store player data in the SQLite database of the data folder, like a server without remote database.
+     * The database is opened on the first call.
+     */
+    public synchronized SQLite useSQLite() {
+        if (database == null) {
+            database = new SQLite();
+            database.init();
+            BedWars.setRemoteDatabase(database);
+        }
+        return database;
+    }
+
+    public HarnessServer getServer() {
+        return server;
+    }
+
+    public BedWars getPlugin() {
+        return plugin;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena;
+
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.api.arena.team.ITeam;
+import com.tomkeuper.bedwars.benchmark.harness.FakeArena;
+import com.tomkeuper.bedwars.benchmark.harness.Fakes;
+import com.tomkeuper.bedwars.benchmark.harness.FakeWorld;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class IslandGridTest {
+
+    @BeforeAll
+    static void start() {
+        HeadlessBedWars.start();
+    }
+
+    @Test
+    void separateIslandsMatchTheTeamScan() {
+        List<ITeam> teams = FakeArena.create("grid_separate", 8, 1, GameState.playing).getTeams();
+        assertMatchesScan(teams, 17, 120);
+    }
+
+    @Test
+    void overlappingIslandsMatchTheTeamScan() {
+        // neighbouring beds are about 61 blocks apart
+        List<ITeam> teams = FakeArena.create("grid_overlapping", 8, 1, GameState.playing).getTeams();
+        assertMatchesScan(teams, 45, 140);
+    }
+
+    @Test
+    void largeMapsScanTheBeds() {
+        // the beds span more than 4M columns, so the grid is not allocated
+        World world = FakeWorld.load("grid_large").getWorld();
+        List<ITeam> teams = new ArrayList<>();
+        teams.add(team(new Location(world, -1500, 64, -1500)));
+        teams.add(team(new Location(world, 1500, 64, 1500)));
+        teams.add(team(new Location(world, -1500, 64, 1500)));
+        teams.add(team(new Location(world, 1480, 64, -1500)));
+        teams.add(team(new Location(world, 1500, 64, -1500)));
+        IslandGrid grid = new IslandGrid(teams, 30);
+        Random random = new Random(44);
+        for (ITeam team : teams) {
+            Location bed = team.getBed();
+            for (int i = 0; i < 2000; i++) {
+                Location location = bed.clone().add(random.nextDouble() * 80 - 40, random.nextDouble() * 20 - 10, random.nextDouble() * 80 - 40);
+                assertSame(scan(teams, location, 30), grid.getTeam(location), location.toString());
+            }
+        }
+    }
+
+    @Test
+    void teamsWithoutBedAreIgnored() {
+        List<ITeam> teams = new ArrayList<>(FakeArena.create("grid_no_bed", 4, 1, GameState.playing).getTeams());
+        teams.add(0, team(null));
+        IslandGrid grid = new IslandGrid(teams, 17);
+        for (ITeam team : teams.subList(1, teams.size())) {
+            assertSame(team, grid.getTeam(team.getBed()));
+        }
+    }
+
+    private static void assertMatchesScan(List<ITeam> teams, int radius, int bounds) {
+        IslandGrid grid = new IslandGrid(teams, radius);
+        World world = teams.get(0).getBed().getWorld();
+        Random random = new Random(radius);
+        for (int i = 0; i < 200_000; i++) {
+            Location location = new Location(world, random.nextDouble() * 2 * bounds - bounds,
+                    64 + random.nextDouble() * 40 - 20, random.nextDouble() * 2 * bounds - bounds);
+            assertSame(scan(teams, location, radius), grid.getTeam(location), location.toString());
+        }
+    }
+
+    /**
+     * Team lookup used before the grid: the first team in arena order whose bed is within the radius.
+     */
+    private static ITeam scan(List<ITeam> teams, Location location, int radius) {
+        for (ITeam team : teams) {
+            if (team.getBed() == null) continue;
+            if (location.distance(team.getBed()) <= radius) {
+                return team;
+            }
+        }
+        return null;
+    }
+
+    private static ITeam team(Location bed) {
+        return Fakes.proxy(ITeam.class, (proxy, method, args) ->
+                method.getName().equals("getBed") ? (bed == null ? null : bed.clone()) : Fakes.unhandled(proxy, method, args));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.database;
+
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardQueryTest {
+
+    @BeforeAll
+    static void start() {
+        HeadlessBedWars.start();
+    }
+
+    @Test
+    void existingIndexesAreNotCreatedAgain() throws Exception {
+        String url = "jdbc:sqlite:" + Files.createTempFile("leaderboard", ".db");
+        try (Connection connection = DriverManager.getConnection(url)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE global_stats (id INTEGER PRIMARY KEY, name VARCHAR(200), uuid VARCHAR(36), " +
+                        "wins INTEGER, kills INTEGER, final_kills INTEGER, beds_destroyed INTEGER);");
+                statement.executeUpdate("CREATE TABLE player_levels (id INTEGER PRIMARY KEY, uuid VARCHAR(200), level INTEGER, xp INTEGER);");
+                // added by the server owner
+                statement.executeUpdate("CREATE UNIQUE INDEX owner_uuid ON global_stats (uuid);");
+                statement.executeUpdate("CREATE INDEX owner_level ON player_levels (level);");
+            }
+
+            LeaderboardQuery.createIndexes(connection, false);
+            List<String> first = indexes(connection);
+            LeaderboardQuery.createIndexes(connection, false);
+
+            assertEquals(first, indexes(connection));
+            assertFalse(first.contains("idx_global_stats_uuid"));
+            assertTrue(first.contains("idx_global_stats_wins"));
+            assertTrue(first.contains("idx_player_levels_uuid"));
+            // an index on level alone does not cover the level and xp order
+            assertTrue(first.contains("idx_player_levels_level"));
+        }
+    }
+
+    private static List<String> indexes(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT name FROM sqlite_master WHERE type = 'index' ORDER BY name;")) {
+            while (result.next()) {
+                names.add(result.getString(1));
+            }
+        }
+        return names;
+    }
+}
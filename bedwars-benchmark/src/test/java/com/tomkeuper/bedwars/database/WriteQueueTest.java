@@ -0,0 +1,224 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.database;
+
+import com.tomkeuper.bedwars.api.stats.IPlayerStats;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import com.tomkeuper.bedwars.stats.PlayerStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteQueueTest {
+
+    private static SQLite database;
+
+    @BeforeAll
+    static void start() {
+        database = HeadlessBedWars.start().useSQLite();
+    }
+
+    @Test
+    void thousandsOfSavesFromManyThreadsKeepTheLastValues() throws Exception {
+        int threads = 8;
+        int playersPerThread = 50;
+        int savesPerPlayer = 20;
+        long writesBefore = database.getWriteQueue().getWrites();
+        long commitsBefore = database.getWriteQueue().getCommits();
+
+        List<List<PlayerStats>> owned = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<PlayerStats> players = new ArrayList<>();
+            for (int p = 0; p < playersPerThread; p++) {
+                PlayerStats stats = new PlayerStats(UUID.randomUUID());
+                stats.setName("saves_" + t + "_" + p);
+                stats.setFirstPlay(Instant.now());
+                stats.setLastPlay(Instant.now());
+                players.add(stats);
+            }
+            owned.add(players);
+        }
+
+        // every thread saves its own players again and again, like games ending at the same time
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> savers = new ArrayList<>();
+        for (List<PlayerStats> players : owned) {
+            savers.add(pool.submit(() -> {
+                go.await();
+                for (int s = 1; s <= savesPerPlayer; s++) {
+                    for (PlayerStats stats : players) {
+                        stats.setWins(s);
+                        stats.setKills(s * 2);
+                        stats.setGamesPlayed(s);
+                        database.saveStats(stats);
+                    }
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> saver : savers) {
+            saver.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        for (List<PlayerStats> players : owned) {
+            for (PlayerStats stats : players) {
+                IPlayerStats stored = database.fetchStats(stats.getUuid());
+                assertEquals(savesPerPlayer, stored.getWins(), stats.getName());
+                assertEquals(savesPerPlayer * 2, stored.getKills(), stats.getName());
+                assertEquals(savesPerPlayer, stored.getGamesPlayed(), stats.getName());
+            }
+        }
+        long saves = (long) threads * playersPerThread * savesPerPlayer;
+        long writes = database.getWriteQueue().getWrites() - writesBefore;
+        long commits = database.getWriteQueue().getCommits() - commitsBefore;
+        assertEquals(saves, writes);
+        // batched, not one transaction per save
+        assertTrue(commits < saves / 10, commits + " commits for " + saves + " saves");
+    }
+
+    @Test
+    void savedStatsAreNotChangedByLaterUpdates() {
+        PlayerStats stats = new PlayerStats(UUID.randomUUID());
+        stats.setName("snapshot");
+        stats.setFirstPlay(Instant.now());
+        stats.setLastPlay(Instant.now());
+        stats.setWins(1);
+        database.saveStats(stats);
+        // the game keeps counting before the queued write runs
+        stats.setWins(100);
+
+        assertEquals(1, database.fetchStats(stats.getUuid()).getWins());
+    }
+
+    @Test
+    void failingWriteDoesNotStopTheWriter() throws Exception {
+        String url = createWritesTable("write-queue-failure");
+        WriteQueue queue = new WriteQueue("Failure", () -> DriverManager.getConnection(url));
+        UUID player = UUID.randomUUID();
+        try {
+            CompletableFuture<Void> failed = queue.submit(player, connection -> {
+                throw new IllegalStateException("broken write");
+            });
+            failed.get(10, TimeUnit.SECONDS);
+            // later batches are still committed by the same writer
+            queue.submit(player, connection -> insert(connection, 1)).get(10, TimeUnit.SECONDS);
+            queue.submit(player, connection -> insert(connection, 2)).get(10, TimeUnit.SECONDS);
+            assertEquals(2, count(url));
+            assertEquals(0, queue.getQueueDepth());
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void writesRacingTheShutdownAreNotLost() throws Exception {
+        String url = createWritesTable("write-queue");
+        WriteQueue queue = new WriteQueue("Test", () -> DriverManager.getConnection(url));
+
+        int threads = 4;
+        int writesPerThread = 1000;
+        ConcurrentLinkedQueue<CompletableFuture<Void>> submitted = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            writers.add(pool.submit(() -> {
+                go.await();
+                UUID player = UUID.randomUUID();
+                for (int i = 0; i < writesPerThread; i++) {
+                    int id = thread * writesPerThread + i;
+                    submitted.add(queue.submit(player, connection -> insert(connection, id)));
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        // stop while the writes are still being submitted
+        Thread.sleep(5);
+        queue.shutdown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(threads * writesPerThread, submitted.size());
+        for (CompletableFuture<Void> done : submitted) {
+            assertTrue(done.isDone());
+        }
+        assertEquals(threads * writesPerThread, count(url));
+    }
+
+    /**
+     * Create a database with an empty writes table.
+     *
+     * @return the database url.
+     */
+    private static String createWritesTable(String prefix) throws Exception {
+        File file = Files.createTempFile(prefix, ".db").toFile();
+        String url = "jdbc:sqlite:" + file;
+        try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE writes (id INTEGER);");
+        }
+        return url;
+    }
+
+    private static void insert(Connection connection, int id) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO writes (id) VALUES (?);")) {
+            ps.setInt(1, id);
+            ps.executeUpdate();
+        }
+    }
+
+    private static int count(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM writes;")) {
+            result.next();
+            return result.getInt(1);
+        }
+    }
+}
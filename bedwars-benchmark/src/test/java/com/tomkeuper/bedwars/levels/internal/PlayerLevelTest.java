@@ -0,0 +1,115 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.levels.internal;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.events.player.PlayerLevelUpEvent;
+import com.tomkeuper.bedwars.api.events.player.PlayerXpGainEvent;
+import com.tomkeuper.bedwars.benchmark.harness.FakePlayer;
+import com.tomkeuper.bedwars.benchmark.harness.FakeWorld;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import com.tomkeuper.bedwars.configuration.LevelsConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlayerLevelTest {
+
+    private static FakeWorld world;
+
+    @BeforeAll
+    static void start() {
+        HeadlessBedWars.start().useSQLite();
+        world = FakeWorld.load("levels");
+    }
+
+    @Test
+    void xpReceivedInOneTickIsAppliedOnTheNextTick() {
+        PlayerLevel level = level("burst");
+        for (int i = 0; i < 50; i++) {
+            level.addXp(1, PlayerXpGainEvent.XpSource.PER_MINUTE);
+        }
+        assertEquals(0, level.getCurrentXp());
+
+        HeadlessBedWars.get().getServer().tick();
+
+        assertEquals(50, level.getCurrentXp());
+        assertEquals(1, level.getLevel());
+    }
+
+    @Test
+    void setLevelDiscardsPendingXp() {
+        PlayerLevel level = level("set_level");
+        level.addXp(LevelsConfig.getNextCost(1) * 3, PlayerXpGainEvent.XpSource.PER_MINUTE);
+        level.setLevel(5);
+
+        HeadlessBedWars.get().getServer().tick();
+
+        assertEquals(5, level.getLevel());
+        assertEquals(0, level.getCurrentXp());
+    }
+
+    @Test
+    void levelUpListenersSeeTheNewLevel() {
+        PlayerLevel level = level("level_up");
+        UUID uuid = level.getUuid();
+        List<String> seen = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        Listener listener = new Listener() {
+            @EventHandler
+            public void onLevelUp(PlayerLevelUpEvent e) {
+                if (!e.getPlayer().getUniqueId().equals(uuid)) return;
+                seen.add(level.getLevel() + " " + level.getLevelName() + " " + level.getFormattedRequiredXp());
+            }
+        };
+        Bukkit.getPluginManager().registerEvents(listener, BedWars.plugin);
+        try {
+            // enough xp for three levels at once
+            int xp = 0;
+            for (int l = 1; l <= 3; l++) {
+                xp += LevelsConfig.getNextCost(l);
+                PlayerLevel reference = new PlayerLevel(UUID.randomUUID(), l + 1, 0);
+                expected.add(reference.getLevel() + " " + reference.getLevelName() + " " + reference.getFormattedRequiredXp());
+            }
+            level.setXp(xp);
+        } finally {
+            HandlerList.unregisterAll(listener);
+        }
+
+        assertEquals(expected, seen);
+        assertEquals(4, level.getLevel());
+        assertEquals(0, level.getCurrentXp());
+    }
+
+    private static PlayerLevel level(String name) {
+        FakePlayer player = FakePlayer.join("level_" + name, world);
+        return PlayerLevel.getLevelByPlayer(player.getUniqueId());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.listeners.chat;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.api.arena.team.ITeam;
+import com.tomkeuper.bedwars.api.language.Language;
+import com.tomkeuper.bedwars.api.language.Messages;
+import com.tomkeuper.bedwars.benchmark.harness.FakeArena;
+import com.tomkeuper.bedwars.benchmark.harness.FakePlayer;
+import com.tomkeuper.bedwars.benchmark.harness.FakeWorld;
+import com.tomkeuper.bedwars.benchmark.harness.HeadlessBedWars;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatFormattingTest {
+
+    private static final ChatFormatting CHAT = new ChatFormatting();
+
+    @BeforeAll
+    static void start() {
+        HeadlessBedWars.start();
+        // formats telling the language apart, without level and prefix
+        for (String iso : new String[]{"en", "it"}) {
+            Language language = Language.getLang(iso);
+            language.getYml().set(Messages.FORMATTING_CHAT_LOBBY, iso + " %bw_playername%: %bw_message%");
+            language.getYml().set(Messages.FORMATTING_CHAT_TEAM, iso + " %bw_team_format% %bw_playername%: %bw_message%");
+        }
+    }
+
+    @Test
+    void lobbyMessageIsRenderedInTheLanguageOfEachRecipient() {
+        FakeWorld lobby = FakeWorld.load("chat_render_lobby");
+        BedWars.setLobbyWorld(lobby.getName());
+        FakePlayer sender = FakePlayer.join("render_sender", lobby);
+        FakePlayer english = FakePlayer.join("render_en", lobby);
+        FakePlayer italian = FakePlayer.join("render_it", lobby);
+        FakePlayer italian2 = FakePlayer.join("render_it2", lobby);
+        FakePlayer outside = FakePlayer.join("render_outside", FakeWorld.load("chat_render_other"));
+        HeadlessBedWars.setLanguage(italian, "it");
+        HeadlessBedWars.setLanguage(italian2, "it");
+
+        AsyncPlayerChatEvent event = chat(sender.getPlayer(), "hello", online());
+
+        assertEquals(List.of("en render_sender: hello"), sender.takeMessages());
+        assertEquals(List.of("en render_sender: hello"), english.takeMessages());
+        assertEquals(List.of("it render_sender: hello"), italian.takeMessages());
+        assertEquals(List.of("it render_sender: hello"), italian2.takeMessages());
+        assertEquals(List.of(), outside.takeMessages());
+        // the event itself only logs to console
+        assertTrue(event.getRecipients().isEmpty());
+        assertEquals("en render_sender: hello", event.getFormat());
+    }
+
+    @Test
+    void teamMessageOnlyReachesTheTeam() {
+        FakeArena arena = FakeArena.create("chat_team", 2, 3, GameState.playing);
+        List<FakePlayer> players = arena.getFakePlayers();
+        HeadlessBedWars.setLanguage(players.get(1), "it");
+        ITeam red = arena.getTeams().get(0);
+
+        chat(players.get(0).getPlayer(), "bed is safe", online());
+
+        for (FakePlayer player : players) {
+            List<String> received = player.takeMessages();
+            if (!red.isMember(player.getPlayer())) {
+                assertEquals(List.of(), received, player.getPlayer().getName());
+                continue;
+            }
+            assertEquals(1, received.size(), player.getPlayer().getName());
+            String iso = Language.getPlayerLanguage(player.getPlayer()).getIso();
+            assertTrue(received.get(0).startsWith(iso + " "), received.get(0));
+            assertTrue(received.get(0).endsWith(" chat_team_0_0: bed is safe"), received.get(0));
+        }
+    }
+
+    @Test
+    void parallelTeamChatsNeverShareRecipients() throws Exception {
+        int arenas = 8;
+        int messages = 200;
+        List<FakeArena> games = new ArrayList<>();
+        for (int a = 0; a < arenas; a++) {
+            FakeArena arena = FakeArena.create("chat_stress_" + a, 2, 3, GameState.playing);
+            List<FakePlayer> players = arena.getFakePlayers();
+            for (int p = 1; p < players.size(); p += 2) {
+                HeadlessBedWars.setLanguage(players.get(p), "it");
+            }
+            games.add(arena);
+        }
+        Set<Player> everyone = online();
+
+        // one sender per team, all chatting at the same time
+        ExecutorService pool = Executors.newFixedThreadPool(arenas * 2);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> senders = new ArrayList<>();
+        for (int a = 0; a < arenas; a++) {
+            for (ITeam team : games.get(a).getTeams()) {
+                Player sender = team.getMembers().get(0);
+                String marker = games.get(a).getArena().getArenaName() + "/" + team.getName();
+                senders.add(pool.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < messages; i++) {
+                        chat(sender, marker + "#" + i, everyone);
+                    }
+                    return null;
+                }));
+            }
+        }
+        go.countDown();
+        for (Future<?> sender : senders) {
+            sender.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        for (FakeArena arena : games) {
+            for (ITeam team : arena.getTeams()) {
+                String marker = arena.getArena().getArenaName() + "/" + team.getName() + "#";
+                for (Player member : team.getMembers()) {
+                    FakePlayer player = arena.getFakePlayers().stream()
+                            .filter(p -> p.getPlayer() == member).findFirst().orElseThrow();
+                    String iso = Language.getPlayerLanguage(member).getIso();
+                    List<String> received = player.takeMessages();
+                    assertEquals(messages, received.size(), member.getName());
+                    Set<Integer> numbers = new HashSet<>();
+                    for (String message : received) {
+                        assertTrue(message.startsWith(iso + " "), message);
+                        int index = message.indexOf(marker);
+                        assertTrue(index > 0, member.getName() + " received " + message);
+                        numbers.add(Integer.parseInt(message.substring(index + marker.length())));
+                    }
+                    assertEquals(messages, numbers.size(), member.getName());
+                }
+            }
+        }
+    }
+
+    private static AsyncPlayerChatEvent chat(Player sender, String message, Collection<Player> recipients) {
+        AsyncPlayerChatEvent event = new AsyncPlayerChatEvent(true, sender, message, new HashSet<>(recipients));
+        CHAT.onChat(event);
+        return event;
+    }
+
+    private static Set<Player> online() {
+        return new HashSet<>(HeadlessBedWars.get().getServer().getServer().getOnlinePlayers());
+    }
+}
@@ -36,6 +36,7 @@ import com.tomkeuper.bedwars.api.items.handlers.IPermanentItemHandler;
 import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.language.SupportPAPI;
 import com.tomkeuper.bedwars.api.party.Party;
+import com.tomkeuper.bedwars.api.profiler.IProfiler;
 import com.tomkeuper.bedwars.api.server.ISetupSession;
 import com.tomkeuper.bedwars.api.server.RestoreAdapter;
 import com.tomkeuper.bedwars.api.server.ServerType;
@@ -49,6 +50,8 @@ import com.tomkeuper.bedwars.api.upgrades.UpgradesIndex;
 import com.tomkeuper.bedwars.arena.Arena;
 import com.tomkeuper.bedwars.arena.SetupSession;
 import com.tomkeuper.bedwars.commands.bedwars.MainCommand;
+import com.tomkeuper.bedwars.database.TimedDatabase;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import com.tomkeuper.bedwars.shop.main.CategoryContent;
 import com.tomkeuper.bedwars.sidebar.BoardManager;
 import com.tomkeuper.bedwars.stats.StatsAPI;
@@ -611,7 +614,7 @@ public class API implements com.tomkeuper.bedwars.api.BedWars {
     @SuppressWarnings("unused")
     @Override
     public IDatabase getRemoteDatabase() {
-        return BedWars.getRemoteDatabase();
+        return TimedDatabase.unwrap(BedWars.getRemoteDatabase());
     }
 
     @SuppressWarnings("unused")
@@ -626,6 +629,11 @@ public class API implements com.tomkeuper.bedwars.api.BedWars {
         return BedWars.getRedisConnection();
     }
 
+    @Override
+    public IProfiler getProfiler() {
+        return Profiler.getInstance();
+    }
+
     @Override
     public ItemUtil getItemUtil() {
         return itemUtil;
@@ -50,7 +50,6 @@ import com.tomkeuper.bedwars.arena.feature.GenSplitFeature;
 import com.tomkeuper.bedwars.arena.feature.SpoilPlayerTNTFeature;
 import com.tomkeuper.bedwars.arena.spectator.SpectatorListeners;
 import com.tomkeuper.bedwars.arena.tasks.OneTick;
-import com.tomkeuper.bedwars.arena.tasks.Refresh;
 import com.tomkeuper.bedwars.arena.upgrades.BaseListener;
 import com.tomkeuper.bedwars.arena.upgrades.HealPoolListener;
 import com.tomkeuper.bedwars.commands.bedwars.MainCommand;
@@ -62,6 +61,7 @@ import com.tomkeuper.bedwars.configuration.*;
 import com.tomkeuper.bedwars.database.H2;
 import com.tomkeuper.bedwars.database.MySQL;
 import com.tomkeuper.bedwars.database.SQLite;
+import com.tomkeuper.bedwars.database.TimedDatabase;
 import com.tomkeuper.bedwars.halloween.HalloweenSpecial;
 import com.tomkeuper.bedwars.hologram.HologramManager;
 import com.tomkeuper.bedwars.handlers.items.PreGameItem;
@@ -72,6 +72,7 @@ import com.tomkeuper.bedwars.handlers.main.StatsItemHandler;
 import com.tomkeuper.bedwars.language.*;
 import com.tomkeuper.bedwars.levels.internal.InternalLevel;
 import com.tomkeuper.bedwars.levels.internal.LevelListeners;
+import com.tomkeuper.bedwars.levels.internal.PlayerLevel;
 import com.tomkeuper.bedwars.listeners.*;
 import com.tomkeuper.bedwars.listeners.arenaselector.ArenaSelectorListener;
 import com.tomkeuper.bedwars.listeners.blockstatus.BlockStatusListener;
@@ -83,6 +84,7 @@ import com.tomkeuper.bedwars.connectionmanager.redis.RedisArenaListeners;
 import com.tomkeuper.bedwars.connectionmanager.redis.RedisConnection;
 import com.tomkeuper.bedwars.maprestore.internal.InternalAdapter;
 import com.tomkeuper.bedwars.money.internal.MoneyListeners;
+import com.tomkeuper.bedwars.popuptower.TowerBuilder;
 import com.tomkeuper.bedwars.shop.OverrideShop;
 import com.tomkeuper.bedwars.shop.ShopCache;
 import com.tomkeuper.bedwars.shop.ShopManager;
@@ -176,6 +178,8 @@ public class BedWars extends JavaPlugin {
 
     //remote database
     private static IDatabase remoteDatabase;
+    // remote database recording calls in the profiler, used internally
+    private static IDatabase timedDatabase;
 
     private static RedisConnection redisConnection;
 
@@ -354,7 +358,8 @@ public class BedWars extends JavaPlugin {
 
         // Register events
         registerEvents(new EnderPearlLanded(), new QuitAndTeleportListener(), new BreakPlace(), new DamageDeathMove(), new Inventory(), new Interact(), new RefreshGUI(), new HungerWeatherSpawn(), new CmdProcess(),
-                new FireballListener(), new EggBridge(), new SpectatorListeners(), new BaseListener(), new TargetListener(), new LangListener(), new Warnings(this), new ChatAFK(), new GameEndListener());
+                new FireballListener(), new EggBridge(), new SpectatorListeners(), new BaseListener(), new TargetListener(), new LangListener(), new Warnings(this), new ChatAFK(), new GameEndListener(),
+                new GeneratorItemListener());
 
         if (config.getBoolean(ConfigPath.GENERAL_CONFIGURATION_HEAL_POOL_ENABLE)) {
             registerEvents(new HealPoolListener());
@@ -424,9 +429,6 @@ public class BedWars extends JavaPlugin {
         setLevelAdapter(new InternalLevel());
 
         /* Register tasks */
-        Bukkit.getScheduler().runTaskTimer(this, new Refresh(), 20L, 20L);
-        //new Refresh().runTaskTimer(this, 20L, 20L);
-
         if (config.getBoolean(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_ROTATE_GEN)) {
             //new OneTick().runTaskTimer(this, 120, 1);
             Bukkit.getScheduler().runTaskTimer(this, new OneTick(), 120, 1);
@@ -457,6 +459,7 @@ public class BedWars extends JavaPlugin {
             remoteDatabase = new H2();
             remoteDatabase.init();
         }
+        timedDatabase = TimedDatabase.wrap(remoteDatabase);
 
         /* Citizens support */
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
@@ -592,7 +595,7 @@ public class BedWars extends JavaPlugin {
         metrics.addCustomChart(new SimplePie("party_adapter", () -> partyManager.getClass().getSimpleName()));
         metrics.addCustomChart(new SimplePie("chat_adapter", () -> chat.getClass().getSimpleName()));
         metrics.addCustomChart(new SimplePie("level_adapter", () -> getLevelSupport().getClass().getSimpleName()));
-        metrics.addCustomChart(new SimplePie("db_adapter", () -> getRemoteDatabase().getClass().getSimpleName()));
+        metrics.addCustomChart(new SimplePie("db_adapter", () -> remoteDatabase.getClass().getSimpleName()));
         metrics.addCustomChart(new SimplePie("map_adapter", () -> String.valueOf(getAPI().getRestoreAdapter().getOwner().getName())));
 
         if (Bukkit.getPluginManager().getPlugin("VipFeatures") != null) {
@@ -658,6 +661,10 @@ public class BedWars extends JavaPlugin {
         GenSplitFeature.init();
         AntiDropFeature.init();
 
+        if (shop.getBoolean(ConfigPath.SHOP_SPECIAL_TOWER_ENABLE)) {
+            TowerBuilder.init();
+        }
+
         // Initialize the addons
         Bukkit.getScheduler().runTaskLater(this, () -> addonManager.loadAddons(), 60L);
 
@@ -746,6 +753,15 @@ public class BedWars extends JavaPlugin {
             }
         }
 
+        PlayerLevel.saveModified(false);
+
+        // commit the queued player data
+        IDatabase database = remoteDatabase;
+        if (database instanceof SQLite) {
+            ((SQLite) database).close();
+        } else if (database instanceof H2) {
+            ((H2) database).close();
+        }
     }
 
     private void loadArenasAndSigns() {
@@ -883,9 +899,10 @@ public class BedWars extends JavaPlugin {
 
     /**
      * Get remote database.
+     * Calls are recorded in the profiler, use {@link TimedDatabase#unwrap(IDatabase)} to get the instance itself.
      */
     public static IDatabase getRemoteDatabase() {
-        return remoteDatabase;
+        return timedDatabase;
     }
 
     /**
@@ -974,7 +991,8 @@ public class BedWars extends JavaPlugin {
     }
 
     public static void setRemoteDatabase(IDatabase database){
-        remoteDatabase = database;
+        remoteDatabase = TimedDatabase.unwrap(database);
+        timedDatabase = TimedDatabase.wrap(remoteDatabase);
     }
 
 
@@ -52,6 +52,7 @@ import com.tomkeuper.bedwars.api.tasks.AnnouncementTask;
 import com.tomkeuper.bedwars.api.tasks.PlayingTask;
 import com.tomkeuper.bedwars.api.tasks.RestartingTask;
 import com.tomkeuper.bedwars.api.tasks.StartingTask;
+import com.tomkeuper.bedwars.arena.despawnables.DespawnableTicker;
 import com.tomkeuper.bedwars.arena.tasks.*;
 import com.tomkeuper.bedwars.arena.team.BedWarsTeam;
 import com.tomkeuper.bedwars.arena.team.TeamAssigner;
@@ -62,6 +63,7 @@ import com.tomkeuper.bedwars.levels.internal.PerMinuteTask;
 import com.tomkeuper.bedwars.listeners.blockstatus.BlockStatusListener;
 import com.tomkeuper.bedwars.listeners.dropshandler.PlayerDrops;
 import com.tomkeuper.bedwars.money.internal.MoneyPerMinuteTask;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import com.tomkeuper.bedwars.shop.ShopCache;
 import com.tomkeuper.bedwars.sidebar.BoardManager;
 import com.tomkeuper.bedwars.support.citizens.JoinNPC;
@@ -77,7 +79,6 @@ import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.Sign;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.*;
@@ -95,6 +96,7 @@ import java.io.File;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import static com.tomkeuper.bedwars.BedWars.*;
@@ -114,12 +116,14 @@ public class Arena implements IArena {
 
 
     private List<Player> players = new ArrayList<>();
+    // players by lower case group name, kept up to date with the players lists
+    private static final ConcurrentHashMap<String, AtomicInteger> playersByGroup = new ConcurrentHashMap<>();
     private List<Player> spectators = new ArrayList<>();
     private List<Block> signs = new ArrayList<>();
     private GameState status = GameState.restarting;
     private YamlConfiguration yml;
     private ArenaConfig cm;
-    private int minPlayers = 2, maxPlayers = 10, maxInTeam = 1, islandRadius = 10;
+    private int minPlayers = 2, maxPlayers = 10, maxInTeam = 1;
     public int upgradeDiamondsCount = 0, upgradeEmeraldsCount = 0;
     public boolean allowSpectate = true, allowMapBreak = false;
     private World world;
@@ -129,6 +133,12 @@ public class Arena implements IArena {
     private List<String> nextEvents = new ArrayList<>();
     private List<String> shopOverrideCategories = new ArrayList<>();
     private List<Region> regionsList = new ArrayList<>();
+    // team indexes, kept up to date by BedWarsTeam
+    private final ConcurrentHashMap<UUID, ITeam> teamByPlayer = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, ITeam> exTeamByPlayer = new ConcurrentHashMap<>();
+    private final HashMap<String, ITeam> teamByName = new HashMap<>();
+    private RegionIndex regionIndex;
+    private IslandGrid islandGrid;
     private List<ServerPlaceholder> serverPlaceholders = new ArrayList<>();
     private List<BossBar> dragonBossbars = new ArrayList<>();
     private int renderDistance;
@@ -150,6 +160,7 @@ public class Arena implements IArena {
      * Invisibility for armor when you drink an invisibility potion
      */
     private ConcurrentHashMap<Player, Integer> showTime = new ConcurrentHashMap<>();
+    private final TimerWheel<Player> invisibilityTimers = new TimerWheel<>();
 
     /**
      * Player location before joining.
@@ -182,10 +193,12 @@ public class Arena implements IArena {
 
     private MoneyPerMinuteTask moneyperMinuteTask;
 
-    private static final LinkedList<IArena> enableQueue = new LinkedList<>();
 
     private Location respawnLocation, spectatorLocation, waitingLocation;
-    private int yKillHeight;
+    private ArenaSettings settings;
+    private final DespawnableTicker despawnables = new DespawnableTicker();
+    private TemporaryBlocks temporaryBlocks;
+    private final SignRenderer signRenderer = new SignRenderer(this);
     private Instant startTime;
     private ITeamAssigner teamAssigner = new TeamAssigner();
 
@@ -198,7 +211,7 @@ public class Arena implements IArena {
      */
     public Arena(String name, @Nullable CommandSender p) {
         if (!autoscale) {
-            for (IArena mm : enableQueue) {
+            for (IArena mm : getEnableQueue()) {
                 if (mm.getArenaName().equalsIgnoreCase(name)) {
                     plugin.getLogger().severe("Tried to load arena " + name + " but it is already in the enable queue.");
                     if (p != null)
@@ -238,12 +251,13 @@ public class Arena implements IArena {
         minPlayers = yml.getInt("minPlayers");
         allowSpectate = yml.getBoolean("allowSpectate");
         allowMapBreak = yml.getBoolean("allow-map-break");
-        islandRadius = yml.getInt(ConfigPath.ARENA_ISLAND_RADIUS);
         if (config.getYml().get("arenaGroups") != null) {
             if (config.getYml().getStringList("arenaGroups").contains(yml.getString("group"))) {
                 group = yml.getString("group");
             }
         }
+        // values used before init, the team locations are read again once the world is loaded
+        settings = new ArenaSettings(cm, getGeneratorsCfg(), getGroup());
 
 
         if (!BedWars.getAPI().getRestoreAdapter().isWorld(name)) {
@@ -286,7 +300,6 @@ public class Arena implements IArena {
             return;
         }
         if (error) return;
-        yKillHeight = yml.getInt(ConfigPath.ARENA_Y_LEVEL_KILL);
         addToEnableQueue(this);
         Language.saveIfNotExists(Messages.ARENA_DISPLAY_GROUP_PATH + getGroup().toLowerCase(), String.valueOf(getGroup().charAt(0)).toUpperCase() + group.substring(1).toLowerCase());
     }
@@ -297,13 +310,19 @@ public class Arena implements IArena {
     @Override
     public void init(World world) {
         if (!autoscale) {
-            if (getArenaByName(arenaName) != null) return;
+            if (getArenaByName(arenaName) != null) {
+                // already enabled, free the load slot taken by this copy
+                removeFromEnableQueue(this);
+                return;
+            }
         }
-        removeFromEnableQueue(this);
+        ArenaEnableQueue.onInitStart(this);
         debug("Initialized arena " + getArenaName() + " with map " + world.getName());
         this.world = world;
         this.worldName = world.getName();
         getConfig().setName(worldName);
+        settings = new ArenaSettings(cm, getGeneratorsCfg(), getGroup());
+        temporaryBlocks = new TemporaryBlocks(this, world);
         world.getEntities().stream().filter(e -> e.getType() != EntityType.PLAYER)
                 .filter(e -> e.getType() != EntityType.PAINTING).filter(e -> e.getType() != EntityType.ITEM_FRAME)
                 .forEach(Entity::remove);
@@ -326,11 +345,13 @@ public class Arena implements IArena {
                 BedWars.plugin.getLogger().severe("A team with name: " + team + " was already loaded for arena: " + getArenaName());
                 continue;
             }
-            BedWarsTeam bwt = new BedWarsTeam(team, TeamColor.valueOf(yml.getString("Team." + team + ".Color").toUpperCase()), cm.getArenaLoc("Team." + team + ".Spawn"),
-                    cm.getArenaLoc("Team." + team + ".Bed"), cm.getArenaLoc("Team." + team + ".Shop"), cm.getArenaLoc("Team." + team + ".Upgrade"), this);
+            BedWarsTeam bwt = new BedWarsTeam(team, TeamColor.valueOf(yml.getString("Team." + team + ".Color").toUpperCase()), settings.getTeamSpawn(team),
+                    settings.getTeamBed(team), settings.getTeamShop(team), settings.getTeamUpgrade(team), this);
             teams.add(bwt);
+            teamByName.put(bwt.getName(), bwt);
             bwt.spawnGenerators();
         }
+        islandGrid = new IslandGrid(teams, getIslandRadius());
 
         //Load diamond/ emerald generators
         Location location;
@@ -400,10 +421,8 @@ public class Arena implements IArena {
             nextEvents.add(ne.toString());
         }
 
-        upgradeDiamondsCount = getGeneratorsCfg().getInt(getGeneratorsCfg().getYml().get(getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_START) == null ?
-                "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_II_START : getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_START);
-        upgradeEmeraldsCount = getGeneratorsCfg().getInt(getGeneratorsCfg().getYml().get(getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_START) == null ?
-                "Default." + ConfigPath.GENERATOR_EMERALD_TIER_II_START : getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_START);
+        upgradeDiamondsCount = settings.getGeneratorTier(GeneratorType.DIAMOND, 2).getStart();
+        upgradeEmeraldsCount = settings.getGeneratorTier(GeneratorType.EMERALD, 2).getStart();
         plugin.getLogger().info("Load done: " + getArenaName());
 
 
@@ -414,6 +433,7 @@ public class Arena implements IArena {
 
         //register scoreboards
         BoardManager.getInstance().registerArenaScoreboards(this);
+        ArenaEnableQueue.onInitDone(this);
     }
 
     /**
@@ -508,6 +528,7 @@ public class Arena implements IArena {
 
             p.closeInventory();
             players.add(p);
+            countPlayers(1);
             p.setFlying(false);
             p.setAllowFlight(false);
             p.setHealth(p.getMaxHealth());
@@ -657,7 +678,7 @@ public class Arena implements IArena {
 
             p.closeInventory();
             spectators.add(p);
-            players.remove(p);
+            if (players.remove(p)) countPlayers(-1);
 
             if (!playerBefore) {
                 /* save player inv etc if isn't saved yet*/
@@ -738,8 +759,8 @@ public class Arena implements IArena {
             }
             for (ITeam t : getTeams()) {
                 if (!t.isShopSpawned()) continue;
-                nms.spawnShopHologram(getConfig().getArenaLoc("Team." + t.getName() + ".Upgrade"), (getMaxInTeam() > 1 ? Messages.NPC_NAME_TEAM_UPGRADES.replace("%group%", group) : Messages.NPC_NAME_SOLO_UPGRADES.replace("%group%", group)), Collections.singletonList(p), this, t);
-                nms.spawnShopHologram(getConfig().getArenaLoc("Team." + t.getName() + ".Shop"), (getMaxInTeam() > 1 ? Messages.NPC_NAME_TEAM_SHOP.replace("%group%", group) : Messages.NPC_NAME_SOLO_SHOP.replace("%group%", group)), Collections.singletonList(p), this, t);
+                nms.spawnShopHologram(settings.getTeamUpgrade(t.getName()), (getMaxInTeam() > 1 ? Messages.NPC_NAME_TEAM_UPGRADES.replace("%group%", group) : Messages.NPC_NAME_SOLO_UPGRADES.replace("%group%", group)), Collections.singletonList(p), this, t);
+                nms.spawnShopHologram(settings.getTeamShop(t.getName()), (getMaxInTeam() > 1 ? Messages.NPC_NAME_TEAM_SHOP.replace("%group%", group) : Messages.NPC_NAME_SOLO_SHOP.replace("%group%", group)), Collections.singletonList(p), this, t);
                 for (IGenerator o : t.getGenerators()) {
                     o.updateHolograms(p);
                 }
@@ -751,6 +772,7 @@ public class Arena implements IArena {
         }
 
         showTime.remove(p);
+        invisibilityTimers.cancel(p);
         refreshSigns();
         JoinNPC.updateNPCs(getGroup());
         return true;
@@ -794,6 +816,7 @@ public class Arena implements IArena {
                 if (t.isMember(p)) {
                     team = t;
                     t.getMembers().remove(p);
+                    unIndexTeamMember(p.getUniqueId());
                     t.destroyBedHolo(p);
                 }
             }
@@ -816,7 +839,7 @@ public class Arena implements IArena {
         }
         Bukkit.getPluginManager().callEvent(new PlayerLeaveArenaEvent(p, this, lastDamager));
         //players.remove must be under call event in order to check if the player is a spectator or not
-        players.remove(p);
+        if (players.remove(p)) countPlayers(-1);
         removeArenaByPlayer(p, this);
 
         for (PotionEffect pf : p.getActivePotionEffects()) {
@@ -1015,6 +1038,7 @@ public class Arena implements IArena {
         }
 
         showTime.remove(p);
+        invisibilityTimers.cancel(p);
 
         refreshSigns();
         JoinNPC.updateNPCs(getGroup());
@@ -1166,6 +1190,7 @@ public class Arena implements IArena {
 
         p.closeInventory();
         players.add(p);
+        countPlayers(1);
         leaving.remove(p);
 
         for (Player on : players) {
@@ -1219,6 +1244,8 @@ public class Arena implements IArena {
         for (Player inWorld : getWorld().getPlayers()) {
             inWorld.kickPlayer("You're not supposed to be here.");
         }
+        // a refresh on the next tick would find no signs after destroyData
+        signRenderer.renderNow();
         BedWars.getAPI().getRestoreAdapter().onDisable(this);
         Bukkit.getPluginManager().callEvent(new ArenaDisableEvent(getArenaName(), getWorldName()));
         destroyData();
@@ -1441,13 +1468,15 @@ public class Arena implements IArena {
      * Get the island radius
      */
     public int getIslandRadius() {
-        return islandRadius;
+        return settings.getIslandRadius();
     }
 
     //SETTER METHODS
     @Override
     public void setGroup(String group) {
+        if (players != null) countPlayers(-players.size());
         this.group = group;
+        if (players != null) countPlayers(players.size());
         BoardManager.getInstance().registerArenaScoreboards(this);
     }
 
@@ -1619,7 +1648,7 @@ public class Arena implements IArena {
         if (loc == null) return;
         if (loc.getBlock().getType().toString().endsWith("_SIGN") || loc.getBlock().getType().toString().endsWith("_WALL_SIGN")) {
             signs.add(loc.getBlock());
-            refreshSigns();
+            signRenderer.addSign(loc.getBlock());
             BlockStatusListener.updateBlock(this);
         }
     }
@@ -1635,30 +1664,14 @@ public class Arena implements IArena {
 
     /**
      * Refresh signs.
+     * Signs are rendered on the next tick and only written if their text changed.
      */
-    public synchronized void refreshSigns() {
-        for (Block b : getSigns()) {
-            if (b == null) continue;
-            if (!(b.getType().toString().endsWith("_SIGN") || b.getType().toString().endsWith("_WALL_SIGN"))) continue;
-            if (!(b.getState() instanceof Sign)) continue;
-            Sign s = (Sign) b.getState();
-            if (s == null) return;
-            int line = 0;
-            for (String string : BedWars.signs.getList("format")) {
-                if (string == null) continue;
-                if (getPlayers() == null) continue;
-                s.setLine(line, string.replace("[on]", String.valueOf(getPlayers().size()))
-                        .replace("[max]", String.valueOf(getMaxPlayers())).replace("[arena]", getDisplayName())
-                        .replace("[status]", getDisplayStatus(Language.getDefaultLanguage()))
-                        .replace("[type]", String.valueOf(getMaxInTeam())));
-                line++;
-            }
-            try {
-                s.update(true);
-            } catch (Exception ex) {
-                ex.printStackTrace();
-            }
-        }
+    public void refreshSigns() {
+        signRenderer.requestRefresh();
+    }
+
+    public SignRenderer getSignRenderer() {
+        return signRenderer;
     }
 
     /**
@@ -1800,12 +1813,14 @@ public class Arena implements IArena {
      */
     @Override
     public ITeam getTeam(Player p) {
-        for (ITeam t : getTeams()) {
-            if (t.isMember(p)) {
-                return t;
-            }
+        if (p == null) return null;
+        ITeam team = teamByPlayer.get(p.getUniqueId());
+        // members removed without going through the index
+        if (team != null && !team.isMember(p)) {
+            teamByPlayer.remove(p.getUniqueId(), team);
+            return null;
         }
-        return null;
+        return team;
     }
 
     /**
@@ -1814,12 +1829,33 @@ public class Arena implements IArena {
      */
     @Override
     public ITeam getExTeam(UUID p) {
-        for (ITeam t : getTeams()) {
-            if (t.wasMember(p)) {
-                return t;
-            }
-        }
-        return null;
+        if (p == null) return null;
+        return exTeamByPlayer.get(p);
+    }
+
+    /**
+     * Index a player as current and former member of the given team.
+     * Called by {@link BedWarsTeam} when a player is added.
+     */
+    public void indexTeamMember(@NotNull Player p, ITeam team) {
+        teamByPlayer.put(p.getUniqueId(), team);
+        exTeamByPlayer.put(p.getUniqueId(), team);
+    }
+
+    /**
+     * Remove a player from the current members index.
+     * The player is still indexed as former member.
+     */
+    public void unIndexTeamMember(@NotNull UUID p) {
+        teamByPlayer.remove(p);
+    }
+
+    /**
+     * Remove a player from the current and former members index.
+     */
+    public void unIndexExTeamMember(@NotNull UUID p) {
+        teamByPlayer.remove(p);
+        exTeamByPlayer.remove(p);
     }
 
     /**
@@ -2008,8 +2044,7 @@ public class Arena implements IArena {
         debug("updateNextEvent called");
         if (nextEvent == NextEvent.EMERALD_GENERATOR_TIER_II && upgradeEmeraldsCount == 0) {
             // next diamond time < next emerald time
-            int next = getGeneratorsCfg().getInt(getGeneratorsCfg().getYml().get(getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_III_START) == null ?
-                    "Default." + ConfigPath.GENERATOR_EMERALD_TIER_III_START : getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_III_START);
+            int next = settings.getGeneratorTier(GeneratorType.EMERALD, 3).getStart();
             if (upgradeDiamondsCount < next && diamondTier == 1) {
                 setNextEvent(NextEvent.DIAMOND_GENERATOR_TIER_II);
             } else if (upgradeDiamondsCount < next && diamondTier == 2) {
@@ -2026,8 +2061,7 @@ public class Arena implements IArena {
                 }
             }
         } else if (nextEvent == NextEvent.DIAMOND_GENERATOR_TIER_II && upgradeDiamondsCount == 0) {
-            int next = getGeneratorsCfg().getInt(getGeneratorsCfg().getYml().get(getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_III_START) == null ?
-                    "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_III_START : getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_III_START);
+            int next = settings.getGeneratorTier(GeneratorType.DIAMOND, 3).getStart();
             if (upgradeEmeraldsCount < next && emeraldTier == 1) {
                 setNextEvent(NextEvent.EMERALD_GENERATOR_TIER_II);
             } else if (upgradeEmeraldsCount < next && emeraldTier == 2) {
@@ -2103,17 +2137,25 @@ public class Arena implements IArena {
      */
     public static int getPlayers(@NotNull String group) {
         int i = 0;
-
-        String[] groups = group.split("\\+");
-        for (String g : groups) {
-            for (IArena a : getArenas()) {
-                if (a.getGroup().equalsIgnoreCase(g)) i += a.getPlayers().size();
-            }
+        for (String g : group.split("\\+")) {
+            i += getGroupPlayers(g);
         }
-
         return i;
     }
 
+    /**
+     * Get the amount of players in arenas of a single group.
+     */
+    public static int getGroupPlayers(@NotNull String group) {
+        AtomicInteger count = playersByGroup.get(group.toLowerCase());
+        return count == null ? 0 : count.get();
+    }
+
+    private void countPlayers(int delta) {
+        if (delta == 0) return;
+        playersByGroup.computeIfAbsent(group.toLowerCase(), k -> new AtomicInteger()).addAndGet(delta);
+    }
+
     /**
      * Register join-signs for arena
      */
@@ -2142,10 +2184,8 @@ public class Arena implements IArena {
      * Get a team by name
      */
     public ITeam getTeam(String name) {
-        for (ITeam bwt : getTeams()) {
-            if (bwt.getName().equals(name)) return bwt;
-        }
-        return null;
+        if (name == null) return null;
+        return teamByName.get(name);
     }
 
     /**
@@ -2163,6 +2203,13 @@ public class Arena implements IArena {
         return showTime;
     }
 
+    /**
+     * Get invisibility expiry timers of players in {@link #getShowTime()}.
+     */
+    public TimerWheel<Player> getInvisibilityTimers() {
+        return invisibilityTimers;
+    }
+
     /**
      * Get instance of the starting task.
      */
@@ -2355,12 +2402,32 @@ public class Arena implements IArena {
         return regionsList;
     }
 
+    /**
+     * Chunk index over {@link #getRegionsList()} used by build protection checks.
+     */
+    public RegionIndex getRegionIndex() {
+        if (regionIndex == null) {
+            regionIndex = new RegionIndex(regionsList);
+        }
+        return regionIndex;
+    }
+
+    /**
+     * Island grid used by base enter/ leave detection.
+     */
+    public IslandGrid getIslandGrid() {
+        if (islandGrid == null) {
+            islandGrid = new IslandGrid(teams, getIslandRadius());
+        }
+        return islandGrid;
+    }
+
     public LinkedList<Vector> getPlaced() {
         return placed;
     }
 
     public static LinkedList<IArena> getEnableQueue() {
-        return enableQueue;
+        return ArenaEnableQueue.getQueue();
     }
 
     private final Map<UUID, Long> fireballCooldowns = new HashMap<>();
@@ -2373,16 +2440,14 @@ public class Arena implements IArena {
         destroyReJoins();
         if (worldName != null) arenaByIdentifier.remove(worldName);
         arenas.remove(this);
-        for (ReJoinTask rjt : ReJoinTask.getReJoinTasks()) {
-            if (rjt.getArena() == this) {
-                rjt.destroy();
-            }
-        }
+        ReJoinTask.destroyAll(this);
+        Profiler.removeArena(this);
         for (Despawnable despawnable : new ArrayList<>(BedWars.nms.getDespawnablesList().values())) {
             if (despawnable.getTeam().getArena() == this) {
                 despawnable.destroy();
             }
         }
+        despawnables.clear();
         for (ServerPlaceholder placeholder : serverPlaceholders){
             TabAPI.getInstance().getPlaceholderManager().unregisterPlaceholder(placeholder);
         }
@@ -2394,11 +2459,16 @@ public class Arena implements IArena {
         }
         arenaByName.remove(arenaName);
         arenaByPlayer.entrySet().removeIf(entry -> entry.getValue() == this);
+        if (players != null) countPlayers(-players.size());
         players = null;
         spectators = null;
         signs = null;
         yml = null;
         cm = null;
+        if (temporaryBlocks != null) {
+            temporaryBlocks.destroy();
+            temporaryBlocks = null;
+        }
         world = null;
         for (IGenerator og : oreGenerators) {
             og.destroyData();
@@ -2412,8 +2482,14 @@ public class Arena implements IArena {
         placed = null;
         nextEvents = null;
         regionsList = null;
+        regionIndex = null;
+        islandGrid = null;
+        teamByPlayer.clear();
+        exTeamByPlayer.clear();
+        teamByName.clear();
         respawnSessions = null;
         showTime = null;
+        invisibilityTimers.clear();
         playerKills = null;
         playerBedsDestroyed = null;
         playerFinalKills = null;
@@ -2435,20 +2511,11 @@ public class Arena implements IArena {
      * Remove an arena from the enable queue.
      */
     public static void removeFromEnableQueue(IArena a) {
-        enableQueue.remove(a);
-        if (!enableQueue.isEmpty()) {
-            BedWars.getAPI().getRestoreAdapter().onEnable(enableQueue.get(0));
-            plugin.getLogger().info("Loading arena: " + enableQueue.get(0).getWorldName());
-        }
+        ArenaEnableQueue.remove(a);
     }
 
     public static void addToEnableQueue(IArena a) {
-        enableQueue.add(a);
-        plugin.getLogger().info("Arena " + a.getWorldName() + " was added to the enable queue.");
-        if (enableQueue.size() == 1) {
-            BedWars.getAPI().getRestoreAdapter().onEnable(a);
-            plugin.getLogger().info("Loading arena: " + a.getWorldName());
-        }
+        ArenaEnableQueue.add(a);
     }
 
     public int getUpgradeDiamondsCount() {
@@ -2608,11 +2675,8 @@ public class Arena implements IArena {
     }
 
     private void destroyReJoins() {
-        List<ReJoin> reJoins = new ArrayList<>(ReJoin.getReJoinList());
-        for (ReJoin reJoin : reJoins) {
-            if (reJoin.getArena() == this) {
-                reJoin.destroy(true);
-            }
+        for (ReJoin reJoin : new ArrayList<>(ReJoin.getArenaReJoins(this))) {
+            reJoin.destroy(true);
         }
     }
 
@@ -2631,10 +2695,11 @@ public class Arena implements IArena {
         this.playerDeaths.remove(player);
         this.playerFinalKillDeaths.remove(player);
 
-        ITeam team = getTeams().stream().filter(team1 -> team1.wasMember(player.getUniqueId())).findFirst().orElse(null);
+        ITeam team = getExTeam(player.getUniqueId());
         if (team != null) {
             //noinspection deprecation
             team.getMembersCache().removeIf(cachedPlayer -> cachedPlayer.getUniqueId().equals(player.getUniqueId()));
+            unIndexExTeamMember(player.getUniqueId());
             ReJoin rejoin = ReJoin.getPlayer(player);
             if (rejoin != null) {
                 rejoin.destroy(team.getMembers().isEmpty());
@@ -2644,7 +2709,27 @@ public class Arena implements IArena {
 
     @Override
     public int getYKillHeight() {
-        return yKillHeight;
+        return settings.getYKillHeight();
+    }
+
+    @Override
+    public ArenaSettings getSettings() {
+        return settings;
+    }
+
+    @Override
+    public void registerDespawnable(Despawnable despawnable) {
+        despawnables.add(despawnable);
+    }
+
+    @Override
+    public void addTemporaryBlock(Block block, int ticks) {
+        if (temporaryBlocks == null) return;
+        temporaryBlocks.add(block, ticks);
+    }
+
+    public DespawnableTicker getDespawnables() {
+        return despawnables;
     }
 
     @Override
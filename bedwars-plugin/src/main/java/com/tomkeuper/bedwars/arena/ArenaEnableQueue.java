@@ -0,0 +1,191 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.configuration.ConfigPath;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import static com.tomkeuper.bedwars.BedWars.plugin;
+
+/**
+ * Arenas waiting for their world to be loaded.
+ * Up to {@link ConfigPath#GENERAL_CONFIGURATION_PERFORMANCE_ARENA_LOADS} arenas are handed to the restore adapter at once,
+ * so their world files are prepared in parallel while world loading and {@link Arena#init} stay on the main thread.
+ * Two copies of the same map are never prepared at the same time because they share the template files.
+ */
+public final class ArenaEnableQueue {
+
+    public static final int STAGE_QUEUED = 0;
+    public static final int STAGE_PREPARE = 1;
+    public static final int STAGE_WORLD_LOAD = 2;
+    public static final int STAGE_INIT = 3;
+    private static final String[] STAGE_NAMES = {"queued", "prepare", "world-load", "init"};
+
+    // queued and loading arenas, in order
+    private static final LinkedList<IArena> queue = new LinkedList<>();
+    // arenas given to the restore adapter
+    private static final Map<IArena, Stages> loading = new LinkedHashMap<>();
+    private static final Map<IArena, Stages> waiting = new LinkedHashMap<>();
+    private static final Map<IArena, Stages> initializing = new HashMap<>();
+
+    private static final long[] totalNanos = new long[STAGE_NAMES.length];
+    private static final long[] lastNanos = new long[STAGE_NAMES.length];
+    private static int enabled = 0;
+
+    private ArenaEnableQueue() {
+    }
+
+    public static LinkedList<IArena> getQueue() {
+        return queue;
+    }
+
+    public static synchronized void add(IArena a) {
+        queue.add(a);
+        waiting.put(a, new Stages());
+        plugin.getLogger().info("Arena " + a.getWorldName() + " was added to the enable queue.");
+        startNext();
+    }
+
+    /**
+     * Remove an arena that could not be loaded.
+     */
+    public static synchronized void remove(IArena a) {
+        queue.remove(a);
+        waiting.remove(a);
+        loading.remove(a);
+        startNext();
+    }
+
+    /**
+     * The restore adapter started creating the arena world.
+     */
+    public static synchronized void onWorldInit(String worldName) {
+        for (Map.Entry<IArena, Stages> entry : loading.entrySet()) {
+            if (entry.getKey().getWorldName().equalsIgnoreCase(worldName)) {
+                entry.getValue().worldInit = System.nanoTime();
+                return;
+            }
+        }
+    }
+
+    /**
+     * The arena world is loaded and the arena is being initialized.
+     * Frees its slot for the next arena.
+     */
+    static synchronized void onInitStart(IArena a) {
+        queue.remove(a);
+        waiting.remove(a);
+        Stages stages = loading.remove(a);
+        if (stages != null) {
+            stages.initStart = System.nanoTime();
+            initializing.put(a, stages);
+        }
+        startNext();
+    }
+
+    /**
+     * The arena was initialized.
+     */
+    static synchronized void onInitDone(IArena a) {
+        Stages stages = initializing.remove(a);
+        if (stages == null) return;
+        long now = System.nanoTime();
+        long worldInit = stages.worldInit == 0 ? stages.initStart : stages.worldInit;
+        long[] durations = {
+                stages.started - stages.queued,
+                worldInit - stages.started,
+                stages.initStart - worldInit,
+                now - stages.initStart
+        };
+        for (int i = 0; i < durations.length; i++) {
+            totalNanos[i] += durations[i];
+            lastNanos[i] = durations[i];
+        }
+        enabled++;
+        plugin.getLogger().info(String.format("Arena %s enabled in %dms (queued %dms, prepare %dms, world-load %dms, init %dms).",
+                a.getWorldName(), (now - stages.queued) / 1_000_000, durations[0] / 1_000_000, durations[1] / 1_000_000,
+                durations[2] / 1_000_000, durations[3] / 1_000_000));
+    }
+
+    /**
+     * Hand queued arenas to the restore adapter until the limit is reached.
+     */
+    private static void startNext() {
+        int limit = Math.max(1, BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_ARENA_LOADS));
+        for (IArena a : new LinkedList<>(queue)) {
+            if (loading.size() >= limit) return;
+            Stages stages = waiting.get(a);
+            if (stages == null || isLoading(a.getArenaName())) continue;
+            waiting.remove(a);
+            stages.started = System.nanoTime();
+            loading.put(a, stages);
+            plugin.getLogger().info("Loading arena: " + a.getWorldName());
+            BedWars.getAPI().getRestoreAdapter().onEnable(a);
+        }
+    }
+
+    private static boolean isLoading(String arenaName) {
+        for (IArena a : loading.keySet()) {
+            if (a.getArenaName().equals(arenaName)) return true;
+        }
+        return false;
+    }
+
+    public static synchronized int getLoadingCount() {
+        return loading.size();
+    }
+
+    public static synchronized int getEnabledCount() {
+        return enabled;
+    }
+
+    public static String getStageName(int stage) {
+        return STAGE_NAMES[stage];
+    }
+
+    public static int getStageCount() {
+        return STAGE_NAMES.length;
+    }
+
+    /**
+     * @return average stage duration since startup, 0 if no arena was enabled.
+     */
+    public static synchronized long getAverageNanos(int stage) {
+        return enabled == 0 ? 0 : totalNanos[stage] / enabled;
+    }
+
+    public static synchronized long getLastNanos(int stage) {
+        return lastNanos[stage];
+    }
+
+    private static final class Stages {
+        private final long queued = System.nanoTime();
+        private long started;
+        private long worldInit;
+        private long initStart;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena;
+
+import com.tomkeuper.bedwars.api.arena.IArenaSettings;
+import com.tomkeuper.bedwars.api.arena.generator.GeneratorType;
+import com.tomkeuper.bedwars.api.arena.generator.IGeneratorTier;
+import com.tomkeuper.bedwars.api.configuration.ConfigManager;
+import com.tomkeuper.bedwars.api.configuration.ConfigPath;
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Arena configuration values parsed once, so listeners and tasks do not have to go through the yml on every call.
+ * Created with the arena and again at {@link Arena#init(org.bukkit.World)}, when team locations can point to the loaded world.
+ */
+public final class ArenaSettings implements IArenaSettings {
+
+    private final int maxBuildY, minBuildY, islandRadius, yKillHeight, bridgeBlockDecay;
+    private final double generatorSplitRange;
+    private final Map<GeneratorType, IGeneratorTier[]> generatorTiers = new EnumMap<>(GeneratorType.class);
+    private final Map<String, Location> teamSpawns, teamBeds, teamShops, teamUpgrades;
+
+    /**
+     * @param arenaConfig the arena configuration. Its name must already point to the arena world.
+     * @param generators  the generators configuration.
+     * @param group       the arena group used to resolve generator settings.
+     */
+    public ArenaSettings(ConfigManager arenaConfig, ConfigManager generators, String group) {
+        this.maxBuildY = arenaConfig.getInt(ConfigPath.ARENA_CONFIGURATION_MAX_BUILD_Y);
+        this.minBuildY = arenaConfig.getInt(ConfigPath.ARENA_CONFIGURATION_MIN_BUILD_Y);
+        this.islandRadius = arenaConfig.getInt(ConfigPath.ARENA_ISLAND_RADIUS);
+        this.yKillHeight = arenaConfig.getInt(ConfigPath.ARENA_Y_LEVEL_KILL);
+        this.generatorSplitRange = arenaConfig.getDouble(ConfigPath.ARENA_GENERATOR_SPLIT_RANGE);
+        this.bridgeBlockDecay = arenaConfig.getInt(ConfigPath.ARENA_BRIDGE_BLOCK_DECAY);
+
+        generatorTiers.put(GeneratorType.IRON, new IGeneratorTier[]{
+                new GeneratorTier(generators, group, ConfigPath.GENERATOR_IRON_DELAY, ConfigPath.GENERATOR_IRON_AMOUNT,
+                        ConfigPath.GENERATOR_IRON_SPAWN_LIMIT, null)
+        });
+        generatorTiers.put(GeneratorType.GOLD, new IGeneratorTier[]{
+                new GeneratorTier(generators, group, ConfigPath.GENERATOR_GOLD_DELAY, ConfigPath.GENERATOR_GOLD_AMOUNT,
+                        ConfigPath.GENERATOR_GOLD_SPAWN_LIMIT, null)
+        });
+        generatorTiers.put(GeneratorType.DIAMOND, new IGeneratorTier[]{
+                new GeneratorTier(generators, group, ConfigPath.GENERATOR_DIAMOND_TIER_I_DELAY, ConfigPath.GENERATOR_DIAMOND_TIER_I_AMOUNT,
+                        ConfigPath.GENERATOR_DIAMOND_TIER_I_SPAWN_LIMIT, null),
+                new GeneratorTier(generators, group, ConfigPath.GENERATOR_DIAMOND_TIER_II_DELAY, ConfigPath.GENERATOR_DIAMOND_TIER_II_AMOUNT,
+                        ConfigPath.GENERATOR_DIAMOND_TIER_II_SPAWN_LIMIT, ConfigPath.GENERATOR_DIAMOND_TIER_II_START),
+                new GeneratorTier(generators, group, ConfigPath.GENERATOR_DIAMOND_TIER_III_DELAY, ConfigPath.GENERATOR_DIAMOND_TIER_III_AMOUNT,
+                        ConfigPath.GENERATOR_DIAMOND_TIER_III_SPAWN_LIMIT, ConfigPath.GENERATOR_DIAMOND_TIER_III_START)
+        });
+        generatorTiers.put(GeneratorType.EMERALD, new IGeneratorTier[]{
+                new GeneratorTier(generators, group, ConfigPath.GENERATOR_EMERALD_TIER_I_DELAY, ConfigPath.GENERATOR_EMERALD_TIER_I_AMOUNT,
+                        ConfigPath.GENERATOR_EMERALD_TIER_I_SPAWN_LIMIT, null),
+                new GeneratorTier(generators, group, ConfigPath.GENERATOR_EMERALD_TIER_II_DELAY, ConfigPath.GENERATOR_EMERALD_TIER_II_AMOUNT,
+                        ConfigPath.GENERATOR_EMERALD_TIER_II_SPAWN_LIMIT, ConfigPath.GENERATOR_EMERALD_TIER_II_START),
+                new GeneratorTier(generators, group, ConfigPath.GENERATOR_EMERALD_TIER_III_DELAY, ConfigPath.GENERATOR_EMERALD_TIER_III_AMOUNT,
+                        ConfigPath.GENERATOR_EMERALD_TIER_III_SPAWN_LIMIT, ConfigPath.GENERATOR_EMERALD_TIER_III_START)
+        });
+
+        Map<String, Location> spawns = new HashMap<>(), beds = new HashMap<>(), shops = new HashMap<>(), upgrades = new HashMap<>();
+        ConfigurationSection teams = arenaConfig.getYml().getConfigurationSection("Team");
+        if (teams != null) {
+            for (String team : teams.getKeys(false)) {
+                putIfSet(spawns, team, arenaConfig.getArenaLoc("Team." + team + ".Spawn"));
+                putIfSet(beds, team, arenaConfig.getArenaLoc("Team." + team + ".Bed"));
+                putIfSet(shops, team, arenaConfig.getArenaLoc("Team." + team + ".Shop"));
+                putIfSet(upgrades, team, arenaConfig.getArenaLoc("Team." + team + ".Upgrade"));
+            }
+        }
+        this.teamSpawns = Collections.unmodifiableMap(spawns);
+        this.teamBeds = Collections.unmodifiableMap(beds);
+        this.teamShops = Collections.unmodifiableMap(shops);
+        this.teamUpgrades = Collections.unmodifiableMap(upgrades);
+    }
+
+    private static void putIfSet(Map<String, Location> map, String team, Location location) {
+        if (location != null) map.put(team, location);
+    }
+
+    @Nullable
+    private static Location copy(@Nullable Location location) {
+        return location == null ? null : location.clone();
+    }
+
+    /**
+     * Get the group specific path if set, otherwise the default one.
+     */
+    private static String resolve(ConfigManager generators, String group, String path) {
+        return generators.getYml().get(group + "." + path) == null ? "Default." + path : group + "." + path;
+    }
+
+    @Override
+    public int getMaxBuildY() {
+        return maxBuildY;
+    }
+
+    @Override
+    public int getMinBuildY() {
+        return minBuildY;
+    }
+
+    @Override
+    public int getIslandRadius() {
+        return islandRadius;
+    }
+
+    @Override
+    public int getYKillHeight() {
+        return yKillHeight;
+    }
+
+    @Override
+    public double getGeneratorSplitRange() {
+        return generatorSplitRange;
+    }
+
+    @Override
+    public int getBridgeBlockDecay() {
+        return bridgeBlockDecay;
+    }
+
+    @Override
+    public @Nullable IGeneratorTier getGeneratorTier(GeneratorType type, int tier) {
+        IGeneratorTier[] tiers = generatorTiers.get(type);
+        if (tiers == null || tier < 1 || tier > tiers.length) return null;
+        return tiers[tier - 1];
+    }
+
+    @Override
+    public @Nullable Location getTeamSpawn(String team) {
+        return copy(teamSpawns.get(team));
+    }
+
+    @Override
+    public @Nullable Location getTeamBed(String team) {
+        return copy(teamBeds.get(team));
+    }
+
+    @Override
+    public @Nullable Location getTeamShop(String team) {
+        return copy(teamShops.get(team));
+    }
+
+    @Override
+    public @Nullable Location getTeamUpgrade(String team) {
+        return copy(teamUpgrades.get(team));
+    }
+
+    private static final class GeneratorTier implements IGeneratorTier {
+
+        private final double delay;
+        private final int amount, spawnLimit, start;
+
+        private GeneratorTier(ConfigManager generators, String group, String delay, String amount, String spawnLimit, @Nullable String start) {
+            this.delay = generators.getDouble(resolve(generators, group, delay));
+            this.amount = generators.getInt(resolve(generators, group, amount));
+            this.spawnLimit = generators.getInt(resolve(generators, group, spawnLimit));
+            this.start = start == null ? 0 : generators.getInt(resolve(generators, group, start));
+        }
+
+        @Override
+        public double getDelay() {
+            return delay;
+        }
+
+        @Override
+        public int getAmount() {
+            return amount;
+        }
+
+        @Override
+        public int getSpawnLimit() {
+            return spawnLimit;
+        }
+
+        @Override
+        public int getStart() {
+            return start;
+        }
+    }
+}
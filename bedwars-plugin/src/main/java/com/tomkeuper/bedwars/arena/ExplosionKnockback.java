@@ -0,0 +1,155 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+package com.tomkeuper.bedwars.arena;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableMap;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.arena.team.ITeam;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TNTPrimed;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Knockback and damage of explosions caused by players, shared by fireballs and tnt.
+ */
+public class ExplosionKnockback {
+
+    // damage values come from the config so there are only a few of them
+    private static final Map<Double, Map<EntityDamageEvent.DamageModifier, Double>> damageModifiers = new HashMap<>();
+    private static final Map<Double, Map<EntityDamageEvent.DamageModifier, Function<? super Double, Double>>> damageFunctions = new HashMap<>();
+
+    private ExplosionKnockback() {
+    }
+
+    /**
+     * How a player hit by an explosion relates to the player who caused it.
+     */
+    public enum Relation {
+        SELF, TEAMMATE, ENEMY
+    }
+
+    /**
+     * Get the live players of an arena within the given radius of an explosion.
+     * Spectators and re-spawning players are skipped.
+     */
+    public static List<Player> getTargets(IArena arena, Location center, double radius) {
+        List<Player> targets = new ArrayList<>();
+        World world = center.getWorld();
+        double radiusSquared = radius * radius;
+        for (Player player : arena.getPlayers()) {
+            if (player.getWorld() != world || arena.isReSpawning(player)) continue;
+            if (player.getLocation().distanceSquared(center) <= radiusSquared) {
+                targets.add(player);
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Get the relation between a victim and the source of an explosion.
+     *
+     * @param sourceTeam team of the source, resolved once per explosion.
+     */
+    public static Relation getRelation(IArena arena, Player victim, Player source, ITeam sourceTeam) {
+        if (victim.equals(source)) return Relation.SELF;
+        ITeam victimTeam = arena.getTeam(victim);
+        return victimTeam != null && victimTeam.equals(sourceTeam) ? Relation.TEAMMATE : Relation.ENEMY;
+    }
+
+    /**
+     * Fireball knockback, pushing the player away from the explosion.
+     *
+     * @param horizontal horizontal multiplier, negative to push away.
+     */
+    public static Vector getFireballVelocity(Location center, Player player, double horizontal, double vertical) {
+        Location location = player.getLocation();
+        Vector direction = new Vector(center.getX() - location.getX(), center.getY() - location.getY(), center.getZ() - location.getZ()).normalize();
+        double y = direction.getY();
+        if (y < 0) {
+            y += 1.5;
+        }
+        if (y <= 0.5) {
+            y = vertical * 1.5; // kb for not jumping
+        } else {
+            y = y * vertical * 1.5; // kb for jumping
+        }
+        return direction.multiply(horizontal).setY(y);
+    }
+
+    /**
+     * Tnt jump knockback. credits to feargames.it
+     *
+     * @param barycenterY       how much the player barycenter is lowered.
+     * @param strengthReduction force reduction constant.
+     * @param yReduction        vertical force reduction constant.
+     */
+    public static Vector getTntVelocity(TNTPrimed tnt, Player player, double barycenterY, double strengthReduction, double yReduction) {
+        Location location = player.getLocation();
+        Location center = tnt.getLocation();
+        Vector distance = new Vector(location.getX() - center.getX(), location.getY() - barycenterY - center.getY(), location.getZ() - center.getZ());
+        double length = distance.length();
+        double force = (tnt.getYield() * tnt.getYield()) / (strengthReduction + length);
+        Vector resultingForce = distance.normalize().multiply(force);
+        resultingForce.setY(resultingForce.getY() / (length + yReduction));
+        return resultingForce;
+    }
+
+    /**
+     * Record the source of the explosion as the last damager of the given player.
+     */
+    public static void setLastHit(Player player, Entity source) {
+        LastHit lh = LastHit.getLastHit(player);
+        if (lh != null) {
+            lh.setDamager(source);
+            lh.setTime(System.currentTimeMillis());
+        } else {
+            new LastHit(player, source, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Damage a player as explosion damage.
+     * Nothing happens if the damage is not greater than 0.
+     */
+    public static void damage(Player player, double damage) {
+        if (damage <= 0) return;
+        // the event keeps the modifiers map and changes it on setDamage, so it gets its own copy
+        EntityDamageEvent damageEvent = new EntityDamageEvent(
+                player,
+                EntityDamageEvent.DamageCause.ENTITY_EXPLOSION,
+                new EnumMap<>(damageModifiers.computeIfAbsent(damage, d -> ImmutableMap.of(EntityDamageEvent.DamageModifier.BASE, d))),
+                damageFunctions.computeIfAbsent(damage, d -> new EnumMap<>(ImmutableMap.of(EntityDamageEvent.DamageModifier.BASE, Functions.constant(d))))
+        );
+        player.setLastDamageCause(damageEvent);
+        player.damage(damage);
+    }
+}
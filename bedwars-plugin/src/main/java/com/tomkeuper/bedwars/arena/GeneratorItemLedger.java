@@ -0,0 +1,146 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena;
+
+import org.bukkit.entity.Item;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps track of the item entities dropped by a generator and how many items are still on the ground.
+ * It is updated from pickup, merge and despawn events so the spawn limit can be checked without scanning entities.
+ * Entities removed without an event are dropped on {@link #recount()}.
+ */
+public class GeneratorItemLedger {
+
+    private static final Map<Integer, GeneratorItemLedger> owners = new HashMap<>();
+
+    private final Map<Integer, Item> items = new HashMap<>();
+    private final Map<Integer, Integer> amounts = new HashMap<>();
+    private int amount = 0;
+
+    /**
+     * Start tracking an item dropped by the generator.
+     */
+    public void track(Item item) {
+        int id = item.getEntityId();
+        items.put(id, item);
+        owners.put(id, this);
+        setAmount(id, item.getItemStack().getAmount());
+    }
+
+    /**
+     * Update the amount of a tracked item, used when the item stack is changed by the generator.
+     */
+    public void update(Item item, int newAmount) {
+        if (!items.containsKey(item.getEntityId())) return;
+        setAmount(item.getEntityId(), newAmount);
+    }
+
+    /**
+     * @return the amount of items dropped by the generator that are still on the ground.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Drop items that are no longer valid and recount the amounts from the entities.
+     *
+     * @return the updated amount.
+     */
+    public int recount() {
+        amount = 0;
+        Iterator<Map.Entry<Integer, Item>> iterator = items.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Item> entry = iterator.next();
+            if (entry.getValue().isValid()) {
+                int itemAmount = entry.getValue().getItemStack().getAmount();
+                amounts.put(entry.getKey(), itemAmount);
+                amount += itemAmount;
+            } else {
+                iterator.remove();
+                amounts.remove(entry.getKey());
+                owners.remove(entry.getKey());
+            }
+        }
+        return amount;
+    }
+
+    /**
+     * Stop tracking every item, used when the generator is destroyed.
+     */
+    public void clear() {
+        for (Integer id : items.keySet()) {
+            owners.remove(id);
+        }
+        items.clear();
+        amounts.clear();
+        amount = 0;
+    }
+
+    private void setAmount(int id, int newAmount) {
+        Integer old = amounts.put(id, newAmount);
+        amount += newAmount - (old == null ? 0 : old);
+    }
+
+    private void untrack(int id) {
+        items.remove(id);
+        owners.remove(id);
+        Integer old = amounts.remove(id);
+        if (old != null) {
+            amount -= old;
+        }
+    }
+
+    /**
+     * An item was picked up, despawned or removed.
+     *
+     * @param remaining items left on the ground, 0 if the entity is gone.
+     */
+    public static void onRemove(Item item, int remaining) {
+        GeneratorItemLedger ledger = owners.get(item.getEntityId());
+        if (ledger == null) return;
+        if (remaining > 0) {
+            ledger.setAmount(item.getEntityId(), remaining);
+        } else {
+            ledger.untrack(item.getEntityId());
+        }
+    }
+
+    /**
+     * An item merged into another one.
+     *
+     * @param source the merged item, it will be removed.
+     * @param target the item receiving the amount.
+     */
+    public static void onMerge(Item source, Item target) {
+        GeneratorItemLedger ledger = owners.get(source.getEntityId());
+        if (ledger == null) return;
+        Integer merged = ledger.amounts.get(source.getEntityId());
+        ledger.untrack(source.getEntityId());
+        if (merged != null && owners.get(target.getEntityId()) == ledger) {
+            ledger.setAmount(target.getEntityId(), ledger.amounts.get(target.getEntityId()) + merged);
+        }
+    }
+}
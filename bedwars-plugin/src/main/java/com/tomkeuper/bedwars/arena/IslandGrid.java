@@ -0,0 +1,112 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena;
+
+import com.tomkeuper.bedwars.api.arena.team.ITeam;
+import org.bukkit.Location;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Block column grid mapping every column within the island radius of a bed to its team,
+ * so base detection tests a single bed instead of every team.
+ * Overlapping islands resolve to the first team in arena order, like scanning the teams does.
+ */
+public class IslandGrid {
+
+    // grids above this amount of columns are not allocated, the beds are scanned instead
+    private static final int MAX_CELLS = 4_194_304;
+
+    private final List<ITeam> teams = new ArrayList<>();
+    private final double radiusSquared;
+    private int minX, minZ, width, depth;
+    // team index + 1, 0 when the column is not part of an island
+    private short[] cells;
+
+    public IslandGrid(List<ITeam> arenaTeams, int radius) {
+        this.radiusSquared = (double) radius * radius;
+        for (ITeam team : arenaTeams) {
+            if (team.getBed() != null) teams.add(team);
+        }
+        if (teams.isEmpty() || teams.size() >= Short.MAX_VALUE) return;
+
+        int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        minX = Integer.MAX_VALUE;
+        minZ = Integer.MAX_VALUE;
+        for (ITeam team : teams) {
+            Location bed = team.getBed();
+            minX = Math.min(minX, bed.getBlockX() - radius - 1);
+            minZ = Math.min(minZ, bed.getBlockZ() - radius - 1);
+            maxX = Math.max(maxX, bed.getBlockX() + radius + 1);
+            maxZ = Math.max(maxZ, bed.getBlockZ() + radius + 1);
+        }
+        width = maxX - minX + 1;
+        depth = maxZ - minZ + 1;
+        if ((long) width * depth > MAX_CELLS) return;
+
+        cells = new short[width * depth];
+        for (int i = 0; i < teams.size(); i++) {
+            Location bed = teams.get(i).getBed();
+            int bedX = bed.getBlockX(), bedZ = bed.getBlockZ();
+            for (int x = bedX - radius - 1; x <= bedX + radius + 1; x++) {
+                for (int z = bedZ - radius - 1; z <= bedZ + radius + 1; z++) {
+                    // closest point of the column to the bed, the player may stand anywhere on it
+                    double dx = Math.max(0, Math.max(x - bed.getX(), bed.getX() - (x + 1)));
+                    double dz = Math.max(0, Math.max(z - bed.getZ(), bed.getZ() - (z + 1)));
+                    if (dx * dx + dz * dz > radiusSquared) continue;
+                    int cell = (x - minX) * depth + (z - minZ);
+                    // keep the first team, a later one is only tested when the location is off its island
+                    if (cells[cell] == 0) {
+                        cells[cell] = (short) (i + 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the team whose island contains the given location.
+     *
+     * @return null if the location is not on an island.
+     */
+    @Nullable
+    public ITeam getTeam(Location location) {
+        int first = 0;
+        if (cells != null) {
+            int x = location.getBlockX() - minX, z = location.getBlockZ() - minZ;
+            if (x < 0 || z < 0 || x >= width || z >= depth) return null;
+            // teams before this one do not reach the column
+            first = cells[x * depth + z] - 1;
+            if (first < 0) return null;
+        }
+        for (int i = first; i < teams.size(); i++) {
+            ITeam team = teams.get(i);
+            if (isOnIsland(location, team)) return team;
+        }
+        return null;
+    }
+
+    private boolean isOnIsland(Location location, ITeam team) {
+        return location.distanceSquared(team.getBed()) <= radiusSquared;
+    }
+}
@@ -381,17 +381,33 @@ public class Misc {
         WorldBorder border = l.getWorld().getWorldBorder();
         double radius = (border.getSize() / 2) + border.getWarningDistance();
         Location center = border.getCenter();
-        return center.distance(l) >= radius;
+        return center.distanceSquared(l) >= radius * radius;
+    }
+
+    /**
+     * Check if a player is close enough to receive equipment packets of another player.
+     * Players out of the view distance get the real equipment when the target is tracked again.
+     */
+    public static boolean isInViewRange(Player target, Player viewer) {
+        if (target == viewer || target.getWorld() != viewer.getWorld() || !viewer.canSee(target)) return false;
+        int range = Bukkit.getViewDistance() << 4;
+        return target.getLocation().distanceSquared(viewer.getLocation()) <= (double) range * range;
     }
 
     /**
      * Check if location is on a protected region
      */
     public static boolean isBuildProtected(Location l, IArena a) {
-        for (Region region : a.getRegionsList()){
-            if (region.isInRegion(l)){
+        if (a instanceof Arena) {
+            if (((Arena) a).getRegionIndex().isInRegion(l)) {
                 return true;
             }
+        } else {
+            for (Region region : a.getRegionsList()) {
+                if (region.isInRegion(l)) {
+                    return true;
+                }
+            }
         }
         return isOutsideOfBorder(l);
     }
@@ -26,6 +26,7 @@ import com.tomkeuper.bedwars.api.arena.IArena;
 import com.tomkeuper.bedwars.api.arena.generator.GeneratorType;
 import com.tomkeuper.bedwars.api.arena.generator.IGenHolo;
 import com.tomkeuper.bedwars.api.arena.generator.IGenerator;
+import com.tomkeuper.bedwars.api.arena.generator.IGeneratorTier;
 import com.tomkeuper.bedwars.api.arena.generator.IGeneratorAnimation;
 import com.tomkeuper.bedwars.api.arena.team.ITeam;
 import com.tomkeuper.bedwars.api.configuration.ConfigPath;
@@ -81,6 +82,9 @@ public class OreGenerator implements IGenerator {
 
     private GeneratorHolder item;
     public boolean stack = BedWars.getGeneratorsCfg().getBoolean(ConfigPath.GENERATOR_STACK_ITEMS);
+    private final boolean virtualStack = BedWars.getGeneratorsCfg().getBoolean(ConfigPath.GENERATOR_VIRTUAL_STACK);
+    private final GeneratorItemLedger ledger = new GeneratorItemLedger();
+    private Item virtualItem;
 
     @Getter
     private static final ConcurrentLinkedDeque<OreGenerator> rotation = new ConcurrentLinkedDeque<>();
@@ -128,21 +132,7 @@ public class OreGenerator implements IGenerator {
         switch (type) {
             case DIAMOND:
                 upgradeStage++;
-                if (upgradeStage == 2) {
-                    delay = BedWars.getGeneratorsCfg().getDouble(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_DELAY) == null ?
-                            "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_II_DELAY : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_DELAY) * speedMultiplier;
-                    amount = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_AMOUNT) == null ?
-                            "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_II_AMOUNT : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_AMOUNT);
-                    spawnLimit = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_SPAWN_LIMIT) == null ?
-                            "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_II_SPAWN_LIMIT : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_SPAWN_LIMIT);
-                } else if (upgradeStage == 3) {
-                    delay = BedWars.getGeneratorsCfg().getDouble(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_III_DELAY) == null ?
-                            "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_III_DELAY : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_III_DELAY) * speedMultiplier;
-                    amount = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_III_AMOUNT) == null ?
-                            "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_III_AMOUNT : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_III_AMOUNT);
-                    spawnLimit = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_II_SPAWN_LIMIT) == null ?
-                            "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_III_SPAWN_LIMIT : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_III_SPAWN_LIMIT);
-                }
+                applyTier((int) upgradeStage);
                 ore = new ItemStack(Material.DIAMOND);
                 for (IGenHolo e : holograms.values()) {
                     e.setTierName(Language.getLang(e.getIso()).m(Messages.GENERATOR_HOLOGRAM_TIER).replace("%bw_tier%", Language.getLang(e.getIso())
@@ -151,21 +141,7 @@ public class OreGenerator implements IGenerator {
                 break;
             case EMERALD:
                 upgradeStage++;
-                if (upgradeStage == 2) {
-                    delay = BedWars.getGeneratorsCfg().getDouble(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_DELAY) == null ?
-                            "Default." + ConfigPath.GENERATOR_EMERALD_TIER_II_DELAY : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_DELAY) * speedMultiplier;
-                    amount = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_AMOUNT) == null ?
-                            "Default." + ConfigPath.GENERATOR_EMERALD_TIER_II_AMOUNT : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_AMOUNT);
-                    spawnLimit = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_SPAWN_LIMIT) == null ?
-                            "Default." + ConfigPath.GENERATOR_EMERALD_TIER_II_SPAWN_LIMIT : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_SPAWN_LIMIT);
-                } else if (upgradeStage == 3) {
-                    delay = BedWars.getGeneratorsCfg().getDouble(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_III_DELAY) == null ?
-                            "Default." + ConfigPath.GENERATOR_EMERALD_TIER_III_DELAY : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_III_DELAY) * speedMultiplier;
-                    amount = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_III_AMOUNT) == null ?
-                            "Default." + ConfigPath.GENERATOR_EMERALD_TIER_III_AMOUNT : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_III_AMOUNT);
-                    spawnLimit = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_II_SPAWN_LIMIT) == null ?
-                            "Default." + ConfigPath.GENERATOR_EMERALD_TIER_III_SPAWN_LIMIT : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_III_SPAWN_LIMIT);
-                }
+                applyTier((int) upgradeStage);
                 ore = new ItemStack(Material.EMERALD);
                 for (IGenHolo e : holograms.values()) {
                     e.setTierName(Language.getLang(e.getIso()).m(Messages.GENERATOR_HOLOGRAM_TIER).replace("%bw_tier%",
@@ -187,18 +163,9 @@ public class OreGenerator implements IGenerator {
         if (lastSpawn <= 0) {
             lastSpawn = delay - 1;
 
-            if (spawnLimit != 0) {
-                int oreCount = 0;
-
-                for (Entity e : location.getWorld().getNearbyEntities(location, 3, 3, 3)) {
-                    if (e.getType() == EntityType.DROPPED_ITEM) {
-                        Item i = (Item) e;
-                        if (i.getItemStack().getType() == ore.getType()) {
-                            oreCount++;
-                        }
-                        if (oreCount >= spawnLimit) return;
-                    }
-                }
+            // recount only when the limit seems reached, entities can be removed without an event
+            if (spawnLimit != 0 && ledger.getAmount() >= spawnLimit && ledger.recount() >= spawnLimit) {
+                return;
             }
 
             GeneratorDropEvent event;
@@ -224,16 +191,44 @@ public class OreGenerator implements IGenerator {
     }
 
     private void dropItem(Location location, double amount) {
+        if (virtualStack) {
+            dropVirtualStack(location, (int) amount);
+            return;
+        }
         for (double temp = amount; temp > 0; temp--) {
+            ledger.track(spawnItem(location, new ItemStack(ore)));
+        }
+    }
+
+    /**
+     * Add the amount to the last item dropped by this generator instead of spawning new entities.
+     */
+    private void dropVirtualStack(Location location, int amount) {
+        if (virtualItem != null && virtualItem.isValid() && virtualItem.getItemStack().getType() == ore.getType()) {
+            ItemStack itemStack = virtualItem.getItemStack();
+            int stackAmount = Math.min(itemStack.getMaxStackSize(), itemStack.getAmount() + amount);
+            amount -= stackAmount - itemStack.getAmount();
+            itemStack.setAmount(stackAmount);
+            virtualItem.setItemStack(itemStack);
+            ledger.update(virtualItem, stackAmount);
+        }
+        if (amount > 0) {
             ItemStack itemStack = new ItemStack(ore);
-            if (!stack) {
-                ItemMeta itemMeta = itemStack.getItemMeta();
-                itemMeta.setDisplayName("custom" + dropID++);
-                itemStack.setItemMeta(itemMeta);
-            }
-            Item item = location.getWorld().dropItem(location, itemStack);
-            item.setVelocity(new Vector(0, 0, 0));
+            itemStack.setAmount(amount);
+            virtualItem = spawnItem(location, itemStack);
+            ledger.track(virtualItem);
+        }
+    }
+
+    private Item spawnItem(Location location, ItemStack itemStack) {
+        if (!stack) {
+            ItemMeta itemMeta = itemStack.getItemMeta();
+            itemMeta.setDisplayName("custom" + dropID++);
+            itemStack.setItemMeta(itemMeta);
         }
+        Item item = location.getWorld().dropItem(location, itemStack);
+        item.setVelocity(new Vector(0, 0, 0));
+        return item;
     }
 
     /**
@@ -428,47 +423,35 @@ public class OreGenerator implements IGenerator {
     }
 
     private void loadDefaults() {
+        applyTier(1);
         switch (type) {
             case IRON:
-                delay = BedWars.getGeneratorsCfg().getDouble(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_IRON_DELAY) == null ?
-                        "Default." + ConfigPath.GENERATOR_IRON_DELAY : arena.getGroup() + "." + ConfigPath.GENERATOR_IRON_DELAY) * speedMultiplier;
-                amount = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_IRON_AMOUNT) == null ?
-                        "Default." + ConfigPath.GENERATOR_IRON_AMOUNT : arena.getGroup() + "." + ConfigPath.GENERATOR_IRON_AMOUNT);
-                spawnLimit = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_IRON_SPAWN_LIMIT) == null ?
-                        "Default." + ConfigPath.GENERATOR_IRON_SPAWN_LIMIT : arena.getGroup() + "." + ConfigPath.GENERATOR_IRON_SPAWN_LIMIT);
                 ore = new ItemStack(Material.IRON_INGOT);
                 break;
             case GOLD:
-                delay = BedWars.getGeneratorsCfg().getDouble(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_GOLD_DELAY) == null ?
-                        "Default." + ConfigPath.GENERATOR_GOLD_DELAY : arena.getGroup() + "." + ConfigPath.GENERATOR_GOLD_DELAY) * speedMultiplier;
-                amount = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_GOLD_AMOUNT) == null ?
-                        "Default." + ConfigPath.GENERATOR_GOLD_AMOUNT : arena.getGroup() + "." + ConfigPath.GENERATOR_GOLD_AMOUNT);
-                spawnLimit = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_GOLD_SPAWN_LIMIT) == null ?
-                        "Default." + ConfigPath.GENERATOR_GOLD_SPAWN_LIMIT : arena.getGroup() + "." + ConfigPath.GENERATOR_GOLD_SPAWN_LIMIT);
                 ore = new ItemStack(Material.GOLD_INGOT);
                 break;
             case DIAMOND:
-                delay = BedWars.getGeneratorsCfg().getDouble(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_I_DELAY) == null ?
-                        "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_I_DELAY : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_I_DELAY) * speedMultiplier;
-                amount = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_I_AMOUNT) == null ?
-                        "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_I_AMOUNT : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_I_AMOUNT);
-                spawnLimit = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_I_SPAWN_LIMIT) == null ?
-                        "Default." + ConfigPath.GENERATOR_DIAMOND_TIER_I_SPAWN_LIMIT : arena.getGroup() + "." + ConfigPath.GENERATOR_DIAMOND_TIER_I_SPAWN_LIMIT);
                 ore = new ItemStack(Material.DIAMOND);
                 break;
             case EMERALD:
-                delay = BedWars.getGeneratorsCfg().getDouble(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_I_DELAY) == null ?
-                        "Default." + ConfigPath.GENERATOR_EMERALD_TIER_I_DELAY : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_I_DELAY) * speedMultiplier;
-                amount = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_I_AMOUNT) == null ?
-                        "Default." + ConfigPath.GENERATOR_EMERALD_TIER_I_AMOUNT : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_I_AMOUNT);
-                spawnLimit = BedWars.getGeneratorsCfg().getInt(BedWars.getGeneratorsCfg().getYml().get(arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_I_SPAWN_LIMIT) == null ?
-                        "Default." + ConfigPath.GENERATOR_EMERALD_TIER_I_SPAWN_LIMIT : arena.getGroup() + "." + ConfigPath.GENERATOR_EMERALD_TIER_I_SPAWN_LIMIT);
                 ore = new ItemStack(Material.EMERALD);
                 break;
         }
         lastSpawn = delay;
     }
 
+    /**
+     * Load delay, amount and spawn limit from the arena settings snapshot.
+     */
+    private void applyTier(int tier) {
+        IGeneratorTier generatorTier = arena.getSettings().getGeneratorTier(type, tier);
+        if (generatorTier == null) return;
+        delay = generatorTier.getDelay() * speedMultiplier;
+        amount = generatorTier.getAmount();
+        spawnLimit = generatorTier.getSpawnLimit();
+    }
+
     @Override
     @Deprecated(since = "1.0", forRemoval = true)
     @ApiStatus.ScheduledForRemoval(inVersion = "2.0")
@@ -538,6 +521,8 @@ public class OreGenerator implements IGenerator {
 
     public void destroyData() {
         rotation.remove(this);
+        ledger.clear();
+        virtualItem = null;
         location = null;
         arena = null;
         ore = null;
@@ -37,9 +37,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.tomkeuper.bedwars.api.language.Language.getMsg;
 
@@ -51,7 +54,8 @@ public class ReJoin {
     private ReJoinTask task = null;
     private final ArrayList<ShopCache.CachedItem> permanentsAndNonDowngradables = new ArrayList<>();
 
-    private static final List<ReJoin> reJoinList = new ArrayList<>();
+    private static final ConcurrentHashMap<UUID, ReJoin> reJoinByPlayer = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<IArena, Set<ReJoin>> reJoinByArena = new ConcurrentHashMap<>();
 
     /**
      * Make rejoin possible for a player
@@ -66,7 +70,8 @@ public class ReJoin {
         this.bwt = bwt;
         this.player = player.getUniqueId();
         this.arena = arena;
-        reJoinList.add(this);
+        reJoinByPlayer.put(this.player, this);
+        reJoinByArena.computeIfAbsent(arena, a -> ConcurrentHashMap.newKeySet()).add(this);
         BedWars.debug("Created ReJoin for " + player.getName() + " " + player.getUniqueId() + " at " + arena.getArenaName());
         if (bwt.getMembers().isEmpty()) task = new ReJoinTask(arena, bwt);
         this.permanentsAndNonDowngradables.addAll(cachedArmor);
@@ -87,13 +92,7 @@ public class ReJoin {
      */
     public static boolean exists(@NotNull Player pl) {
         BedWars.debug("ReJoin exists check " + pl.getUniqueId());
-        for (ReJoin rj : getReJoinList()) {
-            BedWars.debug("ReJoin exists check list scroll: " + rj.getPl().toString());
-            if (rj.getPl().equals(pl.getUniqueId())) {
-                return true;
-            }
-        }
-        return false;
+        return reJoinByPlayer.containsKey(pl.getUniqueId());
     }
 
     /**
@@ -102,12 +101,16 @@ public class ReJoin {
     @Nullable
     public static ReJoin getPlayer(@NotNull Player player) {
         BedWars.debug("ReJoin getPlayer " + player.getUniqueId());
-        for (ReJoin rj : getReJoinList()) {
-            if (rj.getPl().equals(player.getUniqueId())) {
-                return rj;
-            }
-        }
-        return null;
+        return reJoinByPlayer.get(player.getUniqueId());
+    }
+
+    /**
+     * Get the rejoin sessions of an arena.
+     */
+    @NotNull
+    public static Collection<ReJoin> getArenaReJoins(@NotNull IArena arena) {
+        Set<ReJoin> reJoins = reJoinByArena.get(arena);
+        return reJoins == null ? Collections.emptySet() : Collections.unmodifiableSet(reJoins);
     }
 
     /**
@@ -157,7 +160,16 @@ public class ReJoin {
      */
     public void destroy(boolean destroyTeam) {
         BedWars.debug("ReJoin destroy for " + player.toString());
-        reJoinList.remove(this);
+        reJoinByPlayer.remove(player, this);
+        if (arena != null) {
+            Set<ReJoin> arenaReJoins = reJoinByArena.get(arena);
+            if (arenaReJoins != null) {
+                arenaReJoins.remove(this);
+                if (arenaReJoins.isEmpty()) {
+                    reJoinByArena.remove(arena, arenaReJoins);
+                }
+            }
+        }
         if (BedWars.getRedisConnection() != null){
             JsonObject json = new JsonObject();
             json.addProperty("type", "RD");
@@ -217,7 +229,7 @@ public class ReJoin {
     }
 
     public static List<ReJoin> getReJoinList() {
-        return Collections.unmodifiableList(reJoinList);
+        return Collections.unmodifiableList(new ArrayList<>(reJoinByPlayer.values()));
     }
 
     @Override
@@ -227,4 +239,9 @@ public class ReJoin {
         ReJoin reJoin = (ReJoin) o;
         return reJoin.getPl().equals(getPl());
     }
+
+    @Override
+    public int hashCode() {
+        return player == null ? 0 : player.hashCode();
+    }
 }
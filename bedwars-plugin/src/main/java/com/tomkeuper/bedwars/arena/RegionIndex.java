@@ -0,0 +1,87 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+package com.tomkeuper.bedwars.arena;
+
+import com.tomkeuper.bedwars.api.region.Cuboid;
+import com.tomkeuper.bedwars.api.region.Region;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Chunk index over an arena's protected regions so a build check only tests
+ * the regions overlapping the block's chunk. Regions are appended to the arena list
+ * while it is loading, so the index is rebuilt when the list size changes.
+ */
+public class RegionIndex {
+
+    private final List<Region> regions;
+    private final HashMap<Long, List<Region>> byChunk = new HashMap<>();
+    // regions without known bounds, always tested
+    private final List<Region> unbounded = new ArrayList<>();
+    private int indexed = -1;
+
+    public RegionIndex(List<Region> regions) {
+        this.regions = regions;
+    }
+
+    /**
+     * Check if a location is inside a protected region.
+     */
+    public boolean isInRegion(Location l) {
+        if (indexed != regions.size()) {
+            rebuild();
+        }
+        for (Region region : unbounded) {
+            if (region.isInRegion(l)) return true;
+        }
+        List<Region> candidates = byChunk.get(key(l.getBlockX() >> 4, l.getBlockZ() >> 4));
+        if (candidates != null) {
+            for (Region region : candidates) {
+                if (region.isInRegion(l)) return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuild() {
+        byChunk.clear();
+        unbounded.clear();
+        for (Region region : regions) {
+            if (!(region instanceof Cuboid)) {
+                unbounded.add(region);
+                continue;
+            }
+            Cuboid cuboid = (Cuboid) region;
+            for (int cx = cuboid.getMinX() >> 4; cx <= cuboid.getMaxX() >> 4; cx++) {
+                for (int cz = cuboid.getMinZ() >> 4; cz <= cuboid.getMaxZ() >> 4; cz++) {
+                    byChunk.computeIfAbsent(key(cx, cz), k -> new ArrayList<>(2)).add(region);
+                }
+            }
+        }
+        indexed = regions.size();
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xffffffffL);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+package com.tomkeuper.bedwars.arena;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.language.Language;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Renders the join signs of an arena.
+ * Refresh requests are merged so signs are rendered at most once per tick, and sign
+ * states are only written when the rendered lines changed or the sign was (re)loaded.
+ */
+public class SignRenderer {
+
+    private static final String[] PLACEHOLDERS = {"[on]", "[max]", "[arena]", "[status]", "[type]"};
+    private static final int ON = 0, MAX = 1, ARENA = 2, STATUS = 3, TYPE = 4;
+
+    // sign format split in text and placeholder indexes, one array per line
+    private static volatile Object[][] format;
+
+    private final Arena arena;
+    private final HashMap<Block, Sign> states = new HashMap<>();
+    // signs which have to be written even if the lines did not change
+    private final Set<Block> stale = new HashSet<>();
+    private String[] lastLines;
+    // refreshes may be requested from async tasks
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public SignRenderer(Arena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Render the signs on the next tick.
+     * Multiple requests in the same tick result in a single render.
+     */
+    public void requestRefresh() {
+        if (scheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(BedWars.plugin, this::render);
+        }
+    }
+
+    /**
+     * Drop the compiled sign format and render the signs of every arena again.
+     * Called when the signs configuration or the languages are reloaded.
+     */
+    public static void reloadFormat() {
+        format = null;
+        for (IArena arena : Arena.getArenas()) {
+            arena.refreshSigns();
+        }
+    }
+
+    /**
+     * Render the signs on the current thread, without waiting for the next tick.
+     * Used when the arena data is about to be destroyed.
+     */
+    public void renderNow() {
+        render();
+    }
+
+    /**
+     * A new sign was added to the arena.
+     */
+    public void addSign(Block block) {
+        stale.add(block);
+        requestRefresh();
+    }
+
+    /**
+     * Drop cached sign states in the given chunk, they are resolved and written again.
+     */
+    public void onChunkLoad(Chunk chunk) {
+        List<Block> signs = arena.getSigns();
+        if (signs == null) return;
+        boolean found = false;
+        for (Block b : signs) {
+            if (b.getWorld() == chunk.getWorld() && b.getX() >> 4 == chunk.getX() && b.getZ() >> 4 == chunk.getZ()) {
+                states.remove(b);
+                stale.add(b);
+                found = true;
+            }
+        }
+        if (found) {
+            requestRefresh();
+        }
+    }
+
+    private void render() {
+        scheduled.set(false);
+        List<Block> signs = arena.getSigns();
+        if (signs == null || arena.getPlayers() == null) return;
+
+        String[] lines = renderLines();
+        boolean changed = !Arrays.equals(lines, lastLines);
+        lastLines = lines;
+        if (!changed && stale.isEmpty()) return;
+
+        for (Block b : signs) {
+            if (b == null || (!changed && !stale.contains(b))) continue;
+            Sign s = resolve(b);
+            if (s == null) continue;
+            for (int i = 0; i < lines.length; i++) {
+                s.setLine(i, lines[i]);
+            }
+            try {
+                s.update(true);
+                stale.remove(b);
+            } catch (Exception ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Get the cached sign state of a block.
+     *
+     * @return null if the chunk is not loaded or the block is no longer a sign.
+     */
+    private Sign resolve(Block b) {
+        if (!b.getWorld().isChunkLoaded(b.getX() >> 4, b.getZ() >> 4)) {
+            // written when the chunk loads
+            stale.add(b);
+            return null;
+        }
+        Sign s = states.get(b);
+        if (s != null && s.getType() == b.getType()) {
+            return s;
+        }
+        states.remove(b);
+        BlockState state = b.getState();
+        if (!(state instanceof Sign)) return null;
+        s = (Sign) state;
+        states.put(b, s);
+        return s;
+    }
+
+    private String[] renderLines() {
+        Object[][] format = SignRenderer.format;
+        if (format == null) {
+            format = compile(BedWars.signs.getList("format"));
+            SignRenderer.format = format;
+        }
+        String[] values = new String[PLACEHOLDERS.length];
+        values[ON] = String.valueOf(arena.getPlayers().size());
+        values[MAX] = String.valueOf(arena.getMaxPlayers());
+        values[ARENA] = arena.getDisplayName();
+        values[STATUS] = arena.getDisplayStatus(Language.getDefaultLanguage());
+        values[TYPE] = String.valueOf(arena.getMaxInTeam());
+
+        String[] lines = new String[format.length];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < format.length; i++) {
+            sb.setLength(0);
+            for (Object part : format[i]) {
+                sb.append(part instanceof Integer ? values[(Integer) part] : part);
+            }
+            lines[i] = sb.toString();
+        }
+        return lines;
+    }
+
+    private static Object[][] compile(List<String> rawLines) {
+        List<Object[]> compiled = new ArrayList<>(4);
+        for (String line : rawLines) {
+            if (line == null) continue;
+            if (compiled.size() == 4) break;
+            List<Object> parts = new ArrayList<>();
+            int from = 0;
+            while (true) {
+                int next = -1, placeholder = -1;
+                for (int p = 0; p < PLACEHOLDERS.length; p++) {
+                    int index = line.indexOf(PLACEHOLDERS[p], from);
+                    if (index != -1 && (next == -1 || index < next)) {
+                        next = index;
+                        placeholder = p;
+                    }
+                }
+                if (next == -1) break;
+                if (next > from) parts.add(line.substring(from, next));
+                parts.add(placeholder);
+                from = next + PLACEHOLDERS[placeholder].length();
+            }
+            if (from < line.length()) parts.add(line.substring(from));
+            compiled.add(parts.toArray());
+        }
+        return compiled.toArray(new Object[0][]);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.arena.tasks.BlockChangeQueue;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Removes temporary blocks of an arena once they expire.
+ * Blocks are kept as packed positions in a two level timer wheel: a 256 slots wheel of 1 tick
+ * and a 64 slots wheel of 256 ticks, longer delays wait in an overflow list.
+ * Expired blocks are removed through the {@link BlockChangeQueue}, only if they were not changed meanwhile.
+ */
+public class TemporaryBlocks implements Runnable {
+
+    private static final int NEAR_BITS = 8, NEAR_SIZE = 1 << NEAR_BITS, NEAR_MASK = NEAR_SIZE - 1;
+    private static final int FAR_SIZE = 64, FAR_MASK = FAR_SIZE - 1;
+    private static final long WHEEL_SPAN = (long) NEAR_SIZE * FAR_SIZE;
+
+    private final IArena arena;
+    private final World world;
+    private final LongList[] near = new LongList[NEAR_SIZE];
+    private final LongList[] far = new LongList[FAR_SIZE];
+    private final LongList overflow = new LongList();
+    /**
+     * Registered blocks by packed position.
+     */
+    private final Map<Long, Entry> blocks = new HashMap<>();
+    private long tick = 0;
+    private BukkitTask task;
+
+    public TemporaryBlocks(IArena arena, World world) {
+        this.arena = arena;
+        this.world = world;
+        for (int i = 0; i < NEAR_SIZE; i++) near[i] = new LongList();
+        for (int i = 0; i < FAR_SIZE; i++) far[i] = new LongList();
+    }
+
+    /**
+     * Remove a block after the given delay, if it still has its current type.
+     * Registering the same block again replaces its previous expiry.
+     */
+    public void add(Block block, int ticks) {
+        long position = pack(block.getX(), block.getY(), block.getZ());
+        long expiresAt = tick + Math.max(1, ticks);
+        blocks.put(position, new Entry(block.getType(), expiresAt));
+        schedule(position, expiresAt);
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(BedWars.plugin, this, 1L, 1L);
+        }
+    }
+
+    /**
+     * Forget every block and stop the task, used when the arena is destroyed.
+     */
+    public void destroy() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        blocks.clear();
+        for (LongList slot : near) slot.clear();
+        for (LongList slot : far) slot.clear();
+        overflow.clear();
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        if ((tick & NEAR_MASK) == 0) {
+            if (tick % WHEEL_SPAN == 0) {
+                cascade(overflow);
+            }
+            cascade(far[(int) ((tick >> NEAR_BITS) & FAR_MASK)]);
+        }
+
+        LongList slot = near[(int) (tick & NEAR_MASK)];
+        if (slot.size != 0) {
+            List<Block> expired = new ArrayList<>(slot.size);
+            for (int i = 0; i < slot.size; i++) {
+                long position = slot.values[i];
+                Entry entry = blocks.get(position);
+                // replaced by a newer registration
+                if (entry == null || entry.expiresAt != tick) continue;
+                blocks.remove(position);
+                Block block = world.getBlockAt(unpackX(position), unpackY(position), unpackZ(position));
+                if (block.getType() != entry.type) continue;
+                arena.removePlacedBlock(block);
+                expired.add(block);
+            }
+            slot.clear();
+            BlockChangeQueue.submit(expired, Material.AIR, null);
+        }
+
+        if (blocks.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void schedule(long position, long expiresAt) {
+        long delay = expiresAt - tick;
+        if (delay < NEAR_SIZE) {
+            near[(int) (expiresAt & NEAR_MASK)].add(position);
+        } else if (delay < WHEEL_SPAN) {
+            far[(int) ((expiresAt >> NEAR_BITS) & FAR_MASK)].add(position);
+        } else {
+            overflow.add(position);
+        }
+    }
+
+    private void cascade(LongList slot) {
+        if (slot.size == 0) return;
+        long[] positions = Arrays.copyOf(slot.values, slot.size);
+        slot.clear();
+        for (long position : positions) {
+            Entry entry = blocks.get(position);
+            if (entry == null || entry.expiresAt < tick) continue;
+            schedule(position, entry.expiresAt);
+        }
+    }
+
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int unpackX(long position) {
+        return (int) (position >> 38);
+    }
+
+    private static int unpackY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    private static int unpackZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    private static class Entry {
+        private final Material type;
+        private final long expiresAt;
+
+        private Entry(Material type, long expiresAt) {
+            this.type = type;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class LongList {
+        private long[] values = new long[8];
+        private int size = 0;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+}
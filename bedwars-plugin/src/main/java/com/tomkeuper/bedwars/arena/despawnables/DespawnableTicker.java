@@ -0,0 +1,89 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena.despawnables;
+
+import com.tomkeuper.bedwars.api.entity.Despawnable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Refreshes and despawns the utility mobs of a single arena.
+ * Mobs are grouped by the second they expire at, so expiring them
+ * does not require a countdown per mob.
+ */
+public class DespawnableTicker {
+
+    private final List<Tracked> alive = new ArrayList<>();
+    private final Map<Integer, List<Despawnable>> buckets = new HashMap<>();
+    private int second = 0;
+
+    /**
+     * Start tracking a mob, it will be expired after its despawn time.
+     */
+    public void add(Despawnable despawnable) {
+        int expiresAt = second + despawnable.getDespawn();
+        alive.add(new Tracked(despawnable, expiresAt));
+        buckets.computeIfAbsent(expiresAt, k -> new ArrayList<>()).add(despawnable);
+    }
+
+    /**
+     * Called once per second while the arena is playing.
+     */
+    public void tick() {
+        second++;
+        List<Despawnable> expired = buckets.remove(second);
+        if (expired != null) {
+            for (Despawnable despawnable : expired) {
+                despawnable.expire();
+            }
+        }
+
+        Iterator<Tracked> mobs = alive.iterator();
+        while (mobs.hasNext()) {
+            Tracked mob = mobs.next();
+            if (mob.expiresAt <= second || !mob.despawnable.refresh(mob.expiresAt - second)) {
+                mobs.remove();
+            }
+        }
+    }
+
+    /**
+     * Stop tracking every mob, used when the arena is destroyed.
+     */
+    public void clear() {
+        alive.clear();
+        buckets.clear();
+    }
+
+    private static class Tracked {
+        private final Despawnable despawnable;
+        private final int expiresAt;
+
+        private Tracked(Despawnable despawnable, int expiresAt) {
+            this.despawnable = despawnable;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
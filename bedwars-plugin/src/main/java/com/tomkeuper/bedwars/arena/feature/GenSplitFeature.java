@@ -21,24 +21,33 @@
 package com.tomkeuper.bedwars.arena.feature;
 
 import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.IArena;
 import com.tomkeuper.bedwars.api.arena.team.ITeam;
 import com.tomkeuper.bedwars.api.configuration.ConfigPath;
 import com.tomkeuper.bedwars.api.events.player.PlayerGeneratorCollectEvent;
-import com.tomkeuper.bedwars.arena.Arena;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.List;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Shares iron and gold picked up from an island generator with nearby team members.
+ * Deliveries are merged and given once per tick.
+ */
 public class GenSplitFeature implements Listener {
     private static GenSplitFeature instance;
 
+    private final Map<Player, Map<Material, Integer>> deliveries = new HashMap<>();
+    private boolean flushScheduled = false;
+
     public GenSplitFeature() {
         Bukkit.getPluginManager().registerEvents(this, BedWars.plugin);
     }
@@ -52,27 +61,45 @@ public class GenSplitFeature implements Listener {
     @EventHandler
     public void onIslandGenPickup(PlayerGeneratorCollectEvent e) {
         if (!e.isCancelled() && (e.getItemStack().getType() == Material.IRON_INGOT || e.getItemStack().getType() == Material.GOLD_INGOT)) {
-            Location pl = e.getPlayer().getLocation();
             Player p = e.getPlayer();
+            IArena arena = e.getArena();
+            if (arena == null) return;
+            ITeam team = arena.getTeam(p);
+            if (team == null) return;
+
+            Location pl = p.getLocation();
+            double splitRange = arena.getSettings().getGeneratorSplitRange();
+            double splitRangeSquared = splitRange * splitRange;
+
+            for (Player member : team.getMembers()) {
+                if (member == p || member.getWorld() != pl.getWorld()) continue;
+                if (BedWars.getAPI().getAFKUtil().isPlayerAFK(member)) continue;
+                if (member.getLocation().distanceSquared(pl) > splitRangeSquared) continue;
+                deliveries.computeIfAbsent(member, m -> new EnumMap<>(Material.class))
+                        .merge(e.getItemStack().getType(), e.getAmount(), Integer::sum);
+            }
 
-            int splitRange = Arena.getArenaByPlayer(p).getConfig().getInt(ConfigPath.ARENA_GENERATOR_SPLIT_RANGE);
-            List<Entity> nearbyEntities = (List) pl.getWorld().getNearbyEntities(pl, splitRange, splitRange, 2.0);
+            if (!flushScheduled && !deliveries.isEmpty()) {
+                flushScheduled = true;
+                Bukkit.getScheduler().runTask(BedWars.plugin, this::deliver);
+            }
+        }
+    }
 
-            for (Entity entity : pl.getWorld().getEntities()) {
-                if (nearbyEntities.contains(entity) && entity instanceof Player) {
-                    Player pickupPlayer = (Player) entity;
-                    if (pickupPlayer.getUniqueId() != p.getUniqueId()) {
-                        if (Arena.getArenaByPlayer(pickupPlayer) == null) BedWars.debug("pickupPlayer: " + pickupPlayer.getName() + " is not in an arena. Event triggered by: " + p.getName());
-                        ITeam team = Arena.getArenaByPlayer(pickupPlayer).getTeam(p);
-                        ITeam rt = Arena.getArenaByPlayer(pickupPlayer).getTeam(pickupPlayer);
+    @EventHandler
+    public void onQuit(PlayerQuitEvent e) {
+        deliveries.remove(e.getPlayer());
+    }
 
-                        if (team == rt) {
-                            ItemStack item = new ItemStack(e.getItemStack().getType(), e.getAmount());
-                            if (!BedWars.getAPI().getAFKUtil().isPlayerAFK(pickupPlayer)) pickupPlayer.getInventory().addItem(item);
-                        }
-                    }
-                }
+    private void deliver() {
+        flushScheduled = false;
+        for (Map.Entry<Player, Map<Material, Integer>> delivery : deliveries.entrySet()) {
+            Player member = delivery.getKey();
+            if (!member.isOnline()) continue;
+            for (Map.Entry<Material, Integer> item : delivery.getValue().entrySet()) {
+                member.getInventory().addItem(new ItemStack(item.getKey(), item.getValue()));
             }
         }
+        deliveries.clear();
     }
 }
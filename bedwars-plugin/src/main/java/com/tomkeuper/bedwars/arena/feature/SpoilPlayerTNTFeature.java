@@ -23,6 +23,7 @@ package com.tomkeuper.bedwars.arena.feature;
 import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.arena.IArena;
 import com.tomkeuper.bedwars.api.configuration.ConfigPath;
+import com.tomkeuper.bedwars.api.events.gameplay.GameEndEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerKillEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerLeaveArenaEvent;
 import com.tomkeuper.bedwars.arena.Arena;
@@ -38,16 +39,23 @@ import org.bukkit.event.player.PlayerPickupItemEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffectType;
 
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class SpoilPlayerTNTFeature {
 
     private static SpoilPlayerTNTFeature instance;
-    private final LinkedList<Player> playersWithTnt = new LinkedList<>();
+    /**
+     * Players carrying TNT, per arena.
+     */
+    private final Map<IArena, Set<Player>> carriers = new IdentityHashMap<>();
 
     private SpoilPlayerTNTFeature() {
         Bukkit.getPluginManager().registerEvents(new TNTListener(), BedWars.plugin);
-        Bukkit.getScheduler().runTaskTimer(BedWars.plugin, new ParticleTask(), 20, 1L);
+        int interval = Math.max(1, Math.min(20, BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_SPOIL_TNT_PLAYERS_INTERVAL)));
+        Bukkit.getScheduler().runTaskTimer(BedWars.plugin, new ParticleTask(), 20, interval);
     }
 
     public static void init() {
@@ -55,13 +63,33 @@ public class SpoilPlayerTNTFeature {
             if (instance == null) instance = new SpoilPlayerTNTFeature();
     }
 
+    private void addCarrier(IArena arena, Player player) {
+        carriers.computeIfAbsent(arena, a -> Collections.newSetFromMap(new IdentityHashMap<>())).add(player);
+    }
+
+    private void removeCarrier(IArena arena, Player player) {
+        Set<Player> players = carriers.get(arena);
+        if (players == null) return;
+        players.remove(player);
+        if (players.isEmpty()) {
+            carriers.remove(arena);
+        }
+    }
+
+    private boolean isCarrier(IArena arena, Player player) {
+        Set<Player> players = carriers.get(arena);
+        return players != null && players.contains(player);
+    }
+
     private static class ParticleTask implements Runnable {
 
         @Override
         public void run() {
-            for (Player player : instance.playersWithTnt) {
-                if (player.hasPotionEffect(PotionEffectType.INVISIBILITY)) return;
-                BedWars.nms.playRedStoneDot(player);
+            for (Set<Player> players : instance.carriers.values()) {
+                for (Player player : players) {
+                    if (player.hasPotionEffect(PotionEffectType.INVISIBILITY)) continue;
+                    BedWars.nms.playRedStoneDot(player);
+                }
             }
         }
     }
@@ -70,12 +98,17 @@ public class SpoilPlayerTNTFeature {
 
         @EventHandler
         public void onDie(PlayerKillEvent event) {
-            instance.playersWithTnt.remove(event.getVictim());
+            instance.removeCarrier(event.getArena(), event.getVictim());
         }
 
         @EventHandler
         public void onLeave(PlayerLeaveArenaEvent event) {
-            instance.playersWithTnt.remove(event.getPlayer());
+            instance.removeCarrier(event.getArena(), event.getPlayer());
+        }
+
+        @EventHandler
+        public void onGameEnd(GameEndEvent event) {
+            instance.carriers.remove(event.getArena());
         }
 
         @EventHandler(ignoreCancelled = true)
@@ -83,8 +116,7 @@ public class SpoilPlayerTNTFeature {
             if (event.getItem().getItemStack().getType() == Material.TNT) {
                 IArena arena = Arena.getArenaByPlayer(event.getPlayer());
                 if (arena == null || !arena.isPlayer(event.getPlayer()) || arena.isSpectator(event.getPlayer())) return;
-                if (instance.playersWithTnt.contains(event.getPlayer())) return;
-                instance.playersWithTnt.add(event.getPlayer());
+                instance.addCarrier(arena, event.getPlayer());
             }
         }
 
@@ -93,27 +125,25 @@ public class SpoilPlayerTNTFeature {
             if (event.getItemDrop().getItemStack().getType() == Material.TNT) {
                 IArena arena = Arena.getArenaByPlayer(event.getPlayer());
                 if (arena == null || !arena.isPlayer(event.getPlayer()) || arena.isSpectator(event.getPlayer())) return;
-                if (!instance.playersWithTnt.contains(event.getPlayer())) return;
+                if (!instance.isCarrier(arena, event.getPlayer())) return;
                 if (event.getPlayer().getInventory().contains(Material.TNT)) return;
-                instance.playersWithTnt.remove(event.getPlayer());
+                instance.removeCarrier(arena, event.getPlayer());
             }
         }
 
         @EventHandler(ignoreCancelled = true)
         public void onPlace(BlockPlaceEvent event) {
             ItemStack inHand = event.getItemInHand();
+            if (inHand.getType() != Material.TNT) return;
             IArena arena = Arena.getArenaByPlayer(event.getPlayer());
             if (arena == null || !arena.isPlayer(event.getPlayer()) || arena.isSpectator(event.getPlayer())) return;
+            if (!instance.isCarrier(arena, event.getPlayer())) return;
 
-            if (inHand.getType() == Material.TNT) {
-                if (!instance.playersWithTnt.contains(event.getPlayer())) return;
-
-                Bukkit.getScheduler().runTaskLater(BedWars.plugin, () -> {
-                    if (!event.getPlayer().getInventory().contains(Material.TNT)) {
-                        instance.playersWithTnt.remove(event.getPlayer());
-                    }
-                }, 1L);
-            }
+            Bukkit.getScheduler().runTaskLater(BedWars.plugin, () -> {
+                if (!event.getPlayer().getInventory().contains(Material.TNT)) {
+                    instance.removeCarrier(arena, event.getPlayer());
+                }
+            }, 1L);
         }
 
         @EventHandler(ignoreCancelled = true)
@@ -122,12 +152,10 @@ public class SpoilPlayerTNTFeature {
             IArena arena = Arena.getArenaByPlayer(player);
             if (arena == null || !arena.isPlayer(player) || arena.isSpectator(player)) return;
 
-            if (instance.playersWithTnt.contains(player)) {
-                if (player.getInventory().contains(Material.TNT)) return;
-                instance.playersWithTnt.remove(player);
+            if (player.getInventory().contains(Material.TNT)) {
+                instance.addCarrier(arena, player);
             } else {
-                if (!player.getInventory().contains(Material.TNT)) return;
-                instance.playersWithTnt.add(player);
+                instance.removeCarrier(arena, player);
             }
         }
     }
@@ -0,0 +1,128 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena.tasks;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.configuration.ConfigPath;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies bulk block changes from a single 1-tick task.
+ * Change sets are sorted by chunk so each chunk is visited once and are applied
+ * in submission order within a per-tick time budget. The task is only running
+ * while there are changes left to apply.
+ */
+public class BlockChangeQueue implements Runnable {
+
+    private static final Comparator<Block> CHUNK_ORDER = Comparator
+            .comparingLong((Block b) -> ((long) (b.getX() >> 4) << 32) | ((b.getZ() >> 4) & 0xffffffffL))
+            .thenComparingInt(Block::getY);
+
+    private static final ArrayDeque<ChangeSet> changes = new ArrayDeque<>();
+    private static long budget;
+    private static BukkitTask task;
+
+    private BlockChangeQueue() {
+    }
+
+    /**
+     * Queue a set of blocks to be changed to the given material.
+     * The blocks must belong to the same world. If that world is unloaded or restored
+     * before the set is applied, the remaining blocks are skipped.
+     *
+     * @param blocks     blocks to change.
+     * @param material   new block type.
+     * @param onComplete called on the main thread once this set was processed, also when its
+     *                   remaining blocks were skipped because the world is gone.
+     *                   Callbacks are called in the same order change sets were submitted.
+     */
+    public static void submit(Collection<Block> blocks, Material material, @Nullable Runnable onComplete) {
+        if (blocks.isEmpty()) {
+            if (onComplete != null) onComplete.run();
+            return;
+        }
+        Block[] sorted = blocks.toArray(new Block[0]);
+        Arrays.sort(sorted, CHUNK_ORDER);
+        changes.add(new ChangeSet(sorted, material, onComplete));
+
+        if (task == null) {
+            budget = TimeUnit.MILLISECONDS.toNanos(Math.max(1, BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_PERFORMANCE_BLOCK_CHANGE_BUDGET)));
+            task = Bukkit.getScheduler().runTaskTimer(BedWars.plugin, new BlockChangeQueue(), 0L, 1L);
+        }
+    }
+
+    @Override
+    public void run() {
+        long deadline = System.nanoTime() + budget;
+        ChangeSet set;
+        while ((set = changes.peek()) != null) {
+            if (!set.apply(deadline)) return;
+            changes.poll();
+            if (set.onComplete != null) {
+                set.onComplete.run();
+            }
+        }
+        task.cancel();
+        task = null;
+    }
+
+    private static class ChangeSet {
+        private final Block[] blocks;
+        private final Material material;
+        private final World world;
+        private final Runnable onComplete;
+        private int cursor = 0;
+
+        private ChangeSet(Block[] blocks, Material material, Runnable onComplete) {
+            this.blocks = blocks;
+            this.material = material;
+            this.world = blocks[0].getWorld();
+            this.onComplete = onComplete;
+        }
+
+        /**
+         * @return true if every block was changed, false if the time budget ran out.
+         */
+        private boolean apply(long deadline) {
+            // the arena world was unloaded or restored meanwhile, the set still completes
+            if (Bukkit.getWorld(world.getUID()) != world) return true;
+            while (cursor < blocks.length) {
+                if (System.nanoTime() >= deadline) return false;
+                Block block = blocks[cursor++];
+                if (block.getType() != material) {
+                    BedWars.nms.setBlockTypeFast(block, material);
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+package com.tomkeuper.bedwars.arena.tasks;
+
+import com.tomkeuper.bedwars.BedWars;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ticks every active egg bridge from a single 1-tick task.
+ * The task is only running while there are eggs in the air.
+ */
+public class EggBridgeEngine implements Runnable {
+
+    private static final List<EggBridgeTask> bridges = new ArrayList<>();
+    private static BukkitTask task;
+
+    private EggBridgeEngine() {
+    }
+
+    static void add(EggBridgeTask bridge) {
+        bridges.add(bridge);
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(BedWars.plugin, new EggBridgeEngine(), 0L, 1L);
+        }
+    }
+
+    @Override
+    public void run() {
+        // index loop, bridges may be added while ticking
+        for (int i = 0; i < bridges.size(); i++) {
+            EggBridgeTask bridge = bridges.get(i);
+            if (!bridge.isCancelled()) {
+                bridge.run();
+            }
+        }
+        bridges.removeIf(EggBridgeTask::isCancelled);
+        if (bridges.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
@@ -23,7 +23,6 @@ package com.tomkeuper.bedwars.arena.tasks;
 import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.arena.IArena;
 import com.tomkeuper.bedwars.api.arena.team.TeamColor;
-import com.tomkeuper.bedwars.api.configuration.ConfigPath;
 import com.tomkeuper.bedwars.api.events.gameplay.EggBridgeBuildEvent;
 import com.tomkeuper.bedwars.arena.Arena;
 import com.tomkeuper.bedwars.arena.Misc;
@@ -32,19 +31,35 @@ import com.tomkeuper.bedwars.listeners.EggBridge;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Egg;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An egg bridge in the air, ticked by {@link EggBridgeEngine}.
+ * Every tick the path between the previous and the current egg position is sampled
+ * so fast eggs do not leave gaps in the bridge.
+ */
 @SuppressWarnings("WeakerAccess")
 public class EggBridgeTask implements Runnable {
 
+    private static final double MAX_DISTANCE_SQUARED = 27 * 27;
+    private static final double BUILD_DISTANCE_SQUARED = 4 * 4;
+    private static final double MAX_DROP = 9;
+    // distance between path samples, less than a block so no column is skipped
+    private static final double STEP = 0.5;
+
     private Egg projectile;
     private TeamColor teamColor;
     private Player player;
     private IArena arena;
-    private BukkitTask task;
+    private int maxBuildY;
+    private Location last;
+    private boolean cancelled = true;
 
     public EggBridgeTask(Player player, Egg projectile, TeamColor teamColor) {
         IArena a = Arena.getArenaByPlayer(player);
@@ -53,7 +68,10 @@ public class EggBridgeTask implements Runnable {
         this.projectile = projectile;
         this.teamColor = teamColor;
         this.player = player;
-        task = Bukkit.getScheduler().runTaskTimer(BedWars.plugin, this, 0, 1);
+        this.maxBuildY = a.getSettings().getMaxBuildY();
+        this.last = projectile.getLocation();
+        this.cancelled = false;
+        EggBridgeEngine.add(this);
     }
 
     public TeamColor getTeamColor() {
@@ -76,59 +94,73 @@ public class EggBridgeTask implements Runnable {
     public void run() {
 
         Location loc = getProjectile().getLocation();
-        if (loc.getBlockY() >= getArena().getConfig().getInt(ConfigPath.ARENA_CONFIGURATION_MAX_BUILD_Y)) {
-            return;
-        }
+        Location playerLoc = getPlayer().getLocation();
 
         if (getProjectile().isDead()
                 || !arena.isPlayer(getPlayer())
-                || getPlayer().getLocation().distance(getProjectile().getLocation()) > 27
-                || getPlayer().getLocation().getY() - getProjectile().getLocation().getY() > 9) {
+                || playerLoc.getWorld() != loc.getWorld()
+                || playerLoc.distanceSquared(loc) > MAX_DISTANCE_SQUARED
+                || playerLoc.getY() - loc.getY() > MAX_DROP) {
             EggBridge.removeEgg(projectile);
             return;
         }
 
-        if (getPlayer().getLocation().distance(loc) > 4.0D) {
-
-            Block b2 = loc.clone().subtract(0.0D, 2.0D, 0.0D).getBlock();
-            if (!Misc.isBuildProtected(b2.getLocation(), getArena())) {
-                if (b2.getType() == Material.AIR) {
-                    b2.setType(BedWars.nms.woolMaterial());
-                    BedWars.nms.setBlockTeamColor(b2, getTeamColor());
-                    getArena().addPlacedBlock(b2);
-                    Bukkit.getPluginManager().callEvent(new EggBridgeBuildEvent(getTeamColor(), getArena(), b2));
-                    loc.getWorld().playEffect(b2.getLocation(), BedWars.nms.eggBridge(), 3);
-                    Sounds.playSound("egg-bridge-block", getPlayer());
-                }
-            }
-
-            Block b3 = loc.clone().subtract(1.0D, 2.0D, 0.0D).getBlock();
-            if (!Misc.isBuildProtected(b3.getLocation(), getArena())) {
-                if (b3.getType() == Material.AIR) {
-                    b3.setType(BedWars.nms.woolMaterial());
-                    BedWars.nms.setBlockTeamColor(b3, getTeamColor());
-                    getArena().addPlacedBlock(b3);
-                    Bukkit.getPluginManager().callEvent(new EggBridgeBuildEvent(getTeamColor(), getArena(), b3));
-                    loc.getWorld().playEffect(b3.getLocation(), BedWars.nms.eggBridge(), 3);
-                    Sounds.playSound("egg-bridge-block", getPlayer());
-                }
-            }
-
-            Block b4 = loc.clone().subtract(0.0D, 2.0D, 1.0D).getBlock();
-            if (!Misc.isBuildProtected(b4.getLocation(), getArena())) {
-                if (b4.getType() == Material.AIR) {
-                    b4.setType(BedWars.nms.woolMaterial());
-                    BedWars.nms.setBlockTeamColor(b4, getTeamColor());
-                    getArena().addPlacedBlock(b4);
-                    Bukkit.getPluginManager().callEvent(new EggBridgeBuildEvent(getTeamColor(), getArena(), b4));
-                    loc.getWorld().playEffect(b4.getLocation(), BedWars.nms.eggBridge(), 3);
-                    Sounds.playSound("egg-bridge-block", getPlayer());
-                }
-            }
+        Location from = last;
+        last = loc;
+
+        double dx = loc.getX() - from.getX(), dy = loc.getY() - from.getY(), dz = loc.getZ() - from.getZ();
+        int steps = Math.max(1, (int) Math.ceil(Math.sqrt(dx * dx + dy * dy + dz * dz) / STEP));
+
+        World world = loc.getWorld();
+        List<Block> built = new ArrayList<>(6);
+        for (int i = 1; i <= steps; i++) {
+            double x = from.getX() + dx * i / steps, y = from.getY() + dy * i / steps, z = from.getZ() + dz * i / steps;
+            int blockY = (int) Math.floor(y);
+            if (blockY >= maxBuildY) continue;
+
+            double px = x - playerLoc.getX(), py = y - playerLoc.getY(), pz = z - playerLoc.getZ();
+            if (px * px + py * py + pz * pz <= BUILD_DISTANCE_SQUARED) continue;
+
+            int blockX = (int) Math.floor(x), blockZ = (int) Math.floor(z);
+            place(world.getBlockAt(blockX, blockY - 2, blockZ), built);
+            place(world.getBlockAt(blockX - 1, blockY - 2, blockZ), built);
+            place(world.getBlockAt(blockX, blockY - 2, blockZ - 1), built);
+        }
+
+        if (built.isEmpty()) return;
+        Bukkit.getPluginManager().callEvent(new EggBridgeBuildEvent(getTeamColor(), getArena(), built));
+        for (Block b : built) {
+            world.playEffect(b.getLocation(), BedWars.nms.eggBridge(), 3);
         }
+        Sounds.playSound("egg-bridge-block", getPlayer());
+    }
+
+    private void place(Block b, List<Block> built) {
+        // blocks placed by a previous sample are no longer air
+        if (b.getType() != Material.AIR) return;
+        if (Misc.isBuildProtected(b.getLocation(), getArena())) return;
+        b.setType(BedWars.nms.woolMaterial());
+        BedWars.nms.setBlockTeamColor(b, getTeamColor());
+        getArena().addPlacedBlock(b);
+        decay(b);
+        built.add(b);
+    }
+
+    /**
+     * Schedule the removal of a bridge block if bridge decay is enabled for this arena.
+     */
+    private void decay(Block block) {
+        int seconds = getArena().getSettings().getBridgeBlockDecay();
+        if (seconds > 0) {
+            getArena().addTemporaryBlock(block, seconds * 20);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
     }
 
     public void cancel(){
-        task.cancel();
+        cancelled = true;
     }
 }
@@ -31,14 +31,19 @@ import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.language.Messages;
 import com.tomkeuper.bedwars.api.tasks.PlayingTask;
 import com.tomkeuper.bedwars.arena.Arena;
+import com.tomkeuper.bedwars.arena.Misc;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.entity.EnderDragon;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.tomkeuper.bedwars.BedWars.config;
@@ -46,6 +51,8 @@ import static com.tomkeuper.bedwars.api.language.Language.getMsg;
 
 public class GamePlayingTask implements Runnable, PlayingTask {
 
+    private static final Map<Language, Map<Integer, String[]>> respawnMessages = new HashMap<>();
+
     private Arena arena;
     private BukkitTask task;
     private OreGenTask oreGenTask;
@@ -90,6 +97,12 @@ public class GamePlayingTask implements Runnable, PlayingTask {
 
     @Override
     public void run() {
+        Profiler.Sample sample = Profiler.start();
+        tick();
+        Profiler.stop(sample, Profiler.GAME_PLAYING_TASK, arena);
+    }
+
+    private void tick() {
         switch (getArena().getNextEvent()) {
             case EMERALD_GENERATOR_TIER_II:
             case EMERALD_GENERATOR_TIER_III:
@@ -146,25 +159,21 @@ public class GamePlayingTask implements Runnable, PlayingTask {
                     }
                     getArena().updateNextEvent();
                     if (config.getBoolean(ConfigPath.GENERAL_CONFIGURATION_ENABLE_GENERATOR_REPLACE_AIR_SUDDEN)) {
+                        List<Block> blocks = new ArrayList<>();
                         for (IGenerator o : arena.getOreGenerators()) {
-                            Location l = o.getLocation();
-                            for (int y = 0; y < 20; y++) {
-                                l.clone().subtract(0, y, 0).getBlock().setType(Material.AIR);
-                            }
+                            addColumn(blocks, o.getLocation().getBlock());
                         }
                         for (ITeam team : arena.getTeams()) {
                             for (IGenerator o : team.getGenerators()) {
-                                Location l = o.getLocation();
-                                for (int y = 0; y < 20; y++) {
-                                    l.clone().subtract(0, y, 0).getBlock().setType(Material.AIR);
-                                }
+                                addColumn(blocks, o.getLocation().getBlock());
                             }
                         }
+                        BlockChangeQueue.submit(blocks, Material.AIR, null);
                     }
                     for (ITeam t : getArena().getTeams()) {
                         if (t.getMembers().isEmpty()) continue;
                         for (int x = 0; x < t.getDragonAmount(); x++) {
-                            EnderDragon dragon = BedWars.nms.spawnDragon(getArena().getConfig().getArenaLoc("waiting.Loc").add(0, 10, 0), t);
+                            EnderDragon dragon = BedWars.nms.spawnDragon(getArena().getWaitingLocation().clone().add(0, 10, 0), t);
                             if (dragon != null){
                                 t.addDragon(dragon);
                                 if (BedWars.nms.getVersion() == 0){
@@ -238,30 +247,65 @@ public class GamePlayingTask implements Runnable, PlayingTask {
                         e.getKey().setFlying(false);
                     }
                 } else {
-                    BedWars.nms.sendTitle(e.getKey(), getMsg(e.getKey(), Messages.PLAYER_DIE_RESPAWN_TITLE).replace("%bw_time%",
-                            String.valueOf(e.getValue())), getMsg(e.getKey(), Messages.PLAYER_DIE_RESPAWN_SUBTITLE).replace("%bw_time%",
-                            String.valueOf(e.getValue())), 0, 30, 10);
-                    e.getKey().sendMessage(getMsg(e.getKey(), Messages.PLAYER_DIE_RESPAWN_CHAT).replace("%bw_time%", String.valueOf(e.getValue())));
+                    String[] messages = getRespawnMessages(e.getKey(), e.getValue());
+                    BedWars.nms.sendTitle(e.getKey(), messages[0], messages[1], 0, 30, 10);
+                    e.getKey().sendMessage(messages[2]);
                     getArena().getRespawnSessions().replace(e.getKey(), e.getValue() - 1);
                 }
             }
         }
 
         /* INVISIBILITY FOR ARMOR */
-        if (!getArena().getShowTime().isEmpty()) {
-            for (Map.Entry<Player, Integer> e : getArena().getShowTime().entrySet()) {
-                if (e.getValue() <= 0) {
-                    for (Player p : e.getKey().getWorld().getPlayers()) {
-                        BedWars.nms.showArmor(e.getKey(), p);
-                        //nms.showPlayer(e.getKey(), p);
-                    }
-                    e.getKey().removePotionEffect(PotionEffectType.INVISIBILITY);
-                    getArena().getShowTime().remove(e.getKey());
-                    Bukkit.getPluginManager().callEvent(new PlayerInvisibilityPotionEvent(PlayerInvisibilityPotionEvent.Type.REMOVED, getArena().getTeam(e.getKey()), e.getKey(), getArena()));
-                } else {
-                    getArena().getShowTime().replace(e.getKey(), e.getValue() - 1);
+        arena.getInvisibilityTimers().advance(invisible -> {
+            // removed meanwhile, by taking damage or leaving
+            if (getArena().getShowTime().remove(invisible) == null) return;
+            for (Player p : invisible.getWorld().getPlayers()) {
+                if (Misc.isInViewRange(invisible, p)) {
+                    BedWars.nms.showArmor(invisible, p);
                 }
             }
+            invisible.removePotionEffect(PotionEffectType.INVISIBILITY);
+            Bukkit.getPluginManager().callEvent(new PlayerInvisibilityPotionEvent(PlayerInvisibilityPotionEvent.Type.REMOVED, getArena().getTeam(invisible), invisible, getArena()));
+        });
+
+        /* DESPAWNABLES */
+        Profiler.Sample despawnables = Profiler.start();
+        arena.getDespawnables().tick();
+        Profiler.stop(despawnables, Profiler.DESPAWNABLES, arena);
+    }
+
+    /**
+     * Get the respawn title, subtitle and chat message for the given second.
+     * Messages without placeholders other than the time are cached per language.
+     */
+    private static String[] getRespawnMessages(Player player, int seconds) {
+        Language language = Language.getPlayerLanguage(player);
+        String[] cached = respawnMessages.computeIfAbsent(language, l -> new HashMap<>()).get(seconds);
+        if (cached != null) return cached;
+
+        String time = String.valueOf(seconds);
+        String[] messages = new String[]{
+                getMsg(player, Messages.PLAYER_DIE_RESPAWN_TITLE).replace("%bw_time%", time),
+                getMsg(player, Messages.PLAYER_DIE_RESPAWN_SUBTITLE).replace("%bw_time%", time),
+                getMsg(player, Messages.PLAYER_DIE_RESPAWN_CHAT).replace("%bw_time%", time)
+        };
+        if (isCacheable(language, Messages.PLAYER_DIE_RESPAWN_TITLE) && isCacheable(language, Messages.PLAYER_DIE_RESPAWN_SUBTITLE)
+                && isCacheable(language, Messages.PLAYER_DIE_RESPAWN_CHAT)) {
+            respawnMessages.get(language).put(seconds, messages);
+        }
+        return messages;
+    }
+
+    private static boolean isCacheable(Language language, String path) {
+        return language.m(path).replace("%bw_time%", "").replace("%bw_lang_prefix%", "").indexOf('%') == -1;
+    }
+
+    /**
+     * Add the generator block and the 19 blocks below it.
+     */
+    private static void addColumn(List<Block> blocks, Block top) {
+        for (int y = 0; y < 20; y++) {
+            blocks.add(top.getRelative(0, -y, 0));
         }
     }
 
@@ -22,13 +22,16 @@ package com.tomkeuper.bedwars.arena.tasks;
 
 import com.tomkeuper.bedwars.api.arena.generator.IGenerator;
 import com.tomkeuper.bedwars.arena.OreGenerator;
+import com.tomkeuper.bedwars.profiler.Profiler;
 
 public class OneTick implements Runnable {
     @Override
     public void run() {
+        Profiler.Sample sample = Profiler.start();
         // OneTick generators
         for (IGenerator h : OreGenerator.getRotation()) {
             h.rotate();
         }
+        Profiler.stop(sample, Profiler.GENERATOR_ROTATION, null);
     }
 }
@@ -24,6 +24,7 @@ import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.arena.generator.IGenerator;
 import com.tomkeuper.bedwars.api.arena.team.ITeam;
 import com.tomkeuper.bedwars.arena.Arena;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
 
@@ -38,6 +39,7 @@ public class OreGenTask implements Runnable{
 
     @Override
     public void run() {
+        Profiler.Sample sample = Profiler.start();
         for (ITeam t : getArena().getTeams()) {
             // spawn items
             for (IGenerator o : t.getGenerators()) {
@@ -49,6 +51,7 @@ public class OreGenTask implements Runnable{
         for (IGenerator o : getArena().getOreGenerators()) {
             o.spawn();
         }
+        Profiler.stop(sample, Profiler.GENERATORS, arena);
     }
 
     public void cancel() {
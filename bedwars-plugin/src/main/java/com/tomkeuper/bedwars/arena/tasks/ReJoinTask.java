@@ -32,20 +32,45 @@ import org.jetbrains.annotations.NotNull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Eliminates a team if none of its members rejoined in time.
+ * Every rejoin deadline is kept in a shared timer wheel advanced once per second.
+ */
 public class ReJoinTask implements Runnable {
 
     private static final List<ReJoinTask> reJoinTasks = new ArrayList<>();
+    private static final Map<IArena, Set<ReJoinTask>> reJoinTasksByArena = new HashMap<>();
+    private static final TimerWheel<ReJoinTask> deadlines = new TimerWheel<>();
+    private static BukkitTask ticker;
 
     private final IArena arena;
     private final ITeam bedWarsTeam;
-    private final BukkitTask task;
 
     public ReJoinTask(IArena arena, ITeam bedWarsTeam) {
         this.arena = arena;
         this.bedWarsTeam = bedWarsTeam;
-        task = Bukkit.getScheduler().runTaskLater(BedWars.plugin, this, BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_REJOIN_TIME) * 20L);
+        reJoinTasks.add(this);
+        if (arena != null) {
+            reJoinTasksByArena.computeIfAbsent(arena, a -> new HashSet<>()).add(this);
+        }
+        deadlines.schedule(this, BedWars.config.getInt(ConfigPath.GENERAL_CONFIGURATION_REJOIN_TIME));
+        if (ticker == null) {
+            ticker = Bukkit.getScheduler().runTaskTimer(BedWars.plugin, ReJoinTask::tick, 20L, 20L);
+        }
+    }
+
+    private static void tick() {
+        deadlines.advance(ReJoinTask::run);
+        if (deadlines.isEmpty() && ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
     }
 
     @Override
@@ -64,8 +89,8 @@ public class ReJoinTask implements Runnable {
         }
         if (bedWarsTeam.getMembers().isEmpty()) {
             bedWarsTeam.setBedDestroyed(true);
-            destroy();
         }
+        destroy();
     }
 
     /**
@@ -80,7 +105,22 @@ public class ReJoinTask implements Runnable {
      */
     public void destroy() {
         reJoinTasks.remove(this);
-        task.cancel();
+        Set<ReJoinTask> arenaTasks = reJoinTasksByArena.get(arena);
+        if (arenaTasks != null && arenaTasks.remove(this) && arenaTasks.isEmpty()) {
+            reJoinTasksByArena.remove(arena);
+        }
+        deadlines.cancel(this);
+    }
+
+    /**
+     * Destroy the tasks of an arena.
+     */
+    public static void destroyAll(@NotNull IArena arena) {
+        Set<ReJoinTask> arenaTasks = reJoinTasksByArena.get(arena);
+        if (arenaTasks == null) return;
+        for (ReJoinTask task : new ArrayList<>(arenaTasks)) {
+            task.destroy();
+        }
     }
 
     /**
@@ -93,6 +133,6 @@ public class ReJoinTask implements Runnable {
     }
 
     public void cancel() {
-        task.cancel();
+        deadlines.cancel(this);
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.arena.tasks;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Second based timer wheel.
+ * Timers are grouped by the second they expire at, so advancing the wheel
+ * only touches the timers that actually expire.
+ * Not thread safe, use it from the main thread only.
+ *
+ * @param <T> timer key.
+ */
+public class TimerWheel<T> {
+
+    private final Map<Integer, Set<T>> buckets = new HashMap<>();
+    private final Map<T, Integer> expiry = new HashMap<>();
+    private int second = 0;
+
+    /**
+     * Start or restart a timer.
+     *
+     * @param key     timer key.
+     * @param seconds seconds until the timer expires.
+     */
+    public void schedule(T key, int seconds) {
+        cancel(key);
+        int expiresAt = second + Math.max(1, seconds);
+        expiry.put(key, expiresAt);
+        buckets.computeIfAbsent(expiresAt, k -> new HashSet<>()).add(key);
+    }
+
+    /**
+     * Stop a timer without expiring it.
+     */
+    public void cancel(T key) {
+        Integer expiresAt = expiry.remove(key);
+        if (expiresAt == null) return;
+        Set<T> bucket = buckets.get(expiresAt);
+        if (bucket != null && bucket.remove(key) && bucket.isEmpty()) {
+            buckets.remove(expiresAt);
+        }
+    }
+
+    /**
+     * @return seconds left until the given timer expires, 0 if it is not running.
+     */
+    public int getRemaining(T key) {
+        Integer expiresAt = expiry.get(key);
+        return expiresAt == null ? 0 : expiresAt - second;
+    }
+
+    /**
+     * Move the wheel forward by one second.
+     *
+     * @param onExpire called for every timer expiring in this second.
+     */
+    public void advance(Consumer<T> onExpire) {
+        second++;
+        Set<T> expired = buckets.remove(second);
+        if (expired == null) return;
+        for (T key : expired) {
+            expiry.remove(key);
+            onExpire.accept(key);
+        }
+    }
+
+    public boolean isEmpty() {
+        return expiry.isEmpty();
+    }
+
+    public void clear() {
+        buckets.clear();
+        expiry.clear();
+    }
+}
@@ -28,7 +28,9 @@ import com.tomkeuper.bedwars.api.events.player.PlayerBaseLeaveEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerLeaveArenaEvent;
 import com.tomkeuper.bedwars.arena.Arena;
 import com.tomkeuper.bedwars.arena.team.BedWarsTeam;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -47,11 +49,17 @@ public class BaseListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerMove(PlayerMoveEvent e) {
+        // island membership is only re-evaluated when crossing a block boundary
+        Location from = e.getFrom(), to = e.getTo();
+        if (to != null && from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                && from.getBlockZ() == to.getBlockZ()) return;
         IArena a = Arena.getArenaByIdentifier(e.getPlayer().getWorld().getName());
         if (a == null) return;
         if (a.getStatus() != GameState.playing) return;
         Player p = e.getPlayer();
+        Profiler.Sample sample = Profiler.start();
         checkEvents(p, a);
+        Profiler.stop(sample, Profiler.MOVE_LISTENERS, a);
     }
 
     @EventHandler
@@ -82,45 +90,46 @@ public class BaseListener implements Listener {
             return;
         }
 
-        boolean notOnBase = true;
+        ITeam team = arena instanceof Arena ? ((Arena) arena).getIslandGrid().getTeam(player.getLocation()) : getTeamAt(player, arena);
+        ITeam previousTeam = isOnABase.get(player);
 
-        for (ITeam team : arena.getTeams()) {
-            if (player.getLocation().distance(team.getBed()) <= arena.getIslandRadius()) {
-                notOnBase = false;
-
-                if (isOnABase.containsKey(player)) {
-                    ITeam previousTeam = isOnABase.get(player);
+        if (team == null) {
+            // Player has left all bases, trigger leave event if needed.
+            if (previousTeam != null) {
+                Bukkit.getPluginManager().callEvent(new PlayerBaseLeaveEvent(player, previousTeam));
+                isOnABase.remove(player);
+            }
+            return;
+        }
+        if (previousTeam == team) return;
 
-                    if (previousTeam != team) {
-                        // Player is switching bases, trigger leave event.
-                        Bukkit.getPluginManager().callEvent(new PlayerBaseLeaveEvent(player, previousTeam));
+        if (previousTeam != null) {
+            // Player is switching bases, trigger leave event.
+            Bukkit.getPluginManager().callEvent(new PlayerBaseLeaveEvent(player, previousTeam));
 
-                        if (!Arena.magicMilk.containsKey(player.getUniqueId())) {
-                            // Player doesn't have magic milk, trigger enter event.
-                            Bukkit.getPluginManager().callEvent(new PlayerBaseEnterEvent(player, team));
-                        }
+            if (!Arena.magicMilk.containsKey(player.getUniqueId())) {
+                // Player doesn't have magic milk, trigger enter event.
+                Bukkit.getPluginManager().callEvent(new PlayerBaseEnterEvent(player, team));
+            }
 
-                        // Update the player's current base.
-                        isOnABase.replace(player, team);
-                    }
-                } else {
-                    // Player was not on any island, trigger enter event
-                    if (!Arena.magicMilk.containsKey(player.getUniqueId())) {
-                        Bukkit.getPluginManager().callEvent(new PlayerBaseEnterEvent(player, team));
-                        isOnABase.put(player, team);
-                    }
-                }
+            // Update the player's current base.
+            isOnABase.replace(player, team);
+        } else {
+            // Player was not on any island, trigger enter event
+            if (!Arena.magicMilk.containsKey(player.getUniqueId())) {
+                Bukkit.getPluginManager().callEvent(new PlayerBaseEnterEvent(player, team));
+                isOnABase.put(player, team);
             }
         }
+    }
 
-        // Player has left all bases, trigger leave event if needed.
-        if (notOnBase) {
-            if (isOnABase.containsKey(player)) {
-                ITeam previousTeam = isOnABase.get(player);
-                Bukkit.getPluginManager().callEvent(new PlayerBaseLeaveEvent(player, previousTeam));
-                isOnABase.remove(player);
+    private static ITeam getTeamAt(Player player, IArena arena) {
+        for (ITeam team : arena.getTeams()) {
+            if (player.getLocation().distance(team.getBed()) <= arena.getIslandRadius()) {
+                return team;
             }
         }
+        return null;
     }
 
 
@@ -24,6 +24,7 @@ import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.arena.IArena;
 import com.tomkeuper.bedwars.api.arena.team.ITeam;
 import com.tomkeuper.bedwars.api.configuration.ConfigPath;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -51,7 +52,7 @@ public class HealPoolTask extends BukkitRunnable {
             cancel();
             return;
         }
-        int radius = bwt.getArena().getConfig().getInt(ConfigPath.ARENA_ISLAND_RADIUS);
+        int radius = bwt.getArena().getIslandRadius();
         Location teamspawn = bwt.getSpawn();
         this.maxX = (teamspawn.getBlockX() + radius);
         this.minX = (teamspawn.getBlockX() - radius);
@@ -72,6 +73,7 @@ public class HealPoolTask extends BukkitRunnable {
             return;
         }
 
+        Profiler.Sample sample = Profiler.start();
         for (int x = minX; x <= maxX; x++) {
             for (int y = minY; y <= maxY; y++) {
                 for (int z = minZ; z <= maxZ; z++) {
@@ -94,6 +96,7 @@ public class HealPoolTask extends BukkitRunnable {
                 }
             }
         }
+        Profiler.stop(sample, Profiler.HEAL_POOL, arena);
     }
 
     public static boolean exists(IArena arena, ITeam bwt){
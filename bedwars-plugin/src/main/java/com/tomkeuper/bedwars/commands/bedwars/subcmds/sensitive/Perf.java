@@ -0,0 +1,135 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.commands.bedwars.subcmds.sensitive;
+
+import com.tomkeuper.bedwars.api.BedWars;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.command.ParentCommand;
+import com.tomkeuper.bedwars.api.command.SubCommand;
+import com.tomkeuper.bedwars.api.profiler.ITimingReport;
+import com.tomkeuper.bedwars.arena.Arena;
+import com.tomkeuper.bedwars.arena.ArenaEnableQueue;
+import com.tomkeuper.bedwars.arena.Misc;
+import com.tomkeuper.bedwars.configuration.Permissions;
+import com.tomkeuper.bedwars.database.TimedDatabase;
+import com.tomkeuper.bedwars.database.WriteQueue;
+import com.tomkeuper.bedwars.profiler.Profiler;
+import net.md_5.bungee.api.chat.ClickEvent;
+import org.bukkit.command.CommandSender;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class Perf extends SubCommand {
+
+    public Perf(ParentCommand parent, String name) {
+        super(parent, name);
+        setPriority(12);
+        showInList(true);
+        setPermission(Permissions.PERMISSION_PROFILER);
+        setDisplayInfo(Misc.msgHoverClick("§6 ▪ §7/" + getParent().getName() + " " + getSubCommandName() + "         §8 - §esubsystem timings",
+                "§fShow the time spent by each subsystem.\n§fUsage: §7/" + getParent().getName() + " " + getSubCommandName() + " [on/off/reset/arena name]",
+                "/" + getParent().getName() + " " + getSubCommandName(), ClickEvent.Action.RUN_COMMAND));
+    }
+
+    @Override
+    public boolean execute(String[] args, CommandSender s) {
+        Profiler profiler = Profiler.getInstance();
+        if (args.length == 0) {
+            if (!profiler.isEnabled()) {
+                s.sendMessage("§c▪ §7The profiler is off. Use §o/" + getParent().getName() + " " + getSubCommandName() + " on");
+                return true;
+            }
+            send(s, "server", profiler.getTimings());
+            WriteQueue queue = TimedDatabase.getWriteQueue(com.tomkeuper.bedwars.BedWars.getRemoteDatabase());
+            if (queue != null) {
+                s.sendMessage(String.format("§6 ▪ §fdatabase-queue §7depth §e%d §7commits §e%d §7writes §e%d §7avg commit §e%s",
+                        queue.getQueueDepth(), queue.getCommits(), queue.getWrites(), millis(queue.getAverageCommitNanos())));
+            }
+            if (ArenaEnableQueue.getEnabledCount() > 0 || !Arena.getEnableQueue().isEmpty()) {
+                StringBuilder stages = new StringBuilder();
+                for (int i = 0; i < ArenaEnableQueue.getStageCount(); i++) {
+                    stages.append(" §7").append(ArenaEnableQueue.getStageName(i)).append(" §e").append(millis(ArenaEnableQueue.getAverageNanos(i)));
+                }
+                s.sendMessage(String.format("§6 ▪ §farena-enable §7queued §e%d §7loading §e%d §7enabled §e%d §7avg%s",
+                        Arena.getEnableQueue().size() - ArenaEnableQueue.getLoadingCount(), ArenaEnableQueue.getLoadingCount(), ArenaEnableQueue.getEnabledCount(), stages));
+            }
+            return true;
+        }
+        switch (args[0].toLowerCase()) {
+            case "on":
+                profiler.setEnabled(true);
+                s.sendMessage("§6 ▪ §7Profiler enabled.");
+                break;
+            case "off":
+                profiler.setEnabled(false);
+                s.sendMessage("§6 ▪ §7Profiler disabled.");
+                break;
+            case "reset":
+                profiler.reset();
+                s.sendMessage("§6 ▪ §7Timings reset.");
+                break;
+            case "arena":
+                if (args.length < 2) {
+                    s.sendMessage("§c▪ §7Usage: §o/" + getParent().getName() + " " + getSubCommandName() + " arena <name>");
+                    return true;
+                }
+                IArena arena = Arena.getArenaByName(args[1]);
+                if (arena == null) arena = Arena.getArenaByIdentifier(args[1]);
+                if (arena == null) {
+                    s.sendMessage("§c▪ §7Arena not found: §o" + args[1]);
+                    return true;
+                }
+                send(s, arena.getArenaName(), profiler.getTimings(arena));
+                break;
+            default:
+                s.sendMessage("§c▪ §7Usage: §o/" + getParent().getName() + " " + getSubCommandName() + " [on/off/reset/arena name]");
+        }
+        return true;
+    }
+
+    private static void send(CommandSender s, String scope, List<ITimingReport> timings) {
+        s.sendMessage("§8§l|-| §6Timings for §e" + scope + " §7(last minute, ms)");
+        if (timings.isEmpty()) {
+            s.sendMessage("§7 No samples recorded yet.");
+            return;
+        }
+        for (ITimingReport t : timings) {
+            s.sendMessage(String.format("§6 ▪ §f%s §7%.1f/s p50 §e%s §7p95 §e%s §7p99 §e%s §7max §e%s§7%s",
+                    t.getName(), t.getCallsPerSecond(), millis(t.getP50()), millis(t.getP95()), millis(t.getP99()), millis(t.getMax()),
+                    t.getAllocatedPerCall() < 0 ? "" : " alloc §e" + (t.getAllocatedPerCall() / 1024) + "KB"));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000d);
+    }
+
+    @Override
+    public List<String> getTabComplete() {
+        return Arrays.asList("on", "off", "reset", "arena");
+    }
+
+    @Override
+    public boolean canSee(CommandSender s, BedWars api) {
+        return hasPermission(s);
+    }
+}
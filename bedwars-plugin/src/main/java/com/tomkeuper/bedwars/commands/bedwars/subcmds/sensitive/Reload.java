@@ -27,6 +27,7 @@ import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.arena.Arena;
 import com.tomkeuper.bedwars.arena.Misc;
 import com.tomkeuper.bedwars.arena.SetupSession;
+import com.tomkeuper.bedwars.arena.SignRenderer;
 import com.tomkeuper.bedwars.commands.bedwars.MainCommand;
 import com.tomkeuper.bedwars.configuration.Permissions;
 import net.md_5.bungee.api.chat.ClickEvent;
@@ -56,6 +57,8 @@ public class Reload extends SubCommand {
             l.reload();
             s.sendMessage("§6 ▪ §7"+l.getLangName()+" reloaded!");
         }
+        // signs show the status messages
+        SignRenderer.reloadFormat();
         return true;
     }
 
@@ -22,12 +22,22 @@ package com.tomkeuper.bedwars.configuration;
 
 import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.configuration.ConfigManager;
+import org.bukkit.ChatColor;
 import org.jetbrains.annotations.NotNull;
 
 public class LevelsConfig extends ConfigManager {
 
     public static LevelsConfig levels;
 
+    // levels above this are resolved from the configuration on each call
+    private static final int MAX_CACHED_LEVEL = 10_000;
+    private static final int PROGRESS_BAR_LENGTH = 10;
+
+    // rank up cost and name by level, built once the configuration is loaded
+    private static int[] costs = new int[0];
+    private static String[] names = new String[0];
+    private static String[] progressBars = new String[0];
+
     private LevelsConfig() {
         super(BedWars.plugin, "levels", BedWars.plugin.getDataFolder().toString());
     }
@@ -71,10 +81,80 @@ public class LevelsConfig extends ConfigManager {
         levels.getYml().addDefault("progress-bar.format", "&8 [{progress}&8]");
 
         levels.save();
+        loadLevelTable();
+    }
+
+    /**
+     * Resolve every configured level once, so xp changes do not walk the configuration.
+     */
+    private static void loadLevelTable() {
+        int highest = 1;
+        for (String key : levels.getYml().getConfigurationSection("levels").getKeys(false)) {
+            for (String nr : key.split("-")) {
+                try {
+                    highest = Math.max(highest, Integer.parseInt(nr));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        int size = Math.min(highest, MAX_CACHED_LEVEL) + 1;
+        int[] costTable = new int[size];
+        String[] nameTable = new String[size];
+        for (int level = 0; level < size; level++) {
+            costTable[level] = lookupNextCost(level);
+            nameTable[level] = lookupLevelName(level);
+        }
+
+        String symbol = levels.getYml().getString("progress-bar.symbol");
+        String unlockedColor = levels.getYml().getString("progress-bar.unlocked-color");
+        String lockedColor = levels.getYml().getString("progress-bar.locked-color");
+        String format = levels.getYml().getString("progress-bar.format");
+        String[] bars = new String[PROGRESS_BAR_LENGTH + 1];
+        for (int unlocked = 0; unlocked <= PROGRESS_BAR_LENGTH; unlocked++) {
+            bars[unlocked] = ChatColor.translateAlternateColorCodes('&', format.replace("{progress}",
+                    unlockedColor + repeat(symbol, unlocked) + lockedColor + repeat(symbol, PROGRESS_BAR_LENGTH - unlocked)));
+        }
+
+        costs = costTable;
+        names = nameTable;
+        progressBars = bars;
+    }
+
+    private static String repeat(String symbol, int times) {
+        StringBuilder sb = new StringBuilder(symbol.length() * times);
+        for (int i = 0; i < times; i++) {
+            sb.append(symbol);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Get the formatted progress bar.
+     *
+     * @param unlocked amount of unlocked symbols, from 0 to 10.
+     */
+    @NotNull
+    public static String getProgressBar(int unlocked) {
+        String[] bars = progressBars;
+        if (bars.length == 0) return "";
+        return bars[Math.max(0, Math.min(PROGRESS_BAR_LENGTH, unlocked))];
     }
 
     @NotNull
     public static String getLevelName(int level) {
+        String[] table = names;
+        if (level >= 0 && level < table.length) return table[level];
+        return lookupLevelName(level);
+    }
+
+    public static int getNextCost(int level) {
+        int[] table = costs;
+        if (level >= 0 && level < table.length) return table[level];
+        return lookupNextCost(level);
+    }
+
+    @NotNull
+    private static String lookupLevelName(int level) {
         String name = levels.getYml().getString("levels." + level + ".name");
         if (name != null) return name;
         for (String key : levels.getYml().getConfigurationSection("levels").getKeys(false)) {
@@ -96,7 +176,7 @@ public class LevelsConfig extends ConfigManager {
         return levels.getYml().getString("levels.others.name");
     }
 
-    public static int getNextCost(int level) {
+    private static int lookupNextCost(int level) {
         if (levels.getYml().get("levels." + level + ".rankup-cost") != null) return levels.getYml().getInt("levels." + level + ".rankup-cost");
         for (String key : levels.getYml().getConfigurationSection("levels").getKeys(false)) {
             if (key.contains("-")) {
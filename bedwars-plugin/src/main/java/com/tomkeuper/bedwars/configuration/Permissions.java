@@ -38,6 +38,7 @@ public class Permissions {
     public static final String PERMISSION_ARENA_DISABLE = BedWars.mainCmd+".disable";
     public static final String PERMISSION_NPC = BedWars.mainCmd+".npc";
     public static final String PERMISSION_RELOAD = BedWars.mainCmd+".reload";
+    public static final String PERMISSION_PROFILER = BedWars.mainCmd+".perf";
     public static final String PERMISSION_REJOIN = BedWars.mainCmd+".rejoin";
     public static final String PERMISSION_LEVEL = BedWars.mainCmd+".level";
     public static final String PERMISSION_CHAT_COLOR = BedWars.mainCmd+".chatcolor";
@@ -22,6 +22,7 @@ package com.tomkeuper.bedwars.configuration;
 
 import com.tomkeuper.bedwars.api.configuration.ConfigManager;
 import com.tomkeuper.bedwars.api.configuration.ConfigPath;
+import com.tomkeuper.bedwars.arena.SignRenderer;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
 
@@ -49,4 +50,10 @@ public class SignsConfig extends ConfigManager {
             set("format", yml.getStringList("format").subList(0, 3));
         }
     }
+
+    @Override
+    public void reload() {
+        super.reload();
+        SignRenderer.reloadFormat();
+    }
 }
@@ -24,8 +24,12 @@ import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.database.IDatabase;
 import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.shop.IQuickBuyElement;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
 import com.tomkeuper.bedwars.api.stats.IPlayerStats;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
 import com.tomkeuper.bedwars.stats.PlayerStats;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 
 import java.io.File;
 import java.sql.*;
@@ -35,7 +39,10 @@ public class H2 implements IDatabase {
 
     private final String url;
 
-    private Connection connection;
+    private static final int READ_POOL_SIZE = 4;
+
+    private final WriteQueue writes = new WriteQueue("H2", this::openWriter);
+    private HikariDataSource reads;
 
     public H2() {
         File folder = new File(BedWars.plugin.getDataFolder() + "/Cache");
@@ -59,9 +66,7 @@ public class H2 implements IDatabase {
     @Override
     public void init() {
         String sql;
-        try {
-            checkConnection();
-
+        try (Connection connection = openWriter()) {
             sql = "CREATE TABLE IF NOT EXISTS GLOBAL_STATS (ID INTEGER PRIMARY KEY AUTO_INCREMENT, " +
                     "NAME VARCHAR(200), UUID VARCHAR(36), FIRST_PLAY TIMESTAMP NULL DEFAULT NULL, " +
                     "LAST_PLAY TIMESTAMP DEFAULT NULL, WINS INTEGER, KILLS INTEGER, " +
@@ -86,17 +91,18 @@ public class H2 implements IDatabase {
                         "iso VARCHAR(200));";
                 st.executeUpdate(sql);
             }
+            LeaderboardQuery.createIndexes(connection, true);
         }catch (SQLException e) {
             e.printStackTrace();
         }
+        openReadPool();
     }
 
     @Override
     public boolean hasStats(UUID uuid) {
         String sql = "SELECT UUID FROM GLOBAL_STATS WHERE UUID = ?;";
-        try {
-            checkConnection();
-
+        writes.awaitPending(uuid);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, uuid.toString());
                 try (ResultSet result = statement.executeQuery()) {
@@ -111,56 +117,49 @@ public class H2 implements IDatabase {
 
     @Override
     public void saveStats(IPlayerStats stats) {
-        String sql;
-        try {
-            checkConnection();
-
-            if (hasStats(stats.getUuid())) {
-                sql = "UPDATE GLOBAL_STATS SET last_play=?, wins=?, kills=?, final_kills=?, loses=?, deaths=?, final_deaths=?, beds_destroyed=?, games_played=?, NAME=? WHERE UUID = ?;";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setTimestamp(1, Timestamp.from(stats.getLastPlay()));
-                    statement.setInt(2, stats.getWins());
-                    statement.setInt(3, stats.getKills());
-                    statement.setInt(4, stats.getFinalKills());
-                    statement.setInt(5, stats.getLosses());
-                    statement.setInt(6, stats.getDeaths());
-                    statement.setInt(7, stats.getFinalDeaths());
-                    statement.setInt(8, stats.getBedsDestroyed());
-                    statement.setInt(9, stats.getGamesPlayed());
-                    statement.setString(10, stats.getName());
-                    statement.setString(11, stats.getUuid().toString());
-                    statement.executeUpdate();
-                }
-            } else {
-                sql = "INSERT INTO GLOBAL_STATS (Name, UUID, first_play, last_play, wins, kills, final_kills, loses, deaths, final_deaths, beds_destroyed, games_played) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setString(1, stats.getName());
-                    statement.setString(2, stats.getUuid().toString());
-                    statement.setTimestamp(3, Timestamp.from(stats.getFirstPlay()));
-                    statement.setTimestamp(4, Timestamp.from(stats.getLastPlay()));
-                    statement.setInt(5, stats.getWins());
-                    statement.setInt(6, stats.getKills());
-                    statement.setInt(7, stats.getFinalKills());
-                    statement.setInt(8, stats.getLosses());
-                    statement.setInt(9, stats.getDeaths());
-                    statement.setInt(10, stats.getFinalDeaths());
-                    statement.setInt(11, stats.getBedsDestroyed());
-                    statement.setInt(12, stats.getGamesPlayed());
-                    statement.executeUpdate();
-                }
+        // copied now, the stats keep changing while the write is queued
+        IPlayerStats values = PlayerStats.copyOf(stats);
+        writes.submit(values.getUuid(), connection -> {
+            String sql = "UPDATE GLOBAL_STATS SET last_play=?, wins=?, kills=?, final_kills=?, loses=?, deaths=?, final_deaths=?, beds_destroyed=?, games_played=?, NAME=? WHERE UUID = ?;";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setTimestamp(1, Timestamp.from(values.getLastPlay()));
+                statement.setInt(2, values.getWins());
+                statement.setInt(3, values.getKills());
+                statement.setInt(4, values.getFinalKills());
+                statement.setInt(5, values.getLosses());
+                statement.setInt(6, values.getDeaths());
+                statement.setInt(7, values.getFinalDeaths());
+                statement.setInt(8, values.getBedsDestroyed());
+                statement.setInt(9, values.getGamesPlayed());
+                statement.setString(10, values.getName());
+                statement.setString(11, values.getUuid().toString());
+                if (statement.executeUpdate() > 0) return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            sql = "INSERT INTO GLOBAL_STATS (NAME, UUID, first_play, last_play, wins, kills, final_kills, loses, deaths, final_deaths, beds_destroyed, games_played) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, values.getName());
+                statement.setString(2, values.getUuid().toString());
+                statement.setTimestamp(3, Timestamp.from(values.getFirstPlay()));
+                statement.setTimestamp(4, Timestamp.from(values.getLastPlay()));
+                statement.setInt(5, values.getWins());
+                statement.setInt(6, values.getKills());
+                statement.setInt(7, values.getFinalKills());
+                statement.setInt(8, values.getLosses());
+                statement.setInt(9, values.getDeaths());
+                statement.setInt(10, values.getFinalDeaths());
+                statement.setInt(11, values.getBedsDestroyed());
+                statement.setInt(12, values.getGamesPlayed());
+                statement.executeUpdate();
+            }
+        });
     }
 
     @Override
     public IPlayerStats fetchStats(UUID uuid) {
         IPlayerStats stats = new PlayerStats(uuid);
         String sql = "SELECT * FROM GLOBAL_STATS WHERE UUID = ?;";
-        try {
-            checkConnection();
-
+        writes.awaitPending(uuid);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, uuid.toString());
                 try (ResultSet result = statement.executeQuery()) {
@@ -186,58 +185,51 @@ public class H2 implements IDatabase {
 
     @Override
     public void saveCustomStat(String columnName, UUID player, Object value, String dataType) {
-        String sql;
-        checkCustomColumnExists(columnName, dataType);
-        try {
-            checkConnection();
-
-            if (hasStats(player)) {
-                sql = "UPDATE GLOBAL_STATS SET "+columnName+"=? WHERE UUID = ?;";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setObject(1, value);
-                    statement.setString(2, player.toString());
-                    statement.executeUpdate();
-                }
-            } else {
-                sql = "INSERT INTO GLOBAL_STATS (UUID, "+columnName+") VALUES (?, ?);";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setString(1, player.toString());
-                    statement.setObject(2, value);
-                    statement.executeUpdate();
-                }
+        writes.submit(player, connection -> {
+            checkCustomColumnExists(connection, columnName, dataType);
+            String sql = "UPDATE GLOBAL_STATS SET "+columnName+"=? WHERE UUID = ?;";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setObject(1, value);
+                statement.setString(2, player.toString());
+                if (statement.executeUpdate() > 0) return;
+            }
+            sql = "INSERT INTO GLOBAL_STATS (UUID, "+columnName+") VALUES (?, ?);";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, player.toString());
+                statement.setObject(2, value);
+                statement.executeUpdate();
             }
+        });
+    }
+
+    public void checkCustomColumnExists(String columnName, String dataType){
+        try (Connection connection = reads.getConnection()) {
+            checkCustomColumnExists(connection, columnName, dataType);
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
-    public void checkCustomColumnExists(String columnName, String dataType){
+    private void checkCustomColumnExists(Connection connection, String columnName, String dataType) throws SQLException {
         String sql = "SHOW COLUMNS FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = ?;";
-        try {
-            checkConnection();
-
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, columnName);
-                try (ResultSet result = statement.executeQuery()){
-                    if (!result.next()){
-                        sql = "ALTER TABLE GLOBAL_STATS ADD COLUMN " +columnName+ " " + dataType;
-                        try (PreparedStatement statement1 = connection.prepareStatement(sql)){
-                            statement1.executeUpdate();
-                        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, columnName);
+            try (ResultSet result = statement.executeQuery()){
+                if (!result.next()){
+                    sql = "ALTER TABLE GLOBAL_STATS ADD COLUMN " +columnName+ " " + dataType;
+                    try (PreparedStatement statement1 = connection.prepareStatement(sql)){
+                        statement1.executeUpdate();
                     }
                 }
             }
-        }catch (SQLException e) {
-            e.printStackTrace();
         }
     }
 
     @Override
     public Object getCustomStat(String columnName, UUID player) {
         String sql = "SELECT " + columnName + " FROM GLOBAL_STATS WHERE UUID = ?;";
-        try {
-            checkConnection();
-
+        writes.awaitPending(player);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, player.toString());
                 try (ResultSet result = statement.executeQuery()) {
@@ -255,9 +247,8 @@ public class H2 implements IDatabase {
     @Override
     public String getQuickBuySlots(UUID p, int slot) {
         String result = "";
-        try {
-            checkConnection();
-
+        writes.awaitPending(p);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement("SELECT SLOT_" + slot + " FROM QUICK_BUY WHERE UUID = ?;")) {
                 ps.setString(1, p.toString());
                 try (ResultSet rs = ps.executeQuery()) {
@@ -274,9 +265,8 @@ public class H2 implements IDatabase {
 
     @Override
     public boolean hasQuickBuy(UUID uuid) {
-        try {
-            checkConnection();
-
+        writes.awaitPending(uuid);
+        try (Connection connection = reads.getConnection()) {
             try (Statement statement = connection.createStatement()) {
                 try (ResultSet rs = statement.executeQuery("SELECT UUID FROM QUICK_BUY WHERE UUID = '" + uuid.toString() + "';")) {
                     if (rs.next()) {
@@ -294,9 +284,8 @@ public class H2 implements IDatabase {
     @Override
     public int getColumn(UUID player, String column) {
         String sql = "SELECT ? FROM GLOBAL_STATS WHERE UUID = ?;";
-        try {
-            checkConnection();
-
+        writes.awaitPending(player);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, column);
                 statement.setString(2, player.toString());
@@ -317,9 +306,8 @@ public class H2 implements IDatabase {
     @Override
     public Object[] getLevelData(UUID player) {
         Object[] r = new Object[]{1, 0, "", 0};
-        try {
-            checkConnection();
-
+        writes.awaitPending(player);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement("SELECT LEVEL, XP, NAME, NEXT_COST FROM PLAYER_LEVELS WHERE UUID = ?;")) {
                 ps.setString(1, player.toString());
                 try (ResultSet rs = ps.executeQuery()) {
@@ -339,71 +327,49 @@ public class H2 implements IDatabase {
 
     @Override
     public void setLevelData(UUID player, int level, int xp, String displayName, int nextCost) {
-        try {
-            checkConnection();
-
-            try (PreparedStatement pss = connection.prepareStatement("SELECT UUID from PLAYER_LEVELS WHERE UUID = ?;")) {
-                pss.setString(1, player.toString());
-                try (ResultSet rs = pss.executeQuery()) {
-                    if (!rs.next()) {
-                        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO PLAYER_LEVELS (UUID, LEVEL, XP, NAME, NEXT_COST) VALUES (?, ?, ?, ?, ?);")) {
-                            //ps.setInt(1, 0);
-                            ps.setString(1, player.toString());
-                            ps.setInt(2, level);
-                            ps.setInt(3, xp);
-                            ps.setString(4, displayName);
-                            ps.setInt(5, nextCost);
-                            ps.executeUpdate();
-                        }
-                    } else {
-                        try (PreparedStatement ps = displayName == null ? connection.prepareStatement("UPDATE PLAYER_LEVELS SET LEVEL=?, XP=? WHERE UUID = '" + player.toString() + "';") : connection.prepareStatement("UPDATE PLAYER_LEVELS SET LEVEL=?, XP=?, NAME=?, NEXT_COST=? WHERE UUID = '" + player.toString() + "';")) {
-                            ps.setInt(1, level);
-                            ps.setInt(2, xp);
-                            if (displayName != null) {
-                                ps.setString(3, displayName);
-                                ps.setInt(4, nextCost);
-                            }
-                            ps.executeUpdate();
-                        }
-                    }
+        writes.submit(player, connection -> {
+            try (PreparedStatement ps = displayName == null ? connection.prepareStatement("UPDATE PLAYER_LEVELS SET LEVEL=?, XP=? WHERE UUID = ?;") : connection.prepareStatement("UPDATE PLAYER_LEVELS SET LEVEL=?, XP=?, NAME=?, NEXT_COST=? WHERE UUID = ?;")) {
+                ps.setInt(1, level);
+                ps.setInt(2, xp);
+                if (displayName != null) {
+                    ps.setString(3, displayName);
+                    ps.setInt(4, nextCost);
                 }
+                ps.setString(displayName == null ? 3 : 5, player.toString());
+                if (ps.executeUpdate() > 0) return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            try (PreparedStatement ps = connection.prepareStatement("INSERT INTO PLAYER_LEVELS (UUID, LEVEL, XP, NAME, NEXT_COST) VALUES (?, ?, ?, ?, ?);")) {
+                ps.setString(1, player.toString());
+                ps.setInt(2, level);
+                ps.setInt(3, xp);
+                ps.setString(4, displayName);
+                ps.setInt(5, nextCost);
+                ps.executeUpdate();
+            }
+        });
     }
 
     @Override
     public void setLanguage(UUID player, String iso) {
-        try {
-            checkConnection();
-
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rs = statement.executeQuery("SELECT iso FROM PLAYER_LANGUAGE WHERE UUID = '" + player.toString() + "';")) {
-                    if (rs.next()) {
-                        try (Statement st = connection.createStatement()) {
-                            st.executeUpdate("UPDATE PLAYER_LANGUAGE SET iso='" + iso + "' WHERE UUID = '" + player.toString() + "';");
-                        }
-                    } else {
-                        try (PreparedStatement st = connection.prepareStatement("INSERT INTO PLAYER_LANGUAGE (UUID, iso) VALUES (?, ?);")) {
-                            st.setString(1, player.toString());
-                            st.setString(2, iso);
-                            st.execute();
-                        }
-                    }
-                }
+        writes.submit(player, connection -> {
+            try (PreparedStatement st = connection.prepareStatement("UPDATE PLAYER_LANGUAGE SET iso=? WHERE UUID = ?;")) {
+                st.setString(1, iso);
+                st.setString(2, player.toString());
+                if (st.executeUpdate() > 0) return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            try (PreparedStatement st = connection.prepareStatement("INSERT INTO PLAYER_LANGUAGE (UUID, iso) VALUES (?, ?);")) {
+                st.setString(1, player.toString());
+                st.setString(2, iso);
+                st.execute();
+            }
+        });
     }
 
     @Override
     public String getLanguage(UUID player) {
         String iso = Language.getDefaultLanguage().getIso();
-        try {
-            checkConnection();
-
+        writes.awaitPending(player);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement("SELECT iso FROM PLAYER_LANGUAGE WHERE UUID = ?;")) {
                 ps.setString(1, player.toString());
                 try (ResultSet rs = ps.executeQuery()) {
@@ -421,53 +387,55 @@ public class H2 implements IDatabase {
     @Override
     public void pushQuickBuyChanges(HashMap<Integer, String> updateSlots, UUID uuid, List<IQuickBuyElement> elements) {
         if (updateSlots.isEmpty()) return;
-        boolean hasQuick;
-        if (!(hasQuick = hasQuickBuy(uuid))) {
-            for (IQuickBuyElement element : elements) {
-                if (!updateSlots.containsKey(element.getSlot())) {
-                    updateSlots.put(element.getSlot(), element.getCategoryContent().getIdentifier());
-                }
-            }
-        }
-        StringBuilder columns = new StringBuilder();
-        StringBuilder values = new StringBuilder();
-        int i = 0;
-        if (hasQuick) {
-            for (Map.Entry<Integer, String> entry : updateSlots.entrySet()) {
+        // copied, the cache keeps changing them while the write is queued
+        HashMap<Integer, String> slots = new HashMap<>(updateSlots);
+        List<IQuickBuyElement> quickBuy = new ArrayList<>(elements);
+        writes.submit(uuid, connection -> {
+            StringBuilder columns = new StringBuilder();
+            int i = 0;
+            for (Map.Entry<Integer, String> entry : slots.entrySet()) {
                 i++;
                 columns.append("SLOT_").append(entry.getKey()).append("=?");
-                if (i != updateSlots.size()) {
+                if (i != slots.size()) {
                     columns.append(", ");
                 }
             }
-        } else {
-            for (Map.Entry<Integer, String> entry : updateSlots.entrySet()) {
+            try (PreparedStatement ps = connection.prepareStatement("UPDATE QUICK_BUY SET " + columns + " WHERE UUID=?;")) {
+                int index = 0;
+                for (String identifier : slots.values()) {
+                    ps.setString(++index, identifier.trim().isEmpty() ? null : identifier);
+                }
+                ps.setString(slots.size() + 1, uuid.toString());
+                if (ps.executeUpdate() > 0) return;
+            }
+
+            // first save, store the default layout too
+            for (IQuickBuyElement element : quickBuy) {
+                if (!slots.containsKey(element.getSlot())) {
+                    slots.put(element.getSlot(), element.getCategoryContent().getIdentifier());
+                }
+            }
+            columns.setLength(0);
+            StringBuilder values = new StringBuilder();
+            i = 0;
+            for (Map.Entry<Integer, String> entry : slots.entrySet()) {
                 i++;
                 columns.append("SLOT_").append(entry.getKey());
                 values.append("?");
-                if (i != updateSlots.size()) {
+                if (i != slots.size()) {
                     columns.append(", ");
                     values.append(", ");
                 }
             }
-        }
-        String sql = hasQuick ? "UPDATE QUICK_BUY SET " + columns + " WHERE UUID=?;" : "INSERT INTO QUICK_BUY (UUID," + columns + ") VALUES (?," + values + ");";
-        try {
-            checkConnection();
-
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                int index = hasQuick ? 0 : 1;
-                for (int key : updateSlots.keySet()) {
-                    index++;
-                    String identifier = updateSlots.get(key);
-                    ps.setString(index, identifier.trim().isEmpty() ? null : identifier);
+            try (PreparedStatement ps = connection.prepareStatement("INSERT INTO QUICK_BUY (UUID," + columns + ") VALUES (?," + values + ");")) {
+                ps.setString(1, uuid.toString());
+                int index = 1;
+                for (String identifier : slots.values()) {
+                    ps.setString(++index, identifier.trim().isEmpty() ? null : identifier);
                 }
-                ps.setString(hasQuick ? updateSlots.size()+1 : 1, uuid.toString());
                 ps.execute();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        });
     }
 
     @Override
@@ -476,9 +444,8 @@ public class H2 implements IDatabase {
         if (slot.length == 0) {
             return results;
         }
-        try {
-            checkConnection();
-
+        writes.awaitPending(uuid);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM QUICK_BUY WHERE UUID = ?;")) {
                 ps.setString(1, uuid.toString());
                 try (ResultSet rs = ps.executeQuery()) {
@@ -498,17 +465,42 @@ public class H2 implements IDatabase {
         return results;
     }
 
-    private void checkConnection() throws SQLException {
-        boolean renew = false;
+    @Override
+    public List<ILeaderboardEntry> getLeaderboard(LeaderboardStat stat, int limit) {
+        try (Connection connection = reads.getConnection()) {
+            return LeaderboardQuery.fetch(connection, stat, limit);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Collections.emptyList();
+    }
+
+    private Connection openWriter() throws SQLException {
+        return DriverManager.getConnection(url);
+    }
+
+    private void openReadPool() {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setDriverClassName("com.tomkeuper.bedwars.libs.h2.Driver");
+        hikariConfig.setPoolName("BedWars2023H2ReadPool");
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(READ_POOL_SIZE);
+        reads = new HikariDataSource(hikariConfig);
+    }
 
-        if (this.connection == null)
-            renew = true;
-        else
-        if (this.connection.isClosed())
-            renew = true;
+    /**
+     * Get the queue committing this database's writes.
+     */
+    public WriteQueue getWriteQueue() {
+        return writes;
+    }
 
-        if (renew)
-            this.connection = DriverManager.getConnection(url);
+    /**
+     * Commit the queued writes and close the connections.
+     */
+    public void close() {
+        writes.shutdown();
+        if (reads != null) reads.close();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.database;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
+import com.tomkeuper.bedwars.stats.LeaderboardEntry;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Leaderboard queries shared by the database implementations.
+ * Every statistic is read with one ordered query over an indexed column.
+ */
+class LeaderboardQuery {
+
+    private LeaderboardQuery() {
+    }
+
+    // error code of MySQL when an index with the same name exists
+    private static final int MYSQL_DUPLICATE_KEY_NAME = 1061;
+
+    /**
+     * Create the indexes used by the leaderboard queries.
+     * Columns already leading an existing index, like a key added by the server owner, are not indexed again.
+     *
+     * @param ifNotExists false for databases without CREATE INDEX IF NOT EXISTS.
+     */
+    static void createIndexes(Connection connection, boolean ifNotExists) {
+        String[][] indexes = {
+                {"idx_global_stats_uuid", "global_stats", "uuid"},
+                {"idx_global_stats_wins", "global_stats", "wins"},
+                {"idx_global_stats_kills", "global_stats", "kills"},
+                {"idx_global_stats_final_kills", "global_stats", "final_kills"},
+                {"idx_global_stats_beds_destroyed", "global_stats", "beds_destroyed"},
+                {"idx_player_levels_uuid", "player_levels", "uuid"},
+                {"idx_player_levels_level", "player_levels", "level, xp"},
+        };
+        for (String[] index : indexes) {
+            try {
+                if (isIndexed(connection, index[1], index[2].split(", "))) continue;
+            } catch (SQLException e) {
+                BedWars.plugin.getLogger().log(Level.WARNING, "Could not read the indexes of " + index[1] + ", creating " + index[0], e);
+            }
+            String sql = "CREATE INDEX " + (ifNotExists ? "IF NOT EXISTS " : "") + index[0] + " ON " + index[1] + " (" + index[2] + ");";
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(sql);
+            } catch (SQLException e) {
+                if (e.getErrorCode() == MYSQL_DUPLICATE_KEY_NAME) continue;
+                BedWars.plugin.getLogger().log(Level.WARNING, "Could not create index " + index[0] + " on " + index[1] + ", leaderboards will be slower", e);
+            }
+        }
+    }
+
+    /**
+     * Check if an index of the table starts with the given columns.
+     */
+    private static boolean isIndexed(Connection connection, String table, String... columns) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+        // H2 keeps unquoted names in upper case
+        String name = meta.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+        Map<String, List<String>> existing = new HashMap<>();
+        try (ResultSet result = meta.getIndexInfo(connection.getCatalog(), null, name, false, true)) {
+            while (result.next()) {
+                String index = result.getString("INDEX_NAME");
+                String column = result.getString("COLUMN_NAME");
+                int position = result.getShort("ORDINAL_POSITION");
+                if (index == null || column == null || position < 1) continue;
+                List<String> indexColumns = existing.computeIfAbsent(index, k -> new ArrayList<>());
+                while (indexColumns.size() < position) {
+                    indexColumns.add(null);
+                }
+                indexColumns.set(position - 1, column);
+            }
+        }
+        for (List<String> indexColumns : existing.values()) {
+            if (indexColumns.size() < columns.length) continue;
+            boolean leading = true;
+            for (int i = 0; i < columns.length && leading; i++) {
+                leading = columns[i].equalsIgnoreCase(indexColumns.get(i));
+            }
+            if (leading) return true;
+        }
+        return false;
+    }
+
+    static List<ILeaderboardEntry> fetch(Connection connection, LeaderboardStat stat, int limit) throws SQLException {
+        String sql;
+        if (stat == LeaderboardStat.LEVEL) {
+            sql = "SELECT l.uuid, s.name, l.level FROM player_levels l LEFT JOIN global_stats s ON s.uuid = l.uuid " +
+                    "ORDER BY l.level DESC, l.xp DESC LIMIT ?;";
+        } else {
+            String column = column(stat);
+            sql = "SELECT uuid, name, " + column + " FROM global_stats WHERE " + column + " > 0 ORDER BY " + column + " DESC LIMIT ?;";
+        }
+        List<ILeaderboardEntry> entries = new ArrayList<>(limit);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, limit);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    String uuid = result.getString(1);
+                    if (uuid == null) continue;
+                    try {
+                        entries.add(new LeaderboardEntry(UUID.fromString(uuid), result.getString(2), result.getInt(3)));
+                    } catch (IllegalArgumentException ignored) {
+                        // corrupted row
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static String column(LeaderboardStat stat) {
+        switch (stat) {
+            case WINS:
+                return "wins";
+            case KILLS:
+                return "kills";
+            case FINAL_KILLS:
+                return "final_kills";
+            case BEDS_DESTROYED:
+                return "beds_destroyed";
+            default:
+                throw new IllegalArgumentException("No global_stats column for " + stat);
+        }
+    }
+}
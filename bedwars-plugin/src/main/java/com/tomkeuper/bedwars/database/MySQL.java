@@ -24,12 +24,15 @@ import com.tomkeuper.bedwars.api.configuration.ConfigPath;
 import com.tomkeuper.bedwars.api.database.IDatabase;
 import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.shop.IQuickBuyElement;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
 import com.tomkeuper.bedwars.api.stats.IPlayerStats;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
 import com.tomkeuper.bedwars.stats.PlayerStats;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
 import java.sql.*;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -162,6 +165,7 @@ public class MySQL implements IDatabase {
             try (Statement statement = connection.createStatement()) {
                 statement.executeUpdate(sql);
             }
+            LeaderboardQuery.createIndexes(connection, false);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -548,4 +552,13 @@ public class MySQL implements IDatabase {
         }
     }
 
+    @Override
+    public List<ILeaderboardEntry> getLeaderboard(LeaderboardStat stat, int limit) {
+        try (Connection connection = dataSource.getConnection()) {
+            return LeaderboardQuery.fetch(connection, stat, limit);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Collections.emptyList();
+    }
 }
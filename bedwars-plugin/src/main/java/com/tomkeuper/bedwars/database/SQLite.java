@@ -24,12 +24,18 @@ import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.database.IDatabase;
 import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.shop.IQuickBuyElement;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
 import com.tomkeuper.bedwars.api.stats.IPlayerStats;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
 import com.tomkeuper.bedwars.stats.PlayerStats;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 
 import java.io.File;
 import java.io.IOException;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +45,10 @@ public class SQLite implements IDatabase {
 
     private String url;
 
-    private Connection connection;
+    private static final int READ_POOL_SIZE = 4;
+
+    private final WriteQueue writes = new WriteQueue("SQLite", this::openWriter);
+    private HikariDataSource reads;
 
     public SQLite() {
         File folder = new File(BedWars.plugin.getDataFolder() + "/Cache");
@@ -79,9 +88,7 @@ public class SQLite implements IDatabase {
     @Override
     public void init() {
         String sql;
-        try {
-            checkConnection();
-
+        try (Connection connection = openWriter()) {
             sql = "CREATE TABLE IF NOT EXISTS global_stats (id INTEGER PRIMARY KEY AUTOINCREMENT, " +
                     "name VARCHAR(200), uuid VARCHAR(36), first_play TIMESTAMP NULL DEFAULT NULL, " +
                     "last_play TIMESTAMP DEFAULT NULL, wins INTEGER(10), kills INTEGER(10), " +
@@ -106,17 +113,18 @@ public class SQLite implements IDatabase {
                         "iso VARCHAR(200));";
                 st.executeUpdate(sql);
             }
+            LeaderboardQuery.createIndexes(connection, true);
         }catch (SQLException e) {
             e.printStackTrace();
         }
+        openReadPool();
     }
 
     @Override
     public boolean hasStats(UUID uuid) {
         String sql = "SELECT uuid FROM global_stats WHERE uuid = ?;";
-        try {
-            checkConnection();
-
+        writes.awaitPending(uuid);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, uuid.toString());
                 try (ResultSet result = statement.executeQuery()) {
@@ -131,56 +139,49 @@ public class SQLite implements IDatabase {
 
     @Override
     public void saveStats(IPlayerStats stats) {
-        String sql;
-        try {
-            checkConnection();
-
-            if (hasStats(stats.getUuid())) {
-                sql = "UPDATE global_stats SET last_play=?, wins=?, kills=?, final_kills=?, looses=?, deaths=?, final_deaths=?, beds_destroyed=?, games_played=?, name=? WHERE uuid = ?;";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setTimestamp(1, Timestamp.from(stats.getLastPlay()));
-                    statement.setInt(2, stats.getWins());
-                    statement.setInt(3, stats.getKills());
-                    statement.setInt(4, stats.getFinalKills());
-                    statement.setInt(5, stats.getLosses());
-                    statement.setInt(6, stats.getDeaths());
-                    statement.setInt(7, stats.getFinalDeaths());
-                    statement.setInt(8, stats.getBedsDestroyed());
-                    statement.setInt(9, stats.getGamesPlayed());
-                    statement.setString(10, stats.getName());
-                    statement.setString(11, stats.getUuid().toString());
-                    statement.executeUpdate();
-                }
-            } else {
-                sql = "INSERT INTO global_stats (name, uuid, first_play, last_play, wins, kills, final_kills, looses, deaths, final_deaths, beds_destroyed, games_played) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setString(1, stats.getName());
-                    statement.setString(2, stats.getUuid().toString());
-                    statement.setTimestamp(3, Timestamp.from(stats.getFirstPlay()));
-                    statement.setTimestamp(4, Timestamp.from(stats.getLastPlay()));
-                    statement.setInt(5, stats.getWins());
-                    statement.setInt(6, stats.getKills());
-                    statement.setInt(7, stats.getFinalKills());
-                    statement.setInt(8, stats.getLosses());
-                    statement.setInt(9, stats.getDeaths());
-                    statement.setInt(10, stats.getFinalDeaths());
-                    statement.setInt(11, stats.getBedsDestroyed());
-                    statement.setInt(12, stats.getGamesPlayed());
-                    statement.executeUpdate();
-                }
+        // copied now, the stats keep changing while the write is queued
+        IPlayerStats values = PlayerStats.copyOf(stats);
+        writes.submit(values.getUuid(), connection -> {
+            String sql = "UPDATE global_stats SET last_play=?, wins=?, kills=?, final_kills=?, looses=?, deaths=?, final_deaths=?, beds_destroyed=?, games_played=?, name=? WHERE uuid = ?;";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setTimestamp(1, Timestamp.from(values.getLastPlay()));
+                statement.setInt(2, values.getWins());
+                statement.setInt(3, values.getKills());
+                statement.setInt(4, values.getFinalKills());
+                statement.setInt(5, values.getLosses());
+                statement.setInt(6, values.getDeaths());
+                statement.setInt(7, values.getFinalDeaths());
+                statement.setInt(8, values.getBedsDestroyed());
+                statement.setInt(9, values.getGamesPlayed());
+                statement.setString(10, values.getName());
+                statement.setString(11, values.getUuid().toString());
+                if (statement.executeUpdate() > 0) return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            sql = "INSERT INTO global_stats (name, uuid, first_play, last_play, wins, kills, final_kills, looses, deaths, final_deaths, beds_destroyed, games_played) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, values.getName());
+                statement.setString(2, values.getUuid().toString());
+                statement.setTimestamp(3, Timestamp.from(values.getFirstPlay()));
+                statement.setTimestamp(4, Timestamp.from(values.getLastPlay()));
+                statement.setInt(5, values.getWins());
+                statement.setInt(6, values.getKills());
+                statement.setInt(7, values.getFinalKills());
+                statement.setInt(8, values.getLosses());
+                statement.setInt(9, values.getDeaths());
+                statement.setInt(10, values.getFinalDeaths());
+                statement.setInt(11, values.getBedsDestroyed());
+                statement.setInt(12, values.getGamesPlayed());
+                statement.executeUpdate();
+            }
+        });
     }
 
     @Override
     public IPlayerStats fetchStats(UUID uuid) {
         IPlayerStats stats = new PlayerStats(uuid);
         String sql = "SELECT * FROM global_stats WHERE uuid = ?;";
-        try {
-            checkConnection();
-
+        writes.awaitPending(uuid);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, uuid.toString());
                 try (ResultSet result = statement.executeQuery()) {
@@ -206,64 +207,56 @@ public class SQLite implements IDatabase {
 
     @Override
     public void saveCustomStat(String columnName, UUID player, Object value, String dataType) {
-        String sql;
-        checkCustomColumnExists(columnName, dataType);
-        try {
-            checkConnection();
-
-            if (hasStats(player)) {
-                sql = "UPDATE global_stats SET "+columnName+"=? WHERE uuid = ?;";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setObject(1, value);
-                    statement.setString(2, player.toString());
-                    statement.executeUpdate();
-                }
-            } else {
-                sql = "INSERT INTO global_stats (uuid, "+columnName+") VALUES (?, ?);";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setString(1, player.toString());
-                    statement.setObject(2, value);
-                    statement.executeUpdate();
-                }
+        writes.submit(player, connection -> {
+            checkCustomColumnExists(connection, columnName, dataType);
+            String sql = "UPDATE global_stats SET "+columnName+"=? WHERE uuid = ?;";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setObject(1, value);
+                statement.setString(2, player.toString());
+                if (statement.executeUpdate() > 0) return;
+            }
+            sql = "INSERT INTO global_stats (uuid, "+columnName+") VALUES (?, ?);";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, player.toString());
+                statement.setObject(2, value);
+                statement.executeUpdate();
             }
+        });
+    }
+
+    public void checkCustomColumnExists(String columnName, String dataType){
+        try (Connection connection = reads.getConnection()) {
+            checkCustomColumnExists(connection, columnName, dataType);
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
-    public void checkCustomColumnExists(String columnName, String dataType){
+    private void checkCustomColumnExists(Connection connection, String columnName, String dataType) throws SQLException {
         String sql = "PRAGMA table_info(global_stats)";
-        try {
-            checkConnection();
-
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                ResultSet resultSet = statement.executeQuery();
-                boolean columnExists = false;
-                while (resultSet.next()) {
-                    String existingColumnName = resultSet.getString("name");
-                    if (existingColumnName.equalsIgnoreCase(columnName)) {
-                        columnExists = true;
-                        break;
-                    }
+        try (PreparedStatement statement = connection.prepareStatement(sql); ResultSet resultSet = statement.executeQuery()) {
+            boolean columnExists = false;
+            while (resultSet.next()) {
+                String existingColumnName = resultSet.getString("name");
+                if (existingColumnName.equalsIgnoreCase(columnName)) {
+                    columnExists = true;
+                    break;
                 }
-                if (!columnExists){
-                    sql = "ALTER TABLE global_stats ADD COLUMN " +columnName+ " " + dataType;
-                    try (PreparedStatement statement1 = connection.prepareStatement(sql)) {
-                        statement1.executeUpdate();
-                    }
+            }
+            if (!columnExists){
+                sql = "ALTER TABLE global_stats ADD COLUMN " +columnName+ " " + dataType;
+                try (PreparedStatement statement1 = connection.prepareStatement(sql)) {
+                    statement1.executeUpdate();
                 }
             }
-        }catch (SQLException e) {
-            e.printStackTrace();
         }
     }
 
     @Override
     public Object getCustomStat(String columnName, UUID player) {
         String sql = "SELECT "+columnName+" FROM global_stats WHERE uuid = ?;";
-        try {
-            checkConnection();
-
+        writes.awaitPending(player);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, player.toString());
                 try (ResultSet result = statement.executeQuery()) {
@@ -281,9 +274,8 @@ public class SQLite implements IDatabase {
     @Override
     public String getQuickBuySlots(UUID p, int slot) {
         String result = "";
-        try {
-            checkConnection();
-
+        writes.awaitPending(p);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement("SELECT slot_" + slot + " FROM quick_buy_2 WHERE uuid = ?;")) {
                 ps.setString(1, p.toString());
                 try (ResultSet rs = ps.executeQuery()) {
@@ -300,9 +292,8 @@ public class SQLite implements IDatabase {
 
     @Override
     public boolean hasQuickBuy(UUID uuid) {
-        try {
-            checkConnection();
-
+        writes.awaitPending(uuid);
+        try (Connection connection = reads.getConnection()) {
             try (Statement statement = connection.createStatement()) {
                 try (ResultSet rs = statement.executeQuery("SELECT uuid FROM quick_buy_2 WHERE uuid = '" + uuid.toString() + "';")) {
                     if (rs.next()) {
@@ -321,9 +312,8 @@ public class SQLite implements IDatabase {
     @Override
     public int getColumn(UUID player, String column) {
         String sql = "SELECT ? FROM global_stats WHERE uuid = ?;";
-        try {
-            checkConnection();
-
+        writes.awaitPending(player);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, column);
                 statement.setString(2, player.toString());
@@ -344,9 +334,8 @@ public class SQLite implements IDatabase {
     @Override
     public Object[] getLevelData(UUID player) {
         Object[] r = new Object[]{1, 0, "", 0};
-        try {
-            checkConnection();
-
+        writes.awaitPending(player);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement("SELECT level, xp, name, next_cost FROM player_levels WHERE uuid = ?;")) {
                 ps.setString(1, player.toString());
                 try (ResultSet rs = ps.executeQuery()) {
@@ -366,71 +355,49 @@ public class SQLite implements IDatabase {
 
     @Override
     public void setLevelData(UUID player, int level, int xp, String displayName, int nextCost) {
-        try {
-            checkConnection();
-
-            try (PreparedStatement pss = connection.prepareStatement("SELECT uuid from player_levels WHERE uuid = ?;")) {
-                pss.setString(1, player.toString());
-                try (ResultSet rs = pss.executeQuery()) {
-                    if (!rs.next()) {
-                        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO player_levels (uuid, level, xp, name, next_cost) VALUES (?, ?, ?, ?, ?);")) {
-                            //ps.setInt(1, 0);
-                            ps.setString(1, player.toString());
-                            ps.setInt(2, level);
-                            ps.setInt(3, xp);
-                            ps.setString(4, displayName);
-                            ps.setInt(5, nextCost);
-                            ps.executeUpdate();
-                        }
-                    } else {
-                        try (PreparedStatement ps = displayName == null ? connection.prepareStatement("UPDATE player_levels SET level=?, xp=? WHERE uuid = '" + player.toString() + "';") : connection.prepareStatement("UPDATE player_levels SET level=?, xp=?, name=?, next_cost=? WHERE uuid = '" + player.toString() + "';")) {
-                            ps.setInt(1, level);
-                            ps.setInt(2, xp);
-                            if (displayName != null) {
-                                ps.setString(3, displayName);
-                                ps.setInt(4, nextCost);
-                            }
-                            ps.executeUpdate();
-                        }
-                    }
+        writes.submit(player, connection -> {
+            try (PreparedStatement ps = displayName == null ? connection.prepareStatement("UPDATE player_levels SET level=?, xp=? WHERE uuid = ?;") : connection.prepareStatement("UPDATE player_levels SET level=?, xp=?, name=?, next_cost=? WHERE uuid = ?;")) {
+                ps.setInt(1, level);
+                ps.setInt(2, xp);
+                if (displayName != null) {
+                    ps.setString(3, displayName);
+                    ps.setInt(4, nextCost);
                 }
+                ps.setString(displayName == null ? 3 : 5, player.toString());
+                if (ps.executeUpdate() > 0) return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            try (PreparedStatement ps = connection.prepareStatement("INSERT INTO player_levels (uuid, level, xp, name, next_cost) VALUES (?, ?, ?, ?, ?);")) {
+                ps.setString(1, player.toString());
+                ps.setInt(2, level);
+                ps.setInt(3, xp);
+                ps.setString(4, displayName);
+                ps.setInt(5, nextCost);
+                ps.executeUpdate();
+            }
+        });
     }
 
     @Override
     public void setLanguage(UUID player, String iso) {
-        try {
-            checkConnection();
-
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rs = statement.executeQuery("SELECT iso FROM player_language WHERE uuid = '" + player.toString() + "';")) {
-                    if (rs.next()) {
-                        try (Statement st = connection.createStatement()) {
-                            st.executeUpdate("UPDATE player_language SET iso='" + iso + "' WHERE uuid = '" + player.toString() + "';");
-                        }
-                    } else {
-                        try (PreparedStatement st = connection.prepareStatement("INSERT INTO player_language (uuid, iso) VALUES (?, ?);")) {
-                            st.setString(1, player.toString());
-                            st.setString(2, iso);
-                            st.execute();
-                        }
-                    }
-                }
+        writes.submit(player, connection -> {
+            try (PreparedStatement st = connection.prepareStatement("UPDATE player_language SET iso=? WHERE uuid = ?;")) {
+                st.setString(1, iso);
+                st.setString(2, player.toString());
+                if (st.executeUpdate() > 0) return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            try (PreparedStatement st = connection.prepareStatement("INSERT INTO player_language (uuid, iso) VALUES (?, ?);")) {
+                st.setString(1, player.toString());
+                st.setString(2, iso);
+                st.execute();
+            }
+        });
     }
 
     @Override
     public String getLanguage(UUID player) {
         String iso = Language.getDefaultLanguage().getIso();
-        try {
-            checkConnection();
-
+        writes.awaitPending(player);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement("SELECT iso FROM player_language WHERE uuid = ?;")) {
                 ps.setString(1, player.toString());
                 try (ResultSet rs = ps.executeQuery()) {
@@ -448,53 +415,55 @@ public class SQLite implements IDatabase {
     @Override
     public void pushQuickBuyChanges(HashMap<Integer, String> updateSlots, UUID uuid, List<IQuickBuyElement> elements) {
         if (updateSlots.isEmpty()) return;
-        boolean hasQuick;
-        if (!(hasQuick = hasQuickBuy(uuid))) {
-            for (IQuickBuyElement element : elements) {
-                if (!updateSlots.containsKey(element.getSlot())) {
-                    updateSlots.put(element.getSlot(), element.getCategoryContent().getIdentifier());
-                }
-            }
-        }
-        StringBuilder columns = new StringBuilder();
-        StringBuilder values = new StringBuilder();
-        int i = 0;
-        if (hasQuick) {
-            for (Map.Entry<Integer, String> entry : updateSlots.entrySet()) {
+        // copied, the cache keeps changing them while the write is queued
+        HashMap<Integer, String> slots = new HashMap<>(updateSlots);
+        List<IQuickBuyElement> quickBuy = new ArrayList<>(elements);
+        writes.submit(uuid, connection -> {
+            StringBuilder columns = new StringBuilder();
+            int i = 0;
+            for (Map.Entry<Integer, String> entry : slots.entrySet()) {
                 i++;
                 columns.append("slot_").append(entry.getKey()).append("=?");
-                if (i != updateSlots.size()) {
+                if (i != slots.size()) {
                     columns.append(", ");
                 }
             }
-        } else {
-            for (Map.Entry<Integer, String> entry : updateSlots.entrySet()) {
+            try (PreparedStatement ps = connection.prepareStatement("UPDATE quick_buy_2 SET " + columns + " WHERE uuid=?;")) {
+                int index = 0;
+                for (String identifier : slots.values()) {
+                    ps.setString(++index, identifier.trim().isEmpty() ? null : identifier);
+                }
+                ps.setString(slots.size() + 1, uuid.toString());
+                if (ps.executeUpdate() > 0) return;
+            }
+
+            // first save, store the default layout too
+            for (IQuickBuyElement element : quickBuy) {
+                if (!slots.containsKey(element.getSlot())) {
+                    slots.put(element.getSlot(), element.getCategoryContent().getIdentifier());
+                }
+            }
+            columns.setLength(0);
+            StringBuilder values = new StringBuilder();
+            i = 0;
+            for (Map.Entry<Integer, String> entry : slots.entrySet()) {
                 i++;
                 columns.append("slot_").append(entry.getKey());
                 values.append("?");
-                if (i != updateSlots.size()) {
+                if (i != slots.size()) {
                     columns.append(", ");
                     values.append(", ");
                 }
             }
-        }
-        String sql = hasQuick ? "UPDATE quick_buy_2 SET " + columns + " WHERE uuid=?;" : "INSERT INTO quick_buy_2 (uuid," + columns + ") VALUES (?," + values + ");";
-        try {
-            checkConnection();
-
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                int index = hasQuick ? 0 : 1;
-                for (int key : updateSlots.keySet()) {
-                    index++;
-                    String identifier = updateSlots.get(key);
-                    ps.setString(index, identifier.trim().isEmpty() ? null : identifier);
+            try (PreparedStatement ps = connection.prepareStatement("INSERT INTO quick_buy_2 (uuid," + columns + ") VALUES (?," + values + ");")) {
+                ps.setString(1, uuid.toString());
+                int index = 1;
+                for (String identifier : slots.values()) {
+                    ps.setString(++index, identifier.trim().isEmpty() ? null : identifier);
                 }
-                ps.setString(hasQuick ? updateSlots.size()+1 : 1, uuid.toString());
                 ps.execute();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        });
     }
 
     @Override
@@ -503,9 +472,8 @@ public class SQLite implements IDatabase {
         if (slot.length == 0) {
             return results;
         }
-        try {
-            checkConnection();
-
+        writes.awaitPending(uuid);
+        try (Connection connection = reads.getConnection()) {
             try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM quick_buy_2 WHERE uuid = ?;")) {
                 ps.setString(1, uuid.toString());
                 try (ResultSet rs = ps.executeQuery()) {
@@ -525,17 +493,50 @@ public class SQLite implements IDatabase {
         return results;
     }
 
-    private void checkConnection() throws SQLException {
-        boolean renew = false;
+    @Override
+    public List<ILeaderboardEntry> getLeaderboard(LeaderboardStat stat, int limit) {
+        try (Connection connection = reads.getConnection()) {
+            return LeaderboardQuery.fetch(connection, stat, limit);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Collections.emptyList();
+    }
+
+    private Connection openWriter() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            // write ahead log, readers are not blocked while the writer commits
+            statement.execute("PRAGMA journal_mode=WAL;");
+            statement.execute("PRAGMA synchronous=NORMAL;");
+            statement.execute("PRAGMA busy_timeout=5000;");
+        }
+        return connection;
+    }
+
+    private void openReadPool() {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setDriverClassName("org.sqlite.JDBC");
+        hikariConfig.setPoolName("BedWars2023SQLiteReadPool");
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(READ_POOL_SIZE);
+        hikariConfig.setConnectionInitSql("PRAGMA busy_timeout=5000;");
+        reads = new HikariDataSource(hikariConfig);
+    }
 
-        if (this.connection == null)
-            renew = true;
-        else
-            if (this.connection.isClosed())
-                renew = true;
+    /**
+     * Get the queue committing this database's writes.
+     */
+    public WriteQueue getWriteQueue() {
+        return writes;
+    }
 
-        if (renew)
-            this.connection = DriverManager.getConnection(url);
+    /**
+     * Commit the queued writes and close the connections.
+     */
+    public void close() {
+        writes.shutdown();
+        if (reads != null) reads.close();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.database;
+
+import com.tomkeuper.bedwars.api.database.IDatabase;
+import com.tomkeuper.bedwars.api.shop.IQuickBuyElement;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
+import com.tomkeuper.bedwars.api.stats.IPlayerStats;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
+import com.tomkeuper.bedwars.profiler.Profiler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records every call to the wrapped database in the {@link Profiler}.
+ */
+public class TimedDatabase implements IDatabase {
+
+    private final IDatabase handle;
+
+    public TimedDatabase(IDatabase handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Wrap a database unless it is already wrapped.
+     */
+    public static IDatabase wrap(IDatabase database) {
+        if (database == null || database instanceof TimedDatabase) return database;
+        return new TimedDatabase(database);
+    }
+
+    /**
+     * Get the database behind a possibly wrapped one.
+     */
+    public static IDatabase unwrap(IDatabase database) {
+        return database instanceof TimedDatabase ? ((TimedDatabase) database).getHandle() : database;
+    }
+
+    /**
+     * Get the write queue of the file based databases.
+     *
+     * @return null for other databases.
+     */
+    public static WriteQueue getWriteQueue(IDatabase database) {
+        IDatabase handle = unwrap(database);
+        if (handle instanceof SQLite) return ((SQLite) handle).getWriteQueue();
+        if (handle instanceof H2) return ((H2) handle).getWriteQueue();
+        return null;
+    }
+
+    /**
+     * @return the wrapped database.
+     */
+    public IDatabase getHandle() {
+        return handle;
+    }
+
+    @Override
+    public void init() {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            handle.init();
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public boolean hasStats(UUID uuid) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.hasStats(uuid);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public void saveStats(IPlayerStats stats) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            handle.saveStats(stats);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public IPlayerStats fetchStats(UUID uuid) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.fetchStats(uuid);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public void saveCustomStat(String columnName, UUID player, Object value, String dataType) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            handle.saveCustomStat(columnName, player, value, dataType);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public Object getCustomStat(String columnName, UUID player) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.getCustomStat(columnName, player);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public String getQuickBuySlots(UUID uuid, int slot) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.getQuickBuySlots(uuid, slot);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public HashMap<Integer, String> getQuickBuySlots(UUID uuid, int[] slots) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.getQuickBuySlots(uuid, slots);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public boolean hasQuickBuy(UUID player) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.hasQuickBuy(player);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public int getColumn(UUID player, String column) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.getColumn(player, column);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public Object[] getLevelData(UUID player) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.getLevelData(player);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public void setLevelData(UUID player, int level, int xp, String displayName, int nextCost) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            handle.setLevelData(player, level, xp, displayName, nextCost);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public void setLanguage(UUID player, String iso) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            handle.setLanguage(player, iso);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public String getLanguage(UUID player) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.getLanguage(player);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public void pushQuickBuyChanges(HashMap<Integer, String> updateSlots, UUID uuid, List<IQuickBuyElement> elementList) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            handle.pushQuickBuyChanges(updateSlots, uuid, elementList);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+
+    @Override
+    public List<ILeaderboardEntry> getLeaderboard(LeaderboardStat stat, int limit) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            return handle.getLeaderboard(stat, limit);
+        } finally {
+            Profiler.stop(sample, Profiler.DATABASE, null);
+        }
+    }
+}
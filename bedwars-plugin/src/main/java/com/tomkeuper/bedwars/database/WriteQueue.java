@@ -0,0 +1,273 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.database;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.profiler.Profiler;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Single writer for the file based databases.
+ * Writes are queued from any thread and committed by one thread in transactions
+ * of up to {@link #BATCH_SIZE} writes or {@link #FLUSH_MILLIS} ms, so callers never contend on the file lock.
+ * Reads for a player wait for that player's queued writes with {@link #awaitPending(UUID)}.
+ */
+public class WriteQueue {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long FLUSH_MILLIS = 50;
+    private static final long AWAIT_SECONDS = 10;
+
+    /**
+     * A write executed on the writer connection.
+     */
+    public interface Write {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Opens the writer connection.
+     */
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final ConcurrentHashMap<UUID, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    private final Thread writer;
+    // guards running, so no write is queued after the last drain
+    private final Object state = new Object();
+    private volatile boolean running = true;
+    private Connection connection;
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private volatile long lastCommitNanos = 0;
+    private volatile long averageCommitNanos = 0;
+
+    public WriteQueue(String name, ConnectionFactory factory) {
+        this.factory = factory;
+        this.writer = new Thread(this::loop, "BedWars2023-" + name + "-Writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue a write.
+     *
+     * @param player the player the write belongs to, used to order later reads.
+     * @return completed once the write was committed or failed.
+     */
+    public CompletableFuture<Void> submit(@NotNull UUID player, @NotNull Write write) {
+        Task task = new Task(player, write);
+        synchronized (state) {
+            if (running) {
+                pending.put(player, task.done);
+                queue.add(task);
+                return task.done;
+            }
+        }
+        // shut down, write on the caller thread and do not keep the connection open
+        synchronized (this) {
+            process(Collections.singletonList(task));
+            closeConnection();
+        }
+        return task.done;
+    }
+
+    /**
+     * Block until the queued writes of the given player were committed.
+     */
+    public void awaitPending(@NotNull UUID player) {
+        CompletableFuture<Void> done = pending.get(player);
+        if (done == null || Thread.currentThread() == writer) return;
+        try {
+            done.get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            BedWars.plugin.getLogger().warning("Timed out waiting for queued database writes of " + player);
+        } catch (Exception ignored) {
+            // failures are logged by the writer
+        }
+    }
+
+    /**
+     * @return writes waiting to be committed.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return transactions committed since startup.
+     */
+    public long getCommits() {
+        return commits.get();
+    }
+
+    /**
+     * @return writes executed since startup.
+     */
+    public long getWrites() {
+        return writes.get();
+    }
+
+    /**
+     * @return duration of the last commit in nanoseconds.
+     */
+    public long getLastCommitNanos() {
+        return lastCommitNanos;
+    }
+
+    /**
+     * @return moving average of the commit duration in nanoseconds.
+     */
+    public long getAverageCommitNanos() {
+        return averageCommitNanos;
+    }
+
+    /**
+     * Commit everything still queued and stop the writer.
+     * Writes submitted afterwards run on the caller thread, each with its own connection.
+     */
+    public void shutdown() {
+        synchronized (state) {
+            running = false;
+        }
+        // no interrupt, H2 closes its file channel when the writing thread is interrupted
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(AWAIT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Task> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) process(left);
+        closeConnection();
+    }
+
+    private void loop() {
+        List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Task first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_MILLIS);
+                while (batch.size() < BATCH_SIZE) {
+                    long wait = deadline - System.nanoTime();
+                    if (wait <= 0) break;
+                    Task next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                synchronized (state) {
+                    running = false;
+                }
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    process(batch);
+                } catch (Throwable t) {
+                    // keep the only writer alive
+                    BedWars.plugin.getLogger().log(Level.SEVERE, "Unexpected error while committing " + batch.size() + " database writes!", t);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private synchronized void process(List<Task> batch) {
+        Profiler.Sample sample = Profiler.start();
+        long start = System.nanoTime();
+        try {
+            if (connection == null || connection.isClosed()) {
+                connection = factory.open();
+            }
+            connection.setAutoCommit(false);
+            for (Task task : batch) {
+                try {
+                    task.write.apply(connection);
+                } catch (SQLException | RuntimeException e) {
+                    // one bad write must not cost the rest of the batch
+                    BedWars.plugin.getLogger().log(Level.SEVERE, "Could not write player data of " + task.player, e);
+                }
+            }
+            connection.commit();
+            writes.addAndGet(batch.size());
+            commits.incrementAndGet();
+        } catch (SQLException e) {
+            BedWars.plugin.getLogger().log(Level.SEVERE, "Could not commit " + batch.size() + " database writes!", e);
+            try {
+                if (connection != null) connection.rollback();
+            } catch (SQLException ignored) {
+            }
+            closeConnection();
+        } finally {
+            long duration = System.nanoTime() - start;
+            lastCommitNanos = duration;
+            averageCommitNanos = averageCommitNanos == 0 ? duration : (averageCommitNanos * 7 + duration) / 8;
+            Profiler.stop(sample, Profiler.DATABASE_COMMIT, null);
+            for (Task task : batch) {
+                pending.remove(task.player, task.done);
+                task.done.complete(null);
+            }
+        }
+    }
+
+    private synchronized void closeConnection() {
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+        connection = null;
+    }
+
+    private static final class Task {
+        private final UUID player;
+        private final Write write;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Task(UUID player, Write write) {
+            this.player = player;
+            this.write = write;
+        }
+    }
+}
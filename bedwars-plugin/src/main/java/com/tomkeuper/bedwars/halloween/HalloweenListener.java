@@ -21,14 +21,9 @@
 package com.tomkeuper.bedwars.halloween;
 
 import com.tomkeuper.bedwars.BedWars;
-import com.tomkeuper.bedwars.api.arena.GameState;
-import com.tomkeuper.bedwars.api.events.gameplay.GameStateChangeEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerJoinArenaEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerKillEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerXpGainEvent;
-import com.tomkeuper.bedwars.api.events.server.ArenaDisableEvent;
-import com.tomkeuper.bedwars.api.events.server.ArenaEnableEvent;
-import com.tomkeuper.bedwars.api.events.server.ArenaRestartEvent;
 import com.tomkeuper.bedwars.arena.Misc;
 import com.tomkeuper.bedwars.levels.internal.PlayerLevel;
 import org.bukkit.*;
@@ -81,10 +76,7 @@ public class HalloweenListener implements Listener {
                     location.getBlock().setType(Material.valueOf(BedWars.getForCurrentVersion("WEB", "WEB", "COBWEB")));
                     e.getArena().addPlacedBlock(location.getBlock());
                     location.getBlock().setMetadata("give-bw-exp", new FixedMetadataValue(BedWars.plugin, "ok"));
-                    CobWebRemover remover = CobWebRemover.getByArena(e.getArena());
-                    if (remover != null) {
-                        remover.addCobWeb(location.getBlock());
-                    }
+                    e.getArena().addTemporaryBlock(location.getBlock(), 150);
                 }
             }
         }
@@ -109,35 +101,4 @@ public class HalloweenListener implements Listener {
             Bukkit.getScheduler().runTaskLater(BedWars.plugin, () -> e.getPlayer().getWorld().playSound(e.getPlayer().getLocation(), ambienceSound, 3f, 1f), 20L);
         }
     }
-
-    @EventHandler
-    public void onGameStateChange(GameStateChangeEvent e) {
-        if (e.getNewState() == GameState.restarting) {
-            CobWebRemover remover = CobWebRemover.getByArena(e.getArena());
-            if (remover != null) {
-                remover.destroy();
-            }
-        }
-    }
-
-    @EventHandler
-    public void onRestart(ArenaRestartEvent e) {
-        CobWebRemover remover = CobWebRemover.getByArenaWorld(e.getWorldName());
-        if (remover != null) {
-            remover.destroy();
-        }
-    }
-
-    @EventHandler
-    public void onDisable(ArenaDisableEvent e) {
-        CobWebRemover remover = CobWebRemover.getByArenaWorld(e.getWorldName());
-        if (remover != null) {
-            remover.destroy();
-        }
-    }
-
-    @EventHandler
-    public void onEnable(ArenaEnableEvent e){
-        new CobWebRemover(e.getArena());
-    }
 }
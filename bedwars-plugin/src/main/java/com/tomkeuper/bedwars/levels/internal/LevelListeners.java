@@ -62,17 +62,14 @@ public class LevelListeners implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerQuit(PlayerQuitEvent e) {
-        final UUID u = e.getPlayer().getUniqueId();
-        Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> {
-            PlayerLevel pl = PlayerLevel.getLevelByPlayer(u);
-            pl.destroy();
-        });
+        PlayerLevel pl = PlayerLevel.getLoaded(e.getPlayer().getUniqueId());
+        if (pl != null) pl.destroy();
     }
 
     @EventHandler
     public void onGameEnd(GameEndEvent e) {
         for (UUID p : e.getWinners()) {
-            if (PlayerLevel.getLevelByPlayer(p) != null) {
+            if (PlayerLevel.getLoaded(p) != null) {
                 Player p1 = Bukkit.getPlayer(p);
                 if (p1 == null) continue;
                 int xpAmount = LevelsConfig.levels.getInt("xp-rewards.game-win");
@@ -94,7 +91,7 @@ public class LevelListeners implements Listener {
             }
         }
         for (UUID p : e.getLosers()) {
-            if (PlayerLevel.getLevelByPlayer(p) != null) {
+            if (PlayerLevel.getLoaded(p) != null) {
                 Player p1 = Bukkit.getPlayer(p);
                 if (p1 == null) continue;
                 ITeam bwt = e.getArena().getExTeam(p1.getUniqueId());
@@ -114,11 +111,8 @@ public class LevelListeners implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onArenaLeave(PlayerLeaveArenaEvent e) {
-        final UUID u = e.getPlayer().getUniqueId();
-        Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> {
-            PlayerLevel pl = PlayerLevel.getLevelByPlayer(u);
-            if (pl != null) pl.updateDatabase();
-        });
+        PlayerLevel pl = PlayerLevel.getLoaded(e.getPlayer().getUniqueId());
+        if (pl != null) pl.updateDatabase();
     }
 
     @EventHandler
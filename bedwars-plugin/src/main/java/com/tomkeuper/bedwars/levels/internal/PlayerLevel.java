@@ -26,14 +26,36 @@ import com.tomkeuper.bedwars.api.events.player.PlayerXpGainEvent;
 import com.tomkeuper.bedwars.configuration.LevelsConfig;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.jetbrains.annotations.Nullable;
 
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Internal level data of a player.
+ * Xp gained through {@link #addXp(int, PlayerXpGainEvent.XpSource)} is accumulated and applied once per tick,
+ * so rewards given to many players at once only update levels and formatted strings once per player.
+ * Modified levels are saved together in the background.
+ */
 @SuppressWarnings("WeakerAccess")
 public class PlayerLevel {
 
+    // interval between saves of modified levels
+    private static final long SAVE_TICKS = 20L * 60;
+
+    private static final ThreadLocal<NumberFormat> NUMBER_FORMAT = ThreadLocal.withInitial(() -> {
+        NumberFormat format = NumberFormat.getInstance();
+        format.setMaximumFractionDigits(2);
+        format.setMinimumFractionDigits(0);
+        return format;
+    });
+
     private final UUID uuid;
     private int level;
     private int nextLevelCost;
@@ -43,19 +65,29 @@ public class PlayerLevel {
     private String requiredXp;
     private String formattedCurrentXp;
 
+    // xp received during this tick, not applied yet
+    private final AtomicInteger pendingXp = new AtomicInteger();
+
     // keep trace if current level is different than the one in database
-    private boolean modified = false;
+    private volatile boolean modified = false;
 
     private static ConcurrentHashMap<UUID, PlayerLevel> levelByPlayer = new ConcurrentHashMap<>();
 
+    // levels with pending xp, applied on the next tick
+    // xp may be given from any thread, it is applied on the main thread
+    private static final Set<PlayerLevel> pending = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean applyScheduled = new AtomicBoolean();
+
+    // levels to be written on the next save
+    private static final Set<PlayerLevel> modifiedLevels = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean saveScheduled = new AtomicBoolean();
+
 
     /**
      * Cache a player level.
      */
     public PlayerLevel(UUID player, int level, int currentXp) {
         this.uuid = player;
-        setLevelName(level);
-        setNextLevelCost(level, true);
 
         //fix levels broken in the past by an issue
         if (level < 1) level = 1;
@@ -63,8 +95,10 @@ public class PlayerLevel {
 
         this.level = level;
         this.currentXp = currentXp;
+        setLevelName(level);
+        setNextLevelCost(level, true);
         updateProgressBar();
-        if (!levelByPlayer.containsKey(player)) levelByPlayer.put(player, this);
+        levelByPlayer.putIfAbsent(player, this);
     }
 
     public void setLevelName(int level) {
@@ -73,12 +107,12 @@ public class PlayerLevel {
     }
 
     public void setNextLevelCost(int level, boolean initialize) {
-        if (!initialize) modified = true;
+        if (!initialize) markModified();
         this.nextLevelCost = LevelsConfig.getNextCost(level);
+        this.requiredXp = formatNumber(nextLevelCost);
     }
 
     public void lazyLoad(int level, int currentXp) {
-        modified = false;
         if (level < 1) level = 1;
         if (currentXp < 0) currentXp = 0;
         setLevelName(level);
@@ -88,23 +122,18 @@ public class PlayerLevel {
         updateProgressBar();
 
         modified = false;
+        modifiedLevels.remove(this);
     }
 
     /**
      * Update the player progress bar.
      */
     private void updateProgressBar() {
-        double l1 = ((nextLevelCost - currentXp) / (double) (nextLevelCost)) * 10;
-        int locked = (int) l1;
-        int unlocked = 10 - locked;
-        if (locked < 0 || unlocked < 0) {
-            locked = 10;
+        int unlocked = nextLevelCost <= 0 ? 0 : 10 - (int) (((nextLevelCost - currentXp) / (double) (nextLevelCost)) * 10);
+        if (unlocked < 0 || unlocked > 10) {
             unlocked = 0;
         }
-        progressBar = ChatColor.translateAlternateColorCodes('&', LevelsConfig.levels.getString("progress-bar.format").replace("{progress}",
-                LevelsConfig.levels.getString("progress-bar.unlocked-color") + String.valueOf(new char[unlocked]).replace("\0", LevelsConfig.levels.getString("progress-bar.symbol"))
-                        + LevelsConfig.levels.getString("progress-bar.locked-color") + String.valueOf(new char[locked]).replace("\0", LevelsConfig.levels.getString("progress-bar.symbol"))));
-        requiredXp = formatNumber(nextLevelCost);
+        progressBar = LevelsConfig.getProgressBar(unlocked);
         formattedCurrentXp = formatNumber(currentXp);
     }
 
@@ -124,9 +153,21 @@ public class PlayerLevel {
 
     /**
      * Get PlayerLevel by player.
+     * A default level is cached if the player has none.
      */
     public static PlayerLevel getLevelByPlayer(UUID player) {
-        return levelByPlayer.getOrDefault(player, new PlayerLevel(player, 1, 0));
+        PlayerLevel level = levelByPlayer.get(player);
+        if (level != null) return level;
+        new PlayerLevel(player, 1, 0);
+        return levelByPlayer.get(player);
+    }
+
+    /**
+     * Get PlayerLevel by player without creating a default one.
+     */
+    @Nullable
+    public static PlayerLevel getLoaded(UUID player) {
+        return levelByPlayer.get(player);
     }
 
     /**
@@ -167,16 +208,40 @@ public class PlayerLevel {
 
     /**
      * Add xp to player with source.
+     * The xp is applied on the next tick together with other xp received in the same tick.
      */
     public void addXp(int xp, PlayerXpGainEvent.XpSource source) {
         if (xp < 0) return;
         PlayerXpGainEvent event = new PlayerXpGainEvent(Bukkit.getPlayer(uuid), xp, source);
         Bukkit.getPluginManager().callEvent(event);
         if(event.isCancelled()) return;
-        this.currentXp += event.getAmount();
+        if (event.getAmount() <= 0) return;
+        this.pendingXp.addAndGet(event.getAmount());
+        pending.add(this);
+        if (applyScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(BedWars.plugin, PlayerLevel::applyPending);
+        }
+    }
+
+    /**
+     * Apply the xp received during the last tick.
+     */
+    private static void applyPending() {
+        // xp given from now on schedules the next apply
+        applyScheduled.set(false);
+        for (PlayerLevel level : pending) {
+            pending.remove(level);
+            level.applyPendingXp();
+        }
+    }
+
+    private void applyPendingXp() {
+        int xp = pendingXp.getAndSet(0);
+        if (xp == 0) return;
+        this.currentXp += xp;
         upgradeLevel();
         updateProgressBar();
-        modified = true;
+        markModified();
     }
 
     /**
@@ -184,22 +249,28 @@ public class PlayerLevel {
      */
     public void setXp(int currentXp) {
         if (currentXp <= 0) currentXp = 0;
+        discardPendingXp();
         this.currentXp = currentXp;
         upgradeLevel();
         updateProgressBar();
-        modified = true;
+        markModified();
     }
 
     /**
      * Set player level.
+     * Xp received during this tick is discarded, as with {@link #setXp(int)}.
      */
     public void setLevel(int level) {
+        discardPendingXp();
         this.level = level;
-        nextLevelCost = LevelsConfig.getNextCost(level);
-        this.levelName = ChatColor.translateAlternateColorCodes('&', LevelsConfig.getLevelName(level)).replace("{number}", String.valueOf(level));
-        requiredXp = nextLevelCost >= 1000 ? nextLevelCost % 1000 == 0 ? nextLevelCost / 1000 + "k" : (double) nextLevelCost / 1000 + "k" : String.valueOf(nextLevelCost);
+        setLevelName(level);
+        setNextLevelCost(level, false);
         updateProgressBar();
-        modified = true;
+    }
+
+    private void discardPendingXp() {
+        pending.remove(this);
+        pendingXp.set(0);
     }
 
     /**
@@ -212,31 +283,42 @@ public class PlayerLevel {
 
     /**
      * Used to upgrade player level.
+     * Applies as many level ups as the current xp allows.
+     * Listeners of each level up already see the name and formatted xp of the new level.
      */
     public void upgradeLevel() {
-        if (currentXp >= nextLevelCost) {
+        boolean upgraded = false;
+        while (nextLevelCost > 0 && currentXp >= nextLevelCost) {
             currentXp = currentXp - nextLevelCost;
             level++;
             nextLevelCost = LevelsConfig.getNextCost(level);
-            this.levelName = ChatColor.translateAlternateColorCodes('&', LevelsConfig.getLevelName(level)).replace("{number}", String.valueOf(level));
+            setLevelName(level);
             requiredXp = formatNumber(nextLevelCost);
-            formattedCurrentXp = formatNumber(currentXp);
+            updateProgressBar();
+            upgraded = true;
             Bukkit.getPluginManager().callEvent(new PlayerLevelUpEvent(Bukkit.getPlayer(getUuid()), level, nextLevelCost));
-            modified = true;
+        }
+        if (upgraded) {
+            markModified();
         }
     }
 
-    private String formatNumber(int score) {
-        NumberFormat format = NumberFormat.getInstance();
-        format.setMaximumFractionDigits(2);
-        format.setMinimumFractionDigits(0);
-
+    private static String formatNumber(int score) {
+        NumberFormat format = NUMBER_FORMAT.get();
         if (score >= 1000) {
             return format.format(score/1000.0)+"k";
         }
         return format.format(score);
     }
 
+    private void markModified() {
+        modified = true;
+        modifiedLevels.add(this);
+        if (saveScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTaskTimer(BedWars.plugin, () -> saveModified(true), SAVE_TICKS, SAVE_TICKS);
+        }
+    }
+
     /**
      * Destroy data.
      */
@@ -246,9 +328,53 @@ public class PlayerLevel {
     }
 
     public void updateDatabase() {
+        if (pending.remove(this)) {
+            applyPendingXp();
+        }
         if (modified) {
-            Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, () -> BedWars.getRemoteDatabase().setLevelData(uuid, level, currentXp, LevelsConfig.getLevelName(level), nextLevelCost));
+            modifiedLevels.remove(this);
             modified = false;
+            final int level = this.level, currentXp = this.currentXp, nextLevelCost = this.nextLevelCost;
+            Runnable write = () -> BedWars.getRemoteDatabase().setLevelData(uuid, level, currentXp, LevelsConfig.getLevelName(level), nextLevelCost);
+            if (BedWars.isShuttingDown()) {
+                // async tasks are not started anymore
+                write.run();
+            } else {
+                Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, write);
+            }
+        }
+    }
+
+    /**
+     * Save every modified level in a single task.
+     * Pending xp is applied first.
+     *
+     * @param async false to write on the current thread, used on shutdown.
+     */
+    public static void saveModified(boolean async) {
+        if (!pending.isEmpty()) {
+            // the scheduled apply finds nothing left to do
+            applyPending();
+        }
+        if (modifiedLevels.isEmpty()) return;
+        List<Object[]> records = new ArrayList<>(modifiedLevels.size());
+        for (PlayerLevel pl : modifiedLevels) {
+            modifiedLevels.remove(pl);
+            if (!pl.modified) continue;
+            pl.modified = false;
+            records.add(new Object[]{pl.uuid, pl.level, pl.currentXp, pl.nextLevelCost});
+        }
+        if (records.isEmpty()) return;
+        Runnable write = () -> {
+            for (Object[] record : records) {
+                int level = (int) record[1];
+                BedWars.getRemoteDatabase().setLevelData((UUID) record[0], level, (int) record[2], LevelsConfig.getLevelName(level), (int) record[3]);
+            }
+        };
+        if (async) {
+            Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, write);
+        } else {
+            write.run();
         }
     }
 }
@@ -24,7 +24,6 @@ import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.arena.GameState;
 import com.tomkeuper.bedwars.api.arena.IArena;
 import com.tomkeuper.bedwars.api.arena.team.ITeam;
-import com.tomkeuper.bedwars.api.arena.team.TeamColor;
 import com.tomkeuper.bedwars.api.configuration.ConfigPath;
 import com.tomkeuper.bedwars.api.events.player.PlayerBedBreakEvent;
 import com.tomkeuper.bedwars.api.language.Language;
@@ -34,10 +33,7 @@ import com.tomkeuper.bedwars.api.server.ServerType;
 import com.tomkeuper.bedwars.arena.Arena;
 import com.tomkeuper.bedwars.configuration.Sounds;
 import com.tomkeuper.bedwars.support.paper.PaperSupport;
-import com.tomkeuper.bedwars.popuptower.TowerEast;
-import com.tomkeuper.bedwars.popuptower.TowerNorth;
-import com.tomkeuper.bedwars.popuptower.TowerSouth;
-import com.tomkeuper.bedwars.popuptower.TowerWest;
+import com.tomkeuper.bedwars.popuptower.TowerBuilder;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
@@ -141,12 +137,12 @@ public class BreakPlace implements Listener {
                 e.setCancelled(true);
                 return;
             }
-            if (e.getBlockPlaced().getLocation().getBlockY() >= a.getConfig().getInt(ConfigPath.ARENA_CONFIGURATION_MAX_BUILD_Y)) {
+            if (e.getBlockPlaced().getLocation().getBlockY() >= a.getSettings().getMaxBuildY()) {
                 e.setCancelled(true);
                 e.getPlayer().sendMessage(getMsg(e.getPlayer(), Messages.ARENA_MAX_BUILD_LIMIT_REACHED));
                 return;
             }
-            if (e.getBlockPlaced().getLocation().getBlockY() <= a.getConfig().getInt(ConfigPath.ARENA_CONFIGURATION_MIN_BUILD_Y)) {
+            if (e.getBlockPlaced().getLocation().getBlockY() <= a.getSettings().getMinBuildY()) {
                 e.setCancelled(true);
                 e.getPlayer().sendMessage(getMsg(e.getPlayer(), Messages.ARENA_MIN_BUILD_LIMIT_REACHED));
                 return;
@@ -182,24 +178,7 @@ public class BreakPlace implements Listener {
                 if (e.getBlock().getType() == Material.valueOf(shop.getString(ConfigPath.SHOP_SPECIAL_TOWER_MATERIAL))) {
 
                     e.setCancelled(true);
-                    Location loc = e.getBlock().getLocation();
-                    IArena a1 = Arena.getArenaByPlayer(p);
-                    TeamColor col = a1.getTeam(p).getColor();
-                    double rotation = (p.getLocation().getYaw() - 90.0F) % 360.0F;
-                    if (rotation < 0.0D) {
-                        rotation += 360.0D;
-                    }
-                    if (45.0D <= rotation && rotation < 135.0D) {
-                        new TowerSouth(loc, e.getBlockPlaced(), col, p);
-                    } else if (225.0D <= rotation && rotation < 315.0D) {
-                        new TowerNorth(loc, e.getBlockPlaced(), col, p);
-                    } else if (135.0D <= rotation && rotation < 225.0D) {
-                        new TowerWest(loc, e.getBlockPlaced(), col, p);
-                    } else if (0.0D <= rotation && rotation < 45.0D) {
-                        new TowerEast(loc, e.getBlockPlaced(), col, p);
-                    } else if (315.0D <= rotation && rotation < 360.0D) {
-                        new TowerEast(loc, e.getBlockPlaced(), col, p);
-                    }
+                    TowerBuilder.build(e.getBlockPlaced(), a.getTeam(p).getColor(), p, a);
                 }
             }
             return;
@@ -491,12 +470,12 @@ public class BreakPlace implements Listener {
                 e.setCancelled(true);
                 return;
             }
-            if (e.getBlockClicked().getRelative(e.getBlockFace()).getLocation().getBlockY() >= a.getConfig().getInt(ConfigPath.ARENA_CONFIGURATION_MAX_BUILD_Y)) {
+            if (e.getBlockClicked().getRelative(e.getBlockFace()).getLocation().getBlockY() >= a.getSettings().getMaxBuildY()) {
                 p.sendMessage(Language.getMsg(p, Messages.ARENA_MAX_BUILD_LIMIT_REACHED));
                 e.setCancelled(true);
                 return;
             }
-            if (e.getBlockClicked().getRelative(e.getBlockFace()).getLocation().getBlockY() <= a.getConfig().getInt(ConfigPath.ARENA_CONFIGURATION_MIN_BUILD_Y)) {
+            if (e.getBlockClicked().getRelative(e.getBlockFace()).getLocation().getBlockY() <= a.getSettings().getMinBuildY()) {
                 e.setCancelled(true);
                 p.sendMessage(getMsg(p, Messages.ARENA_MIN_BUILD_LIMIT_REACHED));
             }
@@ -21,6 +21,8 @@
 package com.tomkeuper.bedwars.listeners;
 
 import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.arena.Arena;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.ArmorStand;
@@ -35,6 +37,9 @@ public class ChunkLoad implements Listener {
     public void onChunkLoadEvent(ChunkLoadEvent e){
         if (e == null) return;
         if (e.getChunk() == null) return;
+        for (IArena arena : Arena.getArenas()) {
+            ((Arena) arena).getSignRenderer().onChunkLoad(e.getChunk());
+        }
         if (e.getChunk().getEntities() == null) return;
         Bukkit.getScheduler().runTaskAsynchronously(BedWars.plugin, ()-> {
             for (Entity entity : e.getChunk().getEntities()){
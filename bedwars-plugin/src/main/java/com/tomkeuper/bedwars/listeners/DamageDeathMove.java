@@ -38,11 +38,14 @@ import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.language.Messages;
 import com.tomkeuper.bedwars.api.server.ServerType;
 import com.tomkeuper.bedwars.arena.Arena;
+import com.tomkeuper.bedwars.arena.ExplosionKnockback;
 import com.tomkeuper.bedwars.arena.LastHit;
+import com.tomkeuper.bedwars.arena.Misc;
 import com.tomkeuper.bedwars.arena.SetupSession;
 import com.tomkeuper.bedwars.arena.team.BedWarsTeam;
 import com.tomkeuper.bedwars.configuration.Sounds;
 import com.tomkeuper.bedwars.listeners.dropshandler.PlayerDrops;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import com.tomkeuper.bedwars.support.paper.PaperSupport;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -58,7 +61,6 @@ import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.projectiles.ProjectileSource;
-import org.bukkit.util.Vector;
 
 import java.text.DecimalFormat;
 import java.util.Map;
@@ -177,30 +179,24 @@ public class DamageDeathMove implements Listener {
                     if (tnt.getSource() != null) {
                         if (tnt.getSource() instanceof Player) {
                             damager = (Player) tnt.getSource();
-                            if (damager.equals(p)) {
-                                if (tntDamageSelf > -1) {
-                                    e.setDamage(tntDamageSelf);
-                                }
-                                // tnt jump. credits to feargames.it
-                                LivingEntity damaged = (LivingEntity) e.getEntity();
-                                Vector distance = damaged.getLocation().subtract(0, tntJumpBarycenterAlterationInY, 0).toVector().subtract(tnt.getLocation().toVector());
-                                Vector direction = distance.clone().normalize();
-                                double force = ((tnt.getYield() * tnt.getYield()) / (tntJumpStrengthReductionConstant + distance.length()));
-                                Vector resultingForce = direction.clone().multiply(force);
-                                resultingForce.setY(resultingForce.getY() / (distance.length() + tntJumpYAxisReductionConstant));
-                                damaged.setVelocity(resultingForce);
-                            } else {
-                                ITeam currentTeam = a.getTeam(p);
-                                ITeam damagerTeam = a.getTeam(damager);
-                                if (currentTeam.equals(damagerTeam)) {
+                            switch (ExplosionKnockback.getRelation(a, p, damager, a.getTeam(damager))) {
+                                case SELF:
+                                    if (tntDamageSelf > -1) {
+                                        e.setDamage(tntDamageSelf);
+                                    }
+                                    p.setVelocity(ExplosionKnockback.getTntVelocity(tnt, p, tntJumpBarycenterAlterationInY,
+                                            tntJumpStrengthReductionConstant, tntJumpYAxisReductionConstant));
+                                    break;
+                                case TEAMMATE:
                                     if (tntDamageTeammates > -1) {
                                         e.setDamage(tntDamageTeammates);
                                     }
-                                } else {
+                                    break;
+                                default:
                                     if (tntDamageOthers > -1) {
                                         e.setDamage(tntDamageOthers);
                                     }
-                                }
+                                    break;
                             }
                         } else return;
                     }
@@ -249,6 +245,7 @@ public class DamageDeathMove implements Listener {
                     if (a.getShowTime().containsKey(p)) {
                         Bukkit.getScheduler().runTask(BedWars.plugin, () -> {
                             for (Player on : a.getWorld().getPlayers()) {
+                                if (!Misc.isInViewRange(p, on)) continue;
                                 BedWars.nms.showArmor(p, on);
                                 //BedWars.nms.showPlayer(p, on);
                             }
@@ -522,6 +519,7 @@ public class DamageDeathMove implements Listener {
                 e.setRespawnLocation(a.getSpectatorLocation());
                 a.addSpectator(e.getPlayer(), true, null);
                 t.getMembers().remove(e.getPlayer());
+                ((Arena) a).unIndexTeamMember(e.getPlayer().getUniqueId());
                 e.getPlayer().sendMessage(getMsg(e.getPlayer(), Messages.PLAYER_DIE_ELIMINATED_CHAT));
                 if (t.getMembers().isEmpty()) {
                     Bukkit.getPluginManager().callEvent(new TeamEliminatedEvent(a, t));
@@ -547,6 +545,12 @@ public class DamageDeathMove implements Listener {
 
     @EventHandler
     public void onMove(PlayerMoveEvent e) {
+        Profiler.Sample sample = Profiler.start();
+        handleMove(e);
+        Profiler.stop(sample, Profiler.MOVE_LISTENERS, e.getPlayer());
+    }
+
+    private void handleMove(PlayerMoveEvent e) {
         if (Arena.isInArena(e.getPlayer())) {
             IArena a = Arena.getArenaByPlayer(e.getPlayer());
             if (e.getFrom().getChunk() != e.getTo().getChunk()) {
@@ -20,8 +20,6 @@
 
 package com.tomkeuper.bedwars.listeners;
 
-import com.google.common.base.Functions;
-import com.google.common.collect.ImmutableMap;
 import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.arena.GameState;
 import com.tomkeuper.bedwars.api.arena.IArena;
@@ -30,19 +28,16 @@ import com.tomkeuper.bedwars.api.configuration.ConfigPath;
 import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.language.Messages;
 import com.tomkeuper.bedwars.arena.Arena;
-import com.tomkeuper.bedwars.arena.LastHit;
+import com.tomkeuper.bedwars.arena.ExplosionKnockback;
 import com.tomkeuper.bedwars.arena.team.BedWarsTeam;
 import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.configuration.file.YamlConfiguration;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Fireball;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.ExplosionPrimeEvent;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
@@ -128,24 +123,12 @@ public class FireballListener implements Listener {
             return;
         }
 
-        Vector vector = location.toVector();
-        World world = location.getWorld();
-        if (world == null) {
+        if (location.getWorld() == null) {
             return;
         }
 
-        Collection<Entity> nearbyEntities = world.getNearbyEntities(location, fireballExplosionSize, fireballExplosionSize, fireballExplosionSize);
-
-        for (Entity entity : nearbyEntities) {
-            if (!(entity instanceof Player)) {
-                continue;
-            }
-            Player player = (Player) entity;
-
-            if (!Arena.isInArena(player) || arena.isSpectator(player) || arena.isReSpawning(player)) {
-                continue;
-            }
-
+        ITeam sourceTeam = arena.getTeam(source);
+        for (Player player : ExplosionKnockback.getTargets(arena, location, fireballExplosionSize)) {
             UUID playerUUID = player.getUniqueId();
             long respawnInvulnerability = BedWarsTeam.reSpawnInvulnerability.getOrDefault(playerUUID, 0L);
 
@@ -154,54 +137,22 @@ public class FireballListener implements Listener {
             }
             BedWarsTeam.reSpawnInvulnerability.remove(playerUUID);
 
-            Vector playerVector = player.getLocation().toVector();
-            Vector normalizedVector = vector.subtract(playerVector).normalize();
-            Vector horizontalVector = normalizedVector.multiply(fireballHorizontal);
-            double y = normalizedVector.getY();
-            if (y < 0) {
-                y += 1.5;
+            player.setVelocity(ExplosionKnockback.getFireballVelocity(location, player, fireballHorizontal, fireballVertical));
+            ExplosionKnockback.setLastHit(player, source);
+
+            switch (ExplosionKnockback.getRelation(arena, player, source, sourceTeam)) {
+                case SELF:
+                    if (damageSelf > 0) {
+                        player.damage(damageSelf); // damage shooter
+                    }
+                    break;
+                case TEAMMATE:
+                    ExplosionKnockback.damage(player, damageTeammates);
+                    break;
+                default:
+                    ExplosionKnockback.damage(player, damageEnemy);
+                    break;
             }
-            if (y <= 0.5) {
-                y = fireballVertical * 1.5; // kb for not jumping
-            } else {
-                y = y * fireballVertical * 1.5; // kb for jumping
-            }
-            player.setVelocity(horizontalVector.setY(y));
-
-            LastHit lh = LastHit.getLastHit(player);
-            if (lh != null) {
-                lh.setDamager(source);
-                lh.setTime(System.currentTimeMillis());
-            } else {
-                new LastHit(player, source, System.currentTimeMillis());
-            }
-            if (player.equals(source)) {
-                if (damageSelf > 0) {
-                    player.damage(damageSelf); // damage shooter
-                }
-            } else {
-                ITeam playerTeam = arena.getTeam(player);
-                ITeam sourceTeam = arena.getTeam(source);
-
-                if (playerTeam != null && playerTeam.equals(sourceTeam)) {
-                    damagePlayer(player, damageTeammates);
-                } else {
-                    damagePlayer(player, damageEnemy);
-                }
-            }
-        }
-    }
-
-    private void damagePlayer(Player player, double damageTeammates) {
-        if (damageTeammates > 0) {
-            EntityDamageEvent damageEvent = new EntityDamageEvent(
-                    player,
-                    EntityDamageEvent.DamageCause.ENTITY_EXPLOSION,
-                    new EnumMap<>(ImmutableMap.of(EntityDamageEvent.DamageModifier.BASE, damageTeammates)),
-                    new EnumMap<>(ImmutableMap.of(EntityDamageEvent.DamageModifier.BASE, Functions.constant(damageTeammates)))
-            );
-            player.setLastDamageCause(damageEvent);
-            player.damage(damageTeammates); // damage teammates
         }
     }
 
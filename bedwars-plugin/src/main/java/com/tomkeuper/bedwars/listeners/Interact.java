@@ -164,7 +164,7 @@ public class Interact implements Listener {
                     }
                     //make it so only team members can open chests while team is alive, and all when is eliminated
                     ITeam owner = null;
-                    int isRad = a.getConfig().getInt(ConfigPath.ARENA_ISLAND_RADIUS);
+                    int isRad = a.getIslandRadius();
                     for (ITeam t : a.getTeams()) {
                         if (t.getSpawn().distance(e.getClickedBlock().getLocation()) <= isRad) {
                             owner = t;
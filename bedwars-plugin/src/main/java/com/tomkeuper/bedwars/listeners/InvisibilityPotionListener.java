@@ -28,6 +28,8 @@ import com.tomkeuper.bedwars.api.events.gameplay.GameEndEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerInvisibilityPotionEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerLeaveArenaEvent;
 import com.tomkeuper.bedwars.arena.Arena;
+import com.tomkeuper.bedwars.arena.Misc;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import org.bukkit.Bukkit;
 import org.bukkit.Effect;
 import org.bukkit.Location;
@@ -90,6 +92,12 @@ public class InvisibilityPotionListener implements Listener {
     @EventHandler
     public void onMove(PlayerMoveEvent e) {
         if (!footstepsEnabled) return;
+        Profiler.Sample sample = Profiler.start();
+        playFootsteps(e);
+        Profiler.stop(sample, Profiler.MOVE_LISTENERS, e.getPlayer());
+    }
+
+    private void playFootsteps(PlayerMoveEvent e) {
         Player p = e.getPlayer();
         if (!this.invisiblePlayers.contains(p)) return;
 
@@ -136,6 +144,7 @@ public class InvisibilityPotionListener implements Listener {
                             // keep trace of invisible players to send hide armor packet when required
                             // because potions do not hide armors
                             a.getShowTime().replace(e.getPlayer(), pe.getDuration() / 20);
+                            ((Arena) a).getInvisibilityTimers().schedule(e.getPlayer(), pe.getDuration() / 20);
                             // call custom event
                             Bukkit.getPluginManager().callEvent(new PlayerInvisibilityPotionEvent(PlayerInvisibilityPotionEvent.Type.ADDED, t, e.getPlayer(), t.getArena()));
                         } else {
@@ -144,8 +153,10 @@ public class InvisibilityPotionListener implements Listener {
                             // keep track of invisible players to send hide armor packet when required
                             // because potions do not hide armor
                             a.getShowTime().put(e.getPlayer(), pe.getDuration() / 20);
+                            ((Arena) a).getInvisibilityTimers().schedule(e.getPlayer(), pe.getDuration() / 20);
                             //
                             for (Player p1 : e.getPlayer().getWorld().getPlayers()) {
+                                if (!Misc.isInViewRange(e.getPlayer(), p1)) continue;
                                 if (a.isSpectator(p1)) {
                                     // hide player armor to spectators
                                     nms.hideArmor(e.getPlayer(), p1);
@@ -22,8 +22,10 @@ package com.tomkeuper.bedwars.listeners;
 
 import com.tomkeuper.bedwars.api.arena.IArena;
 import com.tomkeuper.bedwars.arena.Arena;
+import com.tomkeuper.bedwars.arena.ArenaEnableQueue;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldInitEvent;
 import org.bukkit.event.world.WorldLoadEvent;
 
 import java.util.LinkedList;
@@ -39,4 +41,9 @@ public class WorldLoadListener implements Listener {
             }
         }
     }
+
+    @EventHandler
+    public void onInit(WorldInitEvent e) {
+        ArenaEnableQueue.onWorldInit(e.getWorld().getName());
+    }
 }
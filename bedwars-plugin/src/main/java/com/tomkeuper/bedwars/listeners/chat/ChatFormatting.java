@@ -40,19 +40,23 @@ import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.tomkeuper.bedwars.api.language.Language.getMsg;
 import static com.tomkeuper.bedwars.api.language.Language.getPlayerLanguage;
 
 public class ChatFormatting implements Listener {
 
-    private static final List<Player> recipients = new ArrayList<>();
-
     @EventHandler(ignoreCancelled = true)
     public void onChat(AsyncPlayerChatEvent e) {
         if (e == null) return;
         Player p = e.getPlayer();
+        // players receiving a rendered message, null to let the event deliver it
+        Set<Player> recipients = null;
 
         // in shared mode we don't want messages from outside the arena to be seen in game
         if (BedWars.getServerType() == ServerType.SHARED && Arena.getArenaByPlayer(p) == null) {
@@ -67,7 +71,7 @@ public class ChatFormatting implements Listener {
 
         // handle lobby world for multi arena
         if (BedWars.getServerType() == ServerType.MULTIARENA && p.getWorld().getName().equalsIgnoreCase(BedWars.getLobbyWorld())) {
-            setRecipients(e, p.getWorld().getPlayers());
+            recipients = setRecipients(e, p.getWorld().getPlayers());
         }
 
         Language language = getPlayerLanguage(p);
@@ -77,15 +81,15 @@ public class ChatFormatting implements Listener {
 
             // spectator chat
             if (a.isSpectator(p)) {
-                setRecipients(e, a.getSpectators());
-                sendMessage(e, language.m(Messages.FORMATTING_CHAT_SPECTATOR), e.getMessage(), p, null);
+                recipients = setRecipients(e, a.getSpectators());
+                sendMessage(e, recipients, language.m(Messages.FORMATTING_CHAT_SPECTATOR), e.getMessage(), p, null);
                 return;
             }
 
             // arena lobby chat
             if (a.getStatus() == GameState.waiting || a.getStatus() == GameState.starting) {
-                setRecipients(e, a.getPlayers());
-                sendMessage(e, language.m(Messages.FORMATTING_CHAT_WAITING), e.getMessage(), p, null);
+                recipients = setRecipients(e, a.getPlayers());
+                sendMessage(e, recipients, language.m(Messages.FORMATTING_CHAT_WAITING), e.getMessage(), p, null);
                 return;
             }
 
@@ -107,42 +111,54 @@ public class ChatFormatting implements Listener {
                     return;
                 }
                 ShoutCommand.updateShout(p);
-                setRecipients(e, a.getPlayers(), a.getSpectators());
+                recipients = setRecipients(e, a.getPlayers(), a.getSpectators());
                 msg = clearShout(msg, language);
                 if (msg.isEmpty()) {
                     e.setCancelled(true);
                     return;
                 }
                 e.setMessage(msg);
-                sendMessage(e, language.m(Messages.FORMATTING_CHAT_SHOUT), e.getMessage(), p, team);
+                sendMessage(e, recipients, language.m(Messages.FORMATTING_CHAT_SHOUT), e.getMessage(), p, team);
                 return;
             }
 
             // player team chat
             if (a.getMaxInTeam() == 1) {
-                setRecipients(e, a.getPlayers(), a.getSpectators());
+                recipients = setRecipients(e, a.getPlayers(), a.getSpectators());
             } else {
-                setRecipients(e, team.getMembers());
+                recipients = setRecipients(e, team.getMembers());
             }
-            sendMessage(e, language.m(Messages.FORMATTING_CHAT_TEAM), e.getMessage(), p, team);
+            sendMessage(e, recipients, language.m(Messages.FORMATTING_CHAT_TEAM), e.getMessage(), p, team);
             return;
         }
 
         // multi arena lobby chat
-        sendMessage(e, language.m(Messages.FORMATTING_CHAT_LOBBY), e.getMessage(), p, null);
+        sendMessage(e, recipients, language.m(Messages.FORMATTING_CHAT_LOBBY), e.getMessage(), p, null);
     }
 
-    private static String parsePHolders(String format, String msg, Player eventTriggerPlayer, Player recipientPlayer, @Nullable ITeam team) {
-        format = format
+    /**
+     * Replace the placeholders of the message sender.
+     */
+    private static String parseSenderPHolders(String format, Player eventTriggerPlayer) {
+        return format
                 .replace("%bw_v_prefix%", BedWars.getChatSupport().getPrefix(eventTriggerPlayer))
                 .replace("%bw_v_suffix%", BedWars.getChatSupport().getSuffix(eventTriggerPlayer))
                 .replace("%bw_playername%", eventTriggerPlayer.getName())
                 .replace("%bw_level%", BedWars.getLevelSupport().getLevel(eventTriggerPlayer))
                 .replace("%bw_player%", eventTriggerPlayer.getDisplayName());
+    }
+
+    /**
+     * Render a sender-parsed format for recipients using the given language.
+     *
+     * @param recipientPlayer a recipient using the language, null for console.
+     */
+    private static String render(String senderFormat, String msg, Player eventTriggerPlayer, @Nullable Player recipientPlayer, Language language, @Nullable ITeam team) {
+        String format = senderFormat;
         if (team != null) {
             String teamFormat = getMsg(recipientPlayer, Messages.FORMAT_PAPI_PLAYER_TEAM_TEAM)
                     .replace("%bw_team_color%", String.valueOf(team.getColor().chat()))
-                    .replace("%bw_team_name%", team.getDisplayName(Language.getPlayerLanguage(recipientPlayer)).toUpperCase());
+                    .replace("%bw_team_name%", team.getDisplayName(language).toUpperCase());
             format = format.replace("%bw_team_format%", teamFormat);
         }
         return SupportPAPI.getSupportPAPI().replace(eventTriggerPlayer, format).replace("%bw_message%", msg);
@@ -163,21 +179,48 @@ public class ChatFormatting implements Listener {
         return msg.trim();
     }
 
+    /**
+     * Build the recipients of a chat event.
+     * The event recipients are cleared so the event only logs to console.
+     *
+     * @return a new set of recipients for this event.
+     */
     @SafeVarargs
-    public static void setRecipients(AsyncPlayerChatEvent event, List<Player>... target) {
-        event.getRecipients().clear(); // Used for console message only.
-        if (!BedWars.config.getBoolean(ConfigPath.GENERAL_CHAT_GLOBAL)) {
-            recipients.clear();
+    public static Set<Player> setRecipients(AsyncPlayerChatEvent event, List<Player>... target) {
+        Set<Player> recipients;
+        if (BedWars.config.getBoolean(ConfigPath.GENERAL_CHAT_GLOBAL)) {
+            recipients = new LinkedHashSet<>(event.getRecipients());
+        } else {
+            recipients = new LinkedHashSet<>();
             for (List<Player> list : target) {
                 recipients.addAll(list);
             }
         }
+        event.getRecipients().clear(); // Used for console message only.
+        return recipients;
     }
 
-    public void sendMessage(AsyncPlayerChatEvent e, String format, String msg, Player eventTriggerPlayer, ITeam team){
-        e.setFormat(parsePHolders(format, msg, eventTriggerPlayer,null, team).replaceAll("%","%%")); // Used for console message only.
+    /**
+     * Send a formatted message.
+     * The format is rendered once per recipient language and the result is shared by the recipients using it.
+     *
+     * @param recipients players receiving the message, null to let the event deliver the console format.
+     */
+    public void sendMessage(AsyncPlayerChatEvent e, @Nullable Set<Player> recipients, String format, String msg, Player eventTriggerPlayer, ITeam team) {
+        String senderFormat = parseSenderPHolders(format, eventTriggerPlayer);
+        e.setFormat(render(senderFormat, msg, eventTriggerPlayer, null, Language.getDefaultLanguage(), team).replace("%", "%%")); // Used for console message only.
+        if (recipients == null || recipients.isEmpty()) return;
+
+        Map<Language, List<Player>> byLanguage = new HashMap<>();
         for (Player player : recipients) {
-            player.sendMessage(parsePHolders(format, msg, eventTriggerPlayer, player, team));
+            byLanguage.computeIfAbsent(getPlayerLanguage(player), k -> new ArrayList<>()).add(player);
+        }
+        for (Map.Entry<Language, List<Player>> group : byLanguage.entrySet()) {
+            List<Player> players = group.getValue();
+            String rendered = render(senderFormat, msg, eventTriggerPlayer, players.get(0), group.getKey(), team);
+            for (Player player : players) {
+                player.sendMessage(rendered);
+            }
         }
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.popuptower;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.arena.team.TeamColor;
+import com.tomkeuper.bedwars.api.region.Region;
+import com.tomkeuper.bedwars.configuration.Sounds;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+
+/**
+ * A pop-up tower being built by {@link TowerBuilder}.
+ */
+public class PopUpTower {
+
+    private final Block chest;
+    private final TeamColor color;
+    private final IArena arena;
+    private final int[] blocks;
+    private final int maxBuildY;
+    private int cursor = 0;
+
+    /**
+     * @param chest  placed tower item, used as origin.
+     * @param color  team color used for the wool.
+     * @param arena  arena the tower is built in.
+     * @param blocks packed offsets, see {@link TowerSchematic}.
+     */
+    public PopUpTower(Block chest, TeamColor color, IArena arena, int[] blocks) {
+        this.chest = chest;
+        this.color = color;
+        this.arena = arena;
+        this.blocks = blocks;
+        this.maxBuildY = arena.getSettings().getMaxBuildY();
+    }
+
+    /**
+     * Place the next blocks of this tower.
+     *
+     * @param limit max amount of schematic entries to process.
+     * @return amount of processed entries.
+     */
+    int place(int limit) {
+        int processed = 0;
+        while (processed < limit && cursor < blocks.length) {
+            placeBlock(blocks[cursor], blocks[cursor + 1], blocks[cursor + 2], blocks[cursor + 3]);
+            cursor += TowerSchematic.STRIDE;
+            processed++;
+        }
+        if (processed > 0) {
+            Sounds.playsoundArea("pop-up-tower-build", chest.getLocation(), 1.0F, 0.5F);
+        }
+        return processed;
+    }
+
+    private void placeBlock(int x, int y, int z, int ladder) {
+        Block block = chest.getRelative(x, y, z);
+        if (block.getY() >= maxBuildY) return;
+        if (block.getType() != Material.AIR) return;
+        for (Region r : arena.getRegionsList()) {
+            if (r.isInRegion(block.getLocation())) return;
+        }
+        if (ladder == 0) {
+            BedWars.nms.placeTowerBlocks(chest, arena, color, x, y, z);
+        } else {
+            BedWars.nms.placeLadder(chest, x, y, z, arena, ladder);
+        }
+    }
+
+    /**
+     * Check if there is nothing left to place, or if the game this tower belongs to is over.
+     */
+    boolean isDone() {
+        return cursor >= blocks.length || arena.getStatus() != GameState.playing;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.popuptower;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.arena.team.TeamColor;
+import com.tomkeuper.bedwars.api.configuration.ConfigPath;
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+
+/**
+ * Builds every pop-up tower on the server from a single 1-tick task.
+ * Towers share a per-tick block budget and are served round-robin,
+ * the task is only running while there are towers left to build.
+ */
+public class TowerBuilder implements Runnable {
+
+    /**
+     * Blocks placed by a single tower per tick, keeps the build animation speed.
+     */
+    private static final int TOWER_BLOCKS_PER_TICK = 2;
+
+    private static final ArrayDeque<PopUpTower> towers = new ArrayDeque<>();
+    private static TowerSchematic schematic;
+    private static int blocksPerTick;
+    private static BukkitTask task;
+
+    private TowerBuilder() {
+    }
+
+    /**
+     * Load the tower shape and placement budget from the shop configuration.
+     */
+    public static void init() {
+        schematic = TowerSchematic.parse(BedWars.shop.getYml().getStringList(ConfigPath.SHOP_SPECIAL_TOWER_SCHEMATIC));
+        blocksPerTick = Math.max(TOWER_BLOCKS_PER_TICK, BedWars.shop.getInt(ConfigPath.SHOP_SPECIAL_TOWER_BLOCKS_PER_TICK));
+        BedWars.debug("Loaded pop-up tower with " + schematic.size() + " blocks, " + blocksPerTick + " blocks per tick.");
+    }
+
+    /**
+     * Consume the tower item in hand and queue a new tower.
+     *
+     * @param chest  the placed tower item.
+     * @param color  the team color.
+     * @param player the player who placed the tower.
+     * @param arena  the player's arena.
+     */
+    @SuppressWarnings("deprecation")
+    public static void build(Block chest, TeamColor color, Player player, IArena arena) {
+        if (schematic == null) init();
+
+        ItemStack itemInHand = player.getInventory().getItemInHand();
+        if (itemInHand.getAmount() > 1) {
+            itemInHand.setAmount(itemInHand.getAmount() - 1);
+        } else {
+            player.getInventory().setItemInHand(null);
+        }
+
+        towers.add(new PopUpTower(chest, color, arena, schematic.getBlocks(getFacing(player.getLocation().getYaw()))));
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(BedWars.plugin, new TowerBuilder(), 0L, 1L);
+        }
+    }
+
+    private static BlockFace getFacing(float yaw) {
+        double rotation = (yaw - 90.0F) % 360.0F;
+        if (rotation < 0.0D) {
+            rotation += 360.0D;
+        }
+        if (45.0D <= rotation && rotation < 135.0D) {
+            return BlockFace.SOUTH;
+        } else if (135.0D <= rotation && rotation < 225.0D) {
+            return BlockFace.WEST;
+        } else if (225.0D <= rotation && rotation < 315.0D) {
+            return BlockFace.NORTH;
+        }
+        return BlockFace.EAST;
+    }
+
+    @Override
+    public void run() {
+        int budget = blocksPerTick;
+        int pending = towers.size();
+        while (pending-- > 0 && budget > 0) {
+            PopUpTower tower = towers.poll();
+            if (tower == null) break;
+            if (tower.isDone()) continue;
+            budget -= tower.place(Math.min(TOWER_BLOCKS_PER_TICK, budget));
+            if (!tower.isDone()) {
+                towers.add(tower);
+            }
+        }
+        if (towers.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
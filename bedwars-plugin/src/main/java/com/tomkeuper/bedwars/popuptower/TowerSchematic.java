@@ -0,0 +1,167 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.popuptower;
+
+import com.tomkeuper.bedwars.BedWars;
+import org.bukkit.block.BlockFace;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pop-up tower shape parsed once from the shop configuration.
+ * <p>
+ * Entries are written for a tower facing north as {@code "x, y, z"} or {@code "x, y, z, ladder"}
+ * relative to the placed chest. Offsets are stored packed in an int array, four values per block:
+ * x, y, z and the ladder data (0 for wool), and pre-rotated for every facing.
+ */
+public final class TowerSchematic {
+
+    public static final List<String> DEFAULT_SHAPE = Arrays.asList(
+            "-1, 0, -2", "-2, 0, -1", "-2, 0, 0", "-1, 0, 1", "0, 0, 1", "1, 0, 1",
+            "2, 0, 0", "2, 0, -1", "1, 0, -2", "0, 0, 0, ladder", "-1, 1, -2", "-2, 1, -1",
+            "-2, 1, 0", "-1, 1, 1", "0, 1, 1", "1, 1, 1", "2, 1, 0", "2, 1, -1",
+            "1, 1, -2", "0, 1, 0, ladder", "-1, 2, -2", "-2, 2, -1", "-2, 2, 0", "-1, 2, 1",
+            "0, 2, 1", "1, 2, 1", "2, 2, 0", "2, 2, -1", "1, 2, -2", "0, 2, 0, ladder",
+            "0, 3, -2", "-1, 3, -2", "-2, 3, -1", "-2, 3, 0", "-1, 3, 1", "0, 3, 1",
+            "1, 3, 1", "2, 3, 0", "2, 3, -1", "1, 3, -2", "0, 3, 0, ladder", "0, 4, -2",
+            "-1, 4, -2", "-2, 4, -1", "-2, 4, 0", "-1, 4, 1", "0, 4, 1", "1, 4, 1",
+            "2, 4, 0", "2, 4, -1", "1, 4, -2", "0, 4, 0, ladder", "-2, 5, 1", "-2, 5, 0",
+            "-2, 5, -1", "-2, 5, -2", "-1, 5, 1", "-1, 5, 0", "-1, 5, -1", "-1, 5, -2",
+            "0, 5, 1", "0, 5, -1", "0, 5, -2", "1, 5, 1", "0, 5, 0, ladder", "1, 5, 0",
+            "1, 5, -1", "1, 5, -2", "2, 5, 1", "2, 5, 0", "2, 5, -1", "2, 5, -2",
+            "-3, 5, -2", "-3, 6, -2", "-3, 7, -2", "-3, 6, -1", "-3, 6, 0", "-3, 5, 1",
+            "-3, 6, 1", "-3, 7, 1", "-2, 5, 2", "-2, 6, 2", "-2, 7, 2", "-1, 6, 2",
+            "0, 5, 2", "0, 6, 2", "0, 7, 2", "1, 6, 2", "2, 5, 2", "2, 6, 2",
+            "2, 7, 2", "3, 5, -2", "3, 6, -2", "3, 7, -2", "3, 6, -1", "3, 6, 0",
+            "3, 5, 1", "3, 6, 1", "3, 7, 1", "-2, 5, -3", "-2, 6, -3", "-2, 7, -3",
+            "-1, 6, -3", "0, 5, -3", "0, 6, -3", "0, 7, -3", "1, 6, -3", "2, 5, -3",
+            "2, 6, -3", "2, 7, -3"
+    );
+
+    /**
+     * Ints used by a single block in the packed arrays.
+     */
+    static final int STRIDE = 4;
+
+    private final Map<BlockFace, int[]> rotations = new EnumMap<>(BlockFace.class);
+    private final int blocks;
+
+    private TowerSchematic(int[] north) {
+        this.blocks = north.length / STRIDE;
+        rotations.put(BlockFace.NORTH, north);
+        rotations.put(BlockFace.SOUTH, rotate(north, BlockFace.SOUTH));
+        rotations.put(BlockFace.EAST, rotate(north, BlockFace.EAST));
+        rotations.put(BlockFace.WEST, rotate(north, BlockFace.WEST));
+    }
+
+    /**
+     * Parse a tower shape. Invalid entries are skipped and logged.
+     *
+     * @param entries north facing offsets.
+     */
+    public static TowerSchematic parse(List<String> entries) {
+        int[] packed = new int[entries.size() * STRIDE];
+        int size = 0;
+        for (String entry : entries) {
+            String[] data = entry.split(",");
+            if (data.length < 3) {
+                BedWars.plugin.getLogger().warning("Invalid pop-up tower block: " + entry);
+                continue;
+            }
+            try {
+                packed[size] = Integer.parseInt(data[0].trim());
+                packed[size + 1] = Integer.parseInt(data[1].trim());
+                packed[size + 2] = Integer.parseInt(data[2].trim());
+            } catch (NumberFormatException e) {
+                BedWars.plugin.getLogger().warning("Invalid pop-up tower block: " + entry);
+                continue;
+            }
+            packed[size + 3] = data.length > 3 && data[3].trim().startsWith("ladder") ? ladderData(BlockFace.NORTH) : 0;
+            size += STRIDE;
+        }
+        return new TowerSchematic(Arrays.copyOf(packed, size));
+    }
+
+    private static int[] rotate(int[] north, BlockFace facing) {
+        int[] rotated = new int[north.length];
+        int ladder = ladderData(facing);
+        for (int i = 0; i < north.length; i += STRIDE) {
+            int x = north[i], z = north[i + 2];
+            switch (facing) {
+                case SOUTH:
+                    rotated[i] = -x;
+                    rotated[i + 2] = -z;
+                    break;
+                case EAST:
+                    rotated[i] = -z;
+                    rotated[i + 2] = x;
+                    break;
+                case WEST:
+                    rotated[i] = z;
+                    rotated[i + 2] = -x;
+                    break;
+                default:
+                    rotated[i] = x;
+                    rotated[i + 2] = z;
+                    break;
+            }
+            rotated[i + 1] = north[i + 1];
+            rotated[i + 3] = north[i + 3] == 0 ? 0 : ladder;
+        }
+        return rotated;
+    }
+
+    /**
+     * Legacy ladder data used by {@link com.tomkeuper.bedwars.api.server.VersionSupport#placeLadder}.
+     */
+    private static int ladderData(BlockFace facing) {
+        switch (facing) {
+            case SOUTH:
+                return 3;
+            case WEST:
+                return 4;
+            case EAST:
+                return 5;
+            default:
+                return 2;
+        }
+    }
+
+    /**
+     * Get the packed offsets for the given facing.
+     *
+     * @param facing one of north, south, east or west.
+     */
+    public int[] getBlocks(BlockFace facing) {
+        int[] blocks = rotations.get(facing);
+        return blocks == null ? rotations.get(BlockFace.NORTH) : blocks;
+    }
+
+    /**
+     * Amount of blocks in this tower.
+     */
+    public int size() {
+        return blocks;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.profiler;
+
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.profiler.IProfiler;
+import com.tomkeuper.bedwars.api.profiler.ITimingReport;
+import com.tomkeuper.bedwars.arena.Arena;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timing registry for the BedWars subsystems.
+ * Entry points surround their work with {@link #start()} and {@link #stop(Sample, String, IArena)},
+ * which only check a volatile flag while the profiler is disabled.
+ */
+public class Profiler implements IProfiler {
+
+    public static final String GENERATORS = "generators";
+    public static final String GENERATOR_ROTATION = "generator-rotation";
+    public static final String DESPAWNABLES = "despawnables";
+    public static final String GAME_PLAYING_TASK = "game-playing-task";
+    public static final String HEAL_POOL = "heal-pool";
+    public static final String MOVE_LISTENERS = "move-listeners";
+    public static final String SHOP_CLICK = "shop-click";
+    public static final String SIDEBAR_PLACEHOLDERS = "sidebar-placeholders";
+    public static final String DATABASE = "database";
+    public static final String DATABASE_COMMIT = "database-commit";
+
+    private static final Profiler instance = new Profiler();
+    private static final com.sun.management.ThreadMXBean threads = allocationBean();
+
+    private static volatile boolean enabled = false;
+    private static final Map<String, Timing> global = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, Timing>> byArena = new ConcurrentHashMap<>();
+
+    private Profiler() {
+    }
+
+    /**
+     * Begin a sample.
+     *
+     * @return null while the profiler is disabled.
+     */
+    @Nullable
+    public static Sample start() {
+        if (!enabled) return null;
+        return new Sample(System.nanoTime(), allocatedBytes());
+    }
+
+    /**
+     * Record a sample started with {@link #start()}.
+     *
+     * @param arena arena the work belongs to, null for server wide work.
+     */
+    public static void stop(@Nullable Sample sample, String section, @Nullable IArena arena) {
+        if (sample == null) return;
+        long duration = System.nanoTime() - sample.nanos;
+        long allocated = sample.allocated < 0 ? -1 : allocatedBytes() - sample.allocated;
+        global.computeIfAbsent(section, Timing::new).record(duration, allocated);
+        if (arena != null) {
+            byArena.computeIfAbsent(arena.getWorldName(), a -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(section, Timing::new).record(duration, allocated);
+        }
+    }
+
+    /**
+     * Record a sample for the arena the given player is in.
+     * The arena is only looked up while the profiler is recording.
+     */
+    public static void stop(@Nullable Sample sample, String section, Player player) {
+        if (sample == null) return;
+        stop(sample, section, Arena.getArenaByPlayer(player));
+    }
+
+    /**
+     * Drop the timings of an arena being destroyed.
+     */
+    public static void removeArena(@NotNull IArena arena) {
+        if (arena.getWorldName() != null) byArena.remove(arena.getWorldName());
+    }
+
+    public static Profiler getInstance() {
+        return instance;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        Profiler.enabled = enabled;
+        if (enabled && threads != null && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    @Override
+    public void reset() {
+        global.clear();
+        byArena.clear();
+    }
+
+    @Override
+    public List<ITimingReport> getTimings() {
+        return report(global);
+    }
+
+    @Override
+    public List<ITimingReport> getTimings(IArena arena) {
+        Map<String, Timing> timings = byArena.get(arena.getWorldName());
+        return timings == null ? Collections.emptyList() : report(timings);
+    }
+
+    private static List<ITimingReport> report(Map<String, Timing> timings) {
+        List<ITimingReport> reports = new ArrayList<>(timings.size());
+        for (Timing timing : timings.values()) {
+            ITimingReport report = timing.snapshot();
+            if (report.getCalls() > 0) reports.add(report);
+        }
+        reports.sort(Comparator.comparingLong(ITimingReport::getTotal).reversed());
+        return reports;
+    }
+
+    private static long allocatedBytes() {
+        if (threads == null || !threads.isThreadAllocatedMemoryEnabled()) return -1;
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) bean;
+                if (allocation.isThreadAllocatedMemorySupported()) return allocation;
+            }
+        } catch (Throwable ignored) {
+            // allocation estimates are optional
+        }
+        return null;
+    }
+
+    /**
+     * A running sample.
+     */
+    public static final class Sample {
+        private final long nanos;
+        private final long allocated;
+
+        private Sample(long nanos, long allocated) {
+            this.nanos = nanos;
+            this.allocated = allocated;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.profiler;
+
+import com.tomkeuper.bedwars.api.profiler.ITimingReport;
+
+import java.util.Arrays;
+
+/**
+ * Rolling log-linear histogram of a subsystem's call durations.
+ * The window is split in slots which are recycled once they are older than the window.
+ */
+class Timing {
+
+    private static final int SLOTS = 6;
+    private static final long SLOT_MILLIS = 10_000;
+    // 4 buckets per power of two, durations up to 2^40 ns
+    private static final int SUB_BITS = 2;
+    private static final int MAX_POWER = 40;
+    private static final int BUCKETS = (MAX_POWER + 1) << SUB_BITS;
+
+    private final String name;
+    private final long created = System.currentTimeMillis();
+    private final long[][] histograms = new long[SLOTS][BUCKETS];
+    private final long[] slotEpoch = new long[SLOTS];
+    private final long[] calls = new long[SLOTS];
+    private final long[] total = new long[SLOTS];
+    private final long[] max = new long[SLOTS];
+    private final long[] allocated = new long[SLOTS];
+    private final long[] allocatedCalls = new long[SLOTS];
+
+    Timing(String name) {
+        this.name = name;
+        Arrays.fill(slotEpoch, -1);
+    }
+
+    synchronized void record(long nanos, long allocatedBytes) {
+        long epoch = System.currentTimeMillis() / SLOT_MILLIS;
+        int slot = (int) (epoch % SLOTS);
+        if (slotEpoch[slot] != epoch) {
+            slotEpoch[slot] = epoch;
+            Arrays.fill(histograms[slot], 0);
+            calls[slot] = total[slot] = max[slot] = allocated[slot] = allocatedCalls[slot] = 0;
+        }
+        histograms[slot][bucket(nanos)]++;
+        calls[slot]++;
+        total[slot] += nanos;
+        if (nanos > max[slot]) max[slot] = nanos;
+        if (allocatedBytes >= 0) {
+            allocated[slot] += allocatedBytes;
+            allocatedCalls[slot]++;
+        }
+    }
+
+    synchronized ITimingReport snapshot() {
+        long now = System.currentTimeMillis();
+        long epoch = now / SLOT_MILLIS;
+        long[] merged = new long[BUCKETS];
+        long count = 0, time = 0, longest = 0, bytes = 0, bytesCalls = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (slotEpoch[slot] < 0 || epoch - slotEpoch[slot] >= SLOTS) continue;
+            for (int b = 0; b < BUCKETS; b++) {
+                merged[b] += histograms[slot][b];
+            }
+            count += calls[slot];
+            time += total[slot];
+            longest = Math.max(longest, max[slot]);
+            bytes += allocated[slot];
+            bytesCalls += allocatedCalls[slot];
+        }
+        double seconds = Math.max(1, Math.min(SLOTS * SLOT_MILLIS, now - created) / 1000d);
+        return new Report(name, count, count / seconds, percentile(merged, count, 0.50), percentile(merged, count, 0.95),
+                percentile(merged, count, 0.99), longest, time, bytesCalls == 0 ? -1 : bytes / bytesCalls);
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < (1 << SUB_BITS)) return (int) Math.max(0, nanos);
+        int power = Math.min(MAX_POWER, 63 - Long.numberOfLeadingZeros(nanos));
+        int sub = (int) (nanos >>> (power - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+        return (power << SUB_BITS) + sub;
+    }
+
+    private static long lowerBound(int bucket) {
+        int power = bucket >> SUB_BITS;
+        if (power < SUB_BITS) return bucket;
+        int sub = bucket & ((1 << SUB_BITS) - 1);
+        return ((long) ((1 << SUB_BITS) + sub)) << (power - SUB_BITS);
+    }
+
+    private static long percentile(long[] histogram, long count, double percentile) {
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int b = 0; b < histogram.length; b++) {
+            seen += histogram[b];
+            if (seen >= rank) return lowerBound(b);
+        }
+        return lowerBound(histogram.length - 1);
+    }
+
+    private static final class Report implements ITimingReport {
+        private final String name;
+        private final long calls, p50, p95, p99, max, total, allocatedPerCall;
+        private final double callsPerSecond;
+
+        private Report(String name, long calls, double callsPerSecond, long p50, long p95, long p99, long max, long total, long allocatedPerCall) {
+            this.name = name;
+            this.calls = calls;
+            this.callsPerSecond = callsPerSecond;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+            this.total = total;
+            this.allocatedPerCall = allocatedPerCall;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getCalls() {
+            return calls;
+        }
+
+        @Override
+        public double getCallsPerSecond() {
+            return callsPerSecond;
+        }
+
+        @Override
+        public long getP50() {
+            return p50;
+        }
+
+        @Override
+        public long getP95() {
+            return p95;
+        }
+
+        @Override
+        public long getP99() {
+            return p99;
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+
+        @Override
+        public long getAllocatedPerCall() {
+            return allocatedPerCall;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.tomkeuper.bedwars.api.configuration.ConfigManager;
 import com.tomkeuper.bedwars.api.configuration.ConfigPath;
 import com.tomkeuper.bedwars.api.language.Messages;
 import com.tomkeuper.bedwars.api.shop.IShopManager;
+import com.tomkeuper.bedwars.popuptower.TowerSchematic;
 import com.tomkeuper.bedwars.shop.listeners.*;
 import com.tomkeuper.bedwars.shop.main.QuickBuyButton;
 import com.tomkeuper.bedwars.shop.main.ShopCategory;
@@ -91,6 +92,8 @@ public class ShopManager extends ConfigManager implements IShopManager {
 
         getYml().addDefault(ConfigPath.SHOP_SPECIAL_TOWER_ENABLE, true);
         getYml().addDefault(ConfigPath.SHOP_SPECIAL_TOWER_MATERIAL, BedWars.getForCurrentVersion("CHEST", "CHEST", "CHEST"));
+        getYml().addDefault(ConfigPath.SHOP_SPECIAL_TOWER_BLOCKS_PER_TICK, 40);
+        getYml().addDefault(ConfigPath.SHOP_SPECIAL_TOWER_SCHEMATIC, TowerSchematic.DEFAULT_SHAPE);
 
         if (isFirstTime()) {
             //quick buy defaults
@@ -32,6 +32,7 @@ import com.tomkeuper.bedwars.shop.ShopCache;
 import com.tomkeuper.bedwars.shop.ShopManager;
 import com.tomkeuper.bedwars.shop.main.ShopCategory;
 import com.tomkeuper.bedwars.shop.main.ShopIndex;
+import com.tomkeuper.bedwars.profiler.Profiler;
 import com.tomkeuper.bedwars.shop.quickbuy.PlayerQuickBuyCache;
 import com.tomkeuper.bedwars.shop.quickbuy.QuickBuyAdd;
 import org.bukkit.Material;
@@ -49,6 +50,14 @@ public class InventoryListener implements Listener {
     @EventHandler
     public void onInventoryClick(InventoryClickEvent e) {
         if (e.isCancelled()) return;
+        Profiler.Sample sample = Profiler.start();
+        handleClick(e);
+        if (e.getWhoClicked() instanceof Player) {
+            Profiler.stop(sample, Profiler.SHOP_CLICK, (Player) e.getWhoClicked());
+        }
+    }
+
+    private void handleClick(InventoryClickEvent e) {
         if (!(e.getWhoClicked() instanceof Player)) return;
 
         Player p = (Player) e.getWhoClicked();
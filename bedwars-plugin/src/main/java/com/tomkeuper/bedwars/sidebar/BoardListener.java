@@ -20,14 +20,26 @@
 
 package com.tomkeuper.bedwars.sidebar;
 
+import com.tomkeuper.bedwars.api.events.gameplay.GameStateChangeEvent;
+import com.tomkeuper.bedwars.api.events.gameplay.NextEventChangeEvent;
+import com.tomkeuper.bedwars.api.events.gameplay.TeamAssignEvent;
+import com.tomkeuper.bedwars.api.events.player.PlayerBedBreakEvent;
+import com.tomkeuper.bedwars.api.events.player.PlayerJoinArenaEvent;
+import com.tomkeuper.bedwars.api.events.player.PlayerKillEvent;
+import com.tomkeuper.bedwars.api.events.player.PlayerLangChangeEvent;
 import com.tomkeuper.bedwars.api.events.player.PlayerLeaveArenaEvent;
+import com.tomkeuper.bedwars.api.events.player.PlayerReJoinEvent;
+import com.tomkeuper.bedwars.api.events.team.TeamEliminatedEvent;
 import com.tomkeuper.bedwars.arena.Arena;
 import me.neznamy.tab.api.TabAPI;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.bossbar.BossBar;
 import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.Objects;
 
@@ -48,5 +60,68 @@ public class BoardListener implements Listener {
         assert tabPlayer != null;
         prefixPlaceholder.updateValue(tabPlayer, BoardManager.getInstance().getPrefix(tabPlayer));
         suffixPlaceholder.updateValue(tabPlayer, BoardManager.getInstance().getSuffix(tabPlayer));
+
+        SidebarState.requestUpdate(event.getPlayer());
+        SidebarState.requestUpdate(event.getArena());
+    }
+
+    @EventHandler
+    public void onJoin(PlayerJoinEvent event) {
+        SidebarState.create(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        SidebarState.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArenaJoin(PlayerJoinArenaEvent event) {
+        if (event.isCancelled()) return;
+        SidebarState.requestUpdate(event.getPlayer());
+        SidebarState.requestUpdate(event.getArena());
+    }
+
+    @EventHandler
+    public void onReJoin(PlayerReJoinEvent event) {
+        SidebarState.requestUpdate(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onTeamAssign(TeamAssignEvent event) {
+        SidebarState.requestUpdate(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onKill(PlayerKillEvent event) {
+        if (event.getKiller() != null) {
+            SidebarState.requestUpdate(event.getKiller());
+        }
+        SidebarState.requestUpdate(event.getVictim());
+    }
+
+    @EventHandler
+    public void onBedBreak(PlayerBedBreakEvent event) {
+        SidebarState.requestUpdate(event.getArena());
+    }
+
+    @EventHandler
+    public void onTeamEliminated(TeamEliminatedEvent event) {
+        SidebarState.requestUpdate(event.getArena());
+    }
+
+    @EventHandler
+    public void onStatusChange(GameStateChangeEvent event) {
+        SidebarState.requestUpdate(event.getArena());
+    }
+
+    @EventHandler
+    public void onNextEvent(NextEventChangeEvent event) {
+        SidebarState.requestUpdate(event.getArena());
+    }
+
+    @EventHandler
+    public void onLangChange(PlayerLangChangeEvent event) {
+        SidebarState.requestUpdate(event.getPlayer());
     }
 }
@@ -23,13 +23,11 @@ package com.tomkeuper.bedwars.sidebar;
 import com.tomkeuper.bedwars.BedWars;
 import com.tomkeuper.bedwars.api.arena.GameState;
 import com.tomkeuper.bedwars.api.arena.IArena;
-import com.tomkeuper.bedwars.api.arena.team.ITeam;
 import com.tomkeuper.bedwars.api.configuration.ConfigPath;
 import com.tomkeuper.bedwars.api.language.Language;
 import com.tomkeuper.bedwars.api.language.Messages;
 import com.tomkeuper.bedwars.api.server.ServerType;
 import com.tomkeuper.bedwars.api.sidebar.IScoreboardService;
-import com.tomkeuper.bedwars.api.tasks.PlayingTask;
 import com.tomkeuper.bedwars.arena.Arena;
 import com.tomkeuper.bedwars.levels.internal.PlayerLevel;
 import me.neznamy.tab.api.TabAPI;
@@ -49,9 +47,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.text.SimpleDateFormat;
-
-import static com.tomkeuper.bedwars.api.language.Language.getMsg;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class BoardManager implements IScoreboardService {
     private static ScoreboardManager scoreboardManager;
@@ -59,9 +56,9 @@ public class BoardManager implements IScoreboardService {
     private static PlaceholderManager placeholderManager;
     private static NameTagManager nameTagManager;
     private static BoardManager instance;
-    private final HashMap<TabPlayer, Integer> tabPlayersPrefix = new HashMap<>();
-    private final HashMap<TabPlayer, Integer> tabPlayersSuffix = new HashMap<>();
-    private final HashMap<TabPlayer, Integer> tabPlayersTitle = new HashMap<>();
+    private final ConcurrentHashMap<TabPlayer, Integer> tabPlayersPrefix = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<TabPlayer, Integer> tabPlayersSuffix = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<TabPlayer, Integer> tabPlayersTitle = new ConcurrentHashMap<>();
 
     public static boolean init() {
         if (TabAPI.getInstance().getScoreboardManager() == null) return false;
@@ -119,16 +116,6 @@ public class BoardManager implements IScoreboardService {
         return lines;
     }
 
-    private SimpleDateFormat getDateFormat(Player player){
-        return new SimpleDateFormat(getMsg(player, Messages.FORMATTING_SCOREBOARD_DATE));
-    }
-
-    private SimpleDateFormat getNextEventDateFormat(Player player){
-        SimpleDateFormat nextEventDateFormat = new SimpleDateFormat(getMsg(player, Messages.FORMATTING_SCOREBOARD_NEXEVENT_TIMER));
-        nextEventDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return nextEventDateFormat;
-    }
-
     private BoardManager() {
         scoreboardManager = TabAPI.getInstance().getScoreboardManager();
         tabListFormatManager = TabAPI.getInstance().getTabListFormatManager();
@@ -180,67 +167,51 @@ public class BoardManager implements IScoreboardService {
         placeholderManager.registerServerPlaceholder("%bw_server_ip%", placeholderRefresh, () -> BedWars.config.getString(ConfigPath.GENERAL_CONFIG_PLACEHOLDERS_REPLACEMENTS_SERVER_IP));
         placeholderManager.registerServerPlaceholder("%bw_version%", placeholderRefresh, () -> BedWars.plugin.getDescription().getVersion());
         placeholderManager.registerServerPlaceholder("%bw_server_id%", placeholderRefresh, () -> BedWars.config.getString(ConfigPath.GENERAL_CONFIGURATION_BUNGEE_OPTION_SERVER_ID));
-        placeholderManager.registerPlayerPlaceholder("%bw_date%", placeholderRefresh, player -> getDateFormat((Player) player.getPlayer()).format(new Date(System.currentTimeMillis())));
+        placeholderManager.registerPlayerPlaceholder("%bw_date%", placeholderRefresh, player -> value(player, SidebarState::getDate, ""));
         placeholderManager.registerPlayerPlaceholder("%bw_progress%", placeholderRefresh, player -> PlayerLevel.getLevelByPlayer(player.getUniqueId()).getProgress());
         placeholderManager.registerPlayerPlaceholder("%bw_level%", placeholderRefresh, player -> PlayerLevel.getLevelByPlayer(player.getUniqueId()).getLevelName());
         placeholderManager.registerPlayerPlaceholder("%bw_level_unformatted%", placeholderRefresh, player -> PlayerLevel.getLevelByPlayer(player.getUniqueId()).getLevel());
         placeholderManager.registerPlayerPlaceholder("%bw_current_xp%", placeholderRefresh, player -> PlayerLevel.getLevelByPlayer(player.getUniqueId()).getFormattedCurrentXp());
         placeholderManager.registerPlayerPlaceholder("%bw_required_xp%", placeholderRefresh, player -> PlayerLevel.getLevelByPlayer(player.getUniqueId()).getFormattedRequiredXp());
-        placeholderManager.registerPlayerPlaceholder("%bw_map%", placeholderRefresh, player -> Arena.getArenaByPlayer((Player) player.getPlayer()) == null ? "" : Arena.getArenaByPlayer((Player) player.getPlayer()).getDisplayName());
-        placeholderManager.registerPlayerPlaceholder("%bw_map_name%", placeholderRefresh, player -> Arena.getArenaByPlayer((Player) player.getPlayer()) == null ? "" : Arena.getArenaByPlayer((Player) player.getPlayer()).getArenaName());
-        placeholderManager.registerPlayerPlaceholder("%bw_group%", placeholderRefresh, player -> Arena.getArenaByPlayer((Player) player.getPlayer()) == null ? "" : Arena.getArenaByPlayer((Player) player.getPlayer()).getDisplayGroup((Player) player.getPlayer()));
+        placeholderManager.registerPlayerPlaceholder("%bw_map%", placeholderRefresh, player -> value(player, SidebarState::getMap, ""));
+        placeholderManager.registerPlayerPlaceholder("%bw_map_name%", placeholderRefresh, player -> value(player, SidebarState::getMapName, ""));
+        placeholderManager.registerPlayerPlaceholder("%bw_group%", placeholderRefresh, player -> value(player, SidebarState::getGroup, ""));
         placeholderManager.registerPlayerPlaceholder("%bw_kills%", placeholderRefresh, player -> {
-            if (null != Arena.getArenaByPlayer((Player) player.getPlayer())) return Arena.getArenaByPlayer((Player) player.getPlayer()).getPlayerKills((Player) player.getPlayer(), false);
+            SidebarState state = state(player);
+            if (null != state && state.isInArena()) return state.getKills();
             return BedWars.getStatsManager().get(player.getUniqueId()).getKills();
         });
         placeholderManager.registerPlayerPlaceholder("%bw_final_kills%", placeholderRefresh, player -> {
-            if (null != Arena.getArenaByPlayer((Player) player.getPlayer())) return Arena.getArenaByPlayer((Player) player.getPlayer()).getPlayerKills((Player) player.getPlayer(), true);
+            SidebarState state = state(player);
+            if (null != state && state.isInArena()) return state.getFinalKills();
             return BedWars.getStatsManager().get(player.getUniqueId()).getKills();
         });
         placeholderManager.registerPlayerPlaceholder("%bw_beds%", placeholderRefresh, player -> {
-            if (null != Arena.getArenaByPlayer((Player) player.getPlayer())) return Arena.getArenaByPlayer((Player) player.getPlayer()).getPlayerBedsDestroyed((Player) player.getPlayer());
+            SidebarState state = state(player);
+            if (null != state && state.isInArena()) return state.getBeds();
             return BedWars.getStatsManager().get(player.getUniqueId()).getBedsDestroyed();
         });
         placeholderManager.registerPlayerPlaceholder("%bw_deaths%", placeholderRefresh, player -> {
-            if (null != Arena.getArenaByPlayer((Player) player.getPlayer())) return Arena.getArenaByPlayer((Player) player.getPlayer()).getPlayerDeaths((Player) player.getPlayer(), false);
+            SidebarState state = state(player);
+            if (null != state && state.isInArena()) return state.getDeaths();
             return BedWars.getStatsManager().get(player.getUniqueId()).getDeaths();
         });
         placeholderManager.registerPlayerPlaceholder("%bw_final_deaths%", placeholderRefresh, player -> BedWars.getStatsManager().get(player.getUniqueId()).getFinalDeaths());
         placeholderManager.registerPlayerPlaceholder("%bw_wins%", placeholderRefresh, player -> BedWars.getStatsManager().get(player.getUniqueId()).getWins());
         placeholderManager.registerPlayerPlaceholder("%bw_losses%", placeholderRefresh, player -> BedWars.getStatsManager().get(player.getUniqueId()).getLosses());
         placeholderManager.registerPlayerPlaceholder("%bw_games_played%", placeholderRefresh, player -> BedWars.getStatsManager().get(player.getUniqueId()).getGamesPlayed());
-        placeholderManager.registerPlayerPlaceholder("%bw_next_event%", placeholderRefresh, player -> getNextEventName((Player) player.getPlayer()));
-        placeholderManager.registerPlayerPlaceholder("%bw_on%", placeholderRefresh, player -> getOnlinePlayers((Player) player.getPlayer()));
-        placeholderManager.registerPlayerPlaceholder("%bw_max%", placeholderRefresh, player -> Arena.getArenaByPlayer((Player) player.getPlayer()) == null ? "" : Arena.getArenaByPlayer((Player) player.getPlayer()).getMaxPlayers());
-        placeholderManager.registerPlayerPlaceholder("%bw_time%", placeholderRefresh, tabPlayer -> {
-            Player player = (Player) tabPlayer.getPlayer();
-            Arena arena = (Arena) Arena.getArenaByPlayer(player);
-            if (null == arena) return "";
-            if (arena.getStatus() == GameState.playing || arena.getStatus() == GameState.restarting) {
-                return getNextEventTime(arena, player);
-            } else if (arena.getStatus() == GameState.starting) {
-                if (arena.getStartingTask() != null) {
-                    return arena.getStartingTask().getCountdown()+1;
-                }
-            }
-            return getNextEventDateFormat(player).format(new Date(System.currentTimeMillis()));
+        placeholderManager.registerPlayerPlaceholder("%bw_next_event%", placeholderRefresh, player -> value(player, SidebarState::getNextEvent, "-"));
+        placeholderManager.registerPlayerPlaceholder("%bw_on%", placeholderRefresh, player -> {
+            SidebarState state = state(player);
+            if (null != state && state.isInArena()) return state.getOn();
+            return Bukkit.getOnlinePlayers().size();
         });
+        placeholderManager.registerPlayerPlaceholder("%bw_max%", placeholderRefresh, player -> value(player, SidebarState::getMax, ""));
+        placeholderManager.registerPlayerPlaceholder("%bw_time%", placeholderRefresh, player -> value(player, SidebarState::getTime, ""));
 
-        placeholderManager.registerPlayerPlaceholder("%bw_team%", placeholderRefresh, tabPlayer -> {
-            Player player = (Player) tabPlayer.getPlayer();
-            IArena arena = Arena.getArenaByPlayer(player);
-            return null == arena ? "" : null == arena.getTeam(player) ? "" : arena.getTeam(player).getColor().chat() + arena.getTeam(player).getDisplayName(Language.getPlayerLanguage(player));
-        });
-        placeholderManager.registerPlayerPlaceholder("%bw_team_letter%", placeholderRefresh, tabPlayer -> {
-            Player player = (Player) tabPlayer.getPlayer();
-            IArena arena = Arena.getArenaByPlayer(player);
-            return null == arena ? "" : null == arena.getTeam(player) ? "" :  (arena.getTeam(player).getDisplayName(Language.getPlayerLanguage(player)).substring(0, 1));
-        });
-        placeholderManager.registerPlayerPlaceholder("%bw_team_color%", placeholderRefresh, tabPlayer -> {
-            Player player = (Player) tabPlayer.getPlayer();
-            IArena arena = Arena.getArenaByPlayer(player);
-            return null == arena ? "" : null == arena.getTeam(player) ? ""  : arena.getTeam(player).getColor().chat();
-        });
+        placeholderManager.registerPlayerPlaceholder("%bw_team%", placeholderRefresh, player -> value(player, SidebarState::getTeam, ""));
+        placeholderManager.registerPlayerPlaceholder("%bw_team_letter%", placeholderRefresh, player -> value(player, SidebarState::getTeamLetter, ""));
+        placeholderManager.registerPlayerPlaceholder("%bw_team_color%", placeholderRefresh, player -> value(player, SidebarState::getTeamColor, ""));
 
         placeholderManager.registerPlayerPlaceholder("%bw_prefix%", PrefixRefresh, this::getPrefix);
         placeholderManager.registerPlayerPlaceholder("%bw_suffix%", SuffixRefresh, this::getSuffix);
@@ -297,8 +268,24 @@ public class BoardManager implements IScoreboardService {
         PlaceholderManager pm = TabAPI.getInstance().getPlaceholderManager();
         for (int i = 1; i <= 32; i++) {
             int finalI = i;
-            pm.registerPlayerPlaceholder("%bw_team_"+ i +"%", 50, player -> getTeamPlaceholder((Player) player.getPlayer(), finalI));
+            pm.registerPlayerPlaceholder("%bw_team_"+ i +"%", 50, player -> value(player, state -> state.getTeamLine(finalI), null));
         }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            SidebarState.create(player);
+        }
+        Bukkit.getScheduler().runTaskTimer(BedWars.plugin, SidebarState::tick, 20L, 20L);
+    }
+
+    @Nullable
+    private static SidebarState state(TabPlayer tabPlayer) {
+        return SidebarState.get(tabPlayer.getUniqueId());
+    }
+
+    private static String value(TabPlayer tabPlayer, Function<SidebarState, String> getter, String def) {
+        SidebarState state = state(tabPlayer);
+        if (null == state) return def;
+        return getter.apply(state);
     }
 
     public static BoardManager getInstance() {
@@ -388,62 +375,6 @@ public class BoardManager implements IScoreboardService {
         }, delay ? 5 : 0);
     }
 
-    /**
-     * Get the Placeholder string for a given team
-     *
-     * @param player Target player for localization
-     * @param teamNumber number of team in array
-     * @return formatted placeholder string with status. Can be NULL if no arena is found
-     */
-    private String getTeamPlaceholder(Player player, int teamNumber){
-        Arena arena = (Arena) Arena.getArenaByPlayer(player);
-        if (arena == null) return null;
-        Language language = Language.getPlayerLanguage(player);
-        String genericTeamFormat = language.m(Messages.FORMATTING_SCOREBOARD_TEAM_GENERIC);
-        ITeam team;
-        try {
-            team = arena.getTeams().get(teamNumber-1);
-        } catch (IndexOutOfBoundsException ignored){
-            return null;
-        }
-        String teamName = team.getDisplayName(language);
-        if (arena.getTeams().size() >= teamNumber) {
-            return genericTeamFormat
-                    .replace("%bw_team_letter%", String.valueOf(teamName.length() != 0 ? teamName.charAt(0) : ""))
-                    .replace("%bw_team_color%", team.getColor().chat().toString())
-                    .replace("%bw_team_name%", teamName)
-                    .replace("%bw_team_status%", getTeamStatus(team, player));
-        } else {
-            // skip line
-            return null;
-        }
-    }
-
-    /**
-     * Get the current status of a team. Alive/Dead/Num of players alive.
-     *
-     * @param currentTeam Target team to process
-     * @param player Target player for localization
-     * @return team status string
-     */
-    private String getTeamStatus(ITeam currentTeam, Player player){
-        String result;
-        if (currentTeam.isBedDestroyed()) {
-            if (currentTeam.getSize() > 0) {
-                result = getMsg(player, Messages.FORMATTING_SCOREBOARD_BED_DESTROYED)
-                        .replace("%bw_players_remaining%", String.valueOf(currentTeam.getSize()));
-            } else {
-                result = getMsg(player, Messages.FORMATTING_SCOREBOARD_TEAM_ELIMINATED);
-            }
-        } else {
-            result = getMsg(player, Messages.FORMATTING_SCOREBOARD_TEAM_ALIVE);
-        }
-        if (currentTeam.isMember(player)) {
-            result += getMsg(player, Messages.FORMATTING_SCOREBOARD_YOUR_TEAM);
-        }
-        return result;
-    }
-
     @Override
     public void remove(@NotNull Player player) {
         scoreboardManager.resetScoreboard(Objects.requireNonNull(TabAPI.getInstance().getPlayer(player.getUniqueId())));
@@ -488,7 +419,7 @@ public class BoardManager implements IScoreboardService {
     }
 
     @NotNull
-    private String getString(TabPlayer tabPlayer, int currentIndex, List<String> fixList, HashMap<TabPlayer, Integer> tabPlayersPrefix) {
+    private String getString(TabPlayer tabPlayer, int currentIndex, List<String> fixList, Map<TabPlayer, Integer> tabPlayersPrefix) {
         String prefix;
         if (currentIndex + 1 >= fixList.size()) {
             tabPlayersPrefix.put(tabPlayer, 0);
@@ -539,80 +470,6 @@ public class BoardManager implements IScoreboardService {
         return getString(tabPlayer, currentIndex, fixList, tabPlayersSuffix);
     }
 
-    @NotNull
-    private String getNextEventName(Player player) {
-        IArena arena = Arena.getArenaByPlayer(player);
-        if (arena == null) return "-";
-        String st = "-";
-        switch (arena.getNextEvent()) {
-            case EMERALD_GENERATOR_TIER_II:
-                st = getMsg(player, Messages.NEXT_EVENT_EMERALD_UPGRADE_II);
-                break;
-            case EMERALD_GENERATOR_TIER_III:
-                st = getMsg(player, Messages.NEXT_EVENT_EMERALD_UPGRADE_III);
-                break;
-            case DIAMOND_GENERATOR_TIER_II:
-                st = getMsg(player, Messages.NEXT_EVENT_DIAMOND_UPGRADE_II);
-                break;
-            case DIAMOND_GENERATOR_TIER_III:
-                st = getMsg(player, Messages.NEXT_EVENT_DIAMOND_UPGRADE_III);
-                break;
-            case GAME_END:
-                st = getMsg(player, Messages.NEXT_EVENT_GAME_END);
-                break;
-            case BEDS_DESTROY:
-                st = getMsg(player, Messages.NEXT_EVENT_BEDS_DESTROY);
-                break;
-            case ENDER_DRAGON:
-                st = getMsg(player, Messages.NEXT_EVENT_DRAGON_SPAWN);
-                break;
-        }
-
-        return st;
-    }
-
-    @NotNull
-    private String getNextEventTime(Arena arena, Player player) {
-        if (arena == null) return getNextEventDateFormat(player).format((0L));
-        long time = 0L;
-        PlayingTask playingTask = arena.getPlayingTask();
-        switch (arena.getNextEvent()) {
-            case EMERALD_GENERATOR_TIER_II:
-            case EMERALD_GENERATOR_TIER_III:
-                time = (arena.upgradeEmeraldsCount) * 1000L;
-                break;
-            case DIAMOND_GENERATOR_TIER_II:
-            case DIAMOND_GENERATOR_TIER_III:
-                time = (arena.upgradeDiamondsCount) * 1000L;
-                break;
-            case GAME_END:
-                if (null == playingTask) {
-                    break;
-                }
-                time = (playingTask.getGameEndCountdown()) * 1000L;
-                break;
-            case BEDS_DESTROY:
-                if (null == playingTask) {
-                    break;
-                }
-                time = (arena.getPlayingTask().getBedsDestroyCountdown()) * 1000L;
-                break;
-            case ENDER_DRAGON:
-                if (null == playingTask) {
-                    break;
-                }
-                time = (arena.getPlayingTask().getDragonSpawnCountdown()) * 1000L;
-                break;
-        }
-        return getNextEventDateFormat(player).format(new Date(time));
-    }
-
-    private int getOnlinePlayers(Player player){
-        IArena arena = Arena.getArenaByPlayer(player);
-        if (arena == null) return Bukkit.getOnlinePlayers().size();
-        return arena.getPlayers().size();
-    }
-
     private void setHeaderFooter(TabPlayer player, IArena arena) {
         if (TabAPI.getInstance().getHeaderFooterManager() == null) return;
         if (isTabFormattingDisabled(arena)) {
@@ -0,0 +1,393 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+package com.tomkeuper.bedwars.sidebar;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.arena.GameState;
+import com.tomkeuper.bedwars.api.arena.IArena;
+import com.tomkeuper.bedwars.api.arena.team.ITeam;
+import com.tomkeuper.bedwars.api.language.Language;
+import com.tomkeuper.bedwars.api.language.Messages;
+import com.tomkeuper.bedwars.api.tasks.PlayingTask;
+import com.tomkeuper.bedwars.arena.Arena;
+import com.tomkeuper.bedwars.profiler.Profiler;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Placeholder values of a player.
+ * Values are computed on the main thread when something changes and once per second
+ * for players in an arena. TAB reads them from its own threads without touching arena data.
+ */
+public class SidebarState {
+
+    private static final String[] NO_TEAMS = new String[0];
+    private static final ConcurrentHashMap<UUID, SidebarState> states = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+    // patterns only understood by SimpleDateFormat, which is not thread safe
+    private static final ConcurrentHashMap<String, ThreadLocal<SimpleDateFormat>> legacyFormatters = new ConcurrentHashMap<>();
+    // main thread only
+    private static final Set<UUID> pending = new HashSet<>();
+
+    private volatile boolean inArena = false;
+    private volatile String datePattern = "";
+    private volatile String map = "", mapName = "", group = "";
+    private volatile String kills = "0", finalKills = "0", beds = "0", deaths = "0";
+    private volatile String nextEvent = "-", time = "", on = "", max = "";
+    private volatile String team = "", teamLetter = "", teamColor = "";
+    private volatile String[] teams = NO_TEAMS;
+
+    private SidebarState() {
+    }
+
+    /**
+     * Get the placeholder values of a player.
+     *
+     * @return null if the player has no state yet.
+     */
+    @Nullable
+    public static SidebarState get(UUID player) {
+        return states.get(player);
+    }
+
+    /**
+     * Create the state of a player. Main thread only.
+     */
+    public static void create(@NotNull Player player) {
+        SidebarState state = new SidebarState();
+        state.update(player);
+        states.put(player.getUniqueId(), state);
+    }
+
+    public static void remove(UUID player) {
+        states.remove(player);
+        pending.remove(player);
+    }
+
+    /**
+     * Update the state of a player on the next tick. Main thread only.
+     * Multiple requests in the same tick result in a single update.
+     */
+    public static void requestUpdate(@NotNull Player player) {
+        if (pending.isEmpty()) {
+            Bukkit.getScheduler().runTask(BedWars.plugin, SidebarState::flush);
+        }
+        pending.add(player.getUniqueId());
+    }
+
+    /**
+     * Update the state of every player and spectator of an arena on the next tick.
+     */
+    public static void requestUpdate(@NotNull IArena arena) {
+        if (arena.getPlayers() == null) return;
+        for (Player player : arena.getPlayers()) {
+            requestUpdate(player);
+        }
+        for (Player player : arena.getSpectators()) {
+            requestUpdate(player);
+        }
+    }
+
+    private static void flush() {
+        for (UUID uuid : new ArrayList<>(pending)) {
+            SidebarState state = states.get(uuid);
+            Player player = Bukkit.getPlayer(uuid);
+            if (state != null && player != null) {
+                state.update(player);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Update the timers and counters of players in arenas. Called once per second.
+     */
+    public static void tick() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            SidebarState state = states.get(player.getUniqueId());
+            if (state == null) {
+                create(player);
+            } else if (state.inArena || Arena.isInArena(player)) {
+                state.update(player);
+            }
+        }
+    }
+
+    /**
+     * Format a time with a cached thread safe formatter.
+     * Patterns rejected by both formatters are returned as they are.
+     */
+    public static String format(String pattern, long millis, ZoneId zone) {
+        String key = zone.getId() + pattern;
+        DateTimeFormatter formatter = formatters.get(key);
+        if (formatter == null) {
+            ThreadLocal<SimpleDateFormat> legacy = legacyFormatters.get(key);
+            if (legacy == null) {
+                try {
+                    formatter = formatters.computeIfAbsent(key, k -> DateTimeFormatter.ofPattern(pattern).withZone(zone));
+                } catch (IllegalArgumentException ex) {
+                    // pattern only understood by the legacy formatter
+                    legacy = legacyFormatters.computeIfAbsent(key, k -> createLegacyFormatter(pattern, zone));
+                }
+            }
+            if (legacy != null) {
+                SimpleDateFormat format = legacy.get();
+                return format == null ? pattern : format.format(new Date(millis));
+            }
+        }
+        return formatter.format(Instant.ofEpochMilli(millis));
+    }
+
+    private static ThreadLocal<SimpleDateFormat> createLegacyFormatter(String pattern, ZoneId zone) {
+        try {
+            new SimpleDateFormat(pattern);
+        } catch (IllegalArgumentException ex) {
+            BedWars.plugin.getLogger().warning("Invalid date format: " + pattern);
+            return ThreadLocal.withInitial(() -> null);
+        }
+        return ThreadLocal.withInitial(() -> {
+            SimpleDateFormat format = new SimpleDateFormat(pattern);
+            format.setTimeZone(TimeZone.getTimeZone(zone));
+            return format;
+        });
+    }
+
+    private void update(Player player) {
+        Profiler.Sample sample = Profiler.start();
+        try {
+            compute(player);
+        } finally {
+            Profiler.stop(sample, Profiler.SIDEBAR_PLACEHOLDERS, player);
+        }
+    }
+
+    private void compute(Player player) {
+        Language lang = Language.getPlayerLanguage(player);
+        datePattern = lang.m(Messages.FORMATTING_SCOREBOARD_DATE);
+        IArena arena = Arena.getArenaByPlayer(player);
+        if (arena == null) {
+            inArena = false;
+            map = mapName = group = max = time = team = teamLetter = teamColor = "";
+            nextEvent = "-";
+            teams = NO_TEAMS;
+            return;
+        }
+        map = arena.getDisplayName();
+        mapName = arena.getArenaName();
+        group = arena.getDisplayGroup(lang);
+        kills = String.valueOf(arena.getPlayerKills(player, false));
+        finalKills = String.valueOf(arena.getPlayerKills(player, true));
+        beds = String.valueOf(arena.getPlayerBedsDestroyed(player));
+        deaths = String.valueOf(arena.getPlayerDeaths(player, false));
+        on = String.valueOf(arena.getPlayers().size());
+        max = String.valueOf(arena.getMaxPlayers());
+        nextEvent = getNextEventName(arena, lang);
+        time = getTime((Arena) arena, lang);
+
+        ITeam playerTeam = arena.getTeam(player);
+        if (playerTeam == null) {
+            team = teamLetter = teamColor = "";
+        } else {
+            String name = playerTeam.getDisplayName(lang);
+            team = playerTeam.getColor().chat() + name;
+            teamLetter = name.isEmpty() ? "" : name.substring(0, 1);
+            teamColor = playerTeam.getColor().chat().toString();
+        }
+
+        List<ITeam> arenaTeams = arena.getTeams();
+        String[] lines = new String[Math.min(arenaTeams.size(), 32)];
+        String genericTeamFormat = lang.m(Messages.FORMATTING_SCOREBOARD_TEAM_GENERIC);
+        for (int i = 0; i < lines.length; i++) {
+            ITeam t = arenaTeams.get(i);
+            String teamName = t.getDisplayName(lang);
+            lines[i] = genericTeamFormat
+                    .replace("%bw_team_letter%", teamName.isEmpty() ? "" : String.valueOf(teamName.charAt(0)))
+                    .replace("%bw_team_color%", t.getColor().chat().toString())
+                    .replace("%bw_team_name%", teamName)
+                    .replace("%bw_team_status%", getTeamStatus(t, player, lang));
+        }
+        teams = lines;
+        inArena = true;
+    }
+
+    private static String getTime(Arena arena, Language lang) {
+        String pattern = lang.m(Messages.FORMATTING_SCOREBOARD_NEXEVENT_TIMER);
+        if (arena.getStatus() == GameState.playing || arena.getStatus() == GameState.restarting) {
+            return format(pattern, getNextEventTime(arena), ZoneOffset.UTC);
+        } else if (arena.getStatus() == GameState.starting && arena.getStartingTask() != null) {
+            return String.valueOf(arena.getStartingTask().getCountdown() + 1);
+        }
+        return format(pattern, System.currentTimeMillis(), ZoneOffset.UTC);
+    }
+
+    private static String getNextEventName(IArena arena, Language lang) {
+        switch (arena.getNextEvent()) {
+            case EMERALD_GENERATOR_TIER_II:
+                return lang.m(Messages.NEXT_EVENT_EMERALD_UPGRADE_II);
+            case EMERALD_GENERATOR_TIER_III:
+                return lang.m(Messages.NEXT_EVENT_EMERALD_UPGRADE_III);
+            case DIAMOND_GENERATOR_TIER_II:
+                return lang.m(Messages.NEXT_EVENT_DIAMOND_UPGRADE_II);
+            case DIAMOND_GENERATOR_TIER_III:
+                return lang.m(Messages.NEXT_EVENT_DIAMOND_UPGRADE_III);
+            case GAME_END:
+                return lang.m(Messages.NEXT_EVENT_GAME_END);
+            case BEDS_DESTROY:
+                return lang.m(Messages.NEXT_EVENT_BEDS_DESTROY);
+            case ENDER_DRAGON:
+                return lang.m(Messages.NEXT_EVENT_DRAGON_SPAWN);
+            default:
+                return "-";
+        }
+    }
+
+    private static long getNextEventTime(Arena arena) {
+        PlayingTask playingTask = arena.getPlayingTask();
+        switch (arena.getNextEvent()) {
+            case EMERALD_GENERATOR_TIER_II:
+            case EMERALD_GENERATOR_TIER_III:
+                return arena.upgradeEmeraldsCount * 1000L;
+            case DIAMOND_GENERATOR_TIER_II:
+            case DIAMOND_GENERATOR_TIER_III:
+                return arena.upgradeDiamondsCount * 1000L;
+            case GAME_END:
+                return null == playingTask ? 0L : playingTask.getGameEndCountdown() * 1000L;
+            case BEDS_DESTROY:
+                return null == playingTask ? 0L : playingTask.getBedsDestroyCountdown() * 1000L;
+            case ENDER_DRAGON:
+                return null == playingTask ? 0L : playingTask.getDragonSpawnCountdown() * 1000L;
+            default:
+                return 0L;
+        }
+    }
+
+    /**
+     * Get the current status of a team. Alive/Dead/Num of players alive.
+     */
+    private static String getTeamStatus(ITeam currentTeam, Player player, Language lang) {
+        String result;
+        if (currentTeam.isBedDestroyed()) {
+            if (currentTeam.getSize() > 0) {
+                result = lang.m(Messages.FORMATTING_SCOREBOARD_BED_DESTROYED)
+                        .replace("%bw_players_remaining%", String.valueOf(currentTeam.getSize()));
+            } else {
+                result = lang.m(Messages.FORMATTING_SCOREBOARD_TEAM_ELIMINATED);
+            }
+        } else {
+            result = lang.m(Messages.FORMATTING_SCOREBOARD_TEAM_ALIVE);
+        }
+        if (currentTeam.isMember(player)) {
+            result += lang.m(Messages.FORMATTING_SCOREBOARD_YOUR_TEAM);
+        }
+        return result;
+    }
+
+    public boolean isInArena() {
+        return inArena;
+    }
+
+    public String getDate() {
+        return format(datePattern, System.currentTimeMillis(), ZoneId.systemDefault());
+    }
+
+    public String getMap() {
+        return map;
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String getKills() {
+        return kills;
+    }
+
+    public String getFinalKills() {
+        return finalKills;
+    }
+
+    public String getBeds() {
+        return beds;
+    }
+
+    public String getDeaths() {
+        return deaths;
+    }
+
+    public String getNextEvent() {
+        return nextEvent;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public String getOn() {
+        return on;
+    }
+
+    public String getMax() {
+        return max;
+    }
+
+    public String getTeam() {
+        return team;
+    }
+
+    public String getTeamLetter() {
+        return teamLetter;
+    }
+
+    public String getTeamColor() {
+        return teamColor;
+    }
+
+    /**
+     * Get the sidebar line of the team at the given position.
+     *
+     * @param teamNumber team number starting from 1.
+     * @return null if there is no such team.
+     */
+    @Nullable
+    public String getTeamLine(int teamNumber) {
+        String[] lines = teams;
+        return teamNumber > lines.length ? null : lines[teamNumber - 1];
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * BedWars2023 - A bed wars mini-game.
+ * Copyright (C) 2024 Tomas Keuper
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Contact e-mail: contact@fyreblox.com
+ */
+
+package com.tomkeuper.bedwars.stats;
+
+import com.tomkeuper.bedwars.BedWars;
+import com.tomkeuper.bedwars.api.database.IDatabase;
+import com.tomkeuper.bedwars.api.events.player.PlayerLevelUpEvent;
+import com.tomkeuper.bedwars.api.events.player.PlayerStatChangeEvent;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
+import com.tomkeuper.bedwars.api.stats.IPlayerStats;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In memory top {@link #SIZE} tables per {@link LeaderboardStat}.
+ * Tables are loaded from the database asynchronously every {@link #REFRESH_TICKS} ticks
+ * and patched from the stats cache when a stat changes, so lookups never run a query.
+ * Tables are immutable and replaced on the main thread, reads are safe from any thread.
+ */
+public class Leaderboards implements Listener {
+
+    public static final int SIZE = 100;
+    private static final long REFRESH_TICKS = 20L * 60 * 5;
+
+    private volatile Map<LeaderboardStat, Table> tables = new EnumMap<>(LeaderboardStat.class);
+    private final Set<UUID> changed = new HashSet<>();
+    private BukkitTask applyTask;
+
+    public void start() {
+        Bukkit.getPluginManager().registerEvents(this, BedWars.plugin);
+        Bukkit.getScheduler().runTaskTimerAsynchronously(BedWars.plugin, this::refresh, 40L, REFRESH_TICKS);
+    }
+
+    /**
+     * Get the cached top players, highest first.
+     */
+    @NotNull
+    public List<ILeaderboardEntry> getTop(LeaderboardStat stat) {
+        Table table = tables.get(stat);
+        return table == null ? Collections.emptyList() : table.entries;
+    }
+
+    /**
+     * @return position starting from 1, -1 if the player is not in the cached top.
+     */
+    public int getPosition(LeaderboardStat stat, UUID player) {
+        Table table = tables.get(stat);
+        if (table == null) return -1;
+        Integer index = table.positions.get(player);
+        return index == null ? -1 : index + 1;
+    }
+
+    /**
+     * Reload every table from the database. Runs async.
+     */
+    private void refresh() {
+        IDatabase database = BedWars.getRemoteDatabase();
+        if (database == null) return;
+        Map<LeaderboardStat, Table> loaded = new EnumMap<>(LeaderboardStat.class);
+        for (LeaderboardStat stat : LeaderboardStat.values()) {
+            loaded.put(stat, new Table(database.getLeaderboard(stat, SIZE)));
+        }
+        Bukkit.getScheduler().runTask(BedWars.plugin, () -> {
+            tables = loaded;
+            // the database may not have the latest values of online players yet
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                applyStats(player.getUniqueId());
+            }
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onStatChange(PlayerStatChangeEvent e) {
+        if (e.isCancelled() || e.getPlayer() == null) return;
+        if (toLeaderboard(e.getStatType()) == null) return;
+        // the stat is increased after the event, read it from the cache on the next tick
+        changed.add(e.getPlayer().getUniqueId());
+        if (applyTask == null) {
+            applyTask = Bukkit.getScheduler().runTask(BedWars.plugin, () -> {
+                applyTask = null;
+                for (UUID uuid : changed) {
+                    applyStats(uuid);
+                }
+                changed.clear();
+            });
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLevelUp(PlayerLevelUpEvent e) {
+        if (e.getPlayer() == null) return;
+        put(LeaderboardStat.LEVEL, e.getPlayer().getUniqueId(), e.getPlayer().getName(), e.getNewLevel());
+    }
+
+    private void applyStats(UUID uuid) {
+        IPlayerStats stats = BedWars.getStatsManager().getUnsafe(uuid);
+        if (stats == null) return;
+        put(LeaderboardStat.WINS, uuid, stats.getName(), stats.getWins());
+        put(LeaderboardStat.KILLS, uuid, stats.getName(), stats.getKills());
+        put(LeaderboardStat.FINAL_KILLS, uuid, stats.getName(), stats.getFinalKills());
+        put(LeaderboardStat.BEDS_DESTROYED, uuid, stats.getName(), stats.getBedsDestroyed());
+    }
+
+    /**
+     * Insert or move a player in a table. Main thread only.
+     */
+    private void put(LeaderboardStat stat, UUID uuid, String name, int value) {
+        Table table = tables.get(stat);
+        List<ILeaderboardEntry> entries = table == null ? Collections.emptyList() : table.entries;
+        Integer index = table == null ? null : table.positions.get(uuid);
+        if (index != null && entries.get(index).getValue() == value) return;
+        if (index == null && (value <= 0 || (entries.size() >= SIZE && value <= entries.get(entries.size() - 1).getValue()))) return;
+
+        List<ILeaderboardEntry> updated = new ArrayList<>(entries);
+        if (index != null) updated.remove((int) index);
+        int position = 0;
+        while (position < updated.size() && updated.get(position).getValue() >= value) position++;
+        if (position < SIZE) {
+            updated.add(position, new LeaderboardEntry(uuid, name, value));
+        }
+        while (updated.size() > SIZE) updated.remove(updated.size() - 1);
+
+        Map<LeaderboardStat, Table> copy = new EnumMap<>(LeaderboardStat.class);
+        copy.putAll(tables);
+        copy.put(stat, new Table(updated));
+        tables = copy;
+    }
+
+    private static LeaderboardStat toLeaderboard(PlayerStatChangeEvent.StatType type) {
+        switch (type) {
+            case WINS:
+                return LeaderboardStat.WINS;
+            case KILLS:
+                return LeaderboardStat.KILLS;
+            case FINAL_KILLS:
+                return LeaderboardStat.FINAL_KILLS;
+            case BEDS_DESTROYED:
+                return LeaderboardStat.BEDS_DESTROYED;
+            default:
+                return null;
+        }
+    }
+
+    private static final class Table {
+        private final List<ILeaderboardEntry> entries;
+        private final Map<UUID, Integer> positions;
+
+        private Table(List<ILeaderboardEntry> entries) {
+            this.entries = Collections.unmodifiableList(entries);
+            this.positions = new HashMap<>(entries.size() * 2);
+            for (int i = 0; i < entries.size(); i++) {
+                this.positions.putIfAbsent(entries.get(i).getUuid(), i);
+            }
+        }
+    }
+}
@@ -46,6 +46,26 @@ public class PlayerStats implements IPlayerStats {
         this.uuid = uuid;
     }
 
+    /**
+     * Copy the current values of the given stats.
+     * Used to queue a write that must not see later changes.
+     */
+    public static PlayerStats copyOf(IPlayerStats stats) {
+        PlayerStats copy = new PlayerStats(stats.getUuid());
+        copy.setName(stats.getName());
+        copy.setFirstPlay(stats.getFirstPlay());
+        copy.setLastPlay(stats.getLastPlay());
+        copy.setWins(stats.getWins());
+        copy.setKills(stats.getKills());
+        copy.setFinalKills(stats.getFinalKills());
+        copy.setLosses(stats.getLosses());
+        copy.setDeaths(stats.getDeaths());
+        copy.setFinalDeaths(stats.getFinalDeaths());
+        copy.setBedsDestroyed(stats.getBedsDestroyed());
+        copy.setGamesPlayed(stats.getGamesPlayed());
+        return copy;
+    }
+
     public String getName() {
         return name;
     }
@@ -21,10 +21,13 @@
 package com.tomkeuper.bedwars.stats;
 
 import com.tomkeuper.bedwars.api.BedWars;
+import com.tomkeuper.bedwars.api.stats.ILeaderboardEntry;
 import com.tomkeuper.bedwars.api.stats.IPlayerStats;
+import com.tomkeuper.bedwars.api.stats.LeaderboardStat;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @SuppressWarnings("unused")
@@ -112,4 +115,14 @@ public class StatsAPI implements BedWars.IStats {
     public int getPlayerGamesPlayed(UUID p) {
         return getData(p).getGamesPlayed();
     }
+
+    @Override
+    public List<ILeaderboardEntry> getLeaderboard(LeaderboardStat stat) {
+        return com.tomkeuper.bedwars.BedWars.getStatsManager().getLeaderboards().getTop(stat);
+    }
+
+    @Override
+    public int getLeaderboardPosition(LeaderboardStat stat, UUID p) {
+        return com.tomkeuper.bedwars.BedWars.getStatsManager().getLeaderboards().getPosition(stat, p);
+    }
 }
@@ -33,6 +33,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class StatsManager {
 
     private final Map<UUID, IPlayerStats> stats = new ConcurrentHashMap<>();
+    private final Leaderboards leaderboards = new Leaderboards();
 
     public StatsManager() {
         registerListeners();
@@ -60,10 +61,18 @@ public class StatsManager {
         return stats.get(uuid);
     }
 
+    /**
+     * Cached top players, refreshed from the database in the background.
+     */
+    public Leaderboards getLeaderboards() {
+        return leaderboards;
+    }
+
     /**
      * Register listeners related to stats cache.
      */
     private void registerListeners() {
         Bukkit.getPluginManager().registerEvents(new StatsListener(), BedWars.plugin);
+        leaderboards.start();
     }
 }
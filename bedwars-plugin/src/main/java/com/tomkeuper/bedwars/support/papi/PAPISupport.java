@@ -40,15 +40,49 @@ import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Date;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static com.tomkeuper.bedwars.api.language.Language.getMsg;
 
 
 public class PAPISupport extends PlaceholderExpansion {
 
+    // cached argument lists of parameterized placeholders, the same identifiers are requested over and over
+    private static final int MAX_CACHED_ARGUMENTS = 1024;
+
+    private final DateTimeFormatter nextEventFormat = DateTimeFormatter.ofPattern("mm:ss").withZone(ZoneOffset.UTC);
+
+    // identifier -> handler
+    private final Map<String, Handler> exact = new HashMap<>();
+    // identifier prefix, ending with an underscore -> handler receiving the rest of the identifier
+    private final Map<String, Handler> prefixed = new HashMap<>();
+    private final ConcurrentHashMap<String, String[]> splitArguments = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    private interface Handler {
+        /**
+         * @param player   requesting player, not null unless the handler was registered as player-less.
+         * @param argument identifier part after the prefix, empty for exact identifiers.
+         */
+        String apply(Player player, String argument);
+    }
+
+    public PAPISupport() {
+        registerServerPlaceholders();
+        registerStatsPlaceholders();
+        registerPartyPlaceholders();
+        registerTeamPlaceholders();
+        registerArenaPlaceholders();
+        registerPlayerPlaceholders();
+    }
+
     @NotNull
     @Override
     public String getIdentifier() {
@@ -71,351 +105,290 @@ public class PAPISupport extends PlaceholderExpansion {
     public boolean persist() {
         return true;
     }
-    
-    private final SimpleDateFormat nextEventFormat = new SimpleDateFormat("mm:ss");
-    
+
     @Override
     public String onPlaceholderRequest(Player player, @NotNull String s) {
+        Handler handler = exact.get(s);
+        String argument = "";
+        if (handler == null) {
+            // longest registered prefix first
+            for (int i = s.lastIndexOf('_'); i > 0 && handler == null; i = s.lastIndexOf('_', i - 1)) {
+                handler = prefixed.get(s.substring(0, i + 1));
+                if (handler != null) {
+                    argument = s.substring(i + 1);
+                }
+            }
+        }
+        if (handler == null) {
+            return player == null ? null : "";
+        }
+        return handler.apply(player, argument);
+    }
+
+    private void server(String identifier, Handler handler) {
+        register(identifier, handler);
+    }
+
+    private void player(String identifier, Handler handler) {
+        register(identifier, (player, argument) -> player == null ? null : handler.apply(player, argument));
+    }
+
+    private void arena(String identifier, Function<IArena, String> handler) {
+        player(identifier, (player, argument) -> {
+            IArena arena = Arena.getArenaByPlayer(player);
+            return arena == null ? "" : handler.apply(arena);
+        });
+    }
 
-        /* Non-Player required placeholders */
+    private void register(String identifier, Handler handler) {
+        if (identifier.endsWith("_")) {
+            prefixed.put(identifier, handler);
+        } else {
+            exact.put(identifier, handler);
+        }
+    }
 
-        if (s.startsWith("arena_status_")) {
-            IArena a = Arena.getArenaByName(s.replace("arena_status_", ""));
+    private String[] split(String argument) {
+        String[] cached = splitArguments.get(argument);
+        if (cached == null) {
+            cached = argument.split("\\+");
+            if (splitArguments.size() < MAX_CACHED_ARGUMENTS) {
+                splitArguments.put(argument, cached);
+            }
+        }
+        return cached;
+    }
+
+    /* Non-Player required placeholders */
+    private void registerServerPlaceholders() {
+        server("arena_status_", (player, argument) -> {
+            IArena a = Arena.getArenaByName(argument);
             if (a == null) {
                 return player == null ? Language.getDefaultLanguage().m(Messages.ARENA_STATUS_RESTARTING_NAME) :
                         Language.getMsg(player, Messages.ARENA_STATUS_RESTARTING_NAME);
             }
             return a.getDisplayStatus(Language.getDefaultLanguage());
-        }
-
-        if (s.startsWith("arena_count_")) {
+        });
+        server("arena_count_", (player, argument) -> {
             int players = 0;
-
-            String[] arenas = s.replace("arena_count_", "").split("\\+");
-            IArena a;
-            for (String arena : arenas) {
-                a = Arena.getArenaByName(arena);
+            for (String arena : split(argument)) {
+                IArena a = Arena.getArenaByName(arena);
                 if (a != null) {
                     players += a.getPlayers().size();
                 }
             }
-
             return String.valueOf(players);
-        }
-
-        if (s.startsWith("group_count_")) {
-            return String.valueOf(Arena.getPlayers(s.replace("group_count_", "")));
-        }
-
-        if (s.startsWith("arena_group_")) {
-            String a = s.replace("arena_group_", "");
-            IArena arena = Arena.getArenaByName(a);
-            if (arena != null) {
-                return arena.getGroup();
+        });
+        server("group_count_", (player, argument) -> {
+            int players = 0;
+            for (String group : split(argument)) {
+                players += Arena.getGroupPlayers(group);
             }
-            return "-";
-        }
+            return String.valueOf(players);
+        });
+        server("arena_group_", (player, argument) -> {
+            IArena arena = Arena.getArenaByName(argument);
+            return arena == null ? "-" : arena.getGroup();
+        });
+    }
 
-        /* Player required placeholders */
-        if (player == null) return null;
-
-        /* Arena required placeholders */
-        IArena arena = BedWars.getAPI().getArenaUtil().getArenaByPlayer(player);
-        
-        // stats placeholders
-        if(s.startsWith("stats_")) {
-            String targetedStat = s.replaceFirst("stats_", "");
-            if(targetedStat.isEmpty() || targetedStat.isBlank()) {
-                return null;
-            }
+    private void registerStatsPlaceholders() {
+        stat("firstplay", (player, stats) -> {
+            Instant firstPlay = stats.getFirstPlay();
+            return new SimpleDateFormat(getMsg(player, Messages.FORMATTING_STATS_DATE_FORMAT)).format(firstPlay != null ? Timestamp.from(firstPlay) : null);
+        });
+        stat("lastplay", (player, stats) -> {
+            Instant lastPlay = stats.getLastPlay();
+            return new SimpleDateFormat(getMsg(player, Messages.FORMATTING_STATS_DATE_FORMAT)).format(lastPlay != null ? Timestamp.from(lastPlay) : null);
+        });
+        stat("total_kills", (player, stats) -> String.valueOf(stats.getTotalKills()));
+        stat("kills", (player, stats) -> String.valueOf(stats.getKills()));
+        stat("wins", (player, stats) -> String.valueOf(stats.getWins()));
+        stat("finalkills", (player, stats) -> String.valueOf(stats.getFinalKills()));
+        stat("deaths", (player, stats) -> String.valueOf(stats.getDeaths()));
+        stat("losses", (player, stats) -> String.valueOf(stats.getLosses()));
+        stat("finaldeaths", (player, stats) -> String.valueOf(stats.getFinalDeaths()));
+        stat("bedsdestroyed", (player, stats) -> String.valueOf(stats.getBedsDestroyed()));
+        stat("gamesplayed", (player, stats) -> String.valueOf(stats.getGamesPlayed()));
+    }
+
+    private void stat(String name, BiFunction<Player, IPlayerStats, String> handler) {
+        player("stats_" + name, (player, argument) -> {
             IPlayerStats stats = BedWars.getStatsManager().getUnsafe(player.getUniqueId());
-            if(stats == null) {
-                return null;
-            }
-            switch (targetedStat) {
-                case "firstplay":
-                    Instant firstPlay = stats.getFirstPlay();
-                    return new SimpleDateFormat(getMsg(player, Messages.FORMATTING_STATS_DATE_FORMAT)).format(firstPlay != null ? Timestamp.from(firstPlay) : null);
-                case "lastplay":
-                    Instant lastPlay = stats.getLastPlay();
-                    return new SimpleDateFormat(getMsg(player, Messages.FORMATTING_STATS_DATE_FORMAT)).format(lastPlay != null ? Timestamp.from(lastPlay) : null);
-                case "total_kills":
-                    return String.valueOf(stats.getTotalKills());
-                case "kills":
-                    return String.valueOf(stats.getKills());
-                case "wins":
-                    return String.valueOf(stats.getWins());
-                case "finalkills":
-                    return String.valueOf(stats.getFinalKills());
-                case "deaths":
-                    return String.valueOf(stats.getDeaths());
-                case "losses":
-                    return String.valueOf(stats.getLosses());
-                case "finaldeaths":
-                    return String.valueOf(stats.getFinalDeaths());
-                case "bedsdestroyed":
-                    return String.valueOf(stats.getBedsDestroyed());
-                case "gamesplayed":
-                    return String.valueOf(stats.getGamesPlayed());
-            }
-        }
+            return stats == null ? null : handler.apply(player, stats);
+        });
+    }
 
-        // party placeholders
-        Party party = BedWars.getAPI().getPartyUtil();
-        if (s.equalsIgnoreCase("party_has"))
-            return String.valueOf(party.hasParty(player));
-        if (s.startsWith("party_members")) {
-            StringBuilder output = new StringBuilder();
-            List<Player> list = new ArrayList<>(party.getMembers(player));
-            if (s.equalsIgnoreCase("party_members_amount"))
-                output = new StringBuilder(String.valueOf(list.size()));
-            else if (s.equalsIgnoreCase("party_members")) {
-                for (Player pl : list) {
-                    output.append(pl.getName());
-                    if (list.indexOf(pl) != list.size() - 1) output.append(", ");
-                }
-            }
-            return output.toString();
-        }
-        if (s.startsWith("party_in_yours_")) {
-            Player p2 = Bukkit.getServer().getPlayer(s.replace("party_in_yours_",""));
+    private void registerPartyPlaceholders() {
+        player("party_has", (player, argument) -> String.valueOf(party().hasParty(player)));
+        player("party_members_amount", (player, argument) -> String.valueOf(party().getMembers(player).size()));
+        player("party_members", (player, argument) -> joinNames(party().getMembers(player)));
+        player("party_in_yours_", (player, argument) -> {
+            Player p2 = Bukkit.getServer().getPlayer(argument);
             if (p2 == null) return "false";
-            return String.valueOf(party.isMember(player, p2));
-        }
-        if (s.startsWith("party_in_his_")) {
-            Player p2 = Bukkit.getServer().getPlayer(s.replace("party_in_his_",""));
+            return String.valueOf(party().isMember(player, p2));
+        });
+        player("party_in_his_", (player, argument) -> {
+            Player p2 = Bukkit.getServer().getPlayer(argument);
             if (p2 == null) return "false";
-            return String.valueOf(party.isMember(p2, player));
-        }
-        if (s.startsWith("party_is_owner")) {
-            if (s.equalsIgnoreCase("party_is_owner")) return String.valueOf(party.isOwner(player));
-            if (s.startsWith("party_is_owner_")) {
-                Player p2 = Bukkit.getServer().getPlayer(s.replace("party_is_owner_", ""));
-                if (p2 == null) return "false";
-                return String.valueOf(party.isOwner(p2));
-            }
-        }
+            return String.valueOf(party().isMember(p2, player));
+        });
+        player("party_is_owner", (player, argument) -> String.valueOf(party().isOwner(player)));
+        player("party_is_owner_", (player, argument) -> {
+            Player p2 = Bukkit.getServer().getPlayer(argument);
+            if (p2 == null) return "false";
+            return String.valueOf(party().isOwner(p2));
+        });
+        player("lang", (player, argument) -> BedWars.getAPI().getPlayerLanguage(player).getLangName());
+    }
 
-        Language lang = BedWars.getAPI().getPlayerLanguage(player);
-        if (s.startsWith("lang"))
-            return lang.getLangName();
+    private static Party party() {
+        return BedWars.getAPI().getPartyUtil();
+    }
 
-        // team placeholders
-        if (s.startsWith("team_status")) {
-            ITeam team;
-            if (arena == null) return "";
-            if (s.equalsIgnoreCase("team_status"))
-                team = arena.getTeam(player);
-            else team = arena.getTeam(s.replace("team_status_", ""));
-            if (team != null)
-                return !team.isBedDestroyed() ? lang.getString("format-sb-team-alive") : !team.getMembers().isEmpty() ? String.valueOf(team.getMembers().size()) : lang.getString("format-sb-team-eliminated");
-        }
-        if (s.startsWith("team_color")) {
-            ITeam team;
-            if (arena == null) return "";
-            if (s.equalsIgnoreCase("team_color"))
-                team = arena.getTeam(player);
-            else team = arena.getTeam(s.replace("team_color_", ""));
-            if (team != null)
-                return team.getColor().chat().toString();
-        }
-        if (s.startsWith("team_letter")) {
-            ITeam team;
-            if (arena == null) return "";
-            if (s.equalsIgnoreCase("team_letter"))
-                team = arena.getTeam(player);
-            else team = arena.getTeam(s.replace("team_letter_", ""));
-            if (team != null)
-                return team.getName().substring(0,1).toUpperCase();
-        }
-        if (s.startsWith("team_players_amount")) {
-            ITeam team;
+    // team placeholders, for the player's team or for the team given after the prefix
+    private void registerTeamPlaceholders() {
+        team("team_status", (player, team) -> {
+            Language lang = BedWars.getAPI().getPlayerLanguage(player);
+            return !team.isBedDestroyed() ? lang.getString("format-sb-team-alive") : !team.getMembers().isEmpty() ? String.valueOf(team.getMembers().size()) : lang.getString("format-sb-team-eliminated");
+        });
+        team("team_color", (player, team) -> team.getColor().chat().toString());
+        team("team_letter", (player, team) -> team.getName().substring(0, 1).toUpperCase());
+        team("team_players_amount", (player, team) -> String.valueOf(team.getMembers().size()));
+        team("team_players", (player, team) -> joinNames(team.getMembers()));
+    }
+
+    private void team(String identifier, BiFunction<Player, ITeam, String> handler) {
+        player(identifier, (player, argument) -> {
+            IArena arena = Arena.getArenaByPlayer(player);
             if (arena == null) return "";
-            if (s.equalsIgnoreCase("team_players_amount"))
-                team = arena.getTeam(player);
-            else team = arena.getTeam(s.replace("team_players_amount_", ""));
-            if (team != null)
-                return String.valueOf(team.getMembers().size());
-        }
-        if (s.startsWith("team_players")) {
-            ITeam team;
+            ITeam team = arena.getTeam(player);
+            return team == null ? "" : handler.apply(player, team);
+        });
+        player(identifier + "_", (player, argument) -> {
+            IArena arena = Arena.getArenaByPlayer(player);
             if (arena == null) return "";
-            if (s.equalsIgnoreCase("team_players"))
-                team = arena.getTeam(player);
-            else team = arena.getTeam(s.replace("team_players_", ""));
-            if (team != null) {
-                StringBuilder output = new StringBuilder();
-                List<Player> list = new ArrayList<>(team.getMembers());
-                for (Player pl : list) {
-                    output.append(pl.getName());
-                    if (list.indexOf(pl) != list.size()-1) output.append(", ");
-                }
-                return output.toString();
-            }
-        }
+            ITeam team = arena.getTeam(argument);
+            return team == null ? "" : handler.apply(player, team);
+        });
+    }
+
+    private void registerArenaPlaceholders() {
+        arena("arena_nextevent_name", arena -> arena.getNextEvent().toString().toLowerCase().replace("_", " "));
+        arena("arena_nextevent_time", arena -> String.valueOf(getNextEventTime(arena)));
+        arena("arena_nextevent_time_formatted", arena -> nextEventFormat.format(Instant.ofEpochMilli(getNextEventTime(arena) * 1000L)));
+        arena("arena_name", IArena::getArenaName);
+        arena("arena_display_name", IArena::getDisplayName);
+        arena("arena_group", IArena::getGroup);
+        arena("arena_world", IArena::getWorldName);
+        player("arena_status_plocale", (player, argument) -> {
+            IArena arena = Arena.getArenaByPlayer(player);
+            return arena == null ? "" : arena.getDisplayStatus(BedWars.getAPI().getPlayerLanguage(player));
+        });
+        arena("arena_status", arena -> arena.getDisplayStatus(BedWars.getAPI().getDefaultLang()));
 
-        // arena info placeholders
-        switch (s) {
-            case "arena_nextevent_name":
-                return (arena != null) ? arena.getNextEvent().toString().toLowerCase().replace("_", " ") : "";
-            case "arena_nextevent_time":
-                return (arena != null) ? String.valueOf(getNextEventTime(arena)) : "";
-            case "arena_nextevent_time_formatted":
-                return (arena != null) ? nextEventFormat.format(new Date(getNextEventTime(arena) * 1000L)) : "";
-            case "arena_name":
-                return (arena != null) ? arena.getArenaName() : "";
-            case "arena_display_name":
-                return (arena != null) ? arena.getDisplayName() : "";
-            case "arena_group":
-                return (arena != null) ? arena.getGroup() : "";
-            case "arena_world":
-                return (arena != null) ? arena.getWorldName() : "";
-            case "arena_status_plocale":
-                return (arena != null) ? arena.getDisplayStatus(lang) : "";
-            case "arena_status":
-                return (arena != null) ? arena.getDisplayStatus(BedWars.getAPI().getDefaultLang()) : "";
-        }
-        
         // inside arena stats placeholders
-        switch (s) {
-            case "player_kills": return (arena != null) ? String.valueOf(arena.getPlayerKills(player, false)) : "";
-            case "player_kills_total": return (arena != null) ? String.valueOf(arena.getPlayerKills(player,true)+arena.getPlayerKills(player,false)) : "";
-            case "player_kills_final": return (arena != null) ? String.valueOf(arena.getPlayerKills(player, true)) : "";
-            case "player_deaths": return (arena != null) ? String.valueOf(arena.getPlayerDeaths(player, false)) : "";
-            case "player_deaths_total": return (arena != null) ? String.valueOf(arena.getPlayerDeaths(player,true)+arena.getPlayerDeaths(player,false)) : "";
-            case "player_deaths_final": return (arena != null) ? String.valueOf(arena.getPlayerDeaths(player, true)) : "";
-            case "player_beds": return (arena != null) ? String.valueOf(arena.getPlayerBedsDestroyed(player)) : "";
-            case "status_color": return (arena != null) ? (arena.isSpectator(player) ? ChatColor.GRAY : arena.getTeam(player).getColor().chat()).toString() : "";
-            case "status_letter": return (arena != null) ? arena.isSpectator(player) ? getSpectatorLetter(lang) : arena.getTeam(player).getName().substring(0,1).toUpperCase() : "";
-        }
-        if (s.startsWith("players")) {
-            StringBuilder output = new StringBuilder();
-            List<Player> list = new ArrayList<>(arena.getPlayers());
-            if (s.equalsIgnoreCase("players_amount"))
-                output = new StringBuilder(String.valueOf(list.size()));
-            else if (s.equalsIgnoreCase("players")) {
-                for (Player pl : list) {
-                    output.append(pl.getName());
-                    if (list.indexOf(pl) != list.size() - 1) output.append(", ");
+        inArena("player_kills", (player, arena) -> String.valueOf(arena.getPlayerKills(player, false)));
+        inArena("player_kills_total", (player, arena) -> String.valueOf(arena.getPlayerKills(player, true) + arena.getPlayerKills(player, false)));
+        inArena("player_kills_final", (player, arena) -> String.valueOf(arena.getPlayerKills(player, true)));
+        inArena("player_deaths", (player, arena) -> String.valueOf(arena.getPlayerDeaths(player, false)));
+        inArena("player_deaths_total", (player, arena) -> String.valueOf(arena.getPlayerDeaths(player, true) + arena.getPlayerDeaths(player, false)));
+        inArena("player_deaths_final", (player, arena) -> String.valueOf(arena.getPlayerDeaths(player, true)));
+        inArena("player_beds", (player, arena) -> String.valueOf(arena.getPlayerBedsDestroyed(player)));
+        inArena("status_color", (player, arena) -> (arena.isSpectator(player) ? ChatColor.GRAY : arena.getTeam(player).getColor().chat()).toString());
+        inArena("status_letter", (player, arena) -> arena.isSpectator(player) ? getSpectatorLetter(BedWars.getAPI().getPlayerLanguage(player)) : arena.getTeam(player).getName().substring(0, 1).toUpperCase());
+        inArena("players_amount", (player, arena) -> String.valueOf(arena.getPlayers().size()));
+        inArena("players", (player, arena) -> joinNames(arena.getPlayers()));
+    }
+
+    private void inArena(String identifier, BiFunction<Player, IArena, String> handler) {
+        player(identifier, (player, argument) -> {
+            IArena arena = Arena.getArenaByPlayer(player);
+            return arena == null ? "" : handler.apply(player, arena);
+        });
+    }
+
+    // other placeholders
+    private void registerPlayerPlaceholders() {
+        player("current_online", (player, argument) -> String.valueOf(Arena.getArenaByPlayer().size()));
+        player("current_arenas", (player, argument) -> String.valueOf(Arena.getArenas().size()));
+        inArena("current_playing", (player, a) -> String.valueOf(a.getPlayers().size()));
+        inArena("player_team_color", (player, a) -> {
+            if (a.isPlayer(player) && a.getStatus() == GameState.playing) {
+                ITeam team = a.getTeam(player);
+                if (team != null) {
+                    return String.valueOf(team.getColor().chat());
                 }
             }
-            return output.toString();
-        }
-        // other placeholders
-        String response = "";
-        IArena a = Arena.getArenaByPlayer(player);
-        switch (s) {
-            case "current_online":
-                response = String.valueOf(Arena.getArenaByPlayer().size());
-                break;
-            case "current_arenas":
-                response = String.valueOf(Arena.getArenas().size());
-                break;
-            case "current_playing":
-                if (a != null) {
-                    response = String.valueOf(a.getPlayers().size());
-                }
-                break;
-            case "player_team_color":
-                if (a != null && a.isPlayer(player) && a.getStatus() == GameState.playing) {
-                    ITeam team = a.getTeam(player);
-                    if (team != null) {
-                        response += String.valueOf(team.getColor().chat());
+            return "";
+        });
+        inArena("player_team", (player, a) -> {
+            String response = "";
+            if (ShoutCommand.isShout(player)) {
+                response += Language.getMsg(player, Messages.FORMAT_PAPI_PLAYER_TEAM_SHOUT);
+            }
+            if (a.isPlayer(player)) {
+                if (a.getStatus() == GameState.playing) {
+                    ITeam bwt = a.getTeam(player);
+                    if (bwt != null) {
+                        response += Language.getMsg(player, Messages.FORMAT_PAPI_PLAYER_TEAM_TEAM).replace("{TeamName}",
+                                bwt.getDisplayName(Language.getPlayerLanguage(player))).replace("{TeamColor}", String.valueOf(bwt.getColor().chat()));
                     }
                 }
-                break;
-            case "player_team":
-                if (a != null) {
-                    if (ShoutCommand.isShout(player)) {
-                        response += Language.getMsg(player, Messages.FORMAT_PAPI_PLAYER_TEAM_SHOUT);
-                    }
+            } else {
+                response += Language.getMsg(player, Messages.FORMAT_PAPI_PLAYER_TEAM_SPECTATOR);
+            }
+            return response;
+        });
+        player("player_level", (player, argument) -> BedWars.getLevelSupport().getLevel(player));
+        player("player_level_trim", (player, argument) -> BedWars.getLevelSupport().getLevel(player).trim());
+        player("player_level_strip", (player, argument) -> BedWars.getLevelSupport().getLevel(player).replace("[", "").replace("]", ""));
+        player("player_level_strip_trim", (player, argument) -> BedWars.getLevelSupport().getLevel(player).replace("[", "").replace("]", "").trim());
+        player("player_level_raw", (player, argument) -> String.valueOf(BedWars.getLevelSupport().getPlayerLevel(player)));
+        player("player_progress", (player, argument) -> BedWars.getLevelSupport().getProgressBar(player));
+        player("player_xp_formatted", (player, argument) -> BedWars.getLevelSupport().getCurrentXpFormatted(player));
+        player("player_xp", (player, argument) -> String.valueOf(BedWars.getLevelSupport().getCurrentXp(player)));
+        player("player_rerq_xp_formatted", (player, argument) -> BedWars.getLevelSupport().getRequiredXpFormatted(player));
+        player("player_rerq_xp", (player, argument) -> String.valueOf(BedWars.getLevelSupport().getRequiredXp(player)));
+        player("player_status", (player, argument) -> {
+            IArena a = Arena.getArenaByPlayer(player);
+            if (a == null) return "NONE";
+            switch (a.getStatus()) {
+                case waiting:
+                case starting:
+                    return "WAITING";
+                case playing:
                     if (a.isPlayer(player)) {
-                        if (a.getStatus() == GameState.playing) {
-                            ITeam bwt = a.getTeam(player);
-                            if (bwt != null) {
-                                response += Language.getMsg(player, Messages.FORMAT_PAPI_PLAYER_TEAM_TEAM).replace("{TeamName}",
-                                        bwt.getDisplayName(Language.getPlayerLanguage(player))).replace("{TeamColor}", String.valueOf(bwt.getColor().chat()));
-                            }
-                        }
-                    } else {
-                        response += Language.getMsg(player, Messages.FORMAT_PAPI_PLAYER_TEAM_SPECTATOR);
+                        return "PLAYING";
+                    } else if (a.isSpectator(player)) {
+                        return "SPECTATING";
                     }
-                }
-                break;
-            case "player_level":
-                response = BedWars.getLevelSupport().getLevel(player);
-                break;
-            case "player_level_trim":
-                response = BedWars.getLevelSupport().getLevel(player).trim();
-                break;
-            case "player_level_strip":
-                response = BedWars.getLevelSupport().getLevel(player).replaceAll("\\[", "").replaceAll("]","");
-                break;
-            case "player_level_strip_trim":
-                response = BedWars.getLevelSupport().getLevel(player).replaceAll("\\[", "").replaceAll("]","").trim();
-                break;
-            case "player_level_raw":
-                response = String.valueOf(BedWars.getLevelSupport().getPlayerLevel(player));
-                break;
-            case "player_progress":
-                response = BedWars.getLevelSupport().getProgressBar(player);
-                break;
-            case "player_xp_formatted":
-                response = BedWars.getLevelSupport().getCurrentXpFormatted(player);
-                break;
-            case "player_xp":
-                response = String.valueOf(BedWars.getLevelSupport().getCurrentXp(player));
-                break;
-            case "player_rerq_xp_formatted":
-                response = BedWars.getLevelSupport().getRequiredXpFormatted(player);
-                break;
-            case "player_rerq_xp":
-                response = String.valueOf(BedWars.getLevelSupport().getRequiredXp(player));
-                break;
-            case "player_status":
-                if(a != null) {
-                    switch (a.getStatus()) {
-                        case waiting:
-                        case starting:
-                            response = "WAITING";
-                            break;
-                        case playing:
-                            if(a.isPlayer(player)) {
-                                response = "PLAYING";
-                            } else if(a.isSpectator(player)) {
-                                response = "SPECTATING";
-                            } else {
-                                response = "IN_GAME_BUT_NOT"; // this shouldn't happen
-                            }
-                            break;
-                        case restarting:
-                            response = "RESTARTING";
-                            break;
-                    }
-                } else {
-                    response = "NONE";
-                }
-                break;
-            case "current_arena_group":
-                if (a != null) {
-                    response = a.getGroup();
-                }
-                break;
-            case "elapsed_time":
-                if (a != null) {
-                    Instant startTime = a.getStartTime();
-                    if (null != startTime){
-                        Duration time = Duration.ofMillis(Instant.now().minusMillis(startTime.toEpochMilli()).toEpochMilli());
-                        if (time.toHours() == 0){
-                            response = String.format("%02d:%02d", time.toMinutes() % 60, time.toSeconds() % 60);
-                        } else {
-                            response = String.format("%02d:%02d:%02d", time.toHours(), time.toMinutes() % 60, time.toSeconds() % 60);
-                        }
-                    } else response = "";
-                }
-                break;
+                    return "IN_GAME_BUT_NOT"; // this shouldn't happen
+                case restarting:
+                    return "RESTARTING";
+                default:
+                    return "";
+            }
+        });
+        arena("current_arena_group", IArena::getGroup);
+        arena("elapsed_time", a -> {
+            Instant startTime = a.getStartTime();
+            if (null == startTime) return "";
+            Duration time = Duration.ofMillis(Instant.now().minusMillis(startTime.toEpochMilli()).toEpochMilli());
+            if (time.toHours() == 0) {
+                return String.format("%02d:%02d", time.toMinutes() % 60, time.toSeconds() % 60);
+            }
+            return String.format("%02d:%02d:%02d", time.toHours(), time.toMinutes() % 60, time.toSeconds() % 60);
+        });
+    }
+
+    private static String joinNames(List<Player> players) {
+        StringBuilder output = new StringBuilder();
+        for (Player pl : players) {
+            if (output.length() != 0) output.append(", ");
+            output.append(pl.getName());
         }
-        return response;
+        return output.toString();
     }
 
     private String getSpectatorLetter(Language lang) {
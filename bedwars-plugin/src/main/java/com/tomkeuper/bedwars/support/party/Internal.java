@@ -33,52 +33,42 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.tomkeuper.bedwars.api.language.Language.getMsg;
 
 public class Internal implements Party {
     private static List<Internal.Party> parties = new ArrayList<>();
+    // member (owner included) -> party
+    private static final ConcurrentHashMap<UUID, Internal.Party> partyByPlayer = new ConcurrentHashMap<>();
 
     @Override
     public boolean hasParty(Player p) {
-        for (Party party : getParties()) {
-            if (party.members.contains(p)) return true;
-        }
-        return false;
+        return getPartyOf(p) != null;
     }
 
     @Override
     public int partySize(Player p) {
-        for (Party party : getParties()) {
-            if (party.members.contains(p)) {
-                return party.members.size();
-            }
-        }
-        return 0;
+        Party party = getPartyOf(p);
+        return party == null ? 0 : party.members.size();
     }
 
     @Override
     public boolean isOwner(Player p) {
-        for (Party party : getParties()) {
-            if (party.members.contains(p)) {
-                if (party.owner == p) return true;
-            }
-        }
-        return false;
+        Party party = getPartyOf(p);
+        return party != null && party.owner == p;
     }
 
     @Override
     public List<Player> getMembers(Player owner) {
-        for (Party party : getParties()) {
-            if (party.members.contains(owner)) {
-                return party.members;
-            }
-        }
-        return null;
+        Party party = getPartyOf(owner);
+        return party == null ? null : party.members;
     }
 
     @Override
     public void createParty(Player owner, Player... members) {
+        if (hasParty(owner)) return;
         Party p = new Party(owner);
         p.addMember(owner);
         for (Player mem : members) {
@@ -96,29 +86,28 @@ public class Internal implements Party {
 
     @Override
     public void removeFromParty(Player member) {
-        for (Party p : new ArrayList<>(getParties())) {
-            if (p.owner == member) {
-                disband(member);
-            } else if (p.members.contains(member)) {
-                for (Player mem : p.members) {
-                    Language language = Language.getPlayerLanguage(mem);
-                    mem.sendMessage(getMsg(language, member, Messages.COMMAND_PARTY_LEAVE_SUCCESS).replace("%bw_playername%", member.getName()).replace("%bw_player%", member.getDisplayName()));
-                }
-                p.members.remove(member);
+        Party p = getPartyOf(member);
+        if (p == null) return;
+        if (p.owner == member) {
+            disband(member);
+            return;
+        }
+        for (Player mem : p.members) {
+            Language language = Language.getPlayerLanguage(mem);
+            mem.sendMessage(getMsg(language, member, Messages.COMMAND_PARTY_LEAVE_SUCCESS).replace("%bw_playername%", member.getName()).replace("%bw_player%", member.getDisplayName()));
+        }
+        p.removeMember(member);
 
-                if (BedWars.getRedisConnection() != null) {
-                    JsonObject json = new JsonObject();
-                    json.addProperty("type", "PR"); // PR = Party Remove
-                    json.addProperty("owner", member.getUniqueId().toString());
-                    BedWars.getRedisConnection().sendMessage(json.toString());
-                }
+        if (BedWars.getRedisConnection() != null) {
+            JsonObject json = new JsonObject();
+            json.addProperty("type", "PR"); // PR = Party Remove
+            json.addProperty("owner", member.getUniqueId().toString());
+            BedWars.getRedisConnection().sendMessage(json.toString());
+        }
 
-                if (p.members.isEmpty() || p.members.size() == 1) {
-                    disband(p.owner);
-                    parties.remove(p);
-                }
-                return;
-            }
+        if (p.members.isEmpty() || p.members.size() == 1) {
+            disband(p.owner);
+            p.destroy();
         }
     }
 
@@ -129,8 +118,7 @@ public class Internal implements Party {
         for (Player p : pa.members) {
             p.sendMessage(getMsg(p, Messages.COMMAND_PARTY_DISBAND_SUCCESS));
         }
-        pa.members.clear();
-        Internal.parties.remove(pa);
+        pa.destroy();
 
         if (BedWars.getRedisConnection() != null) {
             JsonObject json = new JsonObject();
@@ -142,27 +130,23 @@ public class Internal implements Party {
 
     @Override
     public boolean isMember(Player owner, Player check) {
-        for (Party p : parties) {
-            if (p.owner == owner) {
-                if (p.members.contains(check)) return true;
-            }
-        }
-        return false;
+        Party p = getParty(owner);
+        return p != null && getPartyOf(check) == p;
     }
 
     @Override
     public void removePlayer(Player owner, Player target) {
         Party p = getParty(owner);
         if (p != null) {
-            if (p.members.contains(target)) {
+            if (getPartyOf(target) == p) {
                 for (Player mem : p.members) {
                     Language language = Language.getPlayerLanguage(mem);
-                    mem.sendMessage(getMsg(language, mem, Messages.COMMAND_PARTY_REMOVE_SUCCESS).replace("%bw_playername%", mem.getName()).replace("%bw_player%", mem.getDisplayName()));
+                    mem.sendMessage(getMsg(language, mem, Messages.COMMAND_PARTY_REMOVE_SUCCESS).replace("%bw_playername%", target.getName()).replace("%bw_player%", target.getDisplayName()));
                 }
-                p.members.remove(owner);
+                p.removeMember(target);
                 if (p.members.isEmpty() || p.members.size() == 1) {
                     disband(p.owner);
-                    parties.remove(p);
+                    p.destroy();
                 }
             }
         }
@@ -170,12 +154,8 @@ public class Internal implements Party {
 
     @Override
     public Player getOwner(Player member) {
-        for (Internal.Party party: Internal.getParties()) {
-            if (party.members.contains(member)){
-                return party.owner;
-            }
-        }
-        return null;
+        Party party = getPartyOf(member);
+        return party == null ? null : party.owner;
     }
 
     @Override
@@ -191,12 +171,22 @@ public class Internal implements Party {
         return true;
     }
 
+    /**
+     * Get the party owned by the given player.
+     */
     @Nullable
     private Party getParty(Player owner) {
-        for (Party p : getParties()) {
-            if (p.getOwner() == owner) return p;
-        }
-        return null;
+        Party p = getPartyOf(owner);
+        return p != null && p.getOwner() == owner ? p : null;
+    }
+
+    /**
+     * Get the party the given player is member of.
+     */
+    @Nullable
+    private static Party getPartyOf(Player player) {
+        if (player == null) return null;
+        return partyByPlayer.get(player.getUniqueId());
     }
 
     @NotNull
@@ -219,8 +209,31 @@ public class Internal implements Party {
             return owner;
         }
 
+        /**
+         * Add a player to this party.
+         * Players who are already member of a party, this one included, are not added.
+         */
         void addMember(Player p) {
-            members.add(p);
+            // a player is member of a single party
+            if (partyByPlayer.putIfAbsent(p.getUniqueId(), this) == null) {
+                members.add(p);
+            }
+        }
+
+        void removeMember(Player p) {
+            members.remove(p);
+            partyByPlayer.remove(p.getUniqueId(), this);
+        }
+
+        /**
+         * Remove the party and its members from the registry.
+         */
+        void destroy() {
+            for (Player p : members) {
+                partyByPlayer.remove(p.getUniqueId(), this);
+            }
+            members.clear();
+            Internal.parties.remove(this);
         }
     }
 }
@@ -20,6 +20,9 @@ include(":versionsupport_v1_20_r2")
 include(":versionsupport_v1_20_r3")
 include(":versionsupport_common")
 
+// benchmarks
+include(":bedwars-benchmark")
+
 enableFeaturePreview("TYPESAFE_PROJECT_ACCESSORS")
 
 plugins {
@@ -720,7 +720,7 @@ public class v1_12_R1 extends VersionSupport {
         PacketPlayOutWorldParticles particlePacket = new PacketPlayOutWorldParticles(EnumParticle.REDSTONE, true, (float) player.getLocation().getX(),
                 (float) (player.getLocation().getY() + 2.6), (float) player.getLocation().getZ(), color.getRed(), color.getRed(), color.getRed(), 0, 0);
         for (Player inWorld : player.getWorld().getPlayers()) {
-            if (inWorld.equals(player)) continue;
+            if (inWorld.equals(player) || !isInParticleRange(player, inWorld)) continue;
             ((CraftPlayer) inWorld).getHandle().playerConnection.sendPacket(particlePacket);
         }
     }
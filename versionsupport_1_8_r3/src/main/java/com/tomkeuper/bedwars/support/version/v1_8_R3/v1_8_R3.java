@@ -45,6 +45,7 @@ import org.bukkit.craftbukkit.v1_8_R3.CraftServer;
 import org.bukkit.craftbukkit.v1_8_R3.CraftWorld;
 import org.bukkit.craftbukkit.v1_8_R3.entity.*;
 import org.bukkit.craftbukkit.v1_8_R3.inventory.CraftItemStack;
+import org.bukkit.craftbukkit.v1_8_R3.util.CraftMagicNumbers;
 import org.bukkit.craftbukkit.v1_8_R3.util.UnsafeList;
 import org.bukkit.entity.*;
 import org.bukkit.event.entity.CreatureSpawnEvent;
@@ -587,6 +588,12 @@ public class v1_8_R3 extends VersionSupport {
         block.getBlock().getRelative(((org.bukkit.material.Sign) block.getData()).getAttachedFace()).setData(data, true);
     }
 
+    @Override
+    public void setBlockTypeFast(org.bukkit.block.Block block, Material material) {
+        WorldServer world = ((CraftWorld) block.getWorld()).getHandle();
+        world.setTypeAndData(new BlockPosition(block.getX(), block.getY(), block.getZ()), CraftMagicNumbers.getBlock(material).getBlockData(), 2);
+    }
+
     @Override
     public void setJoinSignBackground(org.bukkit.block.BlockState b, org.bukkit.Material material) {
         b.getLocation().getBlock().getRelative(((org.bukkit.material.Sign) b.getData()).getAttachedFace()).setType(material);
@@ -765,7 +772,7 @@ public class v1_8_R3 extends VersionSupport {
         PacketPlayOutWorldParticles particlePacket = new PacketPlayOutWorldParticles(EnumParticle.REDSTONE, true, (float) player.getLocation().getX(),
                 (float) (player.getLocation().getY() + 2.6), (float) player.getLocation().getZ(), color.getRed(), color.getRed(), color.getRed(), 0, 0);
         for (Player inWorld : player.getWorld().getPlayers()) {
-            if (inWorld.equals(player)) continue;
+            if (inWorld.equals(player) || !isInParticleRange(player, inWorld)) continue;
             ((CraftPlayer) inWorld).getHandle().playerConnection.sendPacket(particlePacket);
         }
     }
@@ -39,6 +39,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.List;
 
+import static com.tomkeuper.bedwars.utils.MainUtils.countItems;
 import static com.tomkeuper.bedwars.utils.MainUtils.getSimilarItemsAround;
 import static com.tomkeuper.bedwars.utils.MainUtils.manageGeneratorPickUp;
 
@@ -100,7 +101,8 @@ public class PlayerDropPick_1_11Minus implements Listener {
                     //Call ore pick up event
 
                     if (!api.getAFKUtil().isPlayerAFK(e.getPlayer())){
-                        PlayerGeneratorCollectEvent event = new PlayerGeneratorCollectEvent(e.getPlayer(), e.getItem(), a, e.getRemaining());
+                        List<Item> items = getSimilarItemsAround(e.getItem());
+                        PlayerGeneratorCollectEvent event = new PlayerGeneratorCollectEvent(e.getPlayer(), e.getItem(), a, countItems(items));
                         Bukkit.getPluginManager().callEvent(event);
                         if (event.isCancelled()){
                             e.setCancelled(true);
@@ -109,11 +111,6 @@ public class PlayerDropPick_1_11Minus implements Listener {
                             e.getItem().setItemStack(stack);
                             Player p = e.getPlayer();
 
-                            List<Item> items = getSimilarItemsAround(e.getItem());
-                            items.add(e.getItem());
-
-                            if (event.isCancelled()) return;
-
                             manageGeneratorPickUp(p, e.getItem(), items);
                         }
                     } else {  // Cancel Event if play is afk
@@ -31,19 +31,28 @@ public class MainUtils {
         return items;
     }
 
-    public static void manageGeneratorPickUp(Player player, Item item, List<Item> items) {
-        int amount = items.size();
+    /**
+     * Count the items of the given entities. Generator drops may hold more than one item.
+     */
+    public static int countItems(List<Item> items) {
+        int amount = 0;
+        for (Item item : items) {
+            amount += item.getItemStack().getAmount();
+        }
+        return amount;
+    }
 
-        if (amount > 1) {
-            // We remove the item that is being picked up from the list.
-            items.remove(item);
+    public static void manageGeneratorPickUp(Player player, Item item, List<Item> items) {
+        int amount = 0;
+        for (Item other : items) {
+            // The player is already picking up the item itself, so we don't need to add it to their inventory again.
+            if (other.equals(item)) continue;
+            amount += other.getItemStack().getAmount();
             // We remove the entities to prevent more than one item from being picked up.
-            items.forEach(Entity::remove);
+            other.remove();
         }
-        // If the amount is 1, then the player is already picking up the item, so we don't need to add it to their inventory again.
-        if (amount == 1) return;
-        // We add the item to the player's inventory and remove 1 from the amount to account for the item that is already being picked up.
-        player.getInventory().addItem(new ItemStack(item.getItemStack().getType(), amount-1));
+        if (amount == 0) return;
+        player.getInventory().addItem(new ItemStack(item.getItemStack().getType(), amount));
     }
 
     /**
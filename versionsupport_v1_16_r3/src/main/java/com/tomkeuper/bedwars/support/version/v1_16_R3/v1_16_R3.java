@@ -703,7 +703,7 @@ public class v1_16_R3 extends VersionSupport {
         PacketPlayOutWorldParticles particlePacket = new PacketPlayOutWorldParticles(new ParticleParamRedstone((float) color.getRed(), (float) color.getBlue(), (float) color.getGreen(), (float) 1),
                 true, (float) player.getLocation().getX(), (float) (player.getLocation().getY() + 2.6), (float) player.getLocation().getZ(), 0, 0, 0, 0, 0);
         for (Player inWorld : player.getWorld().getPlayers()) {
-            if (inWorld.equals(player)) continue;
+            if (inWorld.equals(player) || !isInParticleRange(player, inWorld)) continue;
             ((CraftPlayer) inWorld).getHandle().playerConnection.sendPacket(particlePacket);
         }
     }
@@ -738,7 +738,7 @@ public class v1_17_R1 extends VersionSupport {
         PacketPlayOutWorldParticles particlePacket = new PacketPlayOutWorldParticles(new ParticleParamRedstone(new Vector3fa((float) color.getRed(), (float) color.getGreen(), (float) color.getBlue()), (float) 1),
                 true, player.getLocation().getX(), player.getLocation().getY() + 2.6, player.getLocation().getZ(), 0, 0, 0, 0, 0);
         for (Player inWorld : player.getWorld().getPlayers()) {
-            if (inWorld.equals(player)) continue;
+            if (inWorld.equals(player) || !isInParticleRange(player, inWorld)) continue;
             ((CraftPlayer) inWorld).getHandle().b.sendPacket(particlePacket);
         }
     }
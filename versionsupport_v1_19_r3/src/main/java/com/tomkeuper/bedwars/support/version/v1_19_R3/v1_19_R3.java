@@ -716,7 +716,7 @@ public class v1_19_R3 extends VersionSupport {
                 0, 0, 0, 0, 0
         );
         for (Player inWorld : player.getWorld().getPlayers()) {
-            if (inWorld.equals(player)) continue;
+            if (inWorld.equals(player) || !isInParticleRange(player, inWorld)) continue;
             getPlayer(inWorld).b.a(particlePacket);
         }
     }
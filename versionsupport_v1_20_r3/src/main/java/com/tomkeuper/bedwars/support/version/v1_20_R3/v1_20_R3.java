@@ -708,7 +708,7 @@ public class v1_20_R3 extends VersionSupport {
                 0, 0, 0, 0, 0
         );
         for (Player inWorld : player.getWorld().getPlayers()) {
-            if (inWorld.equals(player)) continue;
+            if (inWorld.equals(player) || !isInParticleRange(player, inWorld)) continue;
             sendPacket(inWorld, particlePacket);
         }
     }